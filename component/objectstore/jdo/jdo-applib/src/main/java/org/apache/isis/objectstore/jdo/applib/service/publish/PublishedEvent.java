@@ -43,6 +43,7 @@
             name="publishedevent_of_state", language="JDOQL",  
             value="SELECT FROM org.apache.isis.objectstore.jdo.applib.service.publish.PublishedEvent WHERE state == :state ORDER BY timestamp")
 })
+@javax.jdo.annotations.Index(name="PublishedEvent_state_timestamp_IDX", members={"state","timestamp"})
 @Immutable
 public class PublishedEvent {
 
@@ -0,0 +1,46 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.objectstore.jdo.applib.service.publish;
+
+import java.util.List;
+
+import org.apache.isis.applib.annotation.Programmatic;
+
+/**
+ * The destination of {@link PublishedEvent}s relayed from the
+ * {@link PublishedEvent.State#QUEUED queue} held by {@link PublishingServiceJdo}.
+ * 
+ * <p>
+ * Register an implementation as a domain service to have events relayed to it in the
+ * background (see the <tt>PublishedEventRelayJdo</tt> service).
+ */
+public interface PublishedEventSink {
+
+    /**
+     * Deliver the events, in the order provided (oldest first).
+     * 
+     * <p>
+     * The events are marked as {@link PublishedEvent.State#PROCESSED processed} only if this
+     * method returns normally; if it throws an exception then they will be offered again later.
+     * Implementations should therefore be idempotent (eg using {@link PublishedEvent#getId()}).
+     */
+    @Programmatic
+    void deliver(List<PublishedEvent> events);
+}
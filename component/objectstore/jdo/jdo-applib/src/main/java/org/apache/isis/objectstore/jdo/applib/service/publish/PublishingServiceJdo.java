@@ -20,6 +20,13 @@
 package org.apache.isis.objectstore.jdo.applib.service.publish;
 
 import java.util.List;
+import java.util.Map;
+
+import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 
 import org.apache.isis.applib.AbstractService;
 import org.apache.isis.applib.annotation.ActionSemantics;
@@ -27,20 +34,29 @@
 import org.apache.isis.applib.annotation.Hidden;
 import org.apache.isis.applib.annotation.MemberOrder;
 import org.apache.isis.applib.annotation.Named;
+import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.query.QueryDefault;
 import org.apache.isis.applib.services.publish.EventMetadata;
 import org.apache.isis.applib.services.publish.EventPayload;
 import org.apache.isis.applib.services.publish.EventSerializer;
 import org.apache.isis.applib.services.publish.PublishingService;
+import org.apache.isis.objectstore.jdo.applib.service.support.IsisJdoSupport;
 
 /**
  * An implementation of {@link PublishingService} that persists events as
  * entities into a JDO-backed database.
+ * 
+ * <p>
+ * The persisted events act as an outbox: {@link #relayQueued(PublishedEventSink, int)}
+ * hands {@link PublishedEvent.State#QUEUED queued} events on to a {@link PublishedEventSink}
+ * in batches, and {@link #purgeProcessed()} deletes those that have been processed.  If
+ * {@link IsisJdoSupport} is registered then both go directly to the JDO API.
  */
 @Named("Integration")
 public class PublishingServiceJdo extends AbstractService implements PublishingService {
 
     private EventSerializer eventSerializer;
+    private IsisJdoSupport isisJdoSupport;
 
     @Override
     @Hidden
@@ -55,6 +71,7 @@ public void publish(EventMetadata metadata, EventPayload payload) {
         publishedEvent.setTimestamp(metadata.getTimestamp());
         publishedEvent.setUser(metadata.getUser());
         publishedEvent.setTitle(metadata.getTitle());
+        publishedEvent.setState(PublishedEvent.State.QUEUED);
         persist(publishedEvent);
     }
 
@@ -79,12 +96,101 @@ public List<PublishedEvent> processedEvents() {
     @ActionSemantics(Of.SAFE)
     @MemberOrder(sequence="3")
     public void purgeProcessed() {
-        // REVIEW: this is not particularly performant.
-        // much better would be to go direct to the JDO API.
-        List<PublishedEvent> processedEvents = processedEvents();
-        for (PublishedEvent publishedEvent : processedEvents) {
-            publishedEvent.delete();
+        if(isisJdoSupport == null) {
+            List<PublishedEvent> processedEvents = processedEvents();
+            for (PublishedEvent publishedEvent : processedEvents) {
+                publishedEvent.delete();
+            }
+            return;
+        }
+        // a single JDOQL delete, which the datastore performs as a bulk DELETE where it can
+        final Query query = getJdoPersistenceManager().newQuery(PublishedEvent.class, "state == :state");
+        query.deletePersistentAll(PublishedEvent.State.PROCESSED);
+    }
+
+    // //////////////////////////////////////
+    
+    /**
+     * The oldest (at most) <tt>batchSize</tt> {@link PublishedEvent.State#QUEUED queued} events.
+     */
+    @Programmatic
+    public List<PublishedEvent> queuedEvents(final int batchSize) {
+        if(isisJdoSupport == null) {
+            final List<PublishedEvent> queuedEvents = queuedEvents();
+            return queuedEvents.size() > batchSize? Lists.newArrayList(queuedEvents.subList(0, batchSize)): queuedEvents;
+        }
+        final Query query = getJdoPersistenceManager().newNamedQuery(PublishedEvent.class, "publishedevent_of_state");
+        query.setRange(0, batchSize);
+        try {
+            @SuppressWarnings("unchecked")
+            final List<PublishedEvent> queuedEvents = (List<PublishedEvent>) query.execute(PublishedEvent.State.QUEUED);
+            return Lists.newArrayList(queuedEvents);
+        } finally {
+            query.closeAll();
+        }
+    }
+
+    /**
+     * Hands the oldest (at most) <tt>batchSize</tt> {@link PublishedEvent.State#QUEUED queued} events 
+     * to the sink, then marks them as {@link PublishedEvent.State#PROCESSED processed}.
+     * 
+     * <p>
+     * Should be called within a transaction; the events are only marked as processed when it commits.
+     * If {@link IsisJdoSupport} is registered then they are marked using a single bulk update.
+     * 
+     * @return the events relayed; if fewer than <tt>batchSize</tt> then the queue has been drained.
+     */
+    @Programmatic
+    public List<PublishedEvent> relayQueued(final PublishedEventSink sink, final int batchSize) {
+        final List<PublishedEvent> queuedEvents = queuedEvents(batchSize);
+        if(queuedEvents.isEmpty()) {
+            return queuedEvents;
+        }
+        sink.deliver(queuedEvents);
+        if(isisJdoSupport == null) {
+            for (PublishedEvent publishedEvent : queuedEvents) {
+                publishedEvent.setState(PublishedEvent.State.PROCESSED);
+            }
+            return queuedEvents;
         }
+        markProcessed(queuedEvents);
+        return queuedEvents;
+    }
+
+    /**
+     * A single JDOQL bulk update (a DataNucleus extension) over the events' ids, rather than
+     * dirtying and flushing each in turn.
+     * 
+     * <p>
+     * The update bypasses the events already loaded, so they are then evicted (from the
+     * level 2 cache also); if accessed again they are reloaded, as processed.
+     */
+    private void markProcessed(final List<PublishedEvent> publishedEvents) {
+        final PersistenceManager persistenceManager = getJdoPersistenceManager();
+        final List<String> ids = Lists.newArrayListWithCapacity(publishedEvents.size());
+        final List<Object> objectIds = Lists.newArrayListWithCapacity(publishedEvents.size());
+        for (PublishedEvent publishedEvent : publishedEvents) {
+            ids.add(publishedEvent.getId());
+            objectIds.add(persistenceManager.getObjectId(publishedEvent));
+        }
+
+        final Query query = persistenceManager.newQuery("javax.jdo.query.JDOQL", 
+                "UPDATE " + PublishedEvent.class.getName() + " SET this.state = :processed WHERE :ids.contains(this.id)");
+        final Map<String, Object> argumentsByParameterName = Maps.newHashMap();
+        argumentsByParameterName.put("processed", PublishedEvent.State.PROCESSED);
+        argumentsByParameterName.put("ids", ids);
+        try {
+            query.executeWithMap(argumentsByParameterName);
+        } finally {
+            query.closeAll();
+        }
+
+        persistenceManager.evictAll(publishedEvents);
+        persistenceManager.getPersistenceManagerFactory().getDataStoreCache().evictAll(objectIds);
+    }
+
+    private PersistenceManager getJdoPersistenceManager() {
+        return isisJdoSupport.getJdoPersistenceManager();
     }
 
     @Hidden
@@ -93,4 +199,9 @@ public void setEventSerializer(EventSerializer eventSerializer) {
         this.eventSerializer = eventSerializer;
     }
 
+    @Programmatic
+    public void injectIsisJdoSupport(IsisJdoSupport isisJdoSupport) {
+        this.isisJdoSupport = isisJdoSupport;
+    }
+
 }
@@ -20,15 +20,23 @@
 package org.apache.isis.objectstore.jdo.applib.service.settings;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.PostConstruct;
+
+import com.google.common.collect.Maps;
 
 import org.joda.time.LocalDate;
 
 import org.apache.isis.applib.AbstractService;
 import org.apache.isis.applib.annotation.ActionSemantics;
 import org.apache.isis.applib.annotation.ActionSemantics.Of;
+import org.apache.isis.applib.annotation.Hidden;
 import org.apache.isis.applib.annotation.MemberOrder;
 import org.apache.isis.applib.annotation.Named;
 import org.apache.isis.applib.annotation.Optional;
+import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.annotation.TypeOf;
 import org.apache.isis.applib.query.QueryDefault;
 import org.apache.isis.applib.services.settings.ApplicationSetting;
@@ -36,17 +44,90 @@
 import org.apache.isis.applib.services.settings.ApplicationSettingsServiceRW;
 import org.apache.isis.applib.services.settings.SettingAbstract;
 import org.apache.isis.applib.services.settings.SettingType;
+import org.apache.isis.applib.services.transaction.TransactionCommittedListener;
+import org.apache.isis.objectstore.jdo.applib.service.support.IsisJdoSupport;
 
 /**
  * An implementation of {@link ApplicationSettingsService} that persists settings
  * as entities into a JDO-backed database.
+ * 
+ * <p>
+ * Settings {@link #find(String) found} are held in an application-scoped {@link SettingsCache}
+ * (as {@link ApplicationSettingSnapshot snapshot}s), invalidated whenever a transaction that
+ * changes any {@link ApplicationSettingJdo} {@link #committed(Set) commits}.  All settings can 
+ * optionally be preloaded into the cache at startup, by setting the 
+ * {@value #PRELOAD_KEY} configuration property.
+ * 
+ * <p>
+ * The cache is bypassed by a transaction that has itself changed any {@link ApplicationSettingJdo}
+ * (so that it sees its own changes); this is detected using {@link IsisJdoSupport}, without which
+ * the cache is never used.  The {@link #findSetting(String) find} action in the UI always returns 
+ * the (uncached) entity itself.
  */
 @Named("Application Settings")
-public class ApplicationSettingsServiceJdo extends AbstractService implements ApplicationSettingsServiceRW {
+public class ApplicationSettingsServiceJdo extends AbstractService implements ApplicationSettingsServiceRW, TransactionCommittedListener {
 
-    @ActionSemantics(Of.SAFE)
+    public static final String PRELOAD_KEY = "isis.services.settings.application.preload";
+
+    private final SettingsCache<String, ApplicationSetting> cache = new SettingsCache<String, ApplicationSetting>();
+
+    private IsisJdoSupport isisJdoSupport;
+
+    @Programmatic
+    @PostConstruct
+    public void init(final Map<String, String> properties) {
+        if(Boolean.parseBoolean(properties.get(PRELOAD_KEY))) {
+            preload();
+        }
+    }
+
+    /**
+     * Loads all settings into the cache, in a single query.
+     */
+    @Programmatic
+    public void preload() {
+        final long version = cache.currentVersion();
+        final Map<String, ApplicationSetting> settingByKey = Maps.newHashMap();
+        for (final ApplicationSetting setting : listAll()) {
+            settingByKey.put(setting.getKey(), new ApplicationSettingSnapshot(setting));
+        }
+        cache.putAll(version, settingByKey);
+    }
+
+    // //////////////////////////////////////
+
+    /**
+     * Returns an immutable {@link ApplicationSettingSnapshot snapshot} of the setting, 
+     * (read-through) cached.
+     * 
+     * <p>
+     * Not an action; see instead {@link #findSetting(String)}.
+     */
+    @Programmatic
     @Override
-    public ApplicationSetting find(@Named("Key") String key) {
+    public ApplicationSetting find(String key) {
+        if(SettingsChanges.pendingIn(isisJdoSupport, ApplicationSettingJdo.class)) {
+            // neither use nor populate the cache with this transaction's own (uncommitted) changes
+            final ApplicationSettingJdo setting = findSetting(key);
+            return setting != null? new ApplicationSettingSnapshot(setting): null;
+        }
+        final com.google.common.base.Optional<ApplicationSetting> cached = cache.get(key);
+        if(cached != null) {
+            return cached.orNull();
+        }
+        final long version = cache.currentVersion();
+        final ApplicationSettingJdo setting = findSetting(key);
+        final ApplicationSetting snapshot = setting != null? new ApplicationSettingSnapshot(setting): null;
+        cache.put(version, key, com.google.common.base.Optional.fromNullable(snapshot));
+        return snapshot;
+    }
+
+    /**
+     * The setting entity itself (so can be updated), not cached.
+     */
+    @Named("Find")
+    @ActionSemantics(Of.SAFE)
+    public ApplicationSettingJdo findSetting(@Named("Key") String key) {
         return firstMatch(
                 new QueryDefault<ApplicationSettingJdo>(ApplicationSettingJdo.class, 
                         "findByKey", 
@@ -55,6 +136,19 @@ public ApplicationSetting find(@Named("Key") String key) {
 
     // //////////////////////////////////////
 
+    @Hidden
+    @Override
+    public void committed(final Set<Object> changedObjects) {
+        for (final Object changedObject : changedObjects) {
+            if(changedObject instanceof ApplicationSettingJdo) {
+                cache.invalidate();
+                return;
+            }
+        }
+    }
+
+    // //////////////////////////////////////
+
     @ActionSemantics(Of.SAFE)
     @MemberOrder(sequence="1")
     @SuppressWarnings({ "rawtypes", "unchecked" })
@@ -115,7 +209,16 @@ private ApplicationSettingJdo newSetting(
         setting.setValueRaw(valueRaw);
         setting.setType(settingType);
         persist(setting);
+        // any cached "absent" is now out of date; invalidated again once committed
+        cache.invalidate();
         return setting;
     }
 
+    // //////////////////////////////////////
+
+    @Programmatic
+    public void injectIsisJdoSupport(IsisJdoSupport isisJdoSupport) {
+        this.isisJdoSupport = isisJdoSupport;
+    }
+
 }
@@ -34,8 +34,8 @@ public class ApplicationSettingsServiceJdoHidden extends ApplicationSettingsServ
 
     @Hidden
     @Override
-    public ApplicationSetting find(@Named("Key") String key) {
-        return super.find(key);
+    public ApplicationSettingJdo findSetting(@Named("Key") String key) {
+        return super.findSetting(key);
     }
 
     // //////////////////////////////////////
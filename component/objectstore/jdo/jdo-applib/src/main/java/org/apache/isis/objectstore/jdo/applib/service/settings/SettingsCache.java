@@ -0,0 +1,95 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.objectstore.jdo.applib.service.settings;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.Maps;
+
+/**
+ * Application-scoped, versioned read-through cache of (immutable) settings, 
+ * used by {@link ApplicationSettingsServiceJdo} and {@link UserSettingsServiceJdo}.
+ * 
+ * <p>
+ * Absent settings are cached also (as {@link Optional#absent()}), so that repeatedly
+ * looking up a setting that has never been defined does not hit the database either.
+ * 
+ * <p>
+ * A reader captures the {@link #currentVersion() version} <i>before</i> querying the 
+ * database, and hands it back when {@link #put(long, Object, Optional) populating} the cache.
+ * If the cache has been {@link #invalidate() invalidated} in the meantime (because a 
+ * transaction changing settings has committed) then the (possibly stale) value is 
+ * discarded rather than cached.
+ */
+public class SettingsCache<K, V> {
+
+    private final ConcurrentMap<K, Optional<V>> valueByKey = Maps.newConcurrentMap();
+    private final AtomicLong version = new AtomicLong();
+
+    public long currentVersion() {
+        return version.get();
+    }
+
+    /**
+     * @return <tt>null</tt> if not cached, otherwise the cached value (which may be {@link Optional#absent() absent}).
+     */
+    public Optional<V> get(final K key) {
+        return valueByKey.get(key);
+    }
+
+    /**
+     * @param versionRead - the {@link #currentVersion() version} obtained before the value was read.
+     */
+    public void put(final long versionRead, final K key, final Optional<V> value) {
+        if(version.get() != versionRead) {
+            return;
+        }
+        valueByKey.put(key, value);
+        if(version.get() != versionRead) {
+            // invalidated concurrently, possibly before our put; don't leave a stale value behind
+            valueByKey.remove(key, value);
+        }
+    }
+
+    /**
+     * @param versionRead - the {@link #currentVersion() version} obtained before the values were read.
+     */
+    public void putAll(final long versionRead, final Map<K, V> values) {
+        for (final Map.Entry<K, V> entry : values.entrySet()) {
+            put(versionRead, entry.getKey(), Optional.of(entry.getValue()));
+        }
+    }
+
+    /**
+     * Discards all cached values, and ensures that any read already in progress is not cached.
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+        valueByKey.clear();
+    }
+
+    public int size() {
+        return valueByKey.size();
+    }
+
+}
@@ -0,0 +1,57 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.objectstore.jdo.applib.service.settings;
+
+import java.util.EnumSet;
+
+import javax.jdo.ObjectState;
+import javax.jdo.PersistenceManager;
+
+import org.apache.isis.objectstore.jdo.applib.service.support.IsisJdoSupport;
+
+/**
+ * Whether the current transaction has created, changed or deleted any setting entities, in which
+ * case its view of the settings may differ from the {@link SettingsCache} (which is only 
+ * {@link SettingsCache#invalidate() invalidated} once such a transaction commits).
+ */
+final class SettingsChanges {
+
+    private static final EnumSet<ObjectState> CHANGED = EnumSet.of(
+            ObjectState.PERSISTENT_NEW, 
+            ObjectState.PERSISTENT_DIRTY, 
+            ObjectState.PERSISTENT_DELETED, 
+            ObjectState.PERSISTENT_NEW_DELETED);
+
+    private SettingsChanges() {
+    }
+
+    /**
+     * If no {@link IsisJdoSupport} is registered then there is no way to tell, so conservatively
+     * returns <tt>true</tt>.
+     */
+    static boolean pendingIn(final IsisJdoSupport isisJdoSupport, final Class<? extends SettingAbstractJdo> settingClass) {
+        if(isisJdoSupport == null) {
+            return true;
+        }
+        final PersistenceManager persistenceManager = isisJdoSupport.getJdoPersistenceManager();
+        return !persistenceManager.getManagedObjects(CHANGED, settingClass).isEmpty();
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.objectstore.jdo.applib.service.settings;
+
+import org.apache.isis.applib.annotation.MemberOrder;
+import org.apache.isis.applib.annotation.Named;
+import org.apache.isis.applib.annotation.NotPersistable;
+import org.apache.isis.applib.annotation.Title;
+import org.apache.isis.applib.services.settings.SettingAbstract;
+import org.apache.isis.applib.services.settings.SettingType;
+import org.apache.isis.applib.services.settings.UserSetting;
+
+/**
+ * Immutable copy of a {@link UserSettingJdo}, as held by the {@link SettingsCache}
+ * and returned by {@link UserSettingsServiceJdo#find(String, String)}.
+ * 
+ * <p>
+ * To update a setting, use the entity (as returned by {@link UserSettingsServiceJdo#listAllFor(String)}).
+ */
+@NotPersistable
+@Named("User Setting")
+public class UserSettingSnapshot extends SettingAbstract implements UserSetting {
+
+    private final String user;
+    private final String key;
+    private final String description;
+    private final SettingType type;
+    private final String valueRaw;
+
+    public UserSettingSnapshot(final UserSetting setting) {
+        this.user = setting.getUser();
+        this.key = setting.getKey();
+        this.description = setting.getDescription();
+        this.type = setting.getType();
+        this.valueRaw = setting.getValueRaw();
+    }
+
+    @Title(sequence="5", append=": ")
+    @MemberOrder(sequence="5")
+    @Override
+    public String getUser() {
+        return user;
+    }
+
+    @Override
+    public String getKey() {
+        return key;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public SettingType getType() {
+        return type;
+    }
+
+    @Override
+    public String getValueRaw() {
+        return valueRaw;
+    }
+
+}
@@ -19,7 +19,9 @@
 
 package org.apache.isis.objectstore.jdo.applib.service.settings;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 import com.google.common.base.Function;
 import com.google.common.collect.Iterables;
@@ -29,25 +31,74 @@
 import org.joda.time.LocalDate;
 
 import org.apache.isis.applib.AbstractService;
+import org.apache.isis.applib.annotation.Hidden;
 import org.apache.isis.applib.annotation.MemberOrder;
 import org.apache.isis.applib.annotation.Named;
 import org.apache.isis.applib.annotation.Optional;
+import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.query.QueryDefault;
 import org.apache.isis.applib.services.settings.SettingAbstract;
 import org.apache.isis.applib.services.settings.SettingType;
 import org.apache.isis.applib.services.settings.UserSetting;
 import org.apache.isis.applib.services.settings.UserSettingsService;
 import org.apache.isis.applib.services.settings.UserSettingsServiceRW;
+import org.apache.isis.applib.services.transaction.TransactionCommittedListener;
+import org.apache.isis.objectstore.jdo.applib.service.support.IsisJdoSupport;
 
 /**
  * An implementation of {@link UserSettingsService} that persists settings
  * as entities into a JDO-backed database.
+ * 
+ * <p>
+ * As for {@link ApplicationSettingsServiceJdo}, settings {@link #find(String, String) found} are 
+ * held in an application-scoped {@link SettingsCache} (as {@link UserSettingSnapshot snapshot}s), 
+ * invalidated whenever a transaction that changes any {@link UserSettingJdo} 
+ * {@link #committed(Set) commits}, and bypassed by a transaction that has itself changed any
+ * {@link UserSettingJdo}.  The {@link #findSetting(String, String) find} action in the UI always 
+ * returns the (uncached) entity itself.
  */
 @Named("User Settings")
-public class UserSettingsServiceJdo extends AbstractService implements UserSettingsServiceRW {
-
+public class UserSettingsServiceJdo extends AbstractService implements UserSettingsServiceRW, TransactionCommittedListener {
+
+    /**
+     * Keyed by (user, key).
+     */
+    private final SettingsCache<List<String>, UserSetting> cache = new SettingsCache<List<String>, UserSetting>();
+
+    private IsisJdoSupport isisJdoSupport;
+
+    /**
+     * Returns an immutable {@link UserSettingSnapshot snapshot} of the setting, 
+     * (read-through) cached.
+     * 
+     * <p>
+     * Not an action; see instead {@link #findSetting(String, String)}.
+     */
+    @Programmatic
     @Override
-    public UserSetting find(
+    public UserSetting find(String user, String key) {
+        if(SettingsChanges.pendingIn(isisJdoSupport, UserSettingJdo.class)) {
+            // neither use nor populate the cache with this transaction's own (uncommitted) changes
+            final UserSettingJdo setting = findSetting(user, key);
+            return setting != null? new UserSettingSnapshot(setting): null;
+        }
+        final List<String> cacheKey = Arrays.asList(user, key);
+        final com.google.common.base.Optional<UserSetting> cached = cache.get(cacheKey);
+        if(cached != null) {
+            return cached.orNull();
+        }
+        final long version = cache.currentVersion();
+        final UserSettingJdo setting = findSetting(user, key);
+        final UserSetting snapshot = setting != null? new UserSettingSnapshot(setting): null;
+        cache.put(version, cacheKey, com.google.common.base.Optional.fromNullable(snapshot));
+        return snapshot;
+    }
+
+    /**
+     * The setting entity itself (so can be updated), not cached.
+     */
+    @Named("Find")
+    public UserSettingJdo findSetting(
             @Named("User") String user, 
             @Named("Key") String key) {
         return firstMatch(
@@ -57,6 +108,19 @@ public UserSetting find(
                         "key", key));
     }
 
+    // //////////////////////////////////////
+
+    @Hidden
+    @Override
+    public void committed(final Set<Object> changedObjects) {
+        for (final Object changedObject : changedObjects) {
+            if(changedObject instanceof UserSettingJdo) {
+                cache.invalidate();
+                return;
+            }
+        }
+    }
+
 
     // //////////////////////////////////////
 
@@ -163,8 +227,17 @@ private UserSettingJdo newSetting(
         setting.setDescription(description);
         setting.setValueRaw(valueRaw);
         persist(setting);
+        // any cached "absent" is now out of date; invalidated again once committed
+        cache.invalidate();
         return setting;
     }
+
+    // //////////////////////////////////////
+
+    @Programmatic
+    public void injectIsisJdoSupport(IsisJdoSupport isisJdoSupport) {
+        this.isisJdoSupport = isisJdoSupport;
+    }
     
 
 }
@@ -33,8 +33,8 @@ public class UserSettingsServiceJdoHidden extends UserSettingsServiceJdo {
 
     @Hidden
     @Override
-    public UserSetting find(String user, String key) {
-        return super.find(user, key);
+    public UserSettingJdo findSetting(String user, String key) {
+        return super.findSetting(user, key);
     }
 
     // //////////////////////////////////////
@@ -0,0 +1,129 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.objectstore.jdo.applib.service.settings;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Collections;
+
+import javax.jdo.PersistenceManager;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.settings.SettingType;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+import org.apache.isis.objectstore.jdo.applib.service.support.IsisJdoSupport;
+
+public class ApplicationSettingsServiceJdoTest_find {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_ONLY);
+
+    @Mock
+    private IsisJdoSupport isisJdoSupport;
+
+    @Mock
+    private PersistenceManager persistenceManager;
+
+    private ApplicationSettingJdo setting;
+    private int queries;
+
+    private ApplicationSettingsServiceJdo service;
+
+    @Before
+    public void setUp() throws Exception {
+        setting = newSetting("foo", "bar");
+        service = new ApplicationSettingsServiceJdo() {
+            @Override
+            public ApplicationSettingJdo findSetting(final String key) {
+                queries++;
+                return setting;
+            }
+        };
+        context.checking(new Expectations() {
+            {
+                allowing(isisJdoSupport).getJdoPersistenceManager();
+                will(returnValue(persistenceManager));
+            }
+        });
+    }
+
+    @Test
+    public void cachedWhenNoSettingsChangedInTransaction() throws Exception {
+        service.injectIsisJdoSupport(isisJdoSupport);
+        context.checking(new Expectations() {
+            {
+                allowing(persistenceManager);
+                will(returnValue(Collections.emptySet()));
+            }
+        });
+
+        assertThat(service.find("foo").getValueRaw(), is("bar"));
+        setting = newSetting("foo", "baz");
+        assertThat(service.find("foo").getValueRaw(), is("bar"));
+        assertThat(queries, is(1));
+    }
+
+    @Test
+    public void bypassesCacheWhenSettingsChangedInTransaction() throws Exception {
+        service.injectIsisJdoSupport(isisJdoSupport);
+        context.checking(new Expectations() {
+            {
+                allowing(persistenceManager);
+                will(onConsecutiveCalls(
+                        returnValue(Collections.emptySet()), 
+                        returnValue(Collections.singleton(setting)), 
+                        returnValue(Collections.emptySet())));
+            }
+        });
+
+        assertThat(service.find("foo").getValueRaw(), is("bar"));
+
+        // changed in this transaction, so sees its own change...
+        setting = newSetting("foo", "baz");
+        assertThat(service.find("foo").getValueRaw(), is("baz"));
+
+        // ... but not cached, as not yet committed
+        assertThat(service.find("foo").getValueRaw(), is("bar"));
+        assertThat(queries, is(2));
+    }
+
+    @Test
+    public void neverCachedWithoutIsisJdoSupport() throws Exception {
+        assertThat(service.find("foo").getValueRaw(), is("bar"));
+        assertThat(service.find("foo").getValueRaw(), is("bar"));
+        assertThat(queries, is(2));
+    }
+
+    private static ApplicationSettingJdo newSetting(final String key, final String valueRaw) {
+        final ApplicationSettingJdo setting = new ApplicationSettingJdo();
+        setting.setKey(key);
+        setting.setValueRaw(valueRaw);
+        setting.setType(SettingType.STRING);
+        return setting;
+    }
+
+}
@@ -0,0 +1,76 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.objectstore.jdo.applib.service.settings;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableMap;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class SettingsCacheTest {
+
+    private SettingsCache<String, String> cache;
+
+    @Before
+    public void setUp() throws Exception {
+        cache = new SettingsCache<String, String>();
+    }
+
+    @Test
+    public void notCached() throws Exception {
+        assertThat(cache.get("foo"), is(nullValue()));
+    }
+
+    @Test
+    public void cachesPresentAndAbsentValues() throws Exception {
+        final long version = cache.currentVersion();
+        cache.put(version, "foo", Optional.of("bar"));
+        cache.put(version, "baz", Optional.<String>absent());
+
+        assertThat(cache.get("foo"), is(Optional.of("bar")));
+        assertThat(cache.get("baz"), is(Optional.<String>absent()));
+    }
+
+    @Test
+    public void invalidateDiscardsCachedValues() throws Exception {
+        cache.putAll(cache.currentVersion(), ImmutableMap.of("foo", "bar"));
+
+        cache.invalidate();
+
+        assertThat(cache.get("foo"), is(nullValue()));
+        assertThat(cache.size(), is(0));
+    }
+
+    @Test
+    public void valueReadBeforeInvalidationIsNotCached() throws Exception {
+        final long version = cache.currentVersion();
+        cache.invalidate();
+
+        cache.put(version, "foo", Optional.of("stale"));
+
+        assertThat(cache.get("foo"), is(nullValue()));
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.objectstore.jdo.datanucleus.metamodel;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.google.common.base.CharMatcher;
+import com.google.common.collect.Lists;
+
+import org.apache.isis.core.commons.lang.StringExtensions;
+import org.apache.isis.core.metamodel.facets.object.title.TitleFacet;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.metamodel.spec.feature.OneToOneAssociation;
+import org.apache.isis.core.progmodel.facets.object.title.annotation.TitleFacetViaTitleAnnotation;
+import org.apache.isis.core.progmodel.facets.object.title.annotation.TitleFacetViaTitleAnnotation.TitleComponent;
+import org.apache.isis.objectstore.jdo.metamodel.facets.object.persistencecapable.JdoPersistenceCapableFacet;
+
+public final class JdoTitleUtils {
+
+    private JdoTitleUtils() {
+    }
+
+    /**
+     * The persisted <tt>String</tt> properties that make up the title of the
+     * specified entity, in order; else <tt>null</tt> if the title is derived
+     * any other way.
+     * 
+     * <p>
+     * Only returned if the title is defined by <tt>@Title</tt> annotations on
+     * the properties' getters, not abbreviated, and with consecutive 
+     * components always separated by (non-empty) whitespace, even if some 
+     * components in between render as nothing.  Any word (containing no whitespace) in the title therefore occurs within
+     * (at least) one of these properties.
+     */
+    public static List<OneToOneAssociation> getTitlePropertiesFor(final ObjectSpecification objectSpec) {
+        if (objectSpec == null || !objectSpec.containsFacet(JdoPersistenceCapableFacet.class)) {
+            return null;
+        }
+        final TitleFacet titleFacet = objectSpec.getFacet(TitleFacet.class);
+        if (!(titleFacet instanceof TitleFacetViaTitleAnnotation)) {
+            return null;
+        }
+        final List<TitleComponent> components = ((TitleFacetViaTitleAnnotation) titleFacet).getComponents();
+        if (components.isEmpty()) {
+            return null;
+        }
+        if (!separatedByWhitespace(components)) {
+            return null;
+        }
+        final List<OneToOneAssociation> properties = Lists.newArrayList();
+        for (final TitleComponent component : components) {
+            if (component.getAbbreviateTo() != Integer.MAX_VALUE) {
+                return null;
+            }
+            final OneToOneAssociation property = persistedStringPropertyFor(objectSpec, component);
+            if (property == null) {
+                return null;
+            }
+            properties.add(property);
+        }
+        return Collections.unmodifiableList(properties);
+    }
+
+    /**
+     * Whether every prepend and append is whitespace, and the parts of any two
+     * components that may end up next to each other in the title (those in 
+     * between being <tt>null</tt> and so skipped) are separated by at least one
+     * whitespace character, contributed by the append of the former or the 
+     * prepend of the latter.
+     */
+    private static boolean separatedByWhitespace(final List<TitleComponent> components) {
+        for (final TitleComponent component : components) {
+            if (!CharMatcher.WHITESPACE.matchesAllOf(component.getPrepend()) || 
+                !CharMatcher.WHITESPACE.matchesAllOf(component.getAppend())) {
+                return false;
+            }
+        }
+        for (int j = 1; j < components.size(); j++) {
+            if (!components.get(j).getPrepend().isEmpty()) {
+                continue;
+            }
+            for (int i = 0; i < j; i++) {
+                if (components.get(i).getAppend().isEmpty()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static OneToOneAssociation persistedStringPropertyFor(final ObjectSpecification objectSpec, final TitleComponent component) {
+        final String methodName = component.getMethod().getName();
+        if (!methodName.startsWith("get")) {
+            return null;
+        }
+        final String propertyId = StringExtensions.asLowerFirst(StringExtensions.asJavaBaseName(methodName));
+        for (final ObjectAssociation association : objectSpec.getAssociations(Contributed.EXCLUDED)) {
+            if (!association.getId().equals(propertyId)) {
+                continue;
+            }
+            if (!association.isOneToOneAssociation() || association.isNotPersisted()) {
+                return null;
+            }
+            if (association.getSpecification().getCorrespondingClass() != String.class) {
+                return null;
+            }
+            return (OneToOneAssociation) association;
+        }
+        return null;
+    }
+
+}
@@ -19,17 +19,36 @@
 package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
 
 import java.util.List;
+import java.util.Map;
 
 import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import org.apache.isis.core.commons.exceptions.NotYetImplementedException;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
 import org.apache.isis.core.runtime.persistence.query.PersistenceQueryFindByPattern;
 import org.apache.isis.objectstore.jdo.datanucleus.persistence.FrameworkSynchronizer;
 
+/**
+ * The (non-empty, persisted) value properties of the pattern are translated into
+ * a JDOQL filter; the candidates returned by the datastore are then
+ * {@link PersistenceQueryFindByPattern#matches(ObjectAdapter) matched} against the
+ * pattern's references (which are compared by title) and type.
+ */
 public class PersistenceQueryFindByPatternProcessor extends
         PersistenceQueryProcessorAbstract<PersistenceQueryFindByPattern> {
 
+    private static final Logger LOG = LoggerFactory.getLogger(PersistenceQueryFindByPatternProcessor.class);
+
     public PersistenceQueryFindByPatternProcessor(
             final PersistenceManager persistenceManager, final FrameworkSynchronizer frameworkSynchronizer) {
         super(persistenceManager, frameworkSynchronizer);
@@ -37,6 +56,45 @@ public PersistenceQueryFindByPatternProcessor(
 
     public List<ObjectAdapter> process(
             final PersistenceQueryFindByPattern persistenceQuery) {
-        throw new NotYetImplementedException();
+        final ObjectSpecification objectSpec = persistenceQuery.getSpecification();
+        final ObjectAdapter pattern = persistenceQuery.getPattern();
+
+        final Query jdoQuery = getPersistenceManager().newQuery(objectSpec.getCorrespondingClass());
+        
+        // http://www.datanucleus.org/servlet/jira/browse/NUCCORE-1103
+        jdoQuery.addExtension("datanucleus.multivaluedFetch", "none");
+
+        final Map<String, Object> argumentsByParameterName = Maps.newHashMap();
+        final String filter = filterFor(pattern, argumentsByParameterName);
+        if (filter != null) {
+            jdoQuery.setFilter(filter);
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("findByPattern(): class=" + objectSpec.getFullIdentifier() + ", filter=" + filter + " " + argumentsByParameterName);
+        }
+
+        final List<?> pojos = (List<?>) jdoQuery.executeWithMap(argumentsByParameterName);
+        return matching(persistenceQuery, loadAdapters(objectSpec, pojos));
+    }
+
+    private static String filterFor(final ObjectAdapter pattern, final Map<String, Object> argumentsByParameterName) {
+        final List<String> propertyFilters = Lists.newArrayList();
+        for (final ObjectAssociation association : pattern.getSpecification().getAssociations(Contributed.EXCLUDED)) {
+            if (association.isNotPersisted() || !association.isOneToOneAssociation()) {
+                continue;
+            }
+            if (!association.getSpecification().isValue() || association.isEmpty(pattern)) {
+                continue;
+            }
+            final ObjectAdapter valueAdapter = association.get(pattern);
+            if (valueAdapter == null) {
+                continue;
+            }
+            final String parameterName = "value" + argumentsByParameterName.size();
+            argumentsByParameterName.put(parameterName, valueAdapter.getObject());
+            propertyFilters.add("this." + association.getId() + " == :" + parameterName);
+        }
+        return propertyFilters.isEmpty() ? null : Joiner.on(" && ").join(propertyFilters);
     }
 }
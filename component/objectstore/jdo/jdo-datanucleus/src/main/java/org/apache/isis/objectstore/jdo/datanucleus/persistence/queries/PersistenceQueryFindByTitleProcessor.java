@@ -19,28 +19,94 @@
 package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
 
 import java.util.List;
+import java.util.Map;
 
 import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
+
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import org.apache.isis.core.commons.exceptions.NotYetImplementedException;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.OneToOneAssociation;
 import org.apache.isis.core.runtime.persistence.query.PersistenceQueryFindByTitle;
+import org.apache.isis.objectstore.jdo.datanucleus.metamodel.JdoTitleUtils;
 import org.apache.isis.objectstore.jdo.datanucleus.persistence.FrameworkSynchronizer;
 
+/**
+ * If the title of the entity is made up of {@link JdoTitleUtils#getTitlePropertiesFor(ObjectSpecification) 
+ * persisted properties}, then each word of the title searched for must occur in one of those
+ * properties; this is translated into a JDOQL filter.
+ * 
+ * <p>
+ * If the title searched for is a single word (and the entity has no subclasses) then the
+ * filter is exact, so the range is also applied by the datastore.  Otherwise the candidates
+ * returned by the datastore are {@link PersistenceQueryFindByTitle#matches(ObjectAdapter) matched}
+ * against their actual titles.
+ */
 public class PersistenceQueryFindByTitleProcessor extends PersistenceQueryProcessorAbstract<PersistenceQueryFindByTitle> {
 
+    private static final Logger LOG = LoggerFactory.getLogger(PersistenceQueryFindByTitleProcessor.class);
+
     public PersistenceQueryFindByTitleProcessor(final PersistenceManager persistenceManager, final FrameworkSynchronizer frameworkSynchronizer) {
         super(persistenceManager, frameworkSynchronizer);
     }
 
     public List<ObjectAdapter> process(final PersistenceQueryFindByTitle persistenceQuery) {
         final ObjectSpecification objectSpec = persistenceQuery.getSpecification();
-        final Class<?> correspondingClass = objectSpec.getCorrespondingClass();
-        return process(persistenceQuery, correspondingClass);
+        final String title = persistenceQuery.getTitle();
+        final List<OneToOneAssociation> titleProperties = JdoTitleUtils.getTitlePropertiesFor(objectSpec);
+
+        final Query jdoQuery = getPersistenceManager().newQuery(objectSpec.getCorrespondingClass());
+        
+        // http://www.datanucleus.org/servlet/jira/browse/NUCCORE-1103
+        jdoQuery.addExtension("datanucleus.multivaluedFetch", "none");
+        
+        final Map<String, Object> argumentsByParameterName = Maps.newHashMap();
+        if (titleProperties != null) {
+            final String filter = filterFor(titleProperties, title, argumentsByParameterName);
+            if (filter != null) {
+                jdoQuery.setFilter(filter);
+            }
+        }
+
+        final boolean exact = titleProperties != null && objectSpec.subclasses().isEmpty() && !CharMatcher.WHITESPACE.matchesAnyOf(title);
+        if (exact && (persistenceQuery.getStart() != 0 || persistenceQuery.getCount() != 0)) {
+            jdoQuery.setRange(persistenceQuery.getStart(), persistenceQuery.getCount() != 0 ? persistenceQuery.getStart() + persistenceQuery.getCount() : Integer.MAX_VALUE);
+        }
+        
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("findByTitle(): class=" + objectSpec.getFullIdentifier() + ", title='" + title + "', filter=" + jdoQuery + (exact ? " (exact)" : ""));
+        }
+
+        final List<?> pojos = (List<?>) jdoQuery.executeWithMap(argumentsByParameterName);
+        final List<ObjectAdapter> adapters = loadAdapters(objectSpec, pojos);
+        return exact ? adapters : matching(persistenceQuery, adapters);
     }
 
-    private <Z> List<ObjectAdapter> process(final PersistenceQueryFindByTitle persistenceQuery, Class<Z> correspondingClass) {
-        throw new NotYetImplementedException();
+    /**
+     * Each word must occur (case insensitively) in at least one of the title properties.
+     */
+    private static String filterFor(final List<OneToOneAssociation> titleProperties, final String title, final Map<String, Object> argumentsByParameterName) {
+        final List<String> wordFilters = Lists.newArrayList();
+        for (final String word : Splitter.on(CharMatcher.WHITESPACE).omitEmptyStrings().split(title)) {
+            final String parameterName = "word" + argumentsByParameterName.size();
+            argumentsByParameterName.put(parameterName, word.toLowerCase());
+            
+            final List<String> propertyFilters = Lists.newArrayList();
+            for (final OneToOneAssociation property : titleProperties) {
+                final String field = "this." + property.getId();
+                propertyFilters.add("(" + field + " != null && " + field + ".toLowerCase().indexOf(:" + parameterName + ") >= 0)");
+            }
+            wordFilters.add("(" + Joiner.on(" || ").join(propertyFilters) + ")");
+        }
+        return wordFilters.isEmpty() ? null : Joiner.on(" && ").join(wordFilters);
     }
 }
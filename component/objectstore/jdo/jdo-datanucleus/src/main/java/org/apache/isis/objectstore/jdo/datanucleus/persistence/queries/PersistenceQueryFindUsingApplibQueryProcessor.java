@@ -100,7 +100,10 @@ private List<?> getResults(final PersistenceQueryFindUsingApplibQueryDefault per
         // http://www.datanucleus.org/servlet/jira/browse/NUCCORE-1103
         jdoQuery.addExtension("datanucleus.multivaluedFetch", "none");
         
-        if(persistenceQuery.hasRange()) {
+        if (cardinality == QueryCardinality.SINGLE) {
+            // only the first is required, so have the datastore limit the rows returned
+            jdoQuery.setRange(persistenceQuery.getStart(), persistenceQuery.getStart() + 1);
+        } else if(persistenceQuery.hasRange()) {
             jdoQuery.setRange(persistenceQuery.getStart(), persistenceQuery.getEnd());
         }
         
@@ -19,9 +19,11 @@
 package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
 
 import java.util.List;
+import java.util.Map;
 
 import javax.jdo.PersistenceManager;
 import javax.jdo.PersistenceManagerFactory;
+import javax.jdo.Query;
 import javax.jdo.listener.InstanceLifecycleEvent;
 import javax.jdo.metadata.TypeMetadata;
 import javax.jdo.spi.PersistenceCapable;
@@ -32,7 +34,9 @@
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.adapter.mgr.AdapterManager;
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.runtime.persistence.query.PersistenceQueryBuiltIn;
 import org.apache.isis.core.runtime.system.context.IsisContext;
+import org.apache.isis.core.runtime.system.persistence.AdapterManagerSpi;
 import org.apache.isis.core.runtime.system.persistence.PersistenceQuery;
 import org.apache.isis.core.runtime.system.persistence.Persistor;
 import org.apache.isis.objectstore.jdo.datanucleus.DataNucleusObjectStore;
@@ -75,7 +79,9 @@ protected TypeMetadata getTypeMetadata(final String classFullName) {
      */
     protected List<ObjectAdapter> loadAdapters(
             final ObjectSpecification specification, final List<?> pojos) {
-        final List<ObjectAdapter> adapters = Lists.newArrayList();
+        final List<ObjectAdapter> adapters = Lists.newArrayListWithCapacity(pojos.size());
+        // size the identity maps up-front, before the adapters are mapped
+        getAdapterManagerSpi().expectAdapters(pojos.size());
         for (final Object pojo : pojos) {
         	// ought not to be necessary, however for some queries it seems that the 
         	// lifecycle listener is not called
@@ -87,6 +93,21 @@ protected List<ObjectAdapter> loadAdapters(
         return adapters;
     }
 
+    /**
+     * Those adapters that {@link PersistenceQueryBuiltIn#matches(ObjectAdapter) match} 
+     * the query (which also applies the query's range).
+     */
+    protected static List<ObjectAdapter> matching(
+            final PersistenceQueryBuiltIn persistenceQuery, final List<ObjectAdapter> adapters) {
+        final List<ObjectAdapter> matching = Lists.newArrayList();
+        for (final ObjectAdapter adapter : adapters) {
+            if (persistenceQuery.matches(adapter)) {
+                matching.add(adapter);
+            }
+        }
+        return matching;
+    }
+
     // /////////////////////////////////////////////////////////////
     // Dependencies (from context)
     // /////////////////////////////////////////////////////////////
@@ -99,6 +120,10 @@ protected AdapterManager getAdapterManager() {
         return IsisContext.getPersistenceSession().getAdapterManager();
     }
 
+    protected AdapterManagerSpi getAdapterManagerSpi() {
+        return IsisContext.getPersistenceSession().getAdapterManager();
+    }
+
     protected DataNucleusObjectStore getJdoObjectStore() {
         return (DataNucleusObjectStore) IsisContext.getPersistenceSession().getObjectStore();
     }
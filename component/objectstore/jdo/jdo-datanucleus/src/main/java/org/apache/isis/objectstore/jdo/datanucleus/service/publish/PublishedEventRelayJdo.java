@@ -0,0 +1,280 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.objectstore.jdo.datanucleus.service.publish;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.applib.annotation.Hidden;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.clock.Clock;
+import org.apache.isis.core.runtime.system.context.IsisContext;
+import org.apache.isis.core.runtime.system.internal.InitialisationSession;
+import org.apache.isis.core.runtime.system.transaction.TransactionalClosureWithReturnAbstract;
+import org.apache.isis.objectstore.jdo.applib.service.publish.PublishedEvent;
+import org.apache.isis.objectstore.jdo.applib.service.publish.PublishedEventSink;
+import org.apache.isis.objectstore.jdo.applib.service.publish.PublishingServiceJdo;
+
+/**
+ * Relays {@link PublishedEvent.State#QUEUED queued} {@link PublishedEvent}s from the
+ * {@link PublishingServiceJdo} to the registered {@link PublishedEventSink}, on a background thread.
+ * 
+ * <p>
+ * Every {@link #INTERVAL_MILLIS_KEY interval} the queue is drained, a {@link #BATCH_SIZE_KEY batch} 
+ * at a time, each batch in its own transaction; if {@link #PURGE_KEY configured}, the events processed 
+ * are then purged.  Delivery is at-least-once: a batch whose transaction fails to commit will be
+ * delivered again.
+ * 
+ * <p>
+ * Register this service along with {@link PublishingServiceJdo}, <tt>IsisJdoSupportImpl</tt> and an
+ * implementation of {@link PublishedEventSink}.
+ */
+@Hidden
+public class PublishedEventRelayJdo {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PublishedEventRelayJdo.class);
+
+    public static final String INTERVAL_MILLIS_KEY = "isis.services.publish.relay.intervalMillis";
+    public static final long INTERVAL_MILLIS_DEFAULT = 1000L;
+
+    public static final String BATCH_SIZE_KEY = "isis.services.publish.relay.batchSize";
+    public static final int BATCH_SIZE_DEFAULT = 100;
+
+    public static final String PURGE_KEY = "isis.services.publish.relay.purge";
+    public static final boolean PURGE_DEFAULT = false;
+
+    private long intervalMillis = INTERVAL_MILLIS_DEFAULT;
+    private int batchSize = BATCH_SIZE_DEFAULT;
+    private boolean purge = PURGE_DEFAULT;
+
+    private ScheduledExecutorService scheduler;
+
+    private final AtomicLong eventsRelayed = new AtomicLong();
+    private final AtomicLong batchesRelayed = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile long lastRelayedAt;
+    private volatile long lastLagMillis;
+
+    // //////////////////////////////////////
+    // init, shutdown
+    // //////////////////////////////////////
+
+    @Programmatic
+    @PostConstruct
+    public void init(final Map<String, String> properties) {
+        intervalMillis = longProperty(properties, INTERVAL_MILLIS_KEY, INTERVAL_MILLIS_DEFAULT);
+        final long batchSizeProperty = longProperty(properties, BATCH_SIZE_KEY, BATCH_SIZE_DEFAULT);
+        if(batchSizeProperty <= 0 || batchSizeProperty > Integer.MAX_VALUE) {
+            // a relay would never see a batch smaller than the batch size, and so never stop
+            throw new IllegalArgumentException("'" + BATCH_SIZE_KEY + "' must be a positive int; was: " + batchSizeProperty);
+        }
+        batchSize = (int) batchSizeProperty;
+        purge = Boolean.parseBoolean(properties.containsKey(PURGE_KEY)? properties.get(PURGE_KEY): String.valueOf(PURGE_DEFAULT));
+
+        if(sink == null) {
+            LOG.warn("no PublishedEventSink registered; queued events will not be relayed");
+            return;
+        }
+        if(intervalMillis <= 0) {
+            LOG.info("'" + INTERVAL_MILLIS_KEY + "' is not positive; queued events will only be relayed on demand");
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                final Thread thread = new Thread(runnable, "isis-published-event-relay");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        scheduler.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    relayInSession();
+                } catch (final RuntimeException ex) {
+                    failures.incrementAndGet();
+                    LOG.error("failed to relay queued events; will retry", ex);
+                }
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Programmatic
+    @PreDestroy
+    public void shutdown() {
+        if(scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(intervalMillis, TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        scheduler = null;
+    }
+
+    private static long longProperty(final Map<String, String> properties, final String key, final long defaultValue) {
+        final String value = properties.get(key);
+        if(value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch(final NumberFormatException ex) {
+            throw new IllegalArgumentException("'" + key + "' must be a number; was: " + value, ex);
+        }
+    }
+
+    // //////////////////////////////////////
+    // relay
+    // //////////////////////////////////////
+
+    private void relayInSession() {
+        IsisContext.openSession(new InitialisationSession());
+        try {
+            relay();
+        } finally {
+            IsisContext.closeSession();
+        }
+    }
+
+    /**
+     * Drains the queue, each batch in its own transaction, then (if configured) purges processed events.
+     * 
+     * <p>
+     * Must be called within a session, but not within a transaction.
+     * 
+     * @return the number of events relayed.
+     */
+    @Programmatic
+    public int relay() {
+        if(sink == null) {
+            return 0;
+        }
+        int relayed = 0;
+        while(true) {
+            final int relayedInBatch = IsisContext.getTransactionManager().executeWithinTransaction(new TransactionalClosureWithReturnAbstract<Integer>() {
+                @Override
+                public Integer execute() {
+                    return recordBatch(publishingService.relayQueued(sink, batchSize));
+                }
+            });
+            relayed += relayedInBatch;
+            if(relayedInBatch < batchSize) {
+                break;
+            }
+        }
+        if(purge && relayed > 0) {
+            IsisContext.getTransactionManager().executeWithinTransaction(new TransactionalClosureWithReturnAbstract<Void>() {
+                @Override
+                public Void execute() {
+                    publishingService.purgeProcessed();
+                    return null;
+                }
+            });
+        }
+        return relayed;
+    }
+
+    private int recordBatch(final List<PublishedEvent> events) {
+        if(events.isEmpty()) {
+            return 0;
+        }
+        final long now = Clock.getTime();
+        eventsRelayed.addAndGet(events.size());
+        batchesRelayed.incrementAndGet();
+        lastRelayedAt = now;
+        // the events are oldest first
+        lastLagMillis = now - events.get(0).getTimestamp();
+        return events.size();
+    }
+
+    // //////////////////////////////////////
+    // metrics
+    // //////////////////////////////////////
+
+    /**
+     * Total number of events relayed (though the transaction marking the last batch as processed may yet fail).
+     */
+    @Programmatic
+    public long getEventsRelayed() {
+        return eventsRelayed.get();
+    }
+
+    @Programmatic
+    public long getBatchesRelayed() {
+        return batchesRelayed.get();
+    }
+
+    /**
+     * Number of scheduled relays that failed (and so will be retried).
+     */
+    @Programmatic
+    public long getFailures() {
+        return failures.get();
+    }
+
+    /**
+     * When a batch was last relayed, or 0 if never.
+     */
+    @Programmatic
+    public long getLastRelayedAt() {
+        return lastRelayedAt;
+    }
+
+    /**
+     * How long the oldest event of the most recent batch had been queued when it was relayed.
+     */
+    @Programmatic
+    public long getLastLagMillis() {
+        return lastLagMillis;
+    }
+
+    // //////////////////////////////////////
+    // injected services
+    // //////////////////////////////////////
+
+    private PublishingServiceJdo publishingService;
+    private PublishedEventSink sink;
+
+    @Programmatic
+    public void injectPublishingService(final PublishingServiceJdo publishingService) {
+        this.publishingService = publishingService;
+    }
+
+    @Programmatic
+    public void injectPublishedEventSink(final PublishedEventSink sink) {
+        this.sink = sink;
+    }
+
+}
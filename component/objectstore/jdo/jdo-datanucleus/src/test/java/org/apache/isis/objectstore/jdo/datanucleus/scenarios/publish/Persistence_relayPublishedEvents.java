@@ -0,0 +1,149 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.objectstore.jdo.datanucleus.scenarios.publish;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.publish.EventMetadata;
+import org.apache.isis.applib.services.publish.EventPayload;
+import org.apache.isis.applib.services.publish.EventSerializer;
+import org.apache.isis.applib.services.publish.EventType;
+import org.apache.isis.applib.services.publish.ObjectStringifier;
+import org.apache.isis.core.integtestsupport.IsisSystemWithFixtures;
+import org.apache.isis.objectstore.jdo.applib.service.publish.PublishedEvent;
+import org.apache.isis.objectstore.jdo.applib.service.publish.PublishedEventSink;
+import org.apache.isis.objectstore.jdo.applib.service.publish.PublishingServiceJdo;
+import org.apache.isis.objectstore.jdo.datanucleus.Utils;
+import org.apache.isis.objectstore.jdo.datanucleus.service.publish.PublishedEventRelayJdo;
+import org.apache.isis.objectstore.jdo.datanucleus.service.support.IsisJdoSupportImpl;
+
+public class Persistence_relayPublishedEvents {
+
+    private static class RecordingSink implements PublishedEventSink {
+        private final List<List<String>> batches = Lists.newArrayList();
+
+        @Override
+        public void deliver(final List<PublishedEvent> events) {
+            final List<String> ids = Lists.newArrayList();
+            for (final PublishedEvent event : events) {
+                ids.add(event.getId());
+            }
+            batches.add(ids);
+        }
+    }
+
+    private static class SimplePayload implements EventPayload {
+        @Override
+        public void withStringifier(final ObjectStringifier stringifier) {
+        }
+    }
+
+    private PublishingServiceJdo publishingService = new PublishingServiceJdo();
+    private IsisJdoSupportImpl isisJdoSupport = new IsisJdoSupportImpl();
+
+    private RecordingSink sink = new RecordingSink();
+    private PublishedEventRelayJdo relay = new PublishedEventRelayJdo();
+
+    private UUID transactionId = UUID.randomUUID();
+
+    @Rule
+    public IsisSystemWithFixtures iswf = Utils.systemBuilder()
+        .withServices(publishingService, isisJdoSupport)
+        .build();
+
+    @Before
+    public void setUp() throws Exception {
+        publishingService.setEventSerializer(new EventSerializer.Simple());
+
+        relay.injectPublishingService(publishingService);
+        relay.injectPublishedEventSink(sink);
+        relay.init(ImmutableMap.of(
+                PublishedEventRelayJdo.INTERVAL_MILLIS_KEY, "0", 
+                PublishedEventRelayJdo.BATCH_SIZE_KEY, "2"));
+
+        iswf.beginTran();
+        isisJdoSupport.deleteAll(PublishedEvent.class);
+        iswf.commitTran();
+
+        iswf.beginTran();
+        for (int sequence = 0; sequence < 3; sequence++) {
+            final EventMetadata metadata = new EventMetadata(transactionId, sequence, EventType.OBJECT_UPDATED, "sven", 1000L + sequence, "event " + sequence);
+            publishingService.publish(metadata, new SimplePayload());
+        }
+        iswf.commitTran();
+    }
+
+    @Test
+    public void relaysQueuedEventsInBatchesOldestFirst() throws Exception {
+        final int relayed = relay.relay();
+
+        assertThat(relayed, is(3));
+        assertThat(sink.batches.size(), is(2));
+        assertThat(sink.batches.get(0), is((List<String>) Lists.newArrayList(transactionId + ".0", transactionId + ".1")));
+        assertThat(sink.batches.get(1), is((List<String>) Lists.newArrayList(transactionId + ".2")));
+
+        assertThat(relay.getEventsRelayed(), is(3L));
+        assertThat(relay.getBatchesRelayed(), is(2L));
+
+        iswf.beginTran();
+        assertThat(publishingService.queuedEvents().size(), is(0));
+        assertThat(publishingService.processedEvents().size(), is(3));
+        iswf.commitTran();
+    }
+
+    @Test
+    public void nothingFurtherToRelayOnceDrained() throws Exception {
+        relay.relay();
+
+        assertThat(relay.relay(), is(0));
+        assertThat(sink.batches.size(), is(2));
+    }
+
+    @Test
+    public void purgeProcessedDeletesOnlyProcessedEvents() throws Exception {
+        iswf.beginTran();
+        final List<PublishedEvent> queuedEvents = publishingService.queuedEvents(1);
+        assertThat(queuedEvents.size(), is(1));
+        queuedEvents.get(0).setState(PublishedEvent.State.PROCESSED);
+        iswf.commitTran();
+
+        iswf.beginTran();
+        publishingService.purgeProcessed();
+        iswf.commitTran();
+
+        iswf.beginTran();
+        assertThat(publishingService.processedEvents(), is(Collections.<PublishedEvent>emptyList()));
+        assertThat(publishingService.queuedEvents().size(), is(2));
+        iswf.commitTran();
+    }
+
+}
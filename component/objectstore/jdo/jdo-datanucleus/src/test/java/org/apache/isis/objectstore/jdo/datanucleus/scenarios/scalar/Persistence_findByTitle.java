@@ -0,0 +1,88 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.objectstore.jdo.datanucleus.scenarios.scalar;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.integtestsupport.IsisSystemWithFixtures;
+import org.apache.isis.core.tck.dom.scalars.JdkValuedEntity;
+import org.apache.isis.core.tck.dom.scalars.JdkValuedEntityRepository;
+import org.apache.isis.objectstore.jdo.datanucleus.Utils;
+
+public class Persistence_findByTitle {
+
+    private JdkValuedEntityRepository repo = new JdkValuedEntityRepository();
+    
+    @Rule
+    public IsisSystemWithFixtures iswf = Utils.systemBuilder()
+        .with(Utils.listenerToDeleteFrom("JDKVALUEDENTITY"))
+        .withServices(repo)
+        .build();
+
+    @Before
+    public void setUp() throws Exception {
+        iswf.beginTran();
+        repo.newEntity().setStringProperty("Fred Smith");
+        repo.newEntity().setStringProperty("Mary Jones");
+        repo.newEntity().setStringProperty("Freda Jones");
+        iswf.commitTran();
+        
+        iswf.bounceSystem();
+    }
+
+    @Test
+    public void singleWord() throws Exception {
+        iswf.beginTran();
+        final List<JdkValuedEntity> list = iswf.container.allMatches(JdkValuedEntity.class, "fred");
+        assertThat(list.size(), is(2));
+        iswf.commitTran();
+    }
+
+    @Test
+    public void singleWord_withRange() throws Exception {
+        iswf.beginTran();
+        final List<JdkValuedEntity> list = iswf.container.allMatches(JdkValuedEntity.class, "jones", 0, 1);
+        assertThat(list.size(), is(1));
+        iswf.commitTran();
+    }
+
+    @Test
+    public void severalWords_matchedAgainstWholeTitle() throws Exception {
+        iswf.beginTran();
+        final List<JdkValuedEntity> list = iswf.container.allMatches(JdkValuedEntity.class, "red Sm");
+        assertThat(list.size(), is(1));
+        assertThat(list.get(0).getStringProperty(), is("Fred Smith"));
+        iswf.commitTran();
+    }
+
+    @Test
+    public void noMatch() throws Exception {
+        iswf.beginTran();
+        final List<JdkValuedEntity> list = iswf.container.allMatches(JdkValuedEntity.class, "bill");
+        assertThat(list.size(), is(0));
+        iswf.commitTran();
+    }
+}
@@ -70,6 +70,9 @@ public class FileServer {
     private static final int DEFAULT_SERVICE_PORT = 9100;
     private static final int DEFAULT_CONTROL_PORT = 9101;
     private static final int DEFAULT_SYNC_PORT = 9102;
+    private static final int DEFAULT_WORKER_THREADS = 8;
+    private static final int DEFAULT_QUEUE_DEPTH = 50;
+    private static final long SHUTDOWN_TIMEOUT = 30000;
     private static final int BACKLOG = 0;
     private static final int INIT = 1;
     private static final int RECOVERY_LOG = 2;
@@ -116,9 +119,9 @@ private static void printHelp(final Options options) {
     private FileServerProcessor server;
     private CompositeConfiguration config;
 
-    private boolean awaitConnections = true;
-    private boolean isQuiescent = false;
-    private long requests;
+    private ServiceConnectionPool connectionPool;
+
+    private volatile boolean awaitConnections = true;
 
     public FileServer() {
         org.apache.log4j.PropertyConfigurator.configure("config/logging.properties");
@@ -143,6 +146,11 @@ public FileServer() {
     }
 
     private void startNormal() {
+        final int workerThreads = config.getInt("fileserver.worker-threads", DEFAULT_WORKER_THREADS);
+        final int queueDepth = config.getInt("fileserver.queue-depth", DEFAULT_QUEUE_DEPTH);
+        final int readTimeout = config.getInt("fileserver.read.timeout", 5000);
+        connectionPool = new ServiceConnectionPool(server, workerThreads, queueDepth, readTimeout);
+
         new Thread("control") {
             @Override
             public void run() {
@@ -208,16 +216,11 @@ private void startService() {
         }
         do {
             try {
-                while (isQuiescent) {
-                    try {
-                        Thread.sleep(300);
-                    } catch (final InterruptedException ignore) {
-                    }
-                }
+                connectionPool.awaitResumed();
                 final Socket connection = socket.accept();
                 LOG.debug("connection from " + connection);
                 connection.setSoTimeout(readTimeout);
-                serviceConnection(connection, readTimeout);
+                connectionPool.service(connection);
             } catch (final SocketTimeoutException expected) {
             } catch (final IOException e) {
                 LOG.error("networking problem", e);
@@ -225,33 +228,6 @@ private void startService() {
         } while (awaitConnections);
     }
 
-    private void serviceConnection(final Socket connection, final int readTimeout) {
-        try {
-            final InputStream input = connection.getInputStream();
-            final OutputStream output = connection.getOutputStream();
-            final ServerConnection pipe = new ServerConnection(input, output);
-            requests++;
-            server.process(pipe);
-            pipe.logComplete();
-        } catch (final NoSqlStoreException e) {
-            if (e.getCause() instanceof SocketTimeoutException) {
-                LOG.error("read timed out after " + (readTimeout / 1000.0) + " seconds", e);
-            } else {
-                LOG.error("file server failure", e);
-            }
-        } catch (final IOException e) {
-            LOG.error("networking failure", e);
-        } catch (final RuntimeException e) {
-            LOG.error("request failure", e);
-        } finally {
-            try {
-                connection.close();
-            } catch (final IOException e) {
-                LOG.warn("failure to close connection", e);
-            }
-        }
-    }
-
     private void startSyncing() {
         final String syncHost = config.getString("fileserver.sync-host", DEFAULT_HOST);
         final int syncPort = config.getInt("fileserver.sync-port", DEFAULT_SYNC_PORT);
@@ -307,12 +283,7 @@ private void startSyncing() {
                     } catch (final InterruptedException ignore) {
                     }
 
-                    while (isQuiescent) {
-                        try {
-                            Thread.sleep(300);
-                        } catch (final InterruptedException ignore) {
-                        }
-                    }
+                    connectionPool.awaitResumed();
                 } while (awaitConnections);
 
             } catch (final ConnectException e) {
@@ -387,18 +358,21 @@ private void controlConnection(final Socket connection) {
                     awaitConnections = false;
                     print.println("Server shutdown initiated...");
                     print.flush();
+                    connectionPool.shutdown(SHUTDOWN_TIMEOUT);
                     server.shutdown();
                     break;
                 } else if ("quiesce".equals(line)) {
-                    isQuiescent = true;
                     final String message = "Placing server in a quiescent state";
                     LOG.info(message);
                     print.println(message);
+                    print.flush();
+                    connectionPool.quiesce();
+                    print.println("Server is quiescent");
                     print.print("> ");
                     print.flush();
                 } else if ("resume".equals(line)) {
-                    if (isQuiescent) {
-                        isQuiescent = false;
+                    if (connectionPool.isQuiescent()) {
+                        connectionPool.resume();
                         final String message = "Resuming from a quiescent state";
                         LOG.info(message);
                         print.println(message);
@@ -412,8 +386,8 @@ private void controlConnection(final Socket connection) {
                     print.flush();
                     break;
                 } else if ("status".equals(line)) {
-                    print.println("requests: " + requests);
-                    print.println("quiescent: " + isQuiescent);
+                    print.println("requests: " + connectionPool.getRequests());
+                    print.println("quiescent: " + connectionPool.isQuiescent());
                     print.print("> ");
                     print.flush();
                 } else {
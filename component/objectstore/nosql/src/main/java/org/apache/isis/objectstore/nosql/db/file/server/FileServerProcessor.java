@@ -40,7 +40,8 @@ public class FileServerProcessor {
 
     private static final Logger LOG = LoggerFactory.getLogger(FileServerProcessor.class);
 
-    private boolean acceptNewRequests = true;
+    private volatile boolean acceptNewRequests = true;
+    private final Object serialNumberLock = new Object();
     private LockManager locks;
     private LogWriter logger;
 
@@ -131,7 +132,10 @@ private void list(final ServerConnection connection) {
                     final String fileName = file.getName();
                     final String id = fileName.substring(0, fileName.length() - 5);
                     final DataFileReader reader = findInstance(type, id, connection);
-                    readInstance(reader, connection);
+                    if (reader != null) {
+                        // may have been deleted since listed
+                        readInstance(reader, connection);
+                    }
                     locks.release(id, getTransactionId());
                     if (limit-- < 0) {
                         break;
@@ -337,32 +341,37 @@ void saveService(final String key, final String name) throws FileNotFoundExcepti
     }
 
     private void nextSerialBatch(final ServerConnection connection) throws IOException {
-        // TODO lock file first
-
         connection.endCommand();
         final String name = connection.getRequest();
         final int batchSize = connection.getRequestAsInt();
 
-        long nextId;
-        final File file = Util.serialNumberFile(name);
-        if (!file.exists()) {
-            nextId = 1;
-            LOG.info("Initial ID batch created at " + nextId);
-        } else {
-            final BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), Util.ENCODING));
-            nextId = Long.valueOf(reader.readLine()).longValue();
-            reader.close();
-            LOG.info("New ID batch allocated, from " + nextId);
-        }
-
-        final long newBatchAt = nextId + batchSize;
-        logger.logNextSerialBatch(name, newBatchAt);
+        final long nextId = allocateSerialBatch(name, batchSize);
+        connection.response(nextId);
+    }
 
-        saveNextBatch(file, newBatchAt);
+    /**
+     * Serialized, as requests are processed concurrently.
+     */
+    private long allocateSerialBatch(final String name, final int batchSize) throws IOException {
+        synchronized (serialNumberLock) {
+            long nextId;
+            final File file = Util.serialNumberFile(name);
+            if (!file.exists()) {
+                nextId = 1;
+                LOG.info("Initial ID batch created at " + nextId);
+            } else {
+                final BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), Util.ENCODING));
+                nextId = Long.valueOf(reader.readLine()).longValue();
+                reader.close();
+                LOG.info("New ID batch allocated, from " + nextId);
+            }
 
-        // TODO remove lock
+            final long newBatchAt = nextId + batchSize;
+            logger.logNextSerialBatch(name, newBatchAt);
 
-        connection.response(nextId);
+            saveNextBatch(file, newBatchAt);
+            return nextId;
+        }
     }
 
     private void saveNextBatch(final File file, final long newBatchAt) throws FileNotFoundException, IOException {
@@ -31,6 +31,32 @@ public boolean isWriteLocked() {
         return write != null;
     }
 
+    public boolean isWriteLockedByOther(final Thread transaction) {
+        return write != null && write != transaction;
+    }
+
+    public boolean hasReadsByOther(final Thread transaction) {
+        for (final Thread read : reads) {
+            if (read != transaction) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public List<Thread> holdersOtherThan(final Thread transaction) {
+        final List<Thread> holders = new ArrayList<Thread>(reads.size() + 1);
+        if (write != null && write != transaction) {
+            holders.add(write);
+        }
+        for (final Thread read : reads) {
+            if (read != transaction) {
+                holders.add(read);
+            }
+        }
+        return holders;
+    }
+
     public void addRead(final Thread transaction) {
         reads.add(transaction);
     }
@@ -20,47 +20,218 @@
 package org.apache.isis.objectstore.nosql.db.file.server;
 
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Read/write locks on the instances held by the file server, with each
+ * concurrent request acting as a transaction.
+ * 
+ * <p>
+ * A read waits for any write by another transaction to be released, and a
+ * write (once acquired) waits for any reads by other transactions to be
+ * released, so that instances are never read while partially written. A
+ * second concurrent write fails rather than waits.
+ * 
+ * <p>
+ * The lock table is striped by id, so requests for unrelated ids do not
+ * contend. No transaction waits for longer than the timeout, and a
+ * transaction that would wait on another that is (transitively) waiting on
+ * it is failed immediately: a read throws a {@link FileServerException}, a
+ * write returns <tt>false</tt>.
+ */
 public class LockManager {
 
-    private final Map<String, Lock> locks = new HashMap<String, Lock>();
+    private static final Logger LOG = LoggerFactory.getLogger(LockManager.class);
+
+    private static final int DEFAULT_STRIPES = 64;
+    private static final long DEFAULT_TIMEOUT = 10000;
+
+    private static class Stripe {
+        private final Map<String, Lock> locks = new HashMap<String, Lock>();
+
+        private Lock getLock(final String id) {
+            Lock lock = locks.get(id);
+            if (lock == null) {
+                lock = new Lock();
+                locks.put(id, lock);
+            }
+            return lock;
+        }
+    }
+
+    private final Stripe[] stripes;
+    private final long timeout;
+
+    /**
+     * The (other) holders of the lock that each waiting transaction is waiting
+     * on; the waits-for graph used to detect deadlocks.
+     */
+    private final ConcurrentMap<Thread, List<Thread>> waitsFor = new ConcurrentHashMap<Thread, List<Thread>>();
+
+    public LockManager() {
+        this(DEFAULT_STRIPES, DEFAULT_TIMEOUT);
+    }
 
-    public synchronized void acquireRead(final String id, final Thread transaction) {
-        final Lock lock = getLock(id);
-        lock.addRead(transaction);
+    /**
+     * @param stripes
+     *            - rounded up to a power of two
+     * @param timeout
+     *            - the longest (in milliseconds) that any lock is waited for
+     */
+    public LockManager(final int stripes, final long timeout) {
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.timeout = timeout;
+    }
+
+    private Stripe stripeFor(final String id) {
+        final int hash = id.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    public void acquireRead(final String id, final Thread transaction) {
+        final Stripe stripe = stripeFor(id);
+        synchronized (stripe) {
+            final long deadline = System.currentTimeMillis() + timeout;
+            Lock lock = stripe.getLock(id);
+            while (lock.isWriteLockedByOther(transaction)) {
+                awaitRelease(stripe, id, lock, transaction, deadline);
+                // the lock may have been discarded while waiting
+                lock = stripe.getLock(id);
+            }
+            lock.addRead(transaction);
+        }
     }
 
     public boolean acquireWrite(final String id, final Thread transaction) {
-        final Lock lock = getLock(id);
-        if (lock.isWriteLocked()) {
-            return false;
+        final Stripe stripe = stripeFor(id);
+        synchronized (stripe) {
+            final Lock lock = stripe.getLock(id);
+            if (lock.isWriteLocked()) {
+                return false;
+            }
+            lock.setWrite(transaction);
+            final long deadline = System.currentTimeMillis() + timeout;
+            try {
+                while (lock.hasReadsByOther(transaction)) {
+                    awaitRelease(stripe, id, lock, transaction, deadline);
+                }
+            } catch (final FileServerException e) {
+                LOG.warn(e.getMessage());
+                release(stripe, id, transaction);
+                return false;
+            }
+            return true;
         }
-        lock.setWrite(transaction);
-        return true;
     }
 
-    private Lock getLock(final String id) {
-        Lock lock;
-        synchronized (this) {
-            lock = locks.get(id);
-            if (lock == null) {
-                lock = new Lock();
-                locks.put(id, lock);
+    /**
+     * Called while synchronized on the stripe.
+     */
+    private void awaitRelease(final Stripe stripe, final String id, final Lock lock, final Thread transaction, final long deadline) {
+        final long remaining = deadline - System.currentTimeMillis();
+        if (remaining <= 0) {
+            throw new FileServerException("timed out after " + timeout + "ms waiting for lock on " + id);
+        }
+        waitsFor.put(transaction, lock.holdersOtherThan(transaction));
+        try {
+            if (isDeadlocked(transaction)) {
+                throw new FileServerException("deadlock detected waiting for lock on " + id);
+            }
+            stripe.wait(remaining);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FileServerException("interrupted while waiting for lock on " + id);
+        } finally {
+            waitsFor.remove(transaction);
+        }
+    }
+
+    /**
+     * Whether any of the transactions that this transaction is waiting on are
+     * themselves (transitively) waiting on it.
+     */
+    private boolean isDeadlocked(final Thread transaction) {
+        final List<Thread> holders = waitsFor.get(transaction);
+        if (holders == null) {
+            return false;
+        }
+        final Set<Thread> visited = new HashSet<Thread>();
+        final LinkedList<Thread> toVisit = new LinkedList<Thread>(holders);
+        while (!toVisit.isEmpty()) {
+            final Thread holder = toVisit.removeFirst();
+            if (holder == transaction) {
+                return true;
+            }
+            if (visited.add(holder)) {
+                final List<Thread> waitedOn = waitsFor.get(holder);
+                if (waitedOn != null) {
+                    toVisit.addAll(waitedOn);
+                }
             }
         }
-        return lock;
+        return false;
     }
 
-    public synchronized void release(final String id, final Thread transaction) {
-        final Lock lock = getLock(id);
+    public void release(final String id, final Thread transaction) {
+        if (id == null) {
+            return;
+        }
+        final Stripe stripe = stripeFor(id);
+        synchronized (stripe) {
+            release(stripe, id, transaction);
+        }
+    }
+
+    private void release(final Stripe stripe, final String id, final Thread transaction) {
+        final Lock lock = stripe.locks.get(id);
+        if (lock == null) {
+            return;
+        }
         lock.remove(transaction);
         if (lock.isEmpty()) {
-            locks.remove(id);
+            stripe.locks.remove(id);
         }
+        stripe.notifyAll();
     }
 
+    /**
+     * Waits (for up to the timeout) for all locks to be released.
+     */
     public void waitUntilAllRealeased() {
+        final long deadline = System.currentTimeMillis() + timeout;
+        for (final Stripe stripe : stripes) {
+            synchronized (stripe) {
+                while (!stripe.locks.isEmpty()) {
+                    final long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        LOG.warn("locks still held after waiting " + timeout + "ms: " + stripe.locks.keySet());
+                        return;
+                    }
+                    try {
+                        stripe.wait(remaining);
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
     }
 
 }
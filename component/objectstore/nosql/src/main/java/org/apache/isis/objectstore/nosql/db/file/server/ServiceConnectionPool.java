@@ -0,0 +1,214 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.objectstore.nosql.db.file.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.objectstore.nosql.NoSqlStoreException;
+
+/**
+ * Services the connections accepted by the {@link FileServer} on a pool of
+ * worker threads, so that requests are processed concurrently.
+ * 
+ * <p>
+ * Isolation between concurrent requests is the responsibility of the
+ * {@link LockManager} used by the {@link FileServerProcessor}. Once all the
+ * workers are busy, connections are queued (up to the configured depth);
+ * once the queue is full, a connection is serviced on the accepting thread
+ * itself, so slowing down the acceptance of further connections.
+ */
+public class ServiceConnectionPool {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ServiceConnectionPool.class);
+
+    private final FileServerProcessor server;
+    private final int readTimeout;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong requests = new AtomicLong();
+
+    private final Object monitor = new Object();
+    // guarded by monitor
+    private int pendingConnections;
+    // guarded by monitor
+    private boolean quiescent;
+
+    public ServiceConnectionPool(final FileServerProcessor server, final int workerThreads, final int queueDepth, final int readTimeout) {
+        this.server = server;
+        this.readTimeout = readTimeout;
+        final BlockingQueue<Runnable> queue = queueDepth > 0 ? new ArrayBlockingQueue<Runnable>(queueDepth) : new SynchronousQueue<Runnable>();
+        executor = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS, queue, new WorkerThreadFactory(), new ThreadPoolExecutor.CallerRunsPolicy());
+        LOG.info("servicing connections with " + workerThreads + " worker thread(s), queue depth " + queueDepth);
+    }
+
+    /**
+     * Services the (already accepted) connection, closing it once done.
+     * 
+     * <p>
+     * A connection accepted while {@link #quiesce() quiescent} is held until
+     * {@link #resume() resumed}.
+     */
+    public void service(final Socket connection) {
+        synchronized (monitor) {
+            awaitResumed();
+            pendingConnections++;
+        }
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    serviceConnection(connection);
+                } finally {
+                    synchronized (monitor) {
+                        pendingConnections--;
+                        monitor.notifyAll();
+                    }
+                }
+            }
+        });
+    }
+
+    private void serviceConnection(final Socket connection) {
+        try {
+            final InputStream input = connection.getInputStream();
+            final OutputStream output = connection.getOutputStream();
+            final ServerConnection pipe = new ServerConnection(input, output);
+            requests.incrementAndGet();
+            server.process(pipe);
+            pipe.logComplete();
+        } catch (final NoSqlStoreException e) {
+            if (e.getCause() instanceof SocketTimeoutException) {
+                LOG.error("read timed out after " + (readTimeout / 1000.0) + " seconds", e);
+            } else {
+                LOG.error("file server failure", e);
+            }
+        } catch (final IOException e) {
+            LOG.error("networking failure", e);
+        } catch (final RuntimeException e) {
+            LOG.error("request failure", e);
+        } finally {
+            try {
+                connection.close();
+            } catch (final IOException e) {
+                LOG.warn("failure to close connection", e);
+            }
+        }
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    // //////////////////////////////////////////////////////
+    // quiescence
+    // //////////////////////////////////////////////////////
+
+    public boolean isQuiescent() {
+        synchronized (monitor) {
+            return quiescent;
+        }
+    }
+
+    /**
+     * Stops further connections from being accepted, and waits for those
+     * already accepted to be completed.
+     */
+    public void quiesce() {
+        synchronized (monitor) {
+            quiescent = true;
+            while (pendingConnections > 0) {
+                try {
+                    monitor.wait();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    public void resume() {
+        synchronized (monitor) {
+            quiescent = false;
+            monitor.notifyAll();
+        }
+    }
+
+    /**
+     * Blocks while {@link #quiesce() quiescent}.
+     */
+    public void awaitResumed() {
+        synchronized (monitor) {
+            while (quiescent) {
+                try {
+                    monitor.wait();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // //////////////////////////////////////////////////////
+    // shutdown
+    // //////////////////////////////////////////////////////
+
+    /**
+     * Waits (for up to the specified time) for all accepted connections to be
+     * serviced; no further connections should be submitted.
+     */
+    public void shutdown(final long timeoutMillis) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                LOG.warn("connections still being serviced after " + timeoutMillis + "ms; continuing with shutdown");
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(runnable, "service-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
@@ -0,0 +1,181 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.objectstore.nosql.db.file.server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+import org.apache.isis.objectstore.nosql.db.file.FileServerDb;
+
+/**
+ * Drives a number of concurrent {@link FileServerDb} clients against a local
+ * file server, reporting the throughput and latency percentiles.
+ * 
+ * <p>
+ * Not a unit test; run from the IDE with (optional) arguments:
+ * <tt>clients requestsPerClient workerThreads queueDepth</tt>. Nine in ten
+ * requests read an instance; the remainder allocate a serial number batch.
+ */
+public class FileServerLoadHarness {
+
+    private static final String TYPE = "org.domain.Load";
+    private static final int INSTANCES = 1000;
+    private static final int TIMEOUT = 5000;
+
+    public static void main(final String[] args) throws Exception {
+        final int clients = intArg(args, 0, 16);
+        final int requestsPerClient = intArg(args, 1, 1000);
+        final int workerThreads = intArg(args, 2, 8);
+        final int queueDepth = intArg(args, 3, 50);
+
+        Util.setDirectory("target/load", "services", "logs", "archive");
+        Util.ensureDirectoryExists();
+        populate();
+
+        final FileServerProcessor processor = new FileServerProcessor();
+        processor.startup();
+        final ServiceConnectionPool connectionPool = new ServiceConnectionPool(processor, workerThreads, queueDepth, TIMEOUT);
+        final ServerSocket serverSocket = new ServerSocket(0, 0, InetAddress.getByName("localhost"));
+        final Thread acceptor = new Thread("acceptor") {
+            @Override
+            public void run() {
+                try {
+                    while (true) {
+                        final Socket connection = serverSocket.accept();
+                        connection.setSoTimeout(TIMEOUT);
+                        connectionPool.service(connection);
+                    }
+                } catch (final IOException closed) {
+                }
+            }
+        };
+        acceptor.start();
+
+        final int port = serverSocket.getLocalPort();
+        final long[][] latencies = new long[clients][requestsPerClient];
+        final AtomicInteger failures = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch finish = new CountDownLatch(clients);
+        for (int i = 0; i < clients; i++) {
+            final long[] clientLatencies = latencies[i];
+            new Thread("client-" + i) {
+                @Override
+                public void run() {
+                    final FileServerDb db = new FileServerDb("localhost", port, TIMEOUT);
+                    final Random random = new Random();
+                    try {
+                        start.await();
+                        for (int j = 0; j < requestsPerClient; j++) {
+                            final long startedAt = System.nanoTime();
+                            try {
+                                if (j % 10 == 9) {
+                                    db.nextSerialNumberBatch(ObjectSpecId.of(TYPE), 10);
+                                } else {
+                                    db.getInstance(Integer.toString(random.nextInt(INSTANCES)), ObjectSpecId.of(TYPE));
+                                }
+                            } catch (final RuntimeException e) {
+                                failures.incrementAndGet();
+                            }
+                            clientLatencies[j] = System.nanoTime() - startedAt;
+                        }
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        finish.countDown();
+                    }
+                }
+            }.start();
+        }
+
+        final long startedAt = System.nanoTime();
+        start.countDown();
+        finish.await();
+        final long elapsed = System.nanoTime() - startedAt;
+
+        serverSocket.close();
+        connectionPool.shutdown(TIMEOUT);
+        processor.shutdown();
+
+        report(clients, workerThreads, queueDepth, latencies, elapsed, failures.get());
+    }
+
+    private static void populate() throws IOException {
+        final List<FileContent> files = new ArrayList<FileContent>();
+        for (int id = 0; id < INSTANCES; id++) {
+            final String json = "{\"_id\":\"" + id + "\",\"_type\":\"" + TYPE + "\",\"_version\":\"1\",\"name\":\"instance " + id + "\"}";
+            files.add(new FileContent('I', Integer.toString(id), null, "1", TYPE, checksummed(json)));
+        }
+        new DataFileWriter(files).writeData();
+    }
+
+    /**
+     * As per <tt>FileClientCommandContext</tt>.
+     */
+    private static String checksummed(final String data) {
+        final CRC32 checksum = new CRC32();
+        checksum.update(data.getBytes());
+        checksum.update('\n');
+        final String code = Long.toHexString(checksum.getValue());
+        return "00000000".substring(0, 8 - code.length()) + code + data + "\n";
+    }
+
+    private static void report(final int clients, final int workerThreads, final int queueDepth, final long[][] latencies, final long elapsed, final int failures) {
+        int count = 0;
+        for (final long[] clientLatencies : latencies) {
+            count += clientLatencies.length;
+        }
+        final long[] all = new long[count];
+        int pos = 0;
+        for (final long[] clientLatencies : latencies) {
+            System.arraycopy(clientLatencies, 0, all, pos, clientLatencies.length);
+            pos += clientLatencies.length;
+        }
+        Arrays.sort(all);
+
+        System.out.println("clients: " + clients + ", worker threads: " + workerThreads + ", queue depth: " + queueDepth);
+        System.out.println("requests: " + count + " (" + failures + " failed) in " + millis(elapsed) + "ms");
+        System.out.println("throughput: " + (long) (count / (elapsed / 1e9)) + " requests/s");
+        System.out.println("latency p50: " + millis(percentile(all, 50)) + "ms, p99: " + millis(percentile(all, 99)) + "ms, max: " + millis(all[all.length - 1]) + "ms");
+    }
+
+    private static long percentile(final long[] sorted, final int percentile) {
+        final int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    private static double millis(final long nanos) {
+        return Math.round(nanos / 10000.0) / 100.0;
+    }
+
+    private static int intArg(final String[] args, final int index, final int defaultValue) {
+        return args.length > index ? Integer.parseInt(args[index]) : defaultValue;
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures the throughput of uncontended (disjoint) write locks on a single
+ * thread and on several, to show how well the {@link LockManager} scales.
+ * 
+ * <p>
+ * Not a unit test; run from the IDE with (optional) arguments:
+ * <tt>threads operationsPerThread</tt>, the number of threads defaulting to
+ * the number of available processors.
+ */
+public class LockManagerScalingHarness {
+
+    public static void main(final String[] args) throws Exception {
+        final int threads = intArg(args, 0, Runtime.getRuntime().availableProcessors());
+        final int operationsPerThread = intArg(args, 1, 200000);
+        final LockManager manager = new LockManager();
+
+        final long single = disjointWrites(manager, 1, operationsPerThread);
+        final long concurrent = disjointWrites(manager, threads, operationsPerThread);
+
+        final double singleRate = operationsPerThread / (single / 1e9);
+        final double concurrentRate = threads * operationsPerThread / (concurrent / 1e9);
+        System.out.println("disjoint writes: 1 thread " + (long) singleRate + "/s; " + threads + " threads " + (long) concurrentRate + "/s (x" + Math.round(concurrentRate / singleRate * 10) / 10.0 + ")");
+    }
+
+    private static long disjointWrites(final LockManager manager, final int threads, final int operationsPerThread) throws InterruptedException {
+        final AtomicInteger failures = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch finish = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            final String prefix = "t" + t + "-";
+            new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        for (int i = 0; i < operationsPerThread; i++) {
+                            final String id = prefix + (i & 15);
+                            if (!manager.acquireWrite(id, this)) {
+                                failures.incrementAndGet();
+                            }
+                            manager.release(id, this);
+                        }
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        finish.countDown();
+                    }
+                }
+            }.start();
+        }
+        final long startedAt = System.nanoTime();
+        start.countDown();
+        finish.await();
+        final long elapsed = System.nanoTime() - startedAt;
+
+        if (failures.get() > 0) {
+            throw new IllegalStateException(failures.get() + " uncontended write locks were refused");
+        }
+        return elapsed;
+    }
+
+    private static int intArg(final String[] args, final int index, final int defaultValue) {
+        return args.length > index ? Integer.parseInt(args[index]) : defaultValue;
+    }
+
+}
@@ -0,0 +1,171 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.objectstore.nosql.db.file.server;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+public class LockManagerStressTest {
+
+    @Test
+    public void contendedReadsAndWritesAreIsolated() throws Exception {
+        final LockManager manager = new LockManager(4, 10000);
+        final int ids = 8;
+        final AtomicInteger[] readers = new AtomicInteger[ids];
+        final AtomicBoolean[] writers = new AtomicBoolean[ids];
+        for (int i = 0; i < ids; i++) {
+            readers[i] = new AtomicInteger();
+            writers[i] = new AtomicBoolean();
+        }
+        final AtomicInteger violations = new AtomicInteger();
+        final AtomicInteger writes = new AtomicInteger();
+
+        final int threads = 8;
+        final CountDownLatch finish = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread() {
+                @Override
+                public void run() {
+                    final Random random = new Random();
+                    try {
+                        for (int i = 0; i < 20000; i++) {
+                            final int index = random.nextInt(ids);
+                            final String id = Integer.toString(index);
+                            if (random.nextInt(4) == 0) {
+                                if (manager.acquireWrite(id, this)) {
+                                    if (!writers[index].compareAndSet(false, true) || readers[index].get() > 0) {
+                                        violations.incrementAndGet();
+                                    }
+                                    writes.incrementAndGet();
+                                    writers[index].set(false);
+                                    manager.release(id, this);
+                                }
+                            } else {
+                                manager.acquireRead(id, this);
+                                readers[index].incrementAndGet();
+                                if (writers[index].get()) {
+                                    violations.incrementAndGet();
+                                }
+                                readers[index].decrementAndGet();
+                                manager.release(id, this);
+                            }
+                        }
+                    } finally {
+                        finish.countDown();
+                    }
+                }
+            }.start();
+        }
+        finish.await();
+
+        assertThat(violations.get(), is(0));
+        assertTrue(writes.get() > 0);
+    }
+
+    @Test
+    public void deadlockDetectedRatherThanTimingOut() throws Exception {
+        // long enough that a refusal can only be the deadlock being detected
+        final long timeout = 60000;
+        final LockManager manager = new LockManager(64, timeout);
+        final AtomicReference<FileServerException> readRefused = new AtomicReference<FileServerException>();
+        final AtomicBoolean writeAcquired = new AtomicBoolean();
+
+        final Thread tx1 = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    manager.acquireRead("a", this);
+                } catch (final FileServerException e) {
+                    readRefused.set(e);
+                    manager.release("b", this);
+                }
+            }
+        };
+        final Thread tx2 = new Thread() {
+            @Override
+            public void run() {
+                writeAcquired.set(manager.acquireWrite("b", this));
+            }
+        };
+
+        // tx1 reads b, tx2 writes a
+        manager.acquireRead("b", tx1);
+        assertTrue(manager.acquireWrite("a", tx2));
+
+        // tx2 waits for tx1's read of b...
+        tx2.start();
+        awaitWaiting(tx2, 10000);
+        // ... and tx1 then waits for tx2's write of a
+        tx1.start();
+
+        tx1.join(timeout);
+        tx2.join(timeout);
+        assertFalse(tx1.isAlive());
+        assertFalse(tx2.isAlive());
+
+        // tx1, which closed the cycle, is the one refused...
+        assertThat(readRefused.get(), is(notNullValue()));
+        assertThat(readRefused.get().getMessage(), containsString("deadlock detected"));
+        // ... so that tx2 can go on to acquire its lock
+        assertTrue(writeAcquired.get());
+    }
+
+    /**
+     * Not {@link Thread.State#BLOCKED}, which could be the thread still entering the lock manager, before it is
+     * registered as waiting.
+     */
+    private static void awaitWaiting(final Thread thread, final long timeoutMillis) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (thread.getState() != Thread.State.WAITING && thread.getState() != Thread.State.TIMED_WAITING) {
+            if (System.currentTimeMillis() > deadline) {
+                fail(thread.getName() + " did not start waiting within " + timeoutMillis + "ms");
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    public void readTimesOut() throws Exception {
+        final LockManager manager = new LockManager(1, 200);
+        final Thread tx1 = new Thread();
+        final Thread tx2 = new Thread();
+        assertTrue(manager.acquireWrite("a", tx1));
+
+        try {
+            manager.acquireRead("a", tx2);
+            fail();
+        } catch (final FileServerException expected) {
+        }
+    }
+
+}
@@ -22,6 +22,9 @@
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -52,4 +55,47 @@ public void writeAbortsSecondWrite() throws Exception {
         assertFalse(manager.acquireWrite("2", tx2));
     }
 
+    @Test
+    public void readWaitsForWriteToBeReleased() throws Exception {
+        final Thread tx1 = new Thread();
+        assertTrue(manager.acquireWrite("2", tx1));
+
+        final CountDownLatch read = new CountDownLatch(1);
+        final Thread reader = new Thread() {
+            @Override
+            public void run() {
+                manager.acquireRead("2", this);
+                read.countDown();
+                manager.release("2", this);
+            }
+        };
+        reader.start();
+
+        assertFalse(read.await(200, TimeUnit.MILLISECONDS));
+        manager.release("2", tx1);
+        assertTrue(read.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void writeWaitsForReadsToBeReleased() throws Exception {
+        final Thread tx1 = new Thread();
+        manager.acquireRead("2", tx1);
+
+        final CountDownLatch written = new CountDownLatch(1);
+        final Thread writer = new Thread() {
+            @Override
+            public void run() {
+                if (manager.acquireWrite("2", this)) {
+                    written.countDown();
+                    manager.release("2", this);
+                }
+            }
+        };
+        writer.start();
+
+        assertFalse(written.await(200, TimeUnit.MILLISECONDS));
+        manager.release("2", tx1);
+        assertTrue(written.await(5, TimeUnit.SECONDS));
+    }
+
 }
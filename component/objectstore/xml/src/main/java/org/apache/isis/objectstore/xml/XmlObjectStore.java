@@ -138,6 +138,7 @@ public boolean hasInstances(final ObjectSpecification cls) {
     @Override
     public void open() throws ObjectPersistenceException {
         isFixturesInstalled = dataManager.isFixturesInstalled();
+        dataManager.open();
     }
 
     @Override
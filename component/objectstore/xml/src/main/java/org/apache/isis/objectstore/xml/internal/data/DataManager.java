@@ -25,6 +25,12 @@
 
 public interface DataManager {
 
+    /**
+     * Called whenever the object store is opened; any one-off loading should
+     * only be done the first time.
+     */
+    void open();
+
     void shutdown();
 
     /**
@@ -0,0 +1,153 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.objectstore.xml.internal.data.xml;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Collection;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.core.commons.exceptions.IsisException;
+
+/**
+ * Append-only record of the instances added to and removed from the instances
+ * file of a single specification.
+ *
+ * <p>
+ * Each line is either <tt>+oid</tt> or <tt>-oid</tt>. Replaying the log over
+ * the last compacted instances file (see {@link #replayOnto(Collection)})
+ * gives the current set of instances; replaying it more than once gives the
+ * same result, so a crash between writing the instances file and
+ * {@link #truncate() truncating} the log loses nothing.
+ */
+class InstanceLog {
+
+    private static final Logger LOG = LoggerFactory.getLogger(InstanceLog.class);
+
+    static final String EXTENSION = ".log";
+    private static final String CHARSET = "UTF-8";
+
+    private final File file;
+    private Writer out;
+    private int entries;
+
+    InstanceLog(final File directory, final String name) {
+        this.file = new File(directory, name + EXTENSION);
+    }
+
+    /**
+     * The number of entries appended since the log was last truncated, (if
+     * {@link #replayOnto(Collection) replayed}) including those written by a
+     * previous run.
+     */
+    int getEntries() {
+        return entries;
+    }
+
+    synchronized void replayOnto(final Collection<String> oids) {
+        if (!file.exists()) {
+            return;
+        }
+        BufferedReader in = null;
+        try {
+            in = new BufferedReader(new InputStreamReader(new FileInputStream(file), CHARSET));
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.length() < 2) {
+                    // blank, or partially written before a crash
+                    continue;
+                }
+                final String oid = line.substring(1);
+                if (line.charAt(0) == '+') {
+                    oids.add(oid);
+                } else if (line.charAt(0) == '-') {
+                    oids.remove(oid);
+                }
+                entries++;
+            }
+        } catch (final FileNotFoundException e) {
+            return;
+        } catch (final IOException e) {
+            throw new IsisException("Error reading instance log " + file, e);
+        } finally {
+            closeQuietly(in);
+        }
+    }
+
+    synchronized void added(final String oid) {
+        append('+', oid);
+    }
+
+    synchronized void removed(final String oid) {
+        append('-', oid);
+    }
+
+    private void append(final char op, final String oid) {
+        try {
+            if (out == null) {
+                out = new OutputStreamWriter(new FileOutputStream(file, true), CHARSET);
+            }
+            out.write(op);
+            out.write(oid);
+            out.write('\n');
+            out.flush();
+            entries++;
+        } catch (final IOException e) {
+            throw new IsisException("Problems writing instance log " + file, e);
+        }
+    }
+
+    /**
+     * Called once the instances file has been rewritten to include every entry
+     * in this log.
+     */
+    synchronized void truncate() {
+        close();
+        if (file.exists() && !file.delete()) {
+            LOG.warn("unable to delete instance log " + file);
+        }
+        entries = 0;
+    }
+
+    synchronized void close() {
+        closeQuietly(out);
+        out = null;
+    }
+
+    private static void closeQuietly(final Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (final IOException ignore) {
+        }
+    }
+}
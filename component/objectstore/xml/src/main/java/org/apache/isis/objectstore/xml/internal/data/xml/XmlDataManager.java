@@ -20,10 +20,20 @@
 package org.apache.isis.objectstore.xml.internal.data.xml;
 
 import java.io.File;
+import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.Writer;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
 import java.util.Vector;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
 import org.xml.sax.Attributes;
 import org.xml.sax.SAXException;
 import org.xml.sax.helpers.DefaultHandler;
@@ -53,18 +63,164 @@
 import org.apache.isis.objectstore.xml.internal.version.FileVersion;
 
 public class XmlDataManager implements DataManager {
+
+    /**
+     * The instances file of a specification is only rewritten once its
+     * {@link InstanceLog} holds more entries than this, or than the number of
+     * instances (whichever is the greater), so that the cost of rewriting is
+     * amortized across the inserts and removes that caused it.
+     */
+    private static final int MIN_LOG_ENTRIES_BEFORE_COMPACTION = 1000;
+
     private final XmlFile xmlFile;
 
+    /**
+     * The instances of each (non-abstract) specification, keyed by its full
+     * identifier; guarded by itself.
+     */
+    private final Map<String, Instances> instancesByName = Maps.newHashMap();
+    private boolean indexLoaded;
+
     public XmlDataManager(final XmlFile xmlFile) {
         this.xmlFile = xmlFile;
     }
 
     // ////////////////////////////////////////////////////////
-    // shutdown
+    // open, shutdown
     // ////////////////////////////////////////////////////////
 
+    /**
+     * Loads the instances file (and replays the {@link InstanceLog}) of every
+     * specification that has any; only done the first time called.
+     */
+    @Override
+    public void open() {
+        synchronized (instancesByName) {
+            if (indexLoaded) {
+                return;
+            }
+            for (final String name : namesOfIndexFiles()) {
+                if (instancesByName.containsKey(name)) {
+                    continue;
+                }
+                final Instances instances = loadInstances(name);
+                if (instances.isIndexed()) {
+                    instancesByName.put(name, instances);
+                }
+            }
+            indexLoaded = true;
+        }
+    }
+
+    private SortedSet<String> namesOfIndexFiles() {
+        final SortedSet<String> names = Sets.newTreeSet();
+        final String[] files = xmlFile.getDirectory().list(new FilenameFilter() {
+            @Override
+            public boolean accept(final File dir, final String name) {
+                return name.endsWith(".xml") || name.endsWith(InstanceLog.EXTENSION);
+            }
+        });
+        if (files != null) {
+            for (final String file : files) {
+                names.add(file.substring(0, file.lastIndexOf('.')));
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Compacts any outstanding {@link InstanceLog}s into their instances files.
+     */
     @Override
     public void shutdown() {
+        synchronized (instancesByName) {
+            for (final Instances instances : instancesByName.values()) {
+                if (instances.log.getEntries() > 0) {
+                    instances.compact();
+                }
+                instances.log.close();
+            }
+        }
+    }
+
+    // ////////////////////////////////////////////////////////
+    // instances index
+    // ////////////////////////////////////////////////////////
+
+    /**
+     * The oids of the instances of a single specification, being the contents
+     * of its instances file with its {@link InstanceLog} replayed on top.
+     */
+    private class Instances {
+        private final String name;
+        private final Set<String> oids;
+        private final InstanceLog log;
+        private boolean hasInstancesFile;
+
+        private Instances(final String name, final Collection<String> oids, final boolean hasInstancesFile) {
+            this.name = name;
+            this.oids = Sets.newLinkedHashSet(oids);
+            this.hasInstancesFile = hasInstancesFile;
+            this.log = new InstanceLog(xmlFile.getDirectory(), name);
+            log.replayOnto(this.oids);
+        }
+
+        boolean isIndexed() {
+            return hasInstancesFile || log.getEntries() > 0;
+        }
+
+        void add(final String oid) {
+            if (!oids.add(oid)) {
+                return;
+            }
+            log.added(oid);
+            compactIfRequired();
+        }
+
+        void remove(final String oid) {
+            if (!oids.remove(oid)) {
+                return;
+            }
+            log.removed(oid);
+            compactIfRequired();
+        }
+
+        private void compactIfRequired() {
+            // write the instances file straight away for a new specification,
+            // so that the store is seen as having its fixtures installed
+            if (!hasInstancesFile || log.getEntries() > Math.max(MIN_LOG_ENTRIES_BEFORE_COMPACTION, oids.size())) {
+                compact();
+            }
+        }
+
+        void compact() {
+            writeInstanceFile(name, oids);
+            hasInstancesFile = true;
+            log.truncate();
+        }
+    }
+
+    private Instances instancesFor(final ObjectSpecification noSpec) {
+        final String name = noSpec.getFullIdentifier();
+        Instances instances = instancesByName.get(name);
+        if (instances == null) {
+            instances = loadInstances(name);
+            instancesByName.put(name, instances);
+        }
+        return instances;
+    }
+
+    /**
+     * Without the version, so that the same instance always has the same key.
+     */
+    private static String indexKeyFor(final RootOid oid) {
+        return oid.enStringNoVersion(getOidMarshaller());
+    }
+
+    private Instances loadInstances(final String name) {
+        final InstanceHandler handler = new InstanceHandler();
+        xmlFile.parse(handler, name);
+        return new Instances(name, handler.instances, handler.isInstancesFile);
     }
 
     // ////////////////////////////////////////////////////////
@@ -147,7 +303,8 @@ private static Version fileVersionFrom(final Attributes attributes) {
 
 
     private class InstanceHandler extends DefaultHandler {
-        Vector<RootOid> instances = new Vector<RootOid>();
+        final List<String> instances = Lists.newArrayList();
+        boolean isInstancesFile;
 
         @Override
         public void characters(final char[] arg0, final int arg1, final int arg2) throws SAXException {
@@ -155,12 +312,11 @@ public void characters(final char[] arg0, final int arg1, final int arg2) throws
 
         @Override
         public void startElement(final String ns, final String name, final String tagName, final Attributes attrs) throws SAXException {
-            if (tagName.equals("instance")) {
-                
+            if (tagName.equals("instances")) {
+                isInstancesFile = true;
+            } else if (tagName.equals("instance")) {
                 final String oidStr = attrs.getValue("oid");
-                final RootOidDefault oid = RootOidDefault.deString(oidStr, getOidMarshaller());
-                
-                instances.addElement(oid);
+                instances.add(indexKeyFor(RootOidDefault.deString(oidStr, getOidMarshaller())));
             }
         }
     }
@@ -252,27 +408,35 @@ public ObjectDataVector getInstances(final ObjectData pattern) {
 
     @Override
     public int numberOfInstances(final ObjectData pattern) {
+        if (!pattern.fields().iterator().hasNext()) {
+            // every instance matches, so no need to read their data files
+            return loadInstances(pattern.getSpecification(getSpecificationLoader())).size();
+        }
         return getInstances(pattern).size();
     }
 
     private Vector<RootOid> loadInstances(final ObjectSpecification noSpec) {
-        final InstanceHandler handler = new InstanceHandler();
-        parseSpecAndSubclasses(handler, noSpec);
-        return handler.instances;
+        final Vector<RootOid> instances = new Vector<RootOid>();
+        synchronized (instancesByName) {
+            addSpecAndSubclasses(instances, noSpec);
+        }
+        return instances;
     }
 
-    private void parseSpecAndSubclasses(final InstanceHandler handler, final ObjectSpecification noSpec) {
-        parseIfNotAbstract(noSpec, handler);
+    private void addSpecAndSubclasses(final Vector<RootOid> instances, final ObjectSpecification noSpec) {
+        addIfNotAbstract(noSpec, instances);
         for (final ObjectSpecification subSpec : noSpec.subclasses()) {
-            parseSpecAndSubclasses(handler, subSpec);
+            addSpecAndSubclasses(instances, subSpec);
         }
     }
 
-    private void parseIfNotAbstract(final ObjectSpecification noSpec, final InstanceHandler handler) {
+    private void addIfNotAbstract(final ObjectSpecification noSpec, final Vector<RootOid> instances) {
         if (noSpec.isAbstract()) {
             return;
         }
-        xmlFile.parse(handler, noSpec.getFullIdentifier());
+        for (final String oidStr : instancesFor(noSpec).oids) {
+            instances.addElement(RootOidDefault.deString(oidStr, getOidMarshaller()));
+        }
     }
 
     /**
@@ -353,9 +517,9 @@ public final void insertObject(final ObjectData data) {
     }
 
     private void addReferenceToInstancesFile(final RootOid oid, final ObjectSpecification noSpec) {
-        final Vector<RootOid> instances = loadInstances(noSpec);
-        instances.addElement(oid);
-        writeInstanceFile(noSpec, instances);
+        synchronized (instancesByName) {
+            instancesFor(noSpec).add(indexKeyFor(oid));
+        }
     }
 
     // ////////////////////////////////////////////////////////
@@ -377,20 +541,16 @@ private void deleteData(final RootOid oid) {
     }
 
     private void removeReferenceFromInstancesFile(final RootOid oid, final ObjectSpecification noSpec) {
-        final Vector<RootOid> instances = loadInstances(noSpec);
-        instances.removeElement(oid);
-        writeInstanceFile(noSpec, instances);
+        synchronized (instancesByName) {
+            instancesFor(noSpec).remove(indexKeyFor(oid));
+        }
     }
 
     // ////////////////////////////////////////////////////////
     // helpers (used by both add & remove)
     // ////////////////////////////////////////////////////////
 
-    private void writeInstanceFile(final ObjectSpecification noSpec, final Vector<RootOid> instances) {
-        writeInstanceFile(noSpec.getFullIdentifier(), instances);
-    }
-
-    private void writeInstanceFile(final String name, final Vector<RootOid> instances) {
+    private void writeInstanceFile(final String name, final Collection<String> instances) {
         xmlFile.writeXml(name, new ContentWriter() {
             @Override
             public void write(final Writer writer) throws IOException {
@@ -398,9 +558,9 @@ public void write(final Writer writer) throws IOException {
                 Utils.appendAttribute(writer, "name", name);
                 writer.append(">\n");
 
-                for (final RootOid elementAt : instances) {
+                for (final String oid : instances) {
                     writer.append("  <instance");
-                    Utils.appendAttribute(writer, "oid", elementAt.enString(getOidMarshaller()));
+                    Utils.appendAttribute(writer, "oid", oid);
                     writer.append("/>\n");
                 }
                 writer.append("</instances>");
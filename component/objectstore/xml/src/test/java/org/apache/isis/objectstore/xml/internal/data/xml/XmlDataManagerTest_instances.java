@@ -63,8 +63,7 @@ public class XmlDataManagerTest_instances {
     public void setUp() throws Exception {
 
         clearTestDirectory();
-        final String charset = Utils.lookupCharset(iswf.getIsisSystem().getConfiguration());
-        manager = new XmlDataManager(new XmlFile(charset, "tmp/tests"));
+        manager = newManager();
 
         FileVersion.setClock(new DefaultClock());
 
@@ -79,12 +78,17 @@ public void setUp() throws Exception {
         }
     }
 
+    private XmlDataManager newManager() {
+        final String charset = Utils.lookupCharset(iswf.getIsisSystem().getConfiguration());
+        return new XmlDataManager(new XmlFile(charset, "tmp/tests"));
+    }
+
     protected static void clearTestDirectory() {
         final File directory = new File("tmp" + File.separator + "tests");
         final String[] files = directory.list(new FilenameFilter() {
             @Override
             public boolean accept(final File arg0, final String name) {
-                return name.endsWith(".xml");
+                return name.endsWith(".xml") || name.endsWith(".log");
             }
         });
 
@@ -116,6 +120,32 @@ public void testRemove() throws Exception {
         assertNull((manager.loadData(oid)));
     }
 
+    @Test
+    public void instancesLoadedFromLogOnOpen() throws Exception {
+        manager.remove(oids[2]);
+
+        final XmlDataManager reopened = newManager();
+        reopened.open();
+
+        assertEquals(SIZE - 1, reopened.numberOfInstances(pattern));
+        assertEquals(SIZE - 1, reopened.getInstances(pattern).size());
+    }
+
+    @Test
+    public void shutdownCompactsLogIntoInstancesFile() throws Exception {
+        manager.remove(oids[2]);
+        manager.shutdown();
+
+        final String[] logs = new File("tmp" + File.separator + "tests").list(new FilenameFilter() {
+            @Override
+            public boolean accept(final File dir, final String name) {
+                return name.endsWith(".log");
+            }
+        });
+        assertEquals(0, logs.length);
+        assertEquals(SIZE - 1, newManager().numberOfInstances(pattern));
+    }
+
     @Test
     public void testSaveObject() throws Exception {
         data[2].set("Person", RootOidDefault.create(ObjectSpecId.of("PER"), ""+231));
@@ -0,0 +1,233 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.security.file.authorization;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.Maps;
+
+import org.apache.isis.applib.Identifier;
+
+/**
+ * An immutable index of the rules of a whitelist or blacklist, as read by the
+ * {@link FileAuthorizor}.
+ * 
+ * <p>
+ * Rules are keyed by class, then member name, then (for actions) parameter
+ * types; the roles of each rule are held as bitsets over the distinct role
+ * names, with the <tt>-ro</tt> and <tt>-rw</tt> qualifiers already applied.
+ * Lookups are made from the most specific rule to the least, as per
+ * the rules' identity strings:
+ * <ul>
+ * <li><tt>com.mycompany.Customer#placeOrder(com.mycompany.Product,int)</tt></li>
+ * <li><tt>com.mycompany.Customer#placeOrder()</tt> (or <tt>com.mycompany.Customer#firstName</tt> for a property or collection)</li>
+ * <li><tt>com.mycompany.Customer</tt></li>
+ * <li><tt>*#placeOrder</tt></li>
+ * </ul>
+ */
+final class AuthorizationRules {
+
+    private static final String ACCESS_QUALIFIER_RO = "-ro";
+    private static final String ACCESS_QUALIFIER_RW = "-rw";
+
+    static final AuthorizationRules EMPTY = compile(Collections.<String, List<String>> emptyMap());
+
+    /**
+     * Compiles the rules, keyed by identity string, into an index.
+     */
+    static AuthorizationRules compile(final Map<String, List<String>> rolesByIdentityString) {
+        final Map<String, Integer> roleIndex = Maps.newHashMap();
+        final Map<String, Grants> classGrants = Maps.newHashMap();
+        final Map<String, Map<String, MemberGrants>> memberGrantsByClass = Maps.newHashMap();
+        final Map<String, Grants> wildcardMemberGrants = Maps.newHashMap();
+
+        for (final Map.Entry<String, List<String>> entry : rolesByIdentityString.entrySet()) {
+            final String identityString = entry.getKey();
+            final Grants grants = Grants.of(entry.getValue(), roleIndex);
+
+            final int hash = identityString.indexOf('#');
+            if (hash == -1) {
+                classGrants.put(identityString, grants);
+                continue;
+            }
+            final String className = identityString.substring(0, hash);
+            final String nameAndParms = identityString.substring(hash + 1);
+            final int openBracket = nameAndParms.indexOf('(');
+            final String memberName = openBracket == -1 ? nameAndParms : nameAndParms.substring(0, openBracket);
+
+            if ("*".equals(className)) {
+                if (openBracket == -1) {
+                    wildcardMemberGrants.put(memberName, grants);
+                }
+                continue;
+            }
+
+            Map<String, MemberGrants> memberGrantsByName = memberGrantsByClass.get(className);
+            if (memberGrantsByName == null) {
+                memberGrantsByName = Maps.newHashMap();
+                memberGrantsByClass.put(className, memberGrantsByName);
+            }
+            MemberGrants memberGrants = memberGrantsByName.get(memberName);
+            if (memberGrants == null) {
+                memberGrants = new MemberGrants();
+                memberGrantsByName.put(memberName, memberGrants);
+            }
+
+            if (openBracket == -1) {
+                memberGrants.unqualified = grants;
+            } else if (nameAndParms.endsWith(")")) {
+                final String parms = nameAndParms.substring(openBracket + 1, nameAndParms.length() - 1);
+                if (parms.length() == 0) {
+                    memberGrants.noParms = grants;
+                } else {
+                    memberGrants.byParms.put(Arrays.asList(parms.split(",", -1)), grants);
+                }
+            }
+            // otherwise could never be looked up, so ignored
+        }
+        return new AuthorizationRules(rolesByIdentityString.isEmpty(), roleIndex, classGrants, memberGrantsByClass, wildcardMemberGrants);
+    }
+
+    private final boolean empty;
+    private final Map<String, Integer> roleIndex;
+    private final Map<String, Grants> classGrants;
+    private final Map<String, Map<String, MemberGrants>> memberGrantsByClass;
+    private final Map<String, Grants> wildcardMemberGrants;
+
+    private AuthorizationRules(final boolean empty, final Map<String, Integer> roleIndex, final Map<String, Grants> classGrants, final Map<String, Map<String, MemberGrants>> memberGrantsByClass, final Map<String, Grants> wildcardMemberGrants) {
+        this.empty = empty;
+        this.roleIndex = roleIndex;
+        this.classGrants = classGrants;
+        this.memberGrantsByClass = memberGrantsByClass;
+        this.wildcardMemberGrants = wildcardMemberGrants;
+    }
+
+    boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * Whether the most specific rule for the member lists the role, or the role qualified by <tt>-ro</tt> or <tt>-rw</tt>.
+     */
+    boolean isVisible(final String role, final Identifier identifier) {
+        final Grants grants = grantsFor(identifier);
+        return grants != null && grants.visible.get(indexOf(role));
+    }
+
+    /**
+     * Whether the most specific rule for the member lists the role, or the role qualified by <tt>-rw</tt>.
+     */
+    boolean isUsable(final String role, final Identifier identifier) {
+        final Grants grants = grantsFor(identifier);
+        return grants != null && grants.usable.get(indexOf(role));
+    }
+
+    /**
+     * Roles not mentioned in any rule map to an index that is never set.
+     */
+    private int indexOf(final String role) {
+        final Integer index = roleIndex.get(role);
+        return index != null ? index : roleIndex.size();
+    }
+
+    private Grants grantsFor(final Identifier identifier) {
+        final String className = identifier.getClassName();
+        final String memberName = identifier.getMemberName();
+        final boolean action = identifier.getType() == Identifier.Type.ACTION;
+
+        final Map<String, MemberGrants> memberGrantsByName = memberGrantsByClass.get(className);
+        final MemberGrants memberGrants = memberGrantsByName != null ? memberGrantsByName.get(memberName) : null;
+
+        Grants grants = null;
+        if (memberName.length() == 0) {
+            grants = classGrants.get(className);
+        } else if (memberGrants != null) {
+            grants = action ? memberGrants.forParms(identifier.getMemberParameterNames()) : memberGrants.unqualified;
+        }
+        if (grants == null && memberGrants != null) {
+            grants = action ? memberGrants.noParms : memberGrants.unqualified;
+        }
+        if (grants == null) {
+            grants = classGrants.get(className);
+        }
+        if (grants == null) {
+            grants = wildcardMemberGrants.get(memberName);
+        }
+        return grants;
+    }
+
+    // //////////////////////////////////////
+
+    private static final class MemberGrants {
+        private Grants unqualified;
+        private Grants noParms;
+        private final Map<List<String>, Grants> byParms = Maps.newHashMap();
+
+        Grants forParms(final List<String> parms) {
+            return parms.isEmpty() ? noParms : byParms.get(parms);
+        }
+    }
+
+    private static final class Grants {
+
+        static Grants of(final List<String> roles, final Map<String, Integer> roleIndex) {
+            final BitSet visible = new BitSet();
+            final BitSet usable = new BitSet();
+            for (final String role : roles) {
+                final int index = indexOf(role, roleIndex);
+                visible.set(index);
+                usable.set(index);
+                if (role.endsWith(ACCESS_QUALIFIER_RO)) {
+                    visible.set(indexOf(unqualified(role), roleIndex));
+                } else if (role.endsWith(ACCESS_QUALIFIER_RW)) {
+                    final int unqualifiedIndex = indexOf(unqualified(role), roleIndex);
+                    visible.set(unqualifiedIndex);
+                    usable.set(unqualifiedIndex);
+                }
+            }
+            return new Grants(visible, usable);
+        }
+
+        private static String unqualified(final String role) {
+            return role.substring(0, role.length() - ACCESS_QUALIFIER_RO.length());
+        }
+
+        private static int indexOf(final String role, final Map<String, Integer> roleIndex) {
+            Integer index = roleIndex.get(role);
+            if (index == null) {
+                index = roleIndex.size();
+                roleIndex.put(role, index);
+            }
+            return index;
+        }
+
+        private final BitSet visible;
+        private final BitSet usable;
+
+        private Grants(final BitSet visible, final BitSet usable) {
+            this.visible = visible;
+            this.usable = usable;
+        }
+    }
+}
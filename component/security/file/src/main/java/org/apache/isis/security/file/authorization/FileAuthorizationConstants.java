@@ -40,6 +40,15 @@ public final class FileAuthorizationConstants {
     public static final String WHITELIST_EMPTY = ROOT + "whitelist.empty.isallowed";
     public static final boolean WHITELIST_EMPTY_DEFAULT = false;
 
+    /**
+     * How often (in seconds) to check the whitelist and blacklist for changes, and reload them if so.
+     * 
+     * <p>
+     * Defaults to 0, meaning they are only reloaded on request (through JMX).
+     */
+    public static final String RELOAD_INTERVAL_SECONDS = ROOT + "reload.interval";
+    public static final int RELOAD_INTERVAL_SECONDS_DEFAULT = 0;
+
     private FileAuthorizationConstants() {
     }
 
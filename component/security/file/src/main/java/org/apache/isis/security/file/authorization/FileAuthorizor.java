@@ -21,6 +21,7 @@
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -34,9 +35,14 @@
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.io.ByteStreams;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -54,12 +60,15 @@ public class FileAuthorizor extends AuthorizorAbstract implements FileAuthorizor
 
     private static final Logger LOG = LoggerFactory.getLogger(FileAuthorizor.class);
 
-    private static final String NONE = "";
-    private static final String ACCESS_QUALIFIER_RO = "-ro";
-    private static final String ACCESS_QUALIFIER_RW = "-rw";
-
+    /**
+     * Only used when learning.
+     */
     private Map<String, List<String>> whiteListMap;
-    private Map<String, List<String>> blackListMap;
+
+    /**
+     * Replaced in its entirety whenever reloaded, so that checks are never blocked. 
+     */
+    private volatile Rules rules = Rules.NONE;
 
     private final ResourceStreamSource resourceStreamSource;
     private final boolean learn;
@@ -71,6 +80,9 @@ public class FileAuthorizor extends AuthorizorAbstract implements FileAuthorizor
     private final String blackListResourceName;
     private InputStream blackListInputResource;
 
+    private final int reloadIntervalSeconds;
+    private ScheduledExecutorService reloader;
+
     private boolean printedWarning;
     private boolean printedDebug;
 
@@ -95,6 +107,10 @@ public FileAuthorizor(final IsisConfiguration configuration) {
             getConfiguration().getString(FileAuthorizationConstants.BLACKLIST_RESOURCE_KEY,
                 FileAuthorizationConstants.BLACKLIST_RESOURCE_DEFAULT);
 
+        reloadIntervalSeconds =
+            getConfiguration().getInteger(FileAuthorizationConstants.RELOAD_INTERVAL_SECONDS,
+                FileAuthorizationConstants.RELOAD_INTERVAL_SECONDS_DEFAULT);
+
         findResources();
     }
 
@@ -122,32 +138,96 @@ private void findResources() {
     @Override
     public void init() {
         whiteListMap = Maps.newHashMap();
-        blackListMap = Maps.newHashMap();
 
         // initialize
         if (learn) {
             return;
         }
-        cacheAuthorizationDetails(whiteListMap, whiteListInputResource, whiteListResourceName);
-        if (blackListInputResource != null) {
-            cacheAuthorizationDetails(blackListMap, blackListInputResource, blackListResourceName);
-        }
+        rules = readRules();
 
         JmxBeanServer.getInstance().register("file-authorizer", this);
+
+        startReloader();
     }
 
+    /**
+     * Re-reads and recompiles the rules; checks carry on against the previous rules until this is done.
+     */
     @Override
-    public void reload() {
-        final Map<String, List<String>> whiteListMap = Maps.newHashMap();
-        final Map<String, List<String>> blackListMap = Maps.newHashMap();
+    public synchronized void reload() {
+        findResources();
+        rules = readRules();
+    }
 
+    /**
+     * As {@link #reload()}, but only recompiling if the contents of either list has changed.
+     * 
+     * <p>
+     * The contents are compared byte-for-byte (rather than by checksum), so that no edit, however small, 
+     * can go unnoticed.
+     */
+    synchronized void reloadIfChanged() {
         findResources();
-        cacheAuthorizationDetails(whiteListMap, whiteListInputResource, null);
-        if (blackListInputResource != null) {
-            cacheAuthorizationDetails(blackListMap, blackListInputResource, null);
-            this.blackListMap = blackListMap;
+        final byte[] whiteList = readFully(whiteListInputResource);
+        final byte[] blackList = blackListInputResource != null ? readFully(blackListInputResource) : null;
+        if (rules.isCompiledFrom(whiteList, blackList)) {
+            return;
+        }
+        rules = compileRules(whiteList, blackList);
+    }
+
+    private void startReloader() {
+        if (reloadIntervalSeconds <= 0) {
+            return;
+        }
+        reloader = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(final Runnable r) {
+                final Thread thread = new Thread(r, "isis-file-authorizor-reloader");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        reloader.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    reloadIfChanged();
+                } catch (final RuntimeException ex) {
+                    LOG.error("unable to reload authorization details; continuing with previous rules", ex);
+                }
+            }
+        }, reloadIntervalSeconds, reloadIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    private Rules readRules() {
+        final byte[] whiteList = readFully(whiteListInputResource);
+        final byte[] blackList = blackListInputResource != null ? readFully(blackListInputResource) : null;
+        return compileRules(whiteList, blackList);
+    }
+
+    private Rules compileRules(final byte[] whiteList, final byte[] blackList) {
+        final AuthorizationRules whiteListRules = compileRules(whiteList, whiteListResourceName);
+        final AuthorizationRules blackListRules = blackList != null ? compileRules(blackList, blackListResourceName) : AuthorizationRules.EMPTY;
+        return new Rules(whiteListRules, blackListRules, whiteList, blackList);
+    }
+
+    private AuthorizationRules compileRules(final byte[] contents, final String resourceName) {
+        final Map<String, List<String>> map = Maps.newHashMap();
+        cacheAuthorizationDetails(map, new ByteArrayInputStream(contents), resourceName);
+        return AuthorizationRules.compile(map);
+    }
+
+    private static byte[] readFully(final InputStream inputStream) {
+        try {
+            try {
+                return ByteStreams.toByteArray(inputStream);
+            } finally {
+                inputStream.close();
+            }
+        } catch (final IOException e) {
+            throw new IsisException(e);
         }
-        this.whiteListMap = whiteListMap;
     }
 
     private void cacheAuthorizationDetails(final Map<String, List<String>> map, final InputStream inputStream,
@@ -214,6 +294,10 @@ private List<String> tokenizeRoles(final String allRoles) {
 
     @Override
     public void shutdown() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+            reloader = null;
+        }
         if (learn) {
             writeMap();
         }
@@ -228,7 +312,12 @@ public boolean isUsableInRole(final String role, final Identifier member) {
         if(role == null) {
             return false;
         }
-        return isAuthorized(role, member, Arrays.asList(NONE, ACCESS_QUALIFIER_RW));
+        if (learn) {
+            return learn(role, member);
+        }
+        final Rules rules = this.rules;
+        return (rules.whiteList.isEmpty() ? whiteListEmptyAllowed : rules.whiteList.isUsable(role, member))
+            && !rules.blackList.isUsable(role, member);
     }
 
     @Override
@@ -236,63 +325,12 @@ public boolean isVisibleInRole(final String role, final Identifier member) {
         if(role == null) {
             return false;
         }
-        return isAuthorized(role, member, Arrays.asList(NONE, ACCESS_QUALIFIER_RO, ACCESS_QUALIFIER_RW));
-    }
-
-    private boolean isAuthorized(final String role, final Identifier member, final List<String> qualifiers) {
         if (learn) {
             return learn(role, member);
         }
-        return isWhiteListed(role, member, qualifiers, whiteListEmptyAllowed)
-            && !isBlackListed(role, member, qualifiers);
-    }
-
-    private boolean isWhiteListed(final String role, final Identifier member, final List<String> qualifiers,
-        boolean defaultIfEmpty) {
-        return isListed(whiteListMap, role, member, qualifiers, defaultIfEmpty);
-    }
-
-    private boolean isBlackListed(final String role, final Identifier member, final List<String> qualifiers) {
-        return isListed(blackListMap, role, member, qualifiers, false);
-    }
-
-    /*
-     * Work through the available entries from most specific to least. When one exists then determine the result of this
-     * method by looking for a compatible role between the entry and required role.
-     */
-    private boolean isListed(final Map<String, List<String>> map, final String role, final Identifier identifier,
-        final List<String> qualifiers, boolean defaultIfEmpty) {
-        if (map.isEmpty()) {// quick fail
-            return defaultIfEmpty;
-        }
-        List<String> roles;
-        roles = rolesFor(map, identifier.toIdentityString(Identifier.CLASS_MEMBERNAME_PARAMETERS));
-        if (roles == null) {
-            roles = rolesFor(map, identifier.toIdentityString(Identifier.CLASS_MEMBERNAME));
-        }
-        if (roles == null) {
-            roles = rolesFor(map, identifier.toIdentityString(Identifier.CLASS));
-        }
-        if (roles == null) {
-            roles = rolesFor(map, "*#" + identifier.toIdentityString(Identifier.MEMBERNAME_ONLY));
-        }
-        if (roles != null) {
-            for (final String qualifier : qualifiers) {
-                final String qualifiedRole = role + qualifier;
-                if (roles.contains(qualifiedRole)) {
-                    return true;
-                }
-            }
-        }
-        return false;
-    }
-
-    private List<String> rolesFor(final Map<String, List<String>> map, final String key) {
-        if (map.containsKey(key)) {
-            return map.get(key);
-        } else {
-            return null;
-        }
+        final Rules rules = this.rules;
+        return (rules.whiteList.isEmpty() ? whiteListEmptyAllowed : rules.whiteList.isVisible(role, member))
+            && !rules.blackList.isVisible(role, member);
     }
 
     private boolean learn(final String role, final Identifier member) {
@@ -357,4 +395,33 @@ public void writeTo(final Map.Entry<String, List<String>> entry, final BufferedW
         buffWriter.newLine();
     }
 
+    // //////////////////////////////////////////////////////////////
+    // Rules
+    // //////////////////////////////////////////////////////////////
+
+    private static final class Rules {
+        static final Rules NONE = new Rules(AuthorizationRules.EMPTY, AuthorizationRules.EMPTY, null, null);
+
+        private final AuthorizationRules whiteList;
+        private final AuthorizationRules blackList;
+        /**
+         * The contents the rules were compiled from; <tt>null</tt> if none.
+         */
+        private final byte[] whiteListContents;
+        private final byte[] blackListContents;
+
+        Rules(final AuthorizationRules whiteList, final AuthorizationRules blackList, final byte[] whiteListContents, final byte[] blackListContents) {
+            this.whiteList = whiteList;
+            this.blackList = blackList;
+            this.whiteListContents = whiteListContents;
+            this.blackListContents = blackListContents;
+        }
+
+        boolean isCompiledFrom(final byte[] whiteListContents, final byte[] blackListContents) {
+            return this.whiteListContents != null 
+                && Arrays.equals(this.whiteListContents, whiteListContents) 
+                && Arrays.equals(this.blackListContents, blackListContents);
+        }
+    }
+
 }
@@ -0,0 +1,277 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.security.file.authorization;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.Maps;
+
+import org.junit.Test;
+
+import org.apache.isis.applib.Identifier;
+
+public class AuthorizationRulesTest {
+
+    private static final String CUSTOMER = "com.mycompany.Customer";
+    private static final String ORDER = "com.mycompany.Order";
+
+    private static final Identifier PLACE_ORDER_WITH_PARMS = Identifier.actionIdentifier(CUSTOMER, "placeOrder", Arrays.asList("com.mycompany.Product", "int"));
+    private static final Identifier PLACE_ORDER_OTHER_PARMS = Identifier.actionIdentifier(CUSTOMER, "placeOrder", Arrays.asList("com.mycompany.Product"));
+    private static final Identifier PLACE_ORDER_NO_PARMS = Identifier.actionIdentifier(CUSTOMER, "placeOrder", Arrays.<String>asList());
+    private static final Identifier FIRST_NAME = Identifier.propertyOrCollectionIdentifier(CUSTOMER, "firstName");
+    private static final Identifier CUSTOMER_CLASS = Identifier.classIdentifier(CUSTOMER);
+    private static final Identifier ORDER_PLACE_ORDER = Identifier.actionIdentifier(ORDER, "placeOrder", Arrays.<String>asList());
+    private static final Identifier ORDER_FIRST_NAME = Identifier.propertyOrCollectionIdentifier(ORDER, "firstName");
+    private static final Identifier ORDER_OTHER = Identifier.propertyOrCollectionIdentifier(ORDER, "other");
+
+    private final Map<String, List<String>> rolesByIdentityString = Maps.newHashMap();
+
+    /**
+     * Keyed as by the {@link FileAuthorizor}.
+     */
+    private void rule(final String identityString, final String... roles) {
+        final String key = Identifier.fromIdentityString(identityString).toIdentityString(Identifier.CLASS_MEMBERNAME_PARAMETERS);
+        rolesByIdentityString.put(key, Arrays.asList(roles));
+    }
+
+    private AuthorizationRules compile() {
+        return AuthorizationRules.compile(rolesByIdentityString);
+    }
+
+    // //////////////////////////////////////
+    // precedence
+    // //////////////////////////////////////
+
+    @Test
+    public void actionWithParametersTakesPrecedence() throws Exception {
+        rule(CUSTOMER + "#placeOrder(com.mycompany.Product,int)", "sales");
+        rule(CUSTOMER + "#placeOrder()", "admin");
+        rule(CUSTOMER, "admin");
+        rule("*#placeOrder", "admin");
+
+        final AuthorizationRules rules = compile();
+
+        assertThat(rules.isUsable("sales", PLACE_ORDER_WITH_PARMS), is(true));
+        assertThat(rules.isUsable("admin", PLACE_ORDER_WITH_PARMS), is(false));
+    }
+
+    @Test
+    public void thenActionWithoutParameters() throws Exception {
+        rule(CUSTOMER + "#placeOrder()", "sales");
+        rule(CUSTOMER, "admin");
+        rule("*#placeOrder", "admin");
+
+        final AuthorizationRules rules = compile();
+
+        assertThat(rules.isUsable("sales", PLACE_ORDER_WITH_PARMS), is(true));
+        assertThat(rules.isUsable("sales", PLACE_ORDER_NO_PARMS), is(true));
+        assertThat(rules.isUsable("admin", PLACE_ORDER_WITH_PARMS), is(false));
+    }
+
+    @Test
+    public void actionWithOtherParametersFallsBackToActionWithoutParameters() throws Exception {
+        rule(CUSTOMER + "#placeOrder(com.mycompany.Product,int)", "sales");
+        rule(CUSTOMER + "#placeOrder()", "admin");
+
+        final AuthorizationRules rules = compile();
+
+        assertThat(rules.isUsable("admin", PLACE_ORDER_OTHER_PARMS), is(true));
+        assertThat(rules.isUsable("sales", PLACE_ORDER_OTHER_PARMS), is(false));
+    }
+
+    @Test
+    public void thenClass() throws Exception {
+        rule(CUSTOMER, "sales");
+        rule("*#placeOrder", "admin");
+
+        final AuthorizationRules rules = compile();
+
+        assertThat(rules.isUsable("sales", PLACE_ORDER_WITH_PARMS), is(true));
+        assertThat(rules.isUsable("sales", FIRST_NAME), is(true));
+        assertThat(rules.isUsable("sales", CUSTOMER_CLASS), is(true));
+        assertThat(rules.isUsable("admin", PLACE_ORDER_WITH_PARMS), is(false));
+    }
+
+    @Test
+    public void thenWildcard() throws Exception {
+        rule("*#placeOrder", "admin");
+
+        final AuthorizationRules rules = compile();
+
+        assertThat(rules.isUsable("admin", PLACE_ORDER_WITH_PARMS), is(true));
+        assertThat(rules.isUsable("admin", ORDER_PLACE_ORDER), is(true));
+        assertThat(rules.isUsable("admin", FIRST_NAME), is(false));
+    }
+
+    @Test
+    public void noMatchingRule() throws Exception {
+        rule(CUSTOMER, "sales");
+
+        final AuthorizationRules rules = compile();
+
+        assertThat(rules.isVisible("sales", ORDER_FIRST_NAME), is(false));
+    }
+
+    // //////////////////////////////////////
+    // property vs action
+    // //////////////////////////////////////
+
+    @Test
+    public void propertyRuleDoesNotApplyToActionOfSameName() throws Exception {
+        rule(CUSTOMER + "#placeOrder", "sales");
+
+        final AuthorizationRules rules = compile();
+
+        assertThat(rules.isUsable("sales", PLACE_ORDER_NO_PARMS), is(false));
+        assertThat(rules.isUsable("sales", Identifier.propertyOrCollectionIdentifier(CUSTOMER, "placeOrder")), is(true));
+    }
+
+    @Test
+    public void actionRuleDoesNotApplyToPropertyOfSameName() throws Exception {
+        rule(CUSTOMER + "#firstName()", "sales");
+
+        final AuthorizationRules rules = compile();
+
+        assertThat(rules.isUsable("sales", FIRST_NAME), is(false));
+    }
+
+    // //////////////////////////////////////
+    // qualifiers
+    // //////////////////////////////////////
+
+    @Test
+    public void unqualifiedRoleIsVisibleAndUsable() throws Exception {
+        rule(CUSTOMER + "#firstName", "sales");
+
+        final AuthorizationRules rules = compile();
+
+        assertThat(rules.isVisible("sales", FIRST_NAME), is(true));
+        assertThat(rules.isUsable("sales", FIRST_NAME), is(true));
+    }
+
+    @Test
+    public void readOnlyQualifierIsVisibleButNotUsable() throws Exception {
+        rule(CUSTOMER + "#firstName", "sales-ro");
+
+        final AuthorizationRules rules = compile();
+
+        assertThat(rules.isVisible("sales", FIRST_NAME), is(true));
+        assertThat(rules.isUsable("sales", FIRST_NAME), is(false));
+    }
+
+    @Test
+    public void readWriteQualifierIsVisibleAndUsable() throws Exception {
+        rule(CUSTOMER + "#firstName", "sales-rw");
+
+        final AuthorizationRules rules = compile();
+
+        assertThat(rules.isVisible("sales", FIRST_NAME), is(true));
+        assertThat(rules.isUsable("sales", FIRST_NAME), is(true));
+    }
+
+    @Test
+    public void qualifiersOfMoreSpecificRuleDoNotCombineWithLessSpecific() throws Exception {
+        rule(CUSTOMER + "#firstName", "sales-ro");
+        rule(CUSTOMER, "sales-rw");
+
+        final AuthorizationRules rules = compile();
+
+        assertThat(rules.isUsable("sales", FIRST_NAME), is(false));
+    }
+
+    @Test
+    public void unknownRole() throws Exception {
+        rule(CUSTOMER, "sales");
+
+        final AuthorizationRules rules = compile();
+
+        assertThat(rules.isVisible("marketing", FIRST_NAME), is(false));
+    }
+
+    // //////////////////////////////////////
+    // empty
+    // //////////////////////////////////////
+
+    @Test
+    public void empty() throws Exception {
+        assertThat(compile().isEmpty(), is(true));
+        assertThat(AuthorizationRules.EMPTY.isVisible("sales", FIRST_NAME), is(false));
+
+        rule(CUSTOMER, "sales");
+        assertThat(compile().isEmpty(), is(false));
+    }
+
+    // //////////////////////////////////////
+    // same as original (uncompiled) lookup
+    // //////////////////////////////////////
+
+    @Test
+    public void agreesWithOriginalLookup() throws Exception {
+        rule(CUSTOMER + "#placeOrder(com.mycompany.Product,int)", "sales", "clerk-ro");
+        rule(CUSTOMER + "#placeOrder()", "admin-rw");
+        rule(CUSTOMER + "#firstName", "clerk-ro", "sales");
+        rule(CUSTOMER, "manager", "sales-ro");
+        rule(ORDER + "#firstName()", "clerk");
+        rule("*#placeOrder", "auditor-ro");
+        rule("*#other", "clerk-rw");
+
+        final AuthorizationRules rules = compile();
+
+        final List<Identifier> identifiers = Arrays.asList(PLACE_ORDER_WITH_PARMS, PLACE_ORDER_OTHER_PARMS, PLACE_ORDER_NO_PARMS, FIRST_NAME, CUSTOMER_CLASS, ORDER_PLACE_ORDER, ORDER_FIRST_NAME, ORDER_OTHER);
+        final List<String> roles = Arrays.asList("sales", "clerk", "admin", "manager", "auditor", "nobody");
+        for (final Identifier identifier : identifiers) {
+            for (final String role : roles) {
+                final String context = role + " on " + identifier.toIdentityString(Identifier.CLASS_MEMBERNAME_PARAMETERS);
+                assertThat("visible: " + context, rules.isVisible(role, identifier), is(isListed(role, identifier, Arrays.asList("", "-ro", "-rw"))));
+                assertThat("usable: " + context, rules.isUsable(role, identifier), is(isListed(role, identifier, Arrays.asList("", "-rw"))));
+            }
+        }
+    }
+
+    /**
+     * The lookup as originally performed by {@link FileAuthorizor}, directly against the map.
+     */
+    private boolean isListed(final String role, final Identifier identifier, final List<String> qualifiers) {
+        List<String> roles = rolesByIdentityString.get(identifier.toIdentityString(Identifier.CLASS_MEMBERNAME_PARAMETERS));
+        if (roles == null) {
+            roles = rolesByIdentityString.get(identifier.toIdentityString(Identifier.CLASS_MEMBERNAME));
+        }
+        if (roles == null) {
+            roles = rolesByIdentityString.get(identifier.toIdentityString(Identifier.CLASS));
+        }
+        if (roles == null) {
+            roles = rolesByIdentityString.get("*#" + identifier.toIdentityString(Identifier.MEMBERNAME_ONLY));
+        }
+        if (roles != null) {
+            for (final String qualifier : qualifiers) {
+                if (roles.contains(role + qualifier)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,178 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.security.file.authorization;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.apache.isis.applib.Identifier;
+import org.apache.isis.core.commons.config.IsisConfigurationDefault;
+import org.apache.isis.core.commons.resource.ResourceStreamSourceFileSystem;
+
+public class FileAuthorizorTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static final Identifier FIRST_NAME = Identifier.propertyOrCollectionIdentifier("com.mycompany.Customer", "firstName");
+
+    private File dir;
+    private IsisConfigurationDefault configuration;
+    private FileAuthorizor authorizor;
+
+    @Before
+    public void setUp() throws Exception {
+        dir = temporaryFolder.newFolder("authorization");
+        configuration = new IsisConfigurationDefault(new ResourceStreamSourceFileSystem(dir.getAbsolutePath()));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (authorizor != null) {
+            authorizor.shutdown();
+        }
+    }
+
+    private FileAuthorizor newAuthorizor() {
+        authorizor = new FileAuthorizor(configuration);
+        authorizor.init();
+        return authorizor;
+    }
+
+    @Test
+    public void whiteListed() throws Exception {
+        write("authorization_file.allow", "com.mycompany.Customer#firstName:sales-ro");
+
+        final FileAuthorizor authorizor = newAuthorizor();
+
+        assertThat(authorizor.isVisibleInRole("sales", FIRST_NAME), is(true));
+        assertThat(authorizor.isUsableInRole("sales", FIRST_NAME), is(false));
+        assertThat(authorizor.isVisibleInRole("clerk", FIRST_NAME), is(false));
+    }
+
+    @Test
+    public void blackListOverridesWhiteList() throws Exception {
+        write("authorization_file.allow", "com.mycompany.Customer:sales");
+        write("authorization_file.deny", "com.mycompany.Customer#firstName:sales-rw");
+        configuration.add(FileAuthorizationConstants.BLACKLIST_RESOURCE_KEY, "authorization_file.deny");
+
+        final FileAuthorizor authorizor = newAuthorizor();
+
+        assertThat(authorizor.isVisibleInRole("sales", FIRST_NAME), is(false));
+        assertThat(authorizor.isUsableInRole("sales", Identifier.propertyOrCollectionIdentifier("com.mycompany.Customer", "lastName")), is(true));
+    }
+
+    @Test
+    public void emptyWhiteListDeniesByDefault() throws Exception {
+        write("authorization_file.allow", "# nothing allowed");
+
+        final FileAuthorizor authorizor = newAuthorizor();
+
+        assertThat(authorizor.isVisibleInRole("sales", FIRST_NAME), is(false));
+    }
+
+    @Test
+    public void emptyWhiteListAllowsIfConfigured() throws Exception {
+        write("authorization_file.allow", "# nothing listed");
+        configuration.add(FileAuthorizationConstants.WHITELIST_EMPTY, "true");
+
+        final FileAuthorizor authorizor = newAuthorizor();
+
+        assertThat(authorizor.isVisibleInRole("sales", FIRST_NAME), is(true));
+        assertThat(authorizor.isUsableInRole("sales", FIRST_NAME), is(true));
+    }
+
+    @Test
+    public void nullRoleNeverAuthorized() throws Exception {
+        write("authorization_file.allow", "com.mycompany.Customer:sales");
+
+        final FileAuthorizor authorizor = newAuthorizor();
+
+        assertThat(authorizor.isVisibleInRole(null, FIRST_NAME), is(false));
+    }
+
+    @Test
+    public void reloadIfChangedPicksUpEditOfSameLength() throws Exception {
+        write("authorization_file.allow", "com.mycompany.Customer:sales");
+        final FileAuthorizor authorizor = newAuthorizor();
+
+        write("authorization_file.allow", "com.mycompany.Customer:sules");
+        authorizor.reloadIfChanged();
+
+        assertThat(authorizor.isVisibleInRole("sales", FIRST_NAME), is(false));
+        assertThat(authorizor.isVisibleInRole("sules", FIRST_NAME), is(true));
+    }
+
+    @Test
+    public void reloadIfChangedPicksUpChangedBlackList() throws Exception {
+        write("authorization_file.allow", "com.mycompany.Customer:sales");
+        write("authorization_file.deny", "# nothing denied");
+        configuration.add(FileAuthorizationConstants.BLACKLIST_RESOURCE_KEY, "authorization_file.deny");
+        final FileAuthorizor authorizor = newAuthorizor();
+        assertThat(authorizor.isVisibleInRole("sales", FIRST_NAME), is(true));
+
+        write("authorization_file.deny", "com.mycompany.Customer:sales");
+        authorizor.reloadIfChanged();
+
+        assertThat(authorizor.isVisibleInRole("sales", FIRST_NAME), is(false));
+    }
+
+    @Test
+    public void reloadIfChangedWhenUnchanged() throws Exception {
+        write("authorization_file.allow", "com.mycompany.Customer:sales");
+        final FileAuthorizor authorizor = newAuthorizor();
+
+        authorizor.reloadIfChanged();
+
+        assertThat(authorizor.isVisibleInRole("sales", FIRST_NAME), is(true));
+    }
+
+    @Test
+    public void reload() throws Exception {
+        write("authorization_file.allow", "com.mycompany.Customer:sales");
+        final FileAuthorizor authorizor = newAuthorizor();
+
+        write("authorization_file.allow", "com.mycompany.Customer:clerk");
+        authorizor.reload();
+
+        assertThat(authorizor.isVisibleInRole("sales", FIRST_NAME), is(false));
+        assertThat(authorizor.isVisibleInRole("clerk", FIRST_NAME), is(true));
+    }
+
+    private void write(final String fileName, final String content) throws IOException {
+        final FileOutputStream out = new FileOutputStream(new File(dir, fileName));
+        try {
+            out.write(content.getBytes("UTF-8"));
+        } finally {
+            out.close();
+        }
+    }
+
+}
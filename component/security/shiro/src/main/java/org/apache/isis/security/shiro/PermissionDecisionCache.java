@@ -0,0 +1,122 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.security.shiro;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import org.apache.shiro.realm.Realm;
+import org.apache.shiro.subject.PrincipalCollection;
+
+/**
+ * Memoizes the outcome of permission checks, per set of principals (and
+ * hence of roles) and per permission string.
+ * 
+ * <p>
+ * Every decision is forgotten whenever the {@link Realm}s consulted change
+ * (the security manager is replaced, or its realms are reset), or
+ * explicitly through {@link #invalidateAll()}.  A realm that reloads its
+ * roles or permissions in place gives no such signal, so each decision is 
+ * also forgotten once it is older than the configured time-to-live.
+ */
+class PermissionDecisionCache {
+
+    private static final int MAXIMUM_SIZE = 50000;
+
+    private final Cache<Key, Boolean> decisions;
+
+    private volatile Collection<Realm> cachedForRealms;
+
+    /**
+     * @param timeToLiveSeconds - how long a decision is remembered for; if not positive, until invalidated.
+     */
+    PermissionDecisionCache(final long timeToLiveSeconds) {
+        this(timeToLiveSeconds, Ticker.systemTicker());
+    }
+
+    PermissionDecisionCache(final long timeToLiveSeconds, final Ticker ticker) {
+        final CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().maximumSize(MAXIMUM_SIZE).ticker(ticker);
+        if (timeToLiveSeconds > 0) {
+            builder.expireAfterWrite(timeToLiveSeconds, TimeUnit.SECONDS);
+        }
+        this.decisions = builder.build();
+    }
+
+    /**
+     * Returns <tt>null</tt> if no decision has been made (against these realms).
+     */
+    Boolean get(final Collection<Realm> realms, final PrincipalCollection principals, final String permission) {
+        if (realms != cachedForRealms) {
+            invalidateAll();
+            cachedForRealms = realms;
+            return null;
+        }
+        return decisions.getIfPresent(new Key(principals, permission));
+    }
+
+    void put(final Collection<Realm> realms, final PrincipalCollection principals, final String permission, final boolean permitted) {
+        if (realms != cachedForRealms) {
+            return;
+        }
+        decisions.put(new Key(principals, permission), permitted);
+    }
+
+    void invalidateAll() {
+        decisions.invalidateAll();
+    }
+
+    long size() {
+        return decisions.size();
+    }
+
+    private static final class Key {
+        private final PrincipalCollection principals;
+        private final String permission;
+        private final int hashCode;
+
+        Key(final PrincipalCollection principals, final String permission) {
+            this.principals = principals;
+            this.permission = permission;
+            this.hashCode = 31 * principals.hashCode() + permission.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return hashCode == other.hashCode && permission.equals(other.permission) && Objects.equal(principals, other.principals);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -48,6 +48,7 @@
 import org.apache.shiro.mgt.RealmSecurityManager;
 import org.apache.shiro.mgt.SecurityManager;
 import org.apache.shiro.realm.Realm;
+import org.apache.shiro.subject.PrincipalCollection;
 import org.apache.shiro.subject.Subject;
 
 import com.google.common.collect.Lists;
@@ -65,8 +66,18 @@ public class ShiroAuthenticatorOrAuthorizor implements Authenticator, Authorizor
 
     private static final Logger LOG = LoggerFactory.getLogger(ShiroAuthenticatorOrAuthorizor.class);
 
+    /**
+     * How long a permission check is memoized for, in case a realm's roles or permissions are changed
+     * in place; if not positive, until Shiro's realms are replaced or 
+     * {@link #invalidatePermissionDecisions() explicitly invalidated}.
+     */
+    public static final String PERMISSION_DECISIONS_TTL_SECONDS_KEY = "isis.authorization.shiro.permissionDecisions.ttlSeconds";
+    public static final int PERMISSION_DECISIONS_TTL_SECONDS_DEFAULT = 60;
+
     private final IsisConfiguration configuration;
 
+    private volatile PermissionDecisionCache permissionDecisions = new PermissionDecisionCache(PERMISSION_DECISIONS_TTL_SECONDS_DEFAULT);
+
 
     // //////////////////////////////////////////////////////
     // constructor
@@ -82,6 +93,8 @@ public ShiroAuthenticatorOrAuthorizor(final IsisConfiguration configuration) {
 
     @Override
     public void init() {
+        final int timeToLiveSeconds = configuration.getInteger(PERMISSION_DECISIONS_TTL_SECONDS_KEY, PERMISSION_DECISIONS_TTL_SECONDS_DEFAULT);
+        permissionDecisions = new PermissionDecisionCache(timeToLiveSeconds);
     }
 
     /**
@@ -234,7 +247,22 @@ private boolean isPermitted(Identifier identifier, String qualifier) {
         String permission = asPermissionsString(identifier) + ":" + qualifier;
 
         Subject subject = SecurityUtils.getSubject();
-        
+        final PrincipalCollection principals = subject.getPrincipals();
+        if(principals == null || principals.isEmpty()) {
+            return isPermitted(subject, permission);
+        }
+
+        final Collection<Realm> realms = securityManager.getRealms();
+        final Boolean cachedDecision = permissionDecisions.get(realms, principals, permission);
+        if(cachedDecision != null) {
+            return cachedDecision;
+        }
+        final boolean permitted = isPermitted(subject, permission);
+        permissionDecisions.put(realms, principals, permission, permitted);
+        return permitted;
+    }
+
+    private static boolean isPermitted(Subject subject, String permission) {
         try {
             return subject.isPermitted(permission);
         } finally {
@@ -242,6 +270,18 @@ private boolean isPermitted(Identifier identifier, String qualifier) {
         }
     }
 
+    /**
+     * Discards all memoized permission checks.
+     * 
+     * <p>
+     * These are discarded automatically if Shiro's realms are replaced, and expire after
+     * {@value #PERMISSION_DECISIONS_TTL_SECONDS_KEY}; but should be discarded explicitly if a realm's 
+     * roles or permissions are changed in place and must take effect immediately.
+     */
+    public void invalidatePermissionDecisions() {
+        permissionDecisions.invalidateAll();
+    }
+
     private static String asPermissionsString(Identifier identifier) {
         String fullyQualifiedClassName = identifier.getClassName();
         int lastDot = fullyQualifiedClassName.lastIndexOf('.');
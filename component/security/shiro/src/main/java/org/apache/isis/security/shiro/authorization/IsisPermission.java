@@ -20,8 +20,6 @@
 
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.apache.shiro.authz.Permission;
 import org.apache.shiro.authz.permission.WildcardPermission;
@@ -32,7 +30,6 @@
 public class IsisPermission extends WildcardPermission {
 
     private static final long serialVersionUID = 1L;
-    private static final Pattern PATTERN = Pattern.compile("([!]?)([^/]+)[/](.+)");
 
     private static ThreadLocal<Map<String,List<IsisPermission>>> VETOING_PERMISSIONS = new ThreadLocal<Map<String,List<IsisPermission>>>() {
         protected java.util.Map<String,List<IsisPermission>> initialValue() { return Maps.newTreeMap(); }
@@ -82,13 +79,17 @@ public IsisPermission(String wildcardString) {
         super(wildcardString);
     }
     
+    /**
+     * Parses <tt>[[!]permissionGroup/]wildcardString</tt>; the group is everything up to the first '/'.
+     */
     @Override
     protected void setParts(String wildcardString, boolean caseSensitive) {
-        Matcher matcher = PATTERN.matcher(wildcardString);
-        if(matcher.matches()) {
-            veto = matcher.group(1).length() > 0;
-            permissionGroup = matcher.group(2);
-            super.setParts(matcher.group(3), caseSensitive);
+        final int slash = wildcardString != null ? wildcardString.indexOf('/') : -1;
+        if(slash > 0 && slash < wildcardString.length() - 1) {
+            // a lone '!' is the name of the group, rather than a veto
+            veto = wildcardString.charAt(0) == '!' && slash > 1;
+            permissionGroup = wildcardString.substring(veto ? 1 : 0, slash);
+            super.setParts(wildcardString.substring(slash + 1), caseSensitive);
         } else {
             super.setParts(wildcardString, caseSensitive);    
         }
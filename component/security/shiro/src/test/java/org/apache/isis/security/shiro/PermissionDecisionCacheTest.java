@@ -0,0 +1,116 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.security.shiro;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.Lists;
+
+import org.apache.shiro.realm.Realm;
+import org.apache.shiro.subject.SimplePrincipalCollection;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PermissionDecisionCacheTest {
+
+    private PermissionDecisionCache cache;
+    private long nanos;
+    private Collection<Realm> realms;
+    private SimplePrincipalCollection lonestarr;
+    private SimplePrincipalCollection darkhelmet;
+
+    @Before
+    public void setUp() throws Exception {
+        cache = new PermissionDecisionCache(60, new Ticker() {
+            @Override
+            public long read() {
+                return nanos;
+            }
+        });
+        realms = Lists.newArrayList();
+        lonestarr = new SimplePrincipalCollection("lonestarr", "iniRealm");
+        darkhelmet = new SimplePrincipalCollection("darkhelmet", "iniRealm");
+    }
+
+    @Test
+    public void memoizedPerPrincipalsAndPermission() throws Exception {
+        assertThat(cache.get(realms, lonestarr, "com.mycompany.myapp:Customer:remove:r"), is(nullValue()));
+
+        cache.put(realms, lonestarr, "com.mycompany.myapp:Customer:remove:r", true);
+        cache.put(realms, darkhelmet, "com.mycompany.myapp:Customer:remove:r", false);
+
+        assertThat(cache.get(realms, new SimplePrincipalCollection("lonestarr", "iniRealm"), "com.mycompany.myapp:Customer:remove:r"), is(true));
+        assertThat(cache.get(realms, darkhelmet, "com.mycompany.myapp:Customer:remove:r"), is(false));
+        assertThat(cache.get(realms, lonestarr, "com.mycompany.myapp:Customer:remove:w"), is(nullValue()));
+    }
+
+    @Test
+    public void forgottenWhenRealmsReplaced() throws Exception {
+        cache.get(realms, lonestarr, "com.mycompany.myapp:Customer:remove:r");
+        cache.put(realms, lonestarr, "com.mycompany.myapp:Customer:remove:r", true);
+
+        final Collection<Realm> reloadedRealms = Lists.newArrayList();
+        assertThat(cache.get(reloadedRealms, lonestarr, "com.mycompany.myapp:Customer:remove:r"), is(nullValue()));
+        assertThat(cache.size(), is(0L));
+    }
+
+    @Test
+    public void invalidateAll() throws Exception {
+        cache.get(realms, lonestarr, "com.mycompany.myapp:Customer:remove:r");
+        cache.put(realms, lonestarr, "com.mycompany.myapp:Customer:remove:r", true);
+
+        cache.invalidateAll();
+
+        assertThat(cache.get(realms, lonestarr, "com.mycompany.myapp:Customer:remove:r"), is(nullValue()));
+    }
+
+    @Test
+    public void forgottenOnceExpired() throws Exception {
+        cache.get(realms, lonestarr, "com.mycompany.myapp:Customer:remove:r");
+        cache.put(realms, lonestarr, "com.mycompany.myapp:Customer:remove:r", true);
+
+        nanos += TimeUnit.SECONDS.toNanos(59);
+        assertThat(cache.get(realms, lonestarr, "com.mycompany.myapp:Customer:remove:r"), is(true));
+
+        nanos += TimeUnit.SECONDS.toNanos(1);
+        assertThat(cache.get(realms, lonestarr, "com.mycompany.myapp:Customer:remove:r"), is(nullValue()));
+    }
+
+    @Test
+    public void neverExpiresIfTimeToLiveNotPositive() throws Exception {
+        cache = new PermissionDecisionCache(0, new Ticker() {
+            @Override
+            public long read() {
+                return nanos;
+            }
+        });
+        cache.get(realms, lonestarr, "com.mycompany.myapp:Customer:remove:r");
+        cache.put(realms, lonestarr, "com.mycompany.myapp:Customer:remove:r", true);
+
+        nanos += TimeUnit.DAYS.toNanos(1);
+        assertThat(cache.get(realms, lonestarr, "com.mycompany.myapp:Customer:remove:r"), is(true));
+    }
+}
@@ -35,6 +35,7 @@
 import org.apache.shiro.mgt.SecurityManager;
 import org.apache.shiro.subject.Subject;
 import org.apache.shiro.util.Factory;
+import org.jmock.Expectations;
 import org.jmock.auto.Mock;
 import org.junit.After;
 import org.junit.Before;
@@ -53,6 +54,12 @@ public class ShiroAuthenticatorOrAuthorizorTest {
 
     @Before
     public void setUp() throws Exception {
+        context.checking(new Expectations() {
+            {
+                allowing(mockConfiguration).getInteger(ShiroAuthenticatorOrAuthorizor.PERMISSION_DECISIONS_TTL_SECONDS_KEY, ShiroAuthenticatorOrAuthorizor.PERMISSION_DECISIONS_TTL_SECONDS_DEFAULT);
+                will(returnValue(ShiroAuthenticatorOrAuthorizor.PERMISSION_DECISIONS_TTL_SECONDS_DEFAULT));
+            }
+        });
         authOrAuth = new ShiroAuthenticatorOrAuthorizor(mockConfiguration);
         authOrAuth.init();
     }
@@ -19,6 +19,7 @@
 package org.apache.isis.viewer.restfulobjects.applib.util;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.Constructor;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
@@ -28,6 +29,7 @@
 import javax.ws.rs.core.Response;
 
 import org.apache.isis.viewer.restfulobjects.applib.JsonRepresentation;
+import org.codehaus.jackson.JsonEncoding;
 import org.codehaus.jackson.JsonGenerationException;
 import org.codehaus.jackson.JsonGenerator;
 import org.codehaus.jackson.JsonNode;
@@ -176,4 +178,25 @@ public String write(final Object object) throws JsonGenerationException, JsonMap
         return objectMapper.writeValueAsString(object);
     }
 
+    public void write(final Object object, final OutputStream out) throws JsonGenerationException, JsonMappingException, IOException {
+        objectMapper.writeValue(out, object);
+    }
+
+    /**
+     * A {@link JsonGenerator} writing (as UTF-8) to the provided stream, with
+     * the same formatting as {@link #write(Object)}.
+     * 
+     * <p>
+     * Used to stream representations that are too large to build up as a
+     * single {@link JsonRepresentation}; the caller is responsible for
+     * {@link JsonGenerator#close() closing} the generator.
+     */
+    public JsonGenerator createJsonGenerator(final OutputStream out) throws IOException {
+        final JsonGenerator jgen = objectMapper.getJsonFactory().createJsonGenerator(out, JsonEncoding.UTF8);
+        if (objectMapper.getSerializationConfig().isEnabled(SerializationConfig.Feature.INDENT_OUTPUT)) {
+            jgen.useDefaultPrettyPrinter();
+        }
+        return jgen;
+    }
+
 }
\ No newline at end of file
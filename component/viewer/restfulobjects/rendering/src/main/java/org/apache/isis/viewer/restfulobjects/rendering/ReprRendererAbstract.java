@@ -18,11 +18,16 @@
  */
 package org.apache.isis.viewer.restfulobjects.rendering;
 
+import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
 import javax.ws.rs.core.MediaType;
 
+import org.codehaus.jackson.JsonGenerator;
+import org.codehaus.jackson.JsonNode;
+
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
 import org.apache.isis.core.runtime.system.context.IsisContext;
@@ -158,6 +163,35 @@ protected static <R extends ReprRendererAbstract<R, T>, T> R cast(final ReprRend
     @Override
     public abstract JsonRepresentation render();
 
+    /**
+     * Writes out the {@link #representation} (which should already have been
+     * {@link #render() rendered}), substituting the entry for the
+     * <tt>streamedKey</tt> - a placeholder - with an array of the provided
+     * values, each of which is rendered only as it is written.
+     * 
+     * <p>
+     * Supports implementations of {@link StreamingReprRenderer}.
+     */
+    protected void writeTo(final JsonGenerator jgen, final String streamedKey, final Iterator<JsonRepresentation> streamedValues) throws IOException {
+        jgen.writeStartObject();
+        final Iterator<Map.Entry<String, JsonNode>> fields = representation.asJsonNode().getFields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            jgen.writeFieldName(field.getKey());
+            if (field.getKey().equals(streamedKey)) {
+                jgen.writeStartArray();
+                while (streamedValues.hasNext()) {
+                    jgen.writeTree(streamedValues.next().asJsonNode());
+                }
+                jgen.writeEndArray();
+            } else {
+                jgen.writeTree(field.getValue());
+            }
+        }
+        jgen.writeEndObject();
+        jgen.flush();
+    }
+
     /**
      * Convenience for representations that are returned from objects that
      * mutate state.
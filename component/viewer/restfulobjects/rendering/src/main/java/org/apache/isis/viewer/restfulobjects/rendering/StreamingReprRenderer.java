@@ -0,0 +1,44 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.restfulobjects.rendering;
+
+import java.io.IOException;
+
+import org.codehaus.jackson.JsonGenerator;
+
+import org.apache.isis.viewer.restfulobjects.applib.JsonRepresentation;
+
+/**
+ * A {@link ReprRenderer} that, as an alternative to building up the entire
+ * {@link JsonRepresentation} in memory, can write its representation
+ * incrementally.
+ * 
+ * <p>
+ * Implemented by renderers of (potentially large) lists, so that only one
+ * element at a time need be held in memory.
+ */
+public interface StreamingReprRenderer {
+
+    /**
+     * Writes the same content as {@link ReprRenderer#render()}, but streaming the
+     * elements of the list as they are rendered.
+     */
+    void renderTo(JsonGenerator jgen) throws IOException;
+
+}
@@ -16,7 +16,9 @@
  */
 package org.apache.isis.viewer.restfulobjects.rendering.domainobjects;
 
+import java.io.IOException;
 import java.util.Collection;
+import java.util.Iterator;
 
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
@@ -26,8 +28,14 @@
 import org.apache.isis.viewer.restfulobjects.rendering.LinkFollowSpecs;
 import org.apache.isis.viewer.restfulobjects.rendering.RendererContext;
 import org.apache.isis.viewer.restfulobjects.rendering.ReprRendererAbstract;
+import org.apache.isis.viewer.restfulobjects.rendering.StreamingReprRenderer;
+import org.codehaus.jackson.JsonGenerator;
 
-public class ListReprRenderer extends ReprRendererAbstract<ListReprRenderer, Collection<ObjectAdapter>> {
+import com.google.common.base.Function;
+import com.google.common.base.Predicates;
+import com.google.common.collect.Iterators;
+
+public class ListReprRenderer extends ReprRendererAbstract<ListReprRenderer, Collection<ObjectAdapter>> implements StreamingReprRenderer {
 
     private ObjectAdapterLinkTo linkTo;
     private Collection<ObjectAdapter> objectAdapters;
@@ -35,6 +43,8 @@ public class ListReprRenderer extends ReprRendererAbstract<ListReprRenderer, Col
     private ObjectSpecification returnType;
     private Rel elementRel;
 
+    private boolean streaming;
+
     public ListReprRenderer(final RendererContext resourceContext, final LinkFollowSpecs linkFollower, final JsonRepresentation representation) {
         super(resourceContext, linkFollower, RepresentationType.LIST, representation);
         usingLinkToBuilder(new DomainObjectLinkTo());
@@ -78,6 +88,29 @@ public JsonRepresentation render() {
         return representation;
     }
 
+    /**
+     * As {@link #render()}, but with each element of the <tt>value</tt> list
+     * rendered only as it is written out.
+     */
+    @Override
+    public void renderTo(final JsonGenerator jgen) throws IOException {
+        streaming = true;
+        render();
+
+        final Iterator<JsonRepresentation> values;
+        if (objectAdapters == null) {
+            values = Iterators.emptyIterator();
+        } else {
+            values = Iterators.filter(Iterators.transform(objectAdapters.iterator(), new Function<ObjectAdapter, JsonRepresentation>() {
+                @Override
+                public JsonRepresentation apply(final ObjectAdapter adapter) {
+                    return valueFor(adapter);
+                }
+            }), Predicates.notNull());
+        }
+        writeTo(jgen, "value", values);
+    }
+
     private void addValue() {
         if (objectAdapters == null) {
             return;
@@ -85,24 +118,37 @@ private void addValue() {
 
         final JsonRepresentation values = JsonRepresentation.newArray();
 
-        for (final ObjectAdapter adapter : objectAdapters) {
-            final ObjectSpecification specification = adapter.getSpecification();
-            if (specification.isHidden()) {
-                continue;
-            }
-            final JsonRepresentation linkToObject = linkTo.with(adapter).builder(elementRel).build();
-            values.arrayAdd(linkToObject);
-
-            final LinkFollowSpecs linkFollower = getLinkFollowSpecs().follow("value");
-            if (linkFollower.matches(linkToObject)) {
-                final DomainObjectReprRenderer renderer = new DomainObjectReprRenderer(getRendererContext(), linkFollower, JsonRepresentation.newMap());
-                final JsonRepresentation domainObject = renderer.with(adapter).render();
-                linkToObject.mapPut("value", domainObject);
+        if (!streaming) {
+            for (final ObjectAdapter adapter : objectAdapters) {
+                final JsonRepresentation linkToObject = valueFor(adapter);
+                if (linkToObject != null) {
+                    values.arrayAdd(linkToObject);
+                }
             }
         }
+        // if streaming, then this is just a placeholder
         representation.mapPut("value", values);
     }
 
+    /**
+     * Returns <tt>null</tt> if the adapter's type is hidden.
+     */
+    private JsonRepresentation valueFor(final ObjectAdapter adapter) {
+        final ObjectSpecification specification = adapter.getSpecification();
+        if (specification.isHidden()) {
+            return null;
+        }
+        final JsonRepresentation linkToObject = linkTo.with(adapter).builder(elementRel).build();
+
+        final LinkFollowSpecs linkFollower = getLinkFollowSpecs().follow("value");
+        if (linkFollower.matches(linkToObject)) {
+            final DomainObjectReprRenderer renderer = new DomainObjectReprRenderer(getRendererContext(), linkFollower, JsonRepresentation.newMap());
+            final JsonRepresentation domainObject = renderer.with(adapter).render();
+            linkToObject.mapPut("value", domainObject);
+        }
+        return linkToObject;
+    }
+
 
     protected void addLinkToReturnType() {
         addLink(Rel.RETURN_TYPE, returnType);
@@ -16,6 +16,8 @@
  */
 package org.apache.isis.viewer.restfulobjects.rendering.domainobjects;
 
+import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -33,11 +35,19 @@
 import org.apache.isis.viewer.restfulobjects.rendering.LinkBuilder;
 import org.apache.isis.viewer.restfulobjects.rendering.LinkFollowSpecs;
 import org.apache.isis.viewer.restfulobjects.rendering.RendererContext;
+import org.apache.isis.viewer.restfulobjects.rendering.StreamingReprRenderer;
 import org.apache.isis.viewer.restfulobjects.rendering.domaintypes.CollectionDescriptionReprRenderer;
+import org.codehaus.jackson.JsonGenerator;
 
+import com.google.common.base.Function;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 
-public class ObjectCollectionReprRenderer extends AbstractObjectMemberReprRenderer<ObjectCollectionReprRenderer, OneToManyAssociation> {
+public class ObjectCollectionReprRenderer extends AbstractObjectMemberReprRenderer<ObjectCollectionReprRenderer, OneToManyAssociation> implements StreamingReprRenderer {
+
+    private boolean streaming;
+    private ObjectAdapter streamedValueAdapter;
+    private boolean streamedEagerlyRender;
 
     public ObjectCollectionReprRenderer(final RendererContext resourceContext, final LinkFollowSpecs linkFollower, final String collectionId, final JsonRepresentation representation) {
         super(resourceContext, linkFollower, collectionId, RepresentationType.OBJECT_COLLECTION, representation, Where.PARENTED_TABLES);
@@ -65,6 +75,30 @@ public JsonRepresentation render() {
         return representation;
     }
 
+    /**
+     * As {@link #render()}, but with each element of the <tt>value</tt> list
+     * rendered only as it is written out.
+     */
+    @Override
+    public void renderTo(final JsonGenerator jgen) throws IOException {
+        streaming = true;
+        render();
+
+        final Iterator<JsonRepresentation> values;
+        if (streamedValueAdapter == null) {
+            values = Iterators.emptyIterator();
+        } else {
+            final CollectionFacet facet = CollectionFacetUtils.getCollectionFacetFromSpec(streamedValueAdapter);
+            values = Iterators.transform(facet.iterator(streamedValueAdapter), new Function<ObjectAdapter, JsonRepresentation>() {
+                @Override
+                public JsonRepresentation apply(final ObjectAdapter elementAdapter) {
+                    return valueFor(elementAdapter, streamedEagerlyRender);
+                }
+            });
+        }
+        writeTo(jgen, "value", values);
+    }
+
     // ///////////////////////////////////////////////////
     // value
     // ///////////////////////////////////////////////////
@@ -78,25 +112,35 @@ private void addValue() {
         final RenderFacet renderFacet = objectMember.getFacet(RenderFacet.class);
         boolean eagerlyRender = renderFacet != null && renderFacet.value() == Type.EAGERLY && rendererContext.canEagerlyRender(valueAdapter);
 
+        if (streaming) {
+            // just a placeholder; the elements are rendered as they are written out
+            streamedValueAdapter = valueAdapter;
+            streamedEagerlyRender = eagerlyRender;
+            representation.mapPut("value", JsonRepresentation.newArray());
+            return;
+        }
+
         final CollectionFacet facet = CollectionFacetUtils.getCollectionFacetFromSpec(valueAdapter);
         final List<JsonRepresentation> list = Lists.newArrayList();
         for (final ObjectAdapter elementAdapter : facet.iterable(valueAdapter)) {
+            list.add(valueFor(elementAdapter, eagerlyRender));
+        }
 
-            final LinkBuilder valueLinkBuilder = DomainObjectReprRenderer.newLinkToBuilder(rendererContext, Rel.VALUE, elementAdapter);
-            if(eagerlyRender) {
-                final DomainObjectReprRenderer renderer = new DomainObjectReprRenderer(getRendererContext(), getLinkFollowSpecs(), JsonRepresentation.newMap());
-                renderer.with(elementAdapter);
-                if(mode.isEventSerialization()) {
-                    renderer.asEventSerialization();
-                }
+        representation.mapPut("value", list);
+    }
 
-                valueLinkBuilder.withValue(renderer.render());
+    private JsonRepresentation valueFor(final ObjectAdapter elementAdapter, final boolean eagerlyRender) {
+        final LinkBuilder valueLinkBuilder = DomainObjectReprRenderer.newLinkToBuilder(rendererContext, Rel.VALUE, elementAdapter);
+        if(eagerlyRender) {
+            final DomainObjectReprRenderer renderer = new DomainObjectReprRenderer(getRendererContext(), getLinkFollowSpecs(), JsonRepresentation.newMap());
+            renderer.with(elementAdapter);
+            if(mode.isEventSerialization()) {
+                renderer.asEventSerialization();
             }
 
-            list.add(valueLinkBuilder.build());
+            valueLinkBuilder.withValue(renderer.render());
         }
-
-        representation.mapPut("value", list);
+        return valueLinkBuilder.build();
     }
 
     // ///////////////////////////////////////////////////
@@ -0,0 +1,104 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.restfulobjects.rendering;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.codehaus.jackson.JsonGenerator;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.isis.viewer.restfulobjects.applib.JsonRepresentation;
+import org.apache.isis.viewer.restfulobjects.applib.RepresentationType;
+import org.apache.isis.viewer.restfulobjects.applib.util.JsonMapper;
+
+import com.google.common.collect.Iterators;
+
+public class ReprRendererAbstractTest_writeTo {
+
+    private static class ReprRendererForTesting extends ReprRendererAbstract<ReprRendererForTesting, Object> {
+
+        public ReprRendererForTesting(final JsonRepresentation representation) {
+            super(null, LinkFollowSpecs.create(Collections.<List<String>>emptyList()), RepresentationType.LIST, representation);
+        }
+
+        @Override
+        public ReprRendererForTesting with(final Object t) {
+            return this;
+        }
+
+        @Override
+        public JsonRepresentation render() {
+            return representation;
+        }
+    }
+
+    private JsonRepresentation representation;
+    private ReprRendererForTesting renderer;
+    private ByteArrayOutputStream out;
+    private JsonGenerator jgen;
+
+    @Before
+    public void setUp() throws Exception {
+        representation = JsonRepresentation.newMap();
+        representation.mapPut("links", JsonRepresentation.newArray());
+        representation.mapPut("value", JsonRepresentation.newArray());
+        representation.mapPut("extensions", JsonRepresentation.newMap("foo", "bar"));
+
+        renderer = new ReprRendererForTesting(representation);
+        out = new ByteArrayOutputStream();
+        jgen = JsonMapper.instance().createJsonGenerator(out);
+    }
+
+    @Test
+    public void streamedValuesReplacePlaceholder() throws Exception {
+        final Iterator<JsonRepresentation> values = Iterators.forArray(JsonRepresentation.newMap("href", "a"), JsonRepresentation.newMap("href", "b"));
+
+        renderer.writeTo(jgen, "value", values);
+
+        final JsonRepresentation written = JsonMapper.instance().read(out.toString("UTF-8"));
+        assertThat(written.getArray("value").size(), is(2));
+        assertThat(written.getArray("value").arrayGet(0).getString("href"), is("a"));
+        assertThat(written.getArray("value").arrayGet(1).getString("href"), is("b"));
+        assertThat(written.getArray("links").size(), is(0));
+        assertThat(written.getString("extensions.foo"), is("bar"));
+    }
+
+    @Test
+    public void noStreamedValues() throws Exception {
+        renderer.writeTo(jgen, "value", Iterators.<JsonRepresentation>emptyIterator());
+
+        final JsonRepresentation written = JsonMapper.instance().read(out.toString("UTF-8"));
+        assertThat(written.getArray("value").size(), is(0));
+    }
+
+    @Test
+    public void sameAsRendered() throws Exception {
+        renderer.writeTo(jgen, "none", Iterators.<JsonRepresentation>emptyIterator());
+
+        assertThat(out.toString("UTF-8"), is(JsonMapper.instance().write(renderer.render())));
+    }
+
+}
@@ -34,6 +34,7 @@
 
 import org.apache.isis.applib.annotation.Where;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.version.Version;
 import org.apache.isis.core.metamodel.consent.Consent;
 import org.apache.isis.core.metamodel.spec.ObjectSpecId;
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
@@ -108,6 +109,12 @@ public Response object(@PathParam("domainType") String domainType, @PathParam("i
 
         final ObjectAdapter objectAdapter = getObjectAdapterElseThrowNotFound(domainType, instanceId);
 
+        final Version version = objectAdapter.getVersion();
+        final Response notModified = notModifiedElseNull(DomainResourceHelper.eTagFor(version), version != null ? version.getTime() : null, Caching.NONE);
+        if (notModified != null) {
+            return notModified;
+        }
+
         final DomainResourceHelper helper = new DomainResourceHelper(getResourceContext(), objectAdapter);
         return helper.objectRepresentation();
     }
@@ -19,12 +19,11 @@
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
 
@@ -34,6 +33,9 @@
 
 import org.codehaus.jackson.JsonParseException;
 import org.codehaus.jackson.map.JsonMappingException;
+import org.joda.time.DateTime;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
 
 import org.apache.isis.applib.annotation.ActionSemantics;
 import org.apache.isis.applib.annotation.Where;
@@ -78,7 +80,8 @@
 
 public final class DomainResourceHelper {
 
-    private static final DateFormat ETAG_FORMAT = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+    // threadsafe
+    private static final DateTimeFormatter ETAG_FORMAT = DateTimeFormat.forPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
 
     private final RendererContext resourceContext;
     private ObjectAdapterLinkTo adapterLinkTo;
@@ -196,11 +199,23 @@ public Response objectRepresentation() {
 
         final Version version = objectAdapter.getVersion();
         if (version != null && version.getTime() != null) {
-            respBuilder.tag(ETAG_FORMAT.format(version.getTime()));
+            respBuilder.tag(eTagFor(version));
+            respBuilder.lastModified(version.getTime());
         }
         return respBuilder.build();
     }
 
+    /**
+     * The (strong) ETag of the representation of an object with the
+     * specified {@link Version}, or <tt>null</tt> if the version has no time.
+     */
+    static EntityTag eTagFor(final Version version) {
+        if (version == null || version.getTime() == null) {
+            return null;
+        }
+        return new EntityTag(ETAG_FORMAT.print(new DateTime(version.getTime())));
+    }
+
     // //////////////////////////////////////////////////////////////
     // propertyDetails
     // //////////////////////////////////////////////////////////////
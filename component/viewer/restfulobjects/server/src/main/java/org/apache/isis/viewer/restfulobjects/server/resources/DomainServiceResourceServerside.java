@@ -53,6 +53,11 @@ public class DomainServiceResourceServerside extends ResourceAbstract implements
     public Response services() {
         init(RepresentationType.LIST, Where.STANDALONE_TABLES);
 
+        final Response notModified = notModifiedElseNull(null, SERVER_STARTED, Caching.ONE_DAY);
+        if (notModified != null) {
+            return notModified;
+        }
+
         final List<ObjectAdapter> serviceAdapters = getResourceContext().getServiceAdapters();
 
         final DomainServicesListReprRenderer renderer = new DomainServicesListReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
@@ -60,7 +65,7 @@ public Response services() {
             .includesSelf()
             .with(serviceAdapters);
 
-        return responseOfOk(renderer, Caching.ONE_DAY).build();
+        return responseOfOk(renderer, Caching.ONE_DAY).lastModified(SERVER_STARTED).build();
     }
 
     // //////////////////////////////////////////////////////////
@@ -76,12 +81,17 @@ public Response service(@PathParam("serviceId") final String serviceId) {
 
         final ObjectAdapter serviceAdapter = getServiceAdapter(serviceId);
 
+        final Response notModified = notModifiedElseNull(null, SERVER_STARTED, Caching.ONE_DAY);
+        if (notModified != null) {
+            return notModified;
+        }
+
         final DomainObjectReprRenderer renderer = new DomainObjectReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
         renderer.usingLinkToBuilder(new DomainServiceLinkTo())
             .with(serviceAdapter)
             .includesSelf();
 
-        return responseOfOk(renderer, Caching.ONE_DAY).build();
+        return responseOfOk(renderer, Caching.ONE_DAY).lastModified(SERVER_STARTED).build();
     }
 
     // //////////////////////////////////////////////////////////
@@ -80,7 +80,7 @@ public Response domainTypes() {
         final TypeListReprRenderer renderer = new TypeListReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
         renderer.with(allSpecifications).includesSelf();
 
-        return responseOfOk(renderer, Caching.ONE_DAY).build();
+        return responseOfImmutable(renderer);
     }
 
     @Override
@@ -96,7 +96,7 @@ public Response domainType(@PathParam("domainType") final String domainType) {
         final DomainTypeReprRenderer renderer = new DomainTypeReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
         renderer.with(objectSpec).includesSelf();
 
-        return responseOfOk(renderer, Caching.ONE_DAY).build();
+        return responseOfImmutable(renderer);
     }
 
     @Override
@@ -121,7 +121,7 @@ public Response typeProperty(@PathParam("domainType") final String domainType, @
         final PropertyDescriptionReprRenderer renderer = new PropertyDescriptionReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
         renderer.with(new ParentSpecAndProperty(parentSpec, property)).includesSelf();
 
-        return responseOfOk(renderer, Caching.ONE_DAY).build();
+        return responseOfImmutable(renderer);
     }
 
     @Override
@@ -146,7 +146,7 @@ public Response typeCollection(@PathParam("domainType") final String domainType,
         final CollectionDescriptionReprRenderer renderer = new CollectionDescriptionReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
         renderer.with(new ParentSpecAndCollection(parentSpec, collection)).includesSelf();
 
-        return responseOfOk(renderer, Caching.ONE_DAY).build();
+        return responseOfImmutable(renderer);
     }
 
     @Override
@@ -171,7 +171,7 @@ public Response typeAction(@PathParam("domainType") final String domainType, @Pa
         final ActionDescriptionReprRenderer renderer = new ActionDescriptionReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
         renderer.with(new ParentSpecAndAction(parentSpec, action)).includesSelf();
 
-        return responseOfOk(renderer, Caching.ONE_DAY).build();
+        return responseOfImmutable(renderer);
     }
 
     @Override
@@ -198,7 +198,7 @@ public Response typeActionParam(@PathParam("domainType") final String domainType
         final ActionParameterDescriptionReprRenderer renderer = new ActionParameterDescriptionReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
         renderer.with(new ParentSpecAndActionParam(parentSpec, actionParam)).includesSelf();
 
-        return responseOfOk(renderer, Caching.ONE_DAY).build();
+        return responseOfImmutable(renderer);
     }
 
     // //////////////////////////////////////////////////////////
@@ -231,7 +231,7 @@ public Response domainTypeIsSubtypeOf(
         final boolean value = domainTypeSpec.isOfType(supertypeSpec);
         renderer.with(domainTypeSpec).withSelf(selfLink).withValue(value);
 
-        return responseOfOk(renderer, Caching.ONE_DAY).build();
+        return responseOfImmutable(renderer);
     }
 
 
@@ -262,7 +262,7 @@ public Response domainTypeIsSupertypeOf(
         final boolean value = subtypeSpec.isOfType(domainTypeSpec);
         renderer.with(domainTypeSpec).withSelf(selfLink).withValue(value);
 
-        return responseOfOk(renderer, Caching.ONE_DAY).build();
+        return responseOfImmutable(renderer);
     }
 
     private static String domainTypeFor(final String domainTypeStr, final String argumentsQueryString, final String argsParamName) {
@@ -20,6 +20,7 @@
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Date;
 import java.util.List;
 
@@ -34,9 +35,16 @@
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 
+import com.google.common.base.Charsets;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+
 import org.codehaus.jackson.JsonGenerationException;
+import org.codehaus.jackson.JsonGenerator;
 import org.codehaus.jackson.map.JsonMappingException;
 import org.joda.time.DateTime;
 import org.joda.time.format.ISODateTimeFormat;
@@ -59,6 +67,7 @@
 import org.apache.isis.viewer.restfulobjects.applib.client.RestfulResponse.HttpStatusCode;
 import org.apache.isis.viewer.restfulobjects.applib.util.JsonMapper;
 import org.apache.isis.viewer.restfulobjects.rendering.ReprRenderer;
+import org.apache.isis.viewer.restfulobjects.rendering.StreamingReprRenderer;
 import org.apache.isis.viewer.restfulobjects.server.ResourceContext;
 import org.apache.isis.viewer.restfulobjects.server.RestfulObjectsApplicationException;
 import org.apache.isis.viewer.restfulobjects.server.util.OidUtils;
@@ -69,6 +78,18 @@ public abstract class ResourceAbstract {
 
     protected final static JsonMapper jsonMapper = JsonMapper.instance();
 
+    /**
+     * Whether {@link StreamingReprRenderer}s (eg for lists) should write their
+     * representation directly to the response, rather than first building it
+     * up in memory.
+     * 
+     * <p>
+     * Disabled by default; because the response is committed as soon as the
+     * first bytes are written, any exception thrown while rendering the
+     * remainder can no longer be reported as an error representation.
+     */
+    public final static String STREAMING_KEY = "isis.viewer.restfulobjects.streaming";
+
     public enum Caching {
         ONE_DAY(24 * 60 * 60), ONE_HOUR(60 * 60), NONE(0);
 
@@ -157,6 +178,34 @@ protected static String jsonFor(final Object object) {
         }
     }
 
+    /**
+     * The entity to return for the renderer; either the rendered JSON or (if
+     * {@link #STREAMING_KEY enabled} and supported by the renderer) a
+     * {@link StreamingOutput} that renders as it writes.
+     */
+    protected static Object entityFor(final ReprRenderer<?, ?> renderer) {
+        if (renderer instanceof StreamingReprRenderer && IsisContext.getConfiguration().getBoolean(STREAMING_KEY, false)) {
+            return streamingOutputFor((StreamingReprRenderer) renderer);
+        }
+        return jsonFor(renderer.render());
+    }
+
+    private static StreamingOutput streamingOutputFor(final StreamingReprRenderer renderer) {
+        return new StreamingOutput() {
+            @Override
+            public void write(final OutputStream output) throws IOException {
+                final JsonGenerator jgen = jsonMapper.createJsonGenerator(output);
+                // leave the response stream for the container to close
+                jgen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                try {
+                    renderer.renderTo(jgen);
+                } finally {
+                    jgen.close();
+                }
+            }
+        };
+    }
+
     // //////////////////////////////////////////////////////////////
     // Isis integration
     // //////////////////////////////////////////////////////////////
@@ -206,7 +255,7 @@ public static ResponseBuilder responseOfOk(final ReprRenderer<?, ?> renderer, fi
 
     public static ResponseBuilder responseOfOk(final ReprRenderer<?, ?> renderer, final Caching caching, final Version version) {
         final MediaType mediaType = renderer.getMediaType();
-        final ResponseBuilder response = responseOf(HttpStatusCode.OK).type(mediaType).cacheControl(caching.getCacheControl()).entity(jsonFor(renderer.render()));
+        final ResponseBuilder response = responseOf(HttpStatusCode.OK).type(mediaType).cacheControl(caching.getCacheControl()).entity(entityFor(renderer));
         return addLastModifiedAndETagIfAvailable(response, version);
     }
 
@@ -228,6 +277,94 @@ private static EntityTag asETag(final Date time) {
         return new EntityTag(utcTime, true);
     }
 
+    // //////////////////////////////////////////////////////////////
+    // Conditional GET
+    // //////////////////////////////////////////////////////////////
+
+    /**
+     * When this class was loaded, truncated to the second (the resolution of
+     * HTTP dates).
+     * 
+     * <p>
+     * Used as the <tt>Last-Modified</tt> time of representations (eg of
+     * services) that do not change while the server is running.
+     */
+    protected final static Date SERVER_STARTED = new Date(System.currentTimeMillis() / 1000 * 1000);
+
+    private static final int IMMUTABLE_ETAGS_MAX_SIZE = 1000;
+
+    /**
+     * ETags of {@link #responseOfImmutable(ReprRenderer) immutable}
+     * representations, keyed by request URI (and metamodel size).
+     */
+    private final static Cache<String, EntityTag> immutableETags = CacheBuilder.newBuilder().maximumSize(IMMUTABLE_ETAGS_MAX_SIZE).build();
+
+    /**
+     * Evaluates the request's preconditions (<tt>If-None-Match</tt>,
+     * <tt>If-Modified-Since</tt> etc) against the provided ETag and/or
+     * last-modified time, returning the response (typically a
+     * <tt>304 Not Modified</tt>) if they are met, else <tt>null</tt>.
+     * 
+     * <p>
+     * Intended to be called before any rendering; if <tt>null</tt> is returned
+     * then the representation should be rendered as normal.
+     */
+    protected Response notModifiedElseNull(final EntityTag eTag, final Date lastModified, final Caching caching) {
+        final ResponseBuilder responseBuilder;
+        if (eTag != null && lastModified != null) {
+            responseBuilder = request.evaluatePreconditions(lastModified, eTag);
+        } else if (eTag != null) {
+            responseBuilder = request.evaluatePreconditions(eTag);
+        } else if (lastModified != null) {
+            responseBuilder = request.evaluatePreconditions(lastModified);
+        } else {
+            return null;
+        }
+        if (responseBuilder == null) {
+            return null;
+        }
+        responseBuilder.cacheControl(caching.getCacheControl());
+        if (eTag != null) {
+            responseBuilder.tag(eTag);
+        }
+        if (lastModified != null) {
+            responseBuilder.lastModified(lastModified);
+        }
+        return responseBuilder.build();
+    }
+
+    /**
+     * For representations that cannot change once the metamodel has been
+     * validated (ie of domain types), which are returned with a strong ETag
+     * (a hash of the content) and long-lived caching.
+     * 
+     * <p>
+     * The ETag is remembered, so subsequent conditional GETs for the same URI
+     * are answered without rendering.  Since the metamodel can grow (when
+     * further types are introspected), its size is also part of the key.
+     */
+    protected Response responseOfImmutable(final ReprRenderer<?, ?> renderer) {
+        final String key = uriInfo.getRequestUri().toString() + "#" + getSpecificationLoader().allSpecifications().size();
+
+        final EntityTag cachedETag = immutableETags.getIfPresent(key);
+        if (cachedETag != null) {
+            final Response notModified = notModifiedElseNull(cachedETag, null, Caching.ONE_DAY);
+            if (notModified != null) {
+                return notModified;
+            }
+        }
+
+        final String json = jsonFor(renderer.render());
+        final EntityTag eTag = new EntityTag(Hashing.md5().hashString(json, Charsets.UTF_8).toString());
+        immutableETags.put(key, eTag);
+
+        final Response notModified = notModifiedElseNull(eTag, null, Caching.ONE_DAY);
+        if (notModified != null) {
+            return notModified;
+        }
+        return responseOf(HttpStatusCode.OK).type(renderer.getMediaType()).cacheControl(Caching.ONE_DAY.getCacheControl()).tag(eTag).entity(json).build();
+    }
+
     // //////////////////////////////////////////////////////////////
     // Dependencies (from singletons)
     // //////////////////////////////////////////////////////////////
@@ -0,0 +1,114 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.restfulobjects.server.resources;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.Date;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+import org.apache.isis.viewer.restfulobjects.server.resources.ResourceAbstract.Caching;
+
+public class ResourceAbstractTest_notModifiedElseNull {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private Request mockRequest;
+
+    private ResourceAbstract resource;
+
+    private final EntityTag eTag = new EntityTag("abc");
+    private final Date lastModified = new Date(1000L);
+
+    @Before
+    public void setUp() throws Exception {
+        resource = new ResourceAbstract() {
+        };
+        resource.request = mockRequest;
+    }
+
+    @Test
+    public void whenNothingToCompareAgainst() throws Exception {
+        // no interactions expected on the request
+        assertThat(resource.notModifiedElseNull(null, null, Caching.NONE), is(nullValue()));
+    }
+
+    @Test
+    public void whenPreconditionsNotMet() throws Exception {
+        context.checking(new Expectations() {
+            {
+                oneOf(mockRequest).evaluatePreconditions(lastModified, eTag);
+                will(returnValue(null));
+            }
+        });
+
+        assertThat(resource.notModifiedElseNull(eTag, lastModified, Caching.NONE), is(nullValue()));
+    }
+
+    @Test
+    public void whenPreconditionsMet() throws Exception {
+        context.checking(new Expectations() {
+            {
+                oneOf(mockRequest).evaluatePreconditions(eTag);
+                will(returnValue(Response.notModified()));
+            }
+        });
+
+        final Response response = resource.notModifiedElseNull(eTag, null, Caching.ONE_DAY);
+
+        assertThat(response.getStatus(), is(304));
+        assertThat((EntityTag) response.getMetadata().getFirst(HttpHeaders.ETAG), is(eTag));
+    }
+
+    @Test
+    public void whenLastModifiedOnly() throws Exception {
+        context.checking(new Expectations() {
+            {
+                oneOf(mockRequest).evaluatePreconditions(lastModified);
+                will(returnValue(Response.notModified()));
+            }
+        });
+
+        final Response response = resource.notModifiedElseNull(null, lastModified, Caching.ONE_DAY);
+
+        assertThat(response.getStatus(), is(304));
+    }
+
+    @Test
+    public void eTagForVersionWithoutTime() throws Exception {
+        assertThat(DomainResourceHelper.eTagFor(null), is(nullValue()));
+    }
+
+}
@@ -343,6 +343,17 @@ public void setObjectList(ObjectAdapter resultAdapter) {
         this.mementoList = asMementoList(resultAdapter);
     }
 
+    /**
+     * Populated only if {@link Type#STANDALONE}.
+     *
+     * <p>
+     * Replaced (rather than modified) whenever the {@link #setObjectList(ObjectAdapter) list is refreshed},
+     * so that callers may hold onto anything derived from it for as long as it is still the same instance.
+     */
+    public List<ObjectAdapterMemento> getMementoList() {
+        return mementoList;
+    }
+
     /**
      * Populated only if {@link Type#PARENTED}.
      */
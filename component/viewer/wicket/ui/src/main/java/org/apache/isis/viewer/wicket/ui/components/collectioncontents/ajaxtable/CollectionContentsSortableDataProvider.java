@@ -19,9 +19,12 @@
 
 package org.apache.isis.viewer.wicket.ui.components.collectioncontents.ajaxtable;
 
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Ordering;
 
 import org.apache.wicket.extensions.ajax.markup.html.repeater.data.table.AjaxFallbackDefaultDataTable;
@@ -30,14 +33,22 @@
 import org.apache.wicket.model.IModel;
 
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.mgr.AdapterManager.ConcurrencyChecking;
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
 import org.apache.isis.core.metamodel.spec.ObjectSpecificationException;
 import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.viewer.wicket.model.mementos.ObjectAdapterMemento;
 import org.apache.isis.viewer.wicket.model.models.EntityCollectionModel;
 import org.apache.isis.viewer.wicket.model.models.EntityModel;
 
 /**
  * Part of the {@link AjaxFallbackDefaultDataTable} API.
+ *
+ * <p>
+ * Only the adapters of the requested page are resolved.  When sorted, the sort keys are read once per change
+ * of sort (rather than on every comparison); for {@link EntityCollectionModel#isStandalone() standalone}
+ * collections the resultant order is retained (as mementos) so that paging through a sorted list costs only
+ * the page itself.
  */
 public class CollectionContentsSortableDataProvider extends SortableDataProvider<ObjectAdapter,String> {
 
@@ -45,15 +56,41 @@ public class CollectionContentsSortableDataProvider extends SortableDataProvider
 
     private final EntityCollectionModel model;
 
+    /**
+     * The {@link SortParam sort} that {@link #sortedMementos} (standalone) or {@link #sortedAdapters} (parented)
+     * correspond to.
+     */
+    private SortParam<String> sortedBy;
+
+    /**
+     * Standalone collections only; the {@link EntityCollectionModel#getMementoList() list} that
+     * {@link #sortedMementos} were sorted from.
+     */
+    private List<ObjectAdapterMemento> sortedFrom;
+    private List<ObjectAdapterMemento> sortedMementos;
+
+    /**
+     * Parented collections only; since the collection is reloaded on every request, only retained until
+     * {@link #detach() detached}.
+     */
+    private transient List<ObjectAdapter> sortedAdapters;
+
     public CollectionContentsSortableDataProvider(final EntityCollectionModel model) {
         this.model = model;
     }
 
     @Override
     public Iterator<ObjectAdapter> iterator(final long first, final long count) {
-        List<ObjectAdapter> adapters = sortedIfRequired(model.getObject(), this.getSort());
-        
-        return adapters.subList((int)first, (int)(first + count)).iterator();
+        final SortParam<String> sort = this.getSort();
+        final ObjectAssociation sortProperty = sortPropertyFor(sort);
+        if(sortProperty == null) {
+            return page(model.getObject(), first, count);
+        }
+        if(model.isStandalone()) {
+            final List<ObjectAdapterMemento> mementos = sortedMementos(sort, sortProperty);
+            return page(Lists.transform(mementos, ObjectAdapterMemento.Functions.fromMemento(ConcurrencyChecking.NO_CHECK)), first, count);
+        } 
+        return page(sortedAdapters(sort, sortProperty), first, count);
     }
 
     @Override
@@ -70,46 +107,99 @@ public long size() {
     public void detach() {
         super.detach();
         model.detach();
+        sortedAdapters = null;
     }
 
     
-    private List<ObjectAdapter> sortedIfRequired(List<ObjectAdapter> adapters, final SortParam<String> sort) {
+    private ObjectAssociation sortPropertyFor(final SortParam<String> sort) {
         if(sort == null) {
-            return adapters;
+            return null;
         }
-        
         final ObjectSpecification elementSpec = model.getTypeOfSpecification();
-        
         final String sortPropertyId = sort.getProperty();
         try {
-            final ObjectAssociation sortProperty = elementSpec.getAssociation(sortPropertyId);
-            if(sortProperty == null) {
-                return adapters;
-            }
-            
-            Ordering<ObjectAdapter> ordering = orderingBy(sortProperty, sort.isAscending());
-            return ordering.sortedCopy(adapters);
+            return elementSpec.getAssociation(sortPropertyId);
         } catch(ObjectSpecificationException ex) {
             // eg invalid propertyId
-            return adapters;
+            return null;
         }
     }
 
+    private List<ObjectAdapterMemento> sortedMementos(final SortParam<String> sort, final ObjectAssociation sortProperty) {
+        final List<ObjectAdapterMemento> mementoList = model.getMementoList();
+        if(sortedMementos == null || sortedFrom != mementoList || !sort.equals(sortedBy)) {
+            final List<Integer> positions = sortedPositions(model.getObject(), sortProperty, sort.isAscending());
+            final List<ObjectAdapterMemento> mementos = Lists.newArrayListWithCapacity(positions.size());
+            for (final Integer position : positions) {
+                mementos.add(mementoList.get(position));
+            }
+            sortedMementos = mementos;
+            sortedFrom = mementoList;
+            sortedBy = sort;
+        }
+        return sortedMementos;
+    }
+
+    private List<ObjectAdapter> sortedAdapters(final SortParam<String> sort, final ObjectAssociation sortProperty) {
+        if(sortedAdapters == null || !sort.equals(sortedBy)) {
+            final List<ObjectAdapter> adapters = model.getObject();
+            final List<Integer> positions = sortedPositions(adapters, sortProperty, sort.isAscending());
+            final List<ObjectAdapter> sorted = Lists.newArrayListWithCapacity(positions.size());
+            for (final Integer position : positions) {
+                sorted.add(adapters.get(position));
+            }
+            sortedAdapters = sorted;
+            sortedBy = sort;
+        }
+        return sortedAdapters;
+    }
+
+    private static <T> Iterator<T> page(final List<T> list, final long first, final long count) {
+        final int size = list.size();
+        final int from = (int) Math.min(first, size);
+        final int to = (int) Math.min(first + count, size);
+        return list.subList(from, to).iterator();
+    }
+
+    /**
+     * The positions of the supplied adapters once sorted by the specified property, reading that property
+     * exactly once for each adapter.
+     *
+     * <p>
+     * Equivalent to (but cheaper than) sorting using {@link #orderingBy(ObjectAssociation, boolean)}.
+     */
+    static List<Integer> sortedPositions(final List<ObjectAdapter> adapters, final ObjectAssociation sortProperty, final boolean ascending) {
+        final List<ObjectAdapter> sortKeys = Lists.newArrayListWithCapacity(adapters.size());
+        final List<Integer> positions = Lists.newArrayListWithCapacity(adapters.size());
+        for (final ObjectAdapter adapter : adapters) {
+            positions.add(sortKeys.size());
+            sortKeys.add(sortProperty.get(adapter));
+        }
+        final Ordering<ObjectAdapter> keyOrdering = sortKeyOrdering(ascending);
+        Collections.sort(positions, new Comparator<Integer>() {
+            @Override
+            public int compare(final Integer p, final Integer q) {
+                return keyOrdering.compare(sortKeys.get(p), sortKeys.get(q));
+            }
+        });
+        return positions;
+    }
+
+    private static Ordering<ObjectAdapter> sortKeyOrdering(final boolean ascending) {
+        return ascending
+                ? ORDERING_BY_NATURAL.nullsFirst()
+                : ORDERING_BY_NATURAL.nullsLast().reverse();
+    }
+
     public static Ordering<ObjectAdapter> orderingBy(final ObjectAssociation sortProperty, final boolean ascending) {
-        final Ordering<ObjectAdapter> ordering = new Ordering<ObjectAdapter>(){
+        final Ordering<ObjectAdapter> keyOrdering = sortKeyOrdering(ascending);
+        return new Ordering<ObjectAdapter>(){
     
             @Override
             public int compare(final ObjectAdapter p, final ObjectAdapter q) {
-                final ObjectAdapter pSort = sortProperty.get(p);
-                final ObjectAdapter qSort = sortProperty.get(q);
-                Ordering<ObjectAdapter> naturalOrdering = 
-                        ascending 
-                            ? ORDERING_BY_NATURAL.nullsFirst() 
-                            : ORDERING_BY_NATURAL.nullsLast();
-                return naturalOrdering.compare(pSort, qSort);
+                return keyOrdering.compare(sortProperty.get(p), sortProperty.get(q));
             }
         };
-        return ascending?ordering:ordering.reverse();
     }
 
     public static Ordering<ObjectAdapter> ORDERING_BY_NATURAL = new Ordering<ObjectAdapter>(){
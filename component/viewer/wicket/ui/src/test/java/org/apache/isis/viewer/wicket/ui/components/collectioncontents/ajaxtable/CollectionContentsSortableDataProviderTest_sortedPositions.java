@@ -0,0 +1,103 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.viewer.wicket.ui.components.collectioncontents.ajaxtable;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+public class CollectionContentsSortableDataProviderTest_sortedPositions {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private ObjectAssociation mockSortProperty;
+
+    @Mock
+    private ObjectAdapter mockAdapter0;
+    @Mock
+    private ObjectAdapter mockAdapter1;
+    @Mock
+    private ObjectAdapter mockAdapter2;
+    @Mock
+    private ObjectAdapter mockAdapter3;
+
+    @Mock
+    private ObjectAdapter mockKeyB;
+    @Mock
+    private ObjectAdapter mockKeyA;
+    @Mock
+    private ObjectAdapter mockKeyC;
+
+    private List<ObjectAdapter> adapters;
+
+    @Before
+    public void setUp() throws Exception {
+        adapters = Arrays.asList(mockAdapter0, mockAdapter1, mockAdapter2, mockAdapter3);
+
+        context.checking(new Expectations() {
+            {
+                // each sort key read exactly once, however many comparisons
+                oneOf(mockSortProperty).get(mockAdapter0);
+                will(returnValue(mockKeyB));
+                oneOf(mockSortProperty).get(mockAdapter1);
+                will(returnValue(null));
+                oneOf(mockSortProperty).get(mockAdapter2);
+                will(returnValue(mockKeyA));
+                oneOf(mockSortProperty).get(mockAdapter3);
+                will(returnValue(mockKeyC));
+
+                allowing(mockKeyA).getObject();
+                will(returnValue("a"));
+                allowing(mockKeyB).getObject();
+                will(returnValue("b"));
+                allowing(mockKeyC).getObject();
+                will(returnValue("c"));
+            }
+        });
+    }
+
+    @Test
+    public void ascending() throws Exception {
+        final List<Integer> positions = CollectionContentsSortableDataProvider.sortedPositions(adapters, mockSortProperty, true);
+        assertThat(positions, is(Arrays.asList(1, 2, 0, 3)));
+    }
+
+    @Test
+    public void descending() throws Exception {
+        final List<Integer> positions = CollectionContentsSortableDataProvider.sortedPositions(adapters, mockSortProperty, false);
+        assertThat(positions, is(Arrays.asList(1, 3, 0, 2)));
+    }
+
+}
@@ -0,0 +1,47 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.applib.services.transaction;
+
+import java.util.Set;
+
+import org.apache.isis.applib.annotation.Hidden;
+
+/**
+ * Will be called once a transaction has been committed, with the domain objects 
+ * that were created, updated or deleted within it.
+ * 
+ * <p>
+ * All registered domain services implementing this interface are called, after the
+ * underlying object store has itself committed; nothing is called for a transaction 
+ * that was aborted.  Typically used to invalidate application-scoped caches.
+ * 
+ * <p>
+ * Supported by the JDO object store; check documentation for support in other objectstores.
+ */
+public interface TransactionCommittedListener {
+
+    /**
+     * @param changedObjects - the domain objects enlisted in the transaction; a deleted
+     * object is included but its state should not be relied upon.
+     */
+    @Hidden
+    public void committed(Set<Object> changedObjects);
+
+}
@@ -20,6 +20,7 @@
 package org.apache.isis.core.bytecode.cglib;
 
 import org.apache.isis.core.commons.lang.ClassUtil;
+import org.apache.isis.core.commons.lang.MethodInvokers;
 import org.apache.isis.core.metamodel.specloader.classsubstitutor.CglibEnhanced;
 import org.apache.isis.core.metamodel.specloader.classsubstitutor.ClassSubstitutorAbstract;
 
@@ -28,6 +29,22 @@ public class CglibClassSubstitutor extends ClassSubstitutorAbstract {
     public CglibClassSubstitutor() {
     }
 
+    /**
+     * Also installs the {@link CglibMethodInvokerFactory}, so that (as the metamodel is built and
+     * thereafter) domain object methods are invoked through generated classes rather than reflection.
+     */
+    @Override
+    public void init() {
+        super.init();
+        MethodInvokers.setFactory(new CglibMethodInvokerFactory());
+    }
+
+    @Override
+    public void shutdown() {
+        MethodInvokers.setFactory(MethodInvokers.REFLECTIVE);
+        super.shutdown();
+    }
+
     /**
      * If {@link CglibEnhanced} then return superclass, else as per
      * {@link ClassSubstitutorAbstract#getClass(Class) superclass'}
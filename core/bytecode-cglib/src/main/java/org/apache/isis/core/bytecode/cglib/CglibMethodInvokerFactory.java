@@ -0,0 +1,92 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.bytecode.cglib;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.collect.Maps;
+
+import net.sf.cglib.reflect.FastClass;
+import net.sf.cglib.reflect.FastMethod;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.core.commons.lang.MethodInvoker;
+import org.apache.isis.core.commons.lang.MethodInvokerFactory;
+import org.apache.isis.core.commons.lang.MethodInvokers;
+
+/**
+ * Invokes methods through cglib-generated {@link FastClass}es, which dispatch on an index
+ * rather than by reflection.
+ *
+ * <p>
+ * Falls back to {@link MethodInvokers#REFLECTIVE reflection} for any method that cannot be
+ * called from a generated class (eg non-public).
+ */
+public class CglibMethodInvokerFactory implements MethodInvokerFactory {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CglibMethodInvokerFactory.class);
+
+    private final ConcurrentMap<Class<?>, FastClass> fastClassByClass = Maps.newConcurrentMap();
+
+    @Override
+    public MethodInvoker invokerFor(final Method method) {
+        final Class<?> declaringClass = method.getDeclaringClass();
+        if (!Modifier.isPublic(method.getModifiers()) || !Modifier.isPublic(declaringClass.getModifiers())) {
+            return MethodInvokers.REFLECTIVE.invokerFor(method);
+        }
+        try {
+            return new FastMethodInvoker(method, fastClassFor(declaringClass).getMethod(method));
+        } catch (final RuntimeException ex) {
+            // cglib's CodeGenerationException, or method not found
+            LOG.warn("unable to generate fast invoker for " + method + ", will use reflection", ex);
+            return MethodInvokers.REFLECTIVE.invokerFor(method);
+        }
+    }
+
+    private FastClass fastClassFor(final Class<?> cls) {
+        final FastClass fastClass = fastClassByClass.get(cls);
+        if (fastClass != null) {
+            return fastClass;
+        }
+        final FastClass newFastClass = FastClass.create(cls);
+        final FastClass existing = fastClassByClass.putIfAbsent(cls, newFastClass);
+        return existing != null ? existing : newFastClass;
+    }
+
+    static class FastMethodInvoker extends MethodInvoker {
+
+        private final FastMethod fastMethod;
+
+        FastMethodInvoker(final Method method, final FastMethod fastMethod) {
+            super(method);
+            this.fastMethod = fastMethod;
+        }
+
+        @Override
+        public Object invokeChecked(final Object target, final Object[] args) throws IllegalAccessException, InvocationTargetException {
+            return fastMethod.invoke(target, args);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.bytecode.cglib;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+import java.lang.reflect.Method;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.isis.core.commons.lang.MethodInvoker;
+
+public class CglibMethodInvokerFactoryTest {
+
+    private CglibMethodInvokerFactory factory;
+    private SomeDomainObject sdo;
+
+    @Before
+    public void setUp() throws Exception {
+        factory = new CglibMethodInvokerFactory();
+        sdo = new SomeDomainObject();
+    }
+
+    @Test
+    public void publicMethodsUseGeneratedClass() throws Exception {
+        final MethodInvoker setter = factory.invokerFor(SomeDomainObject.class.getMethod("setName", String.class));
+        final MethodInvoker getter = factory.invokerFor(SomeDomainObject.class.getMethod("getName"));
+        assertThat(setter, is(instanceOf(CglibMethodInvokerFactory.FastMethodInvoker.class)));
+
+        setter.invoke(sdo, new Object[] { "Fred" });
+        assertThat((String) getter.invoke(sdo), is("Fred"));
+    }
+
+    @Test
+    public void nonPublicMethodsFallBackToReflection() throws Exception {
+        final Method method = Object.class.getDeclaredMethod("clone");
+        assertThat(factory.invokerFor(method), is(not(instanceOf(CglibMethodInvokerFactory.FastMethodInvoker.class))));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void exceptionsFromDomainCodeRethrown() throws Exception {
+        final MethodInvoker invoker = factory.invokerFor(SomeDomainObject.class.getMethod("setName", String.class));
+        invoker.invoke(new SomeDomainObject() {
+            @Override
+            public void setName(final String name) {
+                throw new IllegalStateException();
+            }
+        }, new Object[] { "Fred" });
+    }
+}
@@ -19,12 +19,9 @@
 
 package org.apache.isis.core.commons.lang;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 
-import org.apache.isis.core.metamodel.exceptions.MetaModelException;
-
 public class MethodExtensions {
 
     private MethodExtensions() {
@@ -40,22 +37,18 @@ public static boolean isStatic(final Method method) {
 
     // //////////////////////////////////////
 
+    /**
+     * Invokes the method with <tt>null</tt> (or default, for primitives) arguments, using its cached {@link MethodInvoker}.
+     */
     public static Object invoke(final Method method, final Object object) {
-        final Object[] parameters = MethodExtensions.getNullOrDefaultArgs(method);
-        return MethodExtensions.invoke(method, object, parameters);
+        return MethodInvokers.forMethod(method).invoke(object);
     }
 
+    /**
+     * Invokes the method using its cached {@link MethodInvoker}.
+     */
     public static Object invoke(final Method method, final Object object, final Object[] parameters) {
-        try {
-            return method.invoke(object, parameters);
-        } catch (final IllegalArgumentException e) {
-            throw e;
-        } catch (final InvocationTargetException e) {
-            ThrowableExtensions.throwWithinIsisException(e, "Exception executing " + method);
-            return null;
-        } catch (final IllegalAccessException e) {
-            throw new MetaModelException("illegal access of " + method, e);
-        }
+        return MethodInvokers.forMethod(method).invoke(object, parameters);
     }
 
     public static Object invokeStatic(final Method method, final Object[] parameters) {
@@ -63,7 +56,7 @@ public static Object invokeStatic(final Method method, final Object[] parameters
     }
 
     public static Object invokeStatic(final Method method) {
-        return invoke(method, null, MethodExtensions.getNullOrDefaultArgs(method));
+        return invoke(method, null);
     }
 
     // //////////////////////////////////////
@@ -0,0 +1,78 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.commons.lang;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.apache.isis.core.metamodel.exceptions.MetaModelException;
+
+/**
+ * Invokes a single {@link Method}, with the same exception semantics as {@link MethodExtensions#invoke(Method, Object, Object[])}.
+ *
+ * <p>
+ * Obtained (and cached) through {@link MethodInvokers#forMethod(Method)}; the default implementation uses reflection, but
+ * an alternative {@link MethodInvokerFactory} (eg generating bytecode) can be {@link MethodInvokers#setFactory(MethodInvokerFactory) installed}.
+ */
+public abstract class MethodInvoker {
+
+    private final Method method;
+    private final Object[] nullOrDefaultArgs;
+
+    protected MethodInvoker(final Method method) {
+        this.method = method;
+        this.nullOrDefaultArgs = MethodExtensions.getNullOrDefaultArgs(method);
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * Invokes the method with <tt>null</tt> (or the default, for primitives) for each of its parameters.
+     */
+    public Object invoke(final Object target) {
+        // safe to share, the array is never handed to the invoked method itself
+        return invoke(target, nullOrDefaultArgs);
+    }
+
+    public Object invoke(final Object target, final Object[] args) {
+        try {
+            return invokeChecked(target, args);
+        } catch (final IllegalArgumentException e) {
+            throw e;
+        } catch (final InvocationTargetException e) {
+            ThrowableExtensions.throwWithinIsisException(e, "Exception executing " + method);
+            return null;
+        } catch (final IllegalAccessException e) {
+            throw new MetaModelException("illegal access of " + method, e);
+        }
+    }
+
+    /**
+     * As per {@link Method#invoke(Object, Object...)}, for callers that need to translate exceptions themselves.
+     */
+    public abstract Object invokeChecked(Object target, Object[] args) throws IllegalAccessException, InvocationTargetException;
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" + method + "]";
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.commons.lang;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.collect.Maps;
+
+/**
+ * Registry of the {@link MethodInvoker}s, one per {@link Method}, used to call into domain objects.
+ *
+ * <p>
+ * Each invoker is created on first use and then reused, so that the per-call overhead (access checks,
+ * computing default arguments) is paid only once per method.
+ */
+public final class MethodInvokers {
+
+    private MethodInvokers() {
+    }
+
+    public static final MethodInvokerFactory REFLECTIVE = new MethodInvokerFactory() {
+        @Override
+        public MethodInvoker invokerFor(final Method method) {
+            return new Reflective(method);
+        }
+    };
+
+    private static final ConcurrentMap<Method, MethodInvoker> invokerByMethod = Maps.newConcurrentMap();
+    private static volatile MethodInvokerFactory factory = REFLECTIVE;
+
+    public static MethodInvoker forMethod(final Method method) {
+        final MethodInvoker invoker = invokerByMethod.get(method);
+        if (invoker != null) {
+            return invoker;
+        }
+        final MethodInvoker newInvoker = factory.invokerFor(method);
+        final MethodInvoker existing = invokerByMethod.putIfAbsent(method, newInvoker);
+        return existing != null ? existing : newInvoker;
+    }
+
+    public static MethodInvokerFactory getFactory() {
+        return factory;
+    }
+
+    /**
+     * Installs an alternative factory, discarding any invokers already created.
+     */
+    public static void setFactory(final MethodInvokerFactory methodInvokerFactory) {
+        factory = methodInvokerFactory != null ? methodInvokerFactory : REFLECTIVE;
+        invokerByMethod.clear();
+    }
+
+    // //////////////////////////////////////
+
+    /**
+     * Uses {@link Method#invoke(Object, Object...)}, but suppressing the Java language access checks (if permitted).
+     */
+    static class Reflective extends MethodInvoker {
+
+        Reflective(final Method method) {
+            super(method);
+            if (!method.isAccessible()) {
+                try {
+                    method.setAccessible(true);
+                } catch (final SecurityException ignore) {
+                    // just means access will be checked on each call
+                }
+            }
+        }
+
+        @Override
+        public Object invokeChecked(final Object target, final Object[] args) throws IllegalAccessException, InvocationTargetException {
+            return getMethod().invoke(target, args);
+        }
+    }
+}
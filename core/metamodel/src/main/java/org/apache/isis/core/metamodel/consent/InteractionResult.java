@@ -42,8 +42,11 @@ enum State {
     }
 
     private final InteractionEvent interactionEvent;
-    private final StringBuilder reasonBuf = new StringBuilder();
-    private final List<InteractionAdvisor> advisors = new ArrayList<InteractionAdvisor>();
+    /**
+     * Created only once vetoed, so that the common (not vetoing) case allocates no more than this result.
+     */
+    private StringBuilder reasonBuf;
+    private List<InteractionAdvisor> advisors;
 
     private State state = State.ADVISING;
 
@@ -83,6 +86,10 @@ public void advise(final String reason, final InteractionAdvisor facet) {
         if (reason == null) {
             return;
         }
+        if (reasonBuf == null) {
+            reasonBuf = new StringBuilder();
+            advisors = new ArrayList<InteractionAdvisor>(1);
+        }
         if (isVetoing()) {
             reasonBuf.append("; ");
         }
@@ -95,7 +102,7 @@ public boolean isVetoing() {
     }
 
     public boolean isNotVetoing() {
-        return reasonBuf.length() == 0;
+        return reasonBuf == null || reasonBuf.length() == 0;
     }
 
     /**
@@ -106,7 +113,7 @@ public boolean isNotVetoing() {
      * @see #getAdvisorFacets()
      */
     public InteractionAdvisor getAdvisor() {
-        return advisors.size() >= 1 ? advisors.get(0) : null;
+        return advisors != null && advisors.size() >= 1 ? advisors.get(0) : null;
     }
 
     /**
@@ -117,6 +124,9 @@ public InteractionAdvisor getAdvisor() {
      * @see #getAdvisor()
      */
     public List<InteractionAdvisor> getAdvisorFacets() {
+        if (advisors == null) {
+            return Collections.emptyList();
+        }
         return Collections.unmodifiableList(advisors);
     }
 
@@ -141,11 +151,11 @@ public String getReason() {
 
     @Override
     public String toString() {
-        return String.format("%s: %s: %s (%d facets advised)", interactionEvent, state, toStringInterpret(reasonBuf), advisors.size());
+        return String.format("%s: %s: %s (%d facets advised)", interactionEvent, state, toStringInterpret(reasonBuf), advisors != null ? advisors.size() : 0);
     }
 
     private String toStringInterpret(final StringBuilder reasonBuf) {
-        if (getReason().length() == 0) {
+        if (isNotVetoing()) {
             return "allowed";
         } else {
             return "vetoed";
@@ -42,15 +42,36 @@ public boolean accept(final Facet facet) {
     };
 
     public static Filter<Facet> isA(final Class<?> superClass) {
-        return new Filter<Facet>() {
-            @Override
-            public boolean accept(final Facet facet) {
-                if (facet instanceof DecoratingFacet) {
-                    final DecoratingFacet<?> decoratingFacet = (DecoratingFacet<?>) facet;
-                    return accept(decoratingFacet.getDecoratedFacet());
-                }
-                return superClass.isAssignableFrom(facet.getClass());
+        return new IsA(superClass);
+    }
+
+    /**
+     * Equal by value, so that the facets matched can be cached (see {@link FacetHolderImpl#freezeFacets()}).
+     */
+    static final class IsA implements Filter<Facet> {
+        private final Class<?> superClass;
+
+        IsA(final Class<?> superClass) {
+            this.superClass = superClass;
+        }
+
+        @Override
+        public boolean accept(final Facet facet) {
+            if (facet instanceof DecoratingFacet) {
+                final DecoratingFacet<?> decoratingFacet = (DecoratingFacet<?>) facet;
+                return accept(decoratingFacet.getDecoratedFacet());
             }
-        };
+            return superClass.isAssignableFrom(facet.getClass());
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof IsA && ((IsA) obj).superClass == superClass;
+        }
+
+        @Override
+        public int hashCode() {
+            return superClass.hashCode();
+        }
     }
 }
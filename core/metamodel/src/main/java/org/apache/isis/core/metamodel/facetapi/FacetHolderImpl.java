@@ -30,7 +30,49 @@
  */
 public class FacetHolderImpl implements FacetHolder {
 
-    private final Map<Class<? extends Facet>, Facet> facetsByClass = new HashMap<Class<? extends Facet>, Facet>();
+    /**
+     * <tt>null</tt> while {@link #frozenFacets frozen}.
+     */
+    private Map<Class<? extends Facet>, Facet> facetsByClass = new HashMap<Class<? extends Facet>, Facet>();
+    private volatile FrozenFacets frozenFacets;
+
+    private volatile int modCount;
+
+    /**
+     * Incremented whenever a facet is added or removed, so that anything derived from the facets
+     * can tell whether it is stale.
+     */
+    public int getModCount() {
+        return modCount;
+    }
+
+    /**
+     * Moves the facets into compact, read-only storage; called once the metamodel has been built and validated.
+     * 
+     * <p>
+     * Any subsequent change to the facets (for example, as a specification is loaded lazily) transparently
+     * reverts to the original storage.
+     */
+    public void freezeFacets() {
+        if (frozenFacets != null) {
+            return;
+        }
+        frozenFacets = new FrozenFacets(facetsByClass);
+        facetsByClass = null;
+    }
+
+    public boolean isFacetsFrozen() {
+        return frozenFacets != null;
+    }
+
+    private Map<Class<? extends Facet>, Facet> thawed() {
+        final FrozenFacets frozen = frozenFacets;
+        if (frozen != null) {
+            facetsByClass = frozen.toMap();
+            frozenFacets = null;
+        }
+        return facetsByClass;
+    }
 
     @Override
     public boolean containsFacet(final Class<? extends Facet> facetType) {
@@ -39,6 +81,10 @@ public boolean containsFacet(final Class<? extends Facet> facetType) {
 
     @Override
     public boolean containsDoOpFacet(final Class<? extends Facet> facetType) {
+        final FrozenFacets frozen = frozenFacets;
+        if (frozen != null) {
+            return frozen.containsDoOp(facetType);
+        }
         final Facet facet = getFacet(facetType);
         return facet != null && !facet.isNoop();
     }
@@ -59,7 +105,8 @@ public void addFacet(final MultiTypedFacet facet) {
     private void addFacet(final Class<? extends Facet> facetType, final Facet facet) {
         final Facet existingFacet = getFacet(facetType);
         if (existingFacet == null || existingFacet.isNoop()) {
-            facetsByClass.put(facetType, facet);
+            thawed().put(facetType, facet);
+            modCount++;
             return;
         }
         if (!facet.alwaysReplace()) {
@@ -69,32 +116,50 @@ private void addFacet(final Class<? extends Facet> facetType, final Facet facet)
             return;
         }
         facet.setUnderlyingFacet(existingFacet);
-        facetsByClass.put(facetType, facet);
+        thawed().put(facetType, facet);
+        modCount++;
     }
 
     @Override
     public void removeFacet(final Facet facet) {
-        FacetUtil.removeFacet(facetsByClass, facet);
+        FacetUtil.removeFacet(thawed(), facet);
+        modCount++;
     }
 
     @Override
     public void removeFacet(final Class<? extends Facet> facetType) {
-        FacetUtil.removeFacet(facetsByClass, facetType);
+        FacetUtil.removeFacet(thawed(), facetType);
+        modCount++;
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <T extends Facet> T getFacet(final Class<T> facetType) {
+        final FrozenFacets frozen = frozenFacets;
+        if (frozen != null) {
+            return (T) frozen.get(facetType);
+        }
         return (T) facetsByClass.get(facetType);
     }
 
     @Override
     public Class<? extends Facet>[] getFacetTypes() {
+        final FrozenFacets frozen = frozenFacets;
+        if (frozen != null) {
+            return frozen.getFacetTypes();
+        }
         return FacetUtil.getFacetTypes(facetsByClass);
     }
 
+    /**
+     * If {@link #freezeFacets() frozen}, then the returned list is unmodifiable.
+     */
     @Override
     public List<Facet> getFacets(final Filter<Facet> filter) {
+        final FrozenFacets frozen = frozenFacets;
+        if (frozen != null) {
+            return frozen.getFacets(filter);
+        }
         return FacetUtil.getFacets(facetsByClass, filter);
     }
 
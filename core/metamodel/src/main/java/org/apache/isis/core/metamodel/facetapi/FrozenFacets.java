@@ -0,0 +1,154 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.facetapi;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.apache.isis.applib.filter.Filter;
+
+/**
+ * Compact, read-only storage of the facets of a {@link FacetHolderImpl} once {@link FacetHolderImpl#freezeFacets() frozen}.
+ *
+ * <p>
+ * Facets are held in an open-addressed table keyed on the identity of their facet type, so that a
+ * lookup neither allocates nor calls {@link Object#equals(Object)}.  The results of 
+ * {@link #getFacets(Filter) filtering} are cached for those filters that are known to be equal by value
+ * (see {@link FacetFilters#isA(Class)}).
+ */
+final class FrozenFacets {
+
+    private final Class<? extends Facet>[] keys;
+    private final Facet[] values;
+    private final boolean[] doOp;
+    private final int mask;
+
+    /**
+     * In the original iteration order, so that {@link #getFacetTypes()} and {@link #getFacets(Filter)} 
+     * return facets in the same order as when not frozen.
+     */
+    private final Class<? extends Facet>[] facetTypes;
+    private final Facet[] facets;
+
+    private volatile Map<Filter<Facet>, List<Facet>> facetsByFilter = Collections.emptyMap();
+
+    @SuppressWarnings("unchecked")
+    FrozenFacets(final Map<Class<? extends Facet>, Facet> facetsByClass) {
+        final int size = facetsByClass.size();
+        this.facetTypes = new Class[size];
+        this.facets = new Facet[size];
+
+        int capacity = 1;
+        while (capacity < size * 2) {
+            capacity <<= 1;
+        }
+        this.keys = new Class[capacity];
+        this.values = new Facet[capacity];
+        this.doOp = new boolean[capacity];
+        this.mask = capacity - 1;
+
+        int i = 0;
+        for (final Map.Entry<Class<? extends Facet>, Facet> entry : facetsByClass.entrySet()) {
+            final Class<? extends Facet> facetType = entry.getKey();
+            final Facet facet = entry.getValue();
+            facetTypes[i] = facetType;
+            facets[i] = facet;
+            i++;
+
+            int slot = indexFor(facetType);
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = facetType;
+            values[slot] = facet;
+            doOp[slot] = facet != null && !facet.isNoop();
+        }
+    }
+
+    private int indexFor(final Class<?> facetType) {
+        final int h = System.identityHashCode(facetType);
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private int slotOf(final Class<?> facetType) {
+        int slot = indexFor(facetType);
+        Class<?> key;
+        while ((key = keys[slot]) != null) {
+            if (key == facetType) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    Facet get(final Class<?> facetType) {
+        final int slot = slotOf(facetType);
+        return slot >= 0 ? values[slot] : null;
+    }
+
+    boolean containsDoOp(final Class<?> facetType) {
+        final int slot = slotOf(facetType);
+        return slot >= 0 && doOp[slot];
+    }
+
+    Class<? extends Facet>[] getFacetTypes() {
+        return facetTypes.clone();
+    }
+
+    /**
+     * The returned list is unmodifiable.
+     */
+    List<Facet> getFacets(final Filter<Facet> filter) {
+        final boolean cacheable = filter == FacetFilters.ANY || filter instanceof FacetFilters.IsA;
+        if (cacheable) {
+            final List<Facet> cached = facetsByFilter.get(filter);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        final List<Facet> filteredFacets = Lists.newArrayList();
+        for (final Facet facet : facets) {
+            if (filter.accept(facet)) {
+                filteredFacets.add(facet);
+            }
+        }
+        final List<Facet> result = Collections.unmodifiableList(filteredFacets);
+        if (cacheable) {
+            // copy-on-write; there are only ever a handful of distinct filters
+            final Map<Filter<Facet>, List<Facet>> copy = Maps.newHashMap(facetsByFilter);
+            copy.put(filter, result);
+            facetsByFilter = copy;
+        }
+        return result;
+    }
+
+    Map<Class<? extends Facet>, Facet> toMap() {
+        final Map<Class<? extends Facet>, Facet> facetsByClass = Maps.newHashMap();
+        for (int i = 0; i < facetTypes.length; i++) {
+            facetsByClass.put(facetTypes[i], facets[i]);
+        }
+        return facetsByClass;
+    }
+}
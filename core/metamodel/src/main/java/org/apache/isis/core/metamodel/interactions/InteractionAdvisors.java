@@ -0,0 +1,113 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.interactions;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+import org.apache.isis.core.metamodel.consent.InteractionResult;
+import org.apache.isis.core.metamodel.facetapi.Facet;
+import org.apache.isis.core.metamodel.facetapi.FacetFilters;
+import org.apache.isis.core.metamodel.facetapi.FacetHolder;
+import org.apache.isis.core.metamodel.facetapi.FacetHolderImpl;
+
+/**
+ * Immutable snapshot of the {@link HidingInteractionAdvisor hiding}, {@link DisablingInteractionAdvisor disabling}
+ * and {@link ValidatingInteractionAdvisor validating} facets of a {@link FacetHolder}, in a fixed order.
+ *
+ * <p>
+ * Equivalent to the corresponding methods of {@link InteractionUtils}, but without having to search the
+ * holder's facets on every check.  Each snapshot records the {@link FacetHolderImpl#getModCount() modification count}
+ * of the facets it was taken from, so that the holder can tell when it needs to be {@link #of(FacetHolder, int) retaken}.
+ */
+public final class InteractionAdvisors {
+
+    private static final Comparator<Facet> BY_FACET_TYPE = new Comparator<Facet>() {
+        @Override
+        public int compare(final Facet f1, final Facet f2) {
+            return f1.facetType().getName().compareTo(f2.facetType().getName());
+        }
+    };
+
+    public static InteractionAdvisors of(final FacetHolder facetHolder, final int modCount) {
+        return new InteractionAdvisors(
+                advisorsOf(facetHolder, HidingInteractionAdvisor.class, new HidingInteractionAdvisor[0]),
+                advisorsOf(facetHolder, DisablingInteractionAdvisor.class, new DisablingInteractionAdvisor[0]),
+                advisorsOf(facetHolder, ValidatingInteractionAdvisor.class, new ValidatingInteractionAdvisor[0]),
+                modCount);
+    }
+
+    private static <T> T[] advisorsOf(final FacetHolder facetHolder, final Class<T> advisorType, final T[] emptyArray) {
+        // copied, since may be unmodifiable if the holder's facets are frozen
+        final List<Facet> facets = Lists.newArrayList(facetHolder.getFacets(FacetFilters.isA(advisorType)));
+        if (facets.isEmpty()) {
+            return emptyArray;
+        }
+        Collections.sort(facets, BY_FACET_TYPE);
+        return facets.toArray(emptyArray);
+    }
+
+    private final HidingInteractionAdvisor[] hidingAdvisors;
+    private final DisablingInteractionAdvisor[] disablingAdvisors;
+    private final ValidatingInteractionAdvisor[] validatingAdvisors;
+    private final int modCount;
+
+    private InteractionAdvisors(
+            final HidingInteractionAdvisor[] hidingAdvisors, 
+            final DisablingInteractionAdvisor[] disablingAdvisors, 
+            final ValidatingInteractionAdvisor[] validatingAdvisors, 
+            final int modCount) {
+        this.hidingAdvisors = hidingAdvisors;
+        this.disablingAdvisors = disablingAdvisors;
+        this.validatingAdvisors = validatingAdvisors;
+        this.modCount = modCount;
+    }
+
+    public int getModCount() {
+        return modCount;
+    }
+
+    public InteractionResult isVisibleResult(final VisibilityContext<?> context) {
+        final InteractionResult result = new InteractionResult(context.createInteractionEvent());
+        for (final HidingInteractionAdvisor advisor : hidingAdvisors) {
+            result.advise(advisor.hides(context), advisor);
+        }
+        return result;
+    }
+
+    public InteractionResult isUsableResult(final UsabilityContext<?> context) {
+        final InteractionResult result = new InteractionResult(context.createInteractionEvent());
+        for (final DisablingInteractionAdvisor advisor : disablingAdvisors) {
+            result.advise(advisor.disables(context), advisor);
+        }
+        return result;
+    }
+
+    public InteractionResult isValidResult(final ValidityContext<?> context) {
+        final InteractionResult result = new InteractionResult(context.createInteractionEvent());
+        for (final ValidatingInteractionAdvisor advisor : validatingAdvisors) {
+            result.advise(advisor.invalidates(context), advisor);
+        }
+        return result;
+    }
+}
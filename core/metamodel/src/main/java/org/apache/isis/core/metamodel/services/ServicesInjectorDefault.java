@@ -30,7 +30,7 @@
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.inject.Inject;
 
@@ -51,6 +51,10 @@
 
 /**
  * Must be a thread-safe.
+ * 
+ * <p>
+ * The fields and methods into which services are injected are worked out once per class (as an
+ * injection plan), and discarded only if the services or container are changed.
  */
 public class ServicesInjectorDefault implements ServicesInjectorSpi {
 
@@ -60,7 +64,12 @@ public class ServicesInjectorDefault implements ServicesInjectorSpi {
      * If no key, not yet searched for type; otherwise the {@link List} indicates
      * whether a service was found.
      */
-    private final Map<Class<?>, List<Object>> servicesByType = Maps.newHashMap();
+    private final ConcurrentMap<Class<?>, List<Object>> servicesByType = Maps.newConcurrentMap();
+
+    /**
+     * The injection plan for each class that has had services injected into it.
+     */
+    private final ConcurrentMap<Class<?>, List<Injection>> injectionsByClass = Maps.newConcurrentMap();
 
     private DomainObjectContainer container;
     private final List<Object> services = Lists.newArrayList();
@@ -93,6 +102,7 @@ public DomainObjectContainer getContainer() {
     public void setContainer(final DomainObjectContainer container) {
         ensureThatArg(container, is(not(nullValue())));
         this.container = container;
+        discardCachedLookups();
         autowireServicesAndContainer();
     }
 
@@ -104,6 +114,7 @@ public void setContainer(final DomainObjectContainer container) {
     public void setServices(final List<Object> services) {
         this.services.clear();
         addServices(services);
+        discardCachedLookups();
         autowireServicesAndContainer();
     }
 
@@ -136,9 +147,26 @@ public void injectServicesInto(final Object object) {
         Assert.assertNotNull("no container", container);
         Assert.assertNotNull("no services", services);
 
+        for (final Injection injection : injectionsFor(object.getClass())) {
+            injection.injectInto(object);
+        }
+    }
+
+    private List<Injection> injectionsFor(final Class<?> cls) {
+        final List<Injection> injections = injectionsByClass.get(cls);
+        if (injections != null) {
+            return injections;
+        }
         final List<Object> servicesCopy = Lists.newArrayList(services);
         servicesCopy.add(container);
-        injectServices(object, servicesCopy);
+        final List<Injection> newInjections = Collections.unmodifiableList(injectionsFor(cls, servicesCopy));
+        injectionsByClass.putIfAbsent(cls, newInjections);
+        return newInjections;
+    }
+
+    private void discardCachedLookups() {
+        injectionsByClass.clear();
+        servicesByType.clear();
     }
 
     @Override
@@ -168,15 +196,15 @@ public void injectInto(final Object candidate) {
     // Helpers
     // /////////////////////////////////////////////////////////
 
-    private static void injectServices(final Object object, final List<Object> services) {
-        final Class<?> cls = object.getClass();
-
-        autowireViaFields(object, services, cls);
-        autowireViaPrefixedMethods(object, services, cls, "set");
-        autowireViaPrefixedMethods(object, services, cls, "inject");
+    private static List<Injection> injectionsFor(final Class<?> cls, final List<Object> services) {
+        final List<Injection> injections = Lists.newArrayList();
+        autowireViaFields(injections, services, cls);
+        autowireViaPrefixedMethods(injections, services, cls, "set");
+        autowireViaPrefixedMethods(injections, services, cls, "inject");
+        return injections;
     }
 
-    private static void autowireViaFields(final Object object, final List<Object> services, final Class<?> cls) {
+    private static void autowireViaFields(final List<Injection> injections, final List<Object> services, final Class<?> cls) {
         final List<Field> fields = Arrays.asList(cls.getDeclaredFields());
         final Iterable<Field> injectFields = Iterables.filter(fields, new Predicate<Field>() {
             @Override
@@ -192,7 +220,7 @@ public boolean apply(Field input) {
                 boolean isInjectorField = isInjectorFieldFor(field, serviceClass);
                 if(isInjectorField) {
                     field.setAccessible(true);
-                    invokeInjectorField(field, object, service);
+                    injections.add(new FieldInjection(field, service));
                 }
             }
         }
@@ -200,11 +228,11 @@ public boolean apply(Field input) {
         // recurse up the hierarchy
         final Class<?> superclass = cls.getSuperclass();
         if(superclass != null) {
-            autowireViaFields(object, services, superclass);
+            autowireViaFields(injections, services, superclass);
         }
     }
     
-    private static void autowireViaPrefixedMethods(final Object object, final List<Object> services, final Class<?> cls, final String prefix) {
+    private static void autowireViaPrefixedMethods(final List<Injection> injections, final List<Object> services, final Class<?> cls, final String prefix) {
         final List<Method> methods = Arrays.asList(cls.getMethods());
         final Iterable<Method> prefixedMethods = Iterables.filter(methods, new Predicate<Method>(){
             public boolean apply(Method method) {
@@ -219,7 +247,7 @@ public boolean apply(Method method) {
                 boolean isInjectorMethod = isInjectorMethodFor(prefixedMethod, serviceClass);
                 if(isInjectorMethod) {
                     prefixedMethod.setAccessible(true);
-                    invokeInjectorMethod(prefixedMethod, object, service);
+                    injections.add(new MethodInjection(prefixedMethod, service));
                 }
             }
         }
@@ -282,6 +310,48 @@ private static void invokeInjectorMethod(final Method method, final Object targe
         }
     }
     
+    // /////////////////////////////////////////////////////////
+    // Injection (plan)
+    // /////////////////////////////////////////////////////////
+
+    private static abstract class Injection {
+        protected final Object service;
+
+        Injection(final Object service) {
+            this.service = service;
+        }
+
+        abstract void injectInto(Object target);
+    }
+
+    private static class FieldInjection extends Injection {
+        private final Field field;
+
+        FieldInjection(final Field field, final Object service) {
+            super(service);
+            this.field = field;
+        }
+
+        @Override
+        void injectInto(final Object target) {
+            invokeInjectorField(field, target, service);
+        }
+    }
+
+    private static class MethodInjection extends Injection {
+        private final Method method;
+
+        MethodInjection(final Method method, final Object service) {
+            super(service);
+            this.method = method;
+        }
+
+        @Override
+        void injectInto(final Object target) {
+            invokeInjectorMethod(method, target, service);
+        }
+    }
+
     private void autowireServicesAndContainer() {
         injectServicesInto(this.services);
         injectServicesInto(this.container);
@@ -35,6 +35,7 @@
 import org.apache.isis.applib.filter.Filter;
 import org.apache.isis.applib.filter.Filters;
 import org.apache.isis.applib.query.Query;
+import org.apache.isis.applib.query.QueryDefault;
 import org.apache.isis.applib.query.QueryFindAllInstances;
 import org.apache.isis.applib.security.RoleMemento;
 import org.apache.isis.applib.security.UserMemento;
@@ -488,7 +489,7 @@ public <T> T uniqueMatch(final Class<T> type, final String title) {
 
     @Override
     public <T> T uniqueMatch(final Query<T> query) {
-        final List<T> instances = allMatches(query); // No need to fetch more than 2. 
+        final List<T> instances = allMatches(limitedTo(query, 2)); // No need to fetch more than 2. 
         if (instances.size() > 1) {
             throw new RepositoryException("Found more that one instance for query:" + query.getDescription());
         }
@@ -499,6 +500,22 @@ private <T> T firstInstanceElseNull(final List<T> instances) {
         return instances.size() == 0 ? null : instances.get(0);
     }
 
+    /**
+     * A copy of the provided {@link QueryDefault} that returns no more than
+     * the specified number of instances, so that the object store can limit
+     * the rows that it fetches; any other type of query is returned unchanged.
+     */
+    private static <T> Query<T> limitedTo(final Query<T> query, final long max) {
+        if (!(query instanceof QueryDefault)) {
+            return query;
+        }
+        final QueryDefault<T> queryDefault = (QueryDefault<T>) query;
+        final long count = queryDefault.getCount() != 0 ? Math.min(queryDefault.getCount(), max) : max;
+        return QueryDefault.create(queryDefault.getResultType(), queryDefault.getQueryName(), queryDefault.getArgumentsByParameterName())
+                .withStart(queryDefault.getStart())
+                .withCount(count);
+    }
+
     
     ///////////////////////////////////////////////////////////////
     // ExceptionRecognizer
@@ -29,6 +29,13 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.common.base.Function;
 import com.google.common.collect.Lists;
@@ -183,6 +190,11 @@ public final class ObjectReflectorDefault implements SpecificationLoaderSpi, App
     private final SpecificationCacheDefault cache = new SpecificationCacheDefault();
     private final ServiceInitializer serviceInitializer = new ServiceInitializer();
 
+    /**
+     * Only populated while {@link #primeCacheInParallel(int) introspecting in parallel}.
+     */
+    private volatile ParallelIntrospectionTracker parallelIntrospection;
+
 
     // /////////////////////////////////////////////////////////////
     // Constructor
@@ -242,6 +254,7 @@ public void init() {
         validationFailures.assertNone();
         
         cacheBySpecId();
+        freezeFacets();
     }
 
     /**
@@ -279,6 +292,18 @@ public ValidationFailures initAndValidate() {
         return validationFailures;
     }
 
+    /**
+     * Facets (in production at least) don't change once the metamodel has been validated, so move them
+     * into more compact and faster storage.
+     */
+    private void freezeFacets() {
+        for (final ObjectSpecification objSpec : allSpecifications()) {
+            if (objSpec instanceof ObjectSpecificationAbstract) {
+                ((ObjectSpecificationAbstract) objSpec).freezeFacets();
+            }
+        }
+    }
+
 	private void cacheBySpecId() {
 		final Map<ObjectSpecId, ObjectSpecification> specById = Maps.newHashMap();
         for (final ObjectSpecification objSpec : allSpecifications()) {
@@ -298,6 +323,11 @@ private void cacheBySpecId() {
      * referenced specifications until we can find no more.
      */
     private void primeCache() {
+        final int parallelism = configuration.getInteger(ReflectorConstants.INTROSPECTION_PARALLELISM, ReflectorConstants.INTROSPECTION_PARALLELISM_DEFAULT);
+        if (parallelism > 1) {
+            primeCacheInParallel(parallelism);
+            return;
+        }
         for (final Class<?> serviceClass : getServiceClasses()) {
             internalLoadSpecification(serviceClass);
         }
@@ -315,6 +345,64 @@ private void loadAllSpecifications() {
         }
     }
 
+    /**
+     * As {@link #primeCache()}, but loading the services, and then each successive set of newly discovered
+     * classes, on a pool of threads.
+     * 
+     * <p>
+     * Each set is completely introspected before the next is discovered, and validation still happens 
+     * afterwards on the calling thread.
+     */
+    private void primeCacheInParallel(final int parallelism) {
+        LOG.info("introspecting metamodel using " + parallelism + " threads");
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism, new ThreadFactory() {
+            private final AtomicInteger threadNumber = new AtomicInteger();
+            @Override
+            public Thread newThread(final Runnable r) {
+                final Thread thread = new Thread(r, "isis-introspection-" + threadNumber.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        parallelIntrospection = new ParallelIntrospectionTracker();
+        try {
+            List<Class<?>> classesToLoad = getServiceClasses();
+            while (classesToLoad.size() > 0) {
+                loadInParallel(executor, classesToLoad);
+                classesToLoad = newlyDiscoveredClasses();
+            }
+        } finally {
+            parallelIntrospection = null;
+            executor.shutdown();
+        }
+    }
+
+    private void loadInParallel(final ExecutorService executor, final List<Class<?>> classesToLoad) {
+        final List<Future<ObjectSpecification>> futures = Lists.newArrayList();
+        for (final Class<?> classToLoad : classesToLoad) {
+            futures.add(executor.submit(new Callable<ObjectSpecification>() {
+                @Override
+                public ObjectSpecification call() {
+                    return internalLoadSpecification(classToLoad);
+                }
+            }));
+        }
+        for (final Future<ObjectSpecification> future : futures) {
+            try {
+                future.get();
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IsisException("interrupted while introspecting metamodel", ex);
+            } catch (final ExecutionException ex) {
+                final Throwable cause = ex.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IsisException(cause);
+            }
+        }
+    }
+
     private List<Class<?>> newlyDiscoveredClasses() {
         final List<Class<?>> newlyDiscoveredClasses = new ArrayList<Class<?>>();
 
@@ -412,6 +500,12 @@ private ObjectSpecification loadSpecificationForSubstitutedClass(final Class<?>
         final String typeName = type.getName();
 
         final SpecificationCacheDefault specificationCache = getCache();
+
+        final ParallelIntrospectionTracker tracker = parallelIntrospection;
+        if (tracker != null) {
+            return loadSpecificationInParallel(type, specificationCache, tracker);
+        }
+
         synchronized (specificationCache) {
             final ObjectSpecification spec = specificationCache.get(typeName);
             if (spec != null) {
@@ -432,6 +526,41 @@ private ObjectSpecification loadSpecificationForSubstitutedClass(final Class<?>
         }
     }
 
+    /**
+     * Whilst {@link #primeCacheInParallel(int) introspecting in parallel}, the cache is not locked; 
+     * instead whichever thread first caches a specification introspects it.
+     */
+    private ObjectSpecification loadSpecificationInParallel(final Class<?> type, final SpecificationCacheDefault specificationCache, final ParallelIntrospectionTracker tracker) {
+        final String typeName = type.getName();
+        final ObjectSpecification spec = specificationCache.get(typeName);
+        if (spec != null) {
+            tracker.awaitIntrospected(spec);
+            return spec;
+        }
+        final ObjectSpecification specification = createSpecification(type);
+        if (specification == null) {
+            throw new IsisException("Failed to create specification for class " + typeName);
+        }
+
+        // mark as started before caching, so that no other thread sees it as introspected
+        tracker.started(specification);
+        final ObjectSpecification existing;
+        try {
+            existing = specificationCache.cacheIfAbsent(typeName, specification);
+            if (existing == null) {
+                introspectIfRequired(specification);
+            }
+        } finally {
+            tracker.finished(specification);
+        }
+        if (existing != null) {
+            // lost the race to another thread
+            tracker.awaitIntrospected(existing);
+            return existing;
+        }
+        return specification;
+    }
+
     /**
      * Loads the specifications of the specified types except the one specified
      * (to prevent an infinite loop).
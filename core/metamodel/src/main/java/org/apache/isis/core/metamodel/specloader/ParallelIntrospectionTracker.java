@@ -0,0 +1,141 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.specloader;
+
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.apache.isis.core.commons.exceptions.IsisException;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+
+/**
+ * Tracks which thread is introspecting which specification while the metamodel is being
+ * {@link ReflectorConstants#INTROSPECTION_PARALLELISM introspected in parallel}.
+ *
+ * <p>
+ * A thread that needs a specification that another thread is still introspecting waits for it to complete, so
+ * that (as when introspecting serially) it sees a fully introspected specification.  The exception is where
+ * waiting would deadlock, ie the specifications reference each other.  Then the partially introspected
+ * specification is borrowed, just as for a recursive load on a single thread.  This is safe because its
+ * owner is (transitively) waiting on a specification that the borrowing thread is introspecting, so cannot
+ * resume until the borrowing thread {@link #finished(ObjectSpecification) finishes} it; and, on finishing,
+ * the borrowing thread waits for whatever it borrowed to complete before continuing.
+ */
+class ParallelIntrospectionTracker {
+
+    private final Map<ObjectSpecification, Thread> ownerBySpec = Maps.newHashMap();
+    private final Map<Thread, ObjectSpecification> awaitedByThread = Maps.newHashMap();
+    private final Map<Thread, List<ObjectSpecification>> borrowedByThread = Maps.newHashMap();
+
+    synchronized void started(final ObjectSpecification spec) {
+        ownerBySpec.put(spec, Thread.currentThread());
+    }
+
+    /**
+     * Also waits for any specifications {@link #awaitIntrospected(ObjectSpecification) borrowed} by the current
+     * thread to complete, unless that would (still) deadlock, in which case they remain borrowed until the
+     * current thread finishes another.
+     */
+    synchronized void finished(final ObjectSpecification spec) {
+        ownerBySpec.remove(spec);
+        notifyAll();
+
+        final Thread current = Thread.currentThread();
+        final List<ObjectSpecification> borrowed = borrowedByThread.remove(current);
+        if (borrowed == null) {
+            return;
+        }
+        final List<ObjectSpecification> stillBorrowed = Lists.newArrayList();
+        for (final ObjectSpecification borrowedSpec : borrowed) {
+            if (!await(borrowedSpec, current)) {
+                stillBorrowed.add(borrowedSpec);
+            }
+        }
+        if (!stillBorrowed.isEmpty()) {
+            borrowedByThread.put(current, stillBorrowed);
+        }
+    }
+
+    synchronized void awaitIntrospected(final ObjectSpecification spec) {
+        final Thread current = Thread.currentThread();
+        if (await(spec, current)) {
+            return;
+        }
+        List<ObjectSpecification> borrowed = borrowedByThread.get(current);
+        if (borrowed == null) {
+            borrowed = Lists.newArrayList();
+            borrowedByThread.put(current, borrowed);
+        }
+        borrowed.add(spec);
+    }
+
+    synchronized boolean isBorrowing() {
+        return borrowedByThread.containsKey(Thread.currentThread());
+    }
+
+    /**
+     * @return whether the specification has been introspected (or is being introspected by the current thread),
+     *         or <tt>false</tt> if waiting for it would deadlock.
+     */
+    private boolean await(final ObjectSpecification spec, final Thread current) {
+        while (true) {
+            final Thread owner = ownerBySpec.get(spec);
+            if (owner == null || owner == current) {
+                return true;
+            }
+            if (wouldDeadlock(owner, current)) {
+                return false;
+            }
+            awaitedByThread.put(current, spec);
+            try {
+                wait();
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IsisException("interrupted while waiting for " + spec.getFullIdentifier() + " to be introspected", ex);
+            } finally {
+                awaitedByThread.remove(current);
+            }
+        }
+    }
+
+    /**
+     * Whether the owner is (transitively) waiting on a specification being introspected by the current thread.
+     */
+    private boolean wouldDeadlock(final Thread owner, final Thread current) {
+        Thread thread = owner;
+        for (int i = 0; i <= awaitedByThread.size(); i++) {
+            final ObjectSpecification awaited = awaitedByThread.get(thread);
+            if (awaited == null) {
+                return false;
+            }
+            thread = ownerBySpec.get(awaited);
+            if (thread == null) {
+                return false;
+            }
+            if (thread == current) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
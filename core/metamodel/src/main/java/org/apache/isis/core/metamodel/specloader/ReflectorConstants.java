@@ -71,6 +71,16 @@ public final class ReflectorConstants {
      */
     public static final String FACET_DECORATOR_CLASS_NAMES = ConfigurationConstants.ROOT + "reflector.facet-decorators";
 
+    /**
+     * Key used to lookup the number of threads used to introspect the metamodel at bootstrap.
+     * 
+     * <p>
+     * Defaults to 1, ie introspected serially on the bootstrapping thread.  Any higher number requires that
+     * all {@link FacetFactory}s and {@link FacetDecorator}s are thread-safe.
+     */
+    public static final String INTROSPECTION_PARALLELISM = ConfigurationConstants.ROOT + "reflector.introspection.parallelism";
+    public static final int INTROSPECTION_PARALLELISM_DEFAULT = 1;
+
     private ReflectorConstants() {
     }
 
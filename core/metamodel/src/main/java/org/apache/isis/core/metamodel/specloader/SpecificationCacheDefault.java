@@ -22,6 +22,7 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
 
 import com.google.common.collect.Maps;
 
@@ -31,7 +32,10 @@
 
 class SpecificationCacheDefault {
     
-    private final Map<String, ObjectSpecification> specByClassName = Maps.newHashMap();
+    /**
+     * Concurrent, since may be populated by several threads when introspecting in parallel.
+     */
+    private final ConcurrentMap<String, ObjectSpecification> specByClassName = Maps.newConcurrentMap();
     private Map<ObjectSpecId, ObjectSpecification> specById;
 
     public ObjectSpecification get(final String className) {
@@ -41,6 +45,13 @@ public ObjectSpecification get(final String className) {
     public void cache(final String className, final ObjectSpecification spec) {
         specByClassName.put(className, spec);
     }
+
+    /**
+     * @return the specification already cached under this name, else <tt>null</tt> (having cached the one provided).
+     */
+    public ObjectSpecification cacheIfAbsent(final String className, final ObjectSpecification spec) {
+        return specByClassName.putIfAbsent(className, spec);
+    }
     
 
     public void clear() {
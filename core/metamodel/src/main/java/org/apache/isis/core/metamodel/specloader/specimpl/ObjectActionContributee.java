@@ -29,7 +29,6 @@
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.consent.Consent;
 import org.apache.isis.core.metamodel.facetapi.Facet;
-import org.apache.isis.core.metamodel.facetapi.FacetHolder;
 import org.apache.isis.core.metamodel.facetapi.FacetHolderImpl;
 import org.apache.isis.core.metamodel.facetapi.FacetUtil;
 import org.apache.isis.core.metamodel.facetapi.MultiTypedFacet;
@@ -48,7 +47,7 @@ public class ObjectActionContributee extends ObjectActionImpl implements Contrib
      * Hold facets rather than delegate to the contributed action (different types might
      * use layout metadata to position the contributee in different ways)
      */
-    private final FacetHolder facetHolder = new FacetHolderImpl();
+    private final FacetHolderImpl facetHolder = new FacetHolderImpl();
 
     /**
      * Lazily initialized by {@link #getParameters()} (so don't use directly!)
@@ -220,6 +219,23 @@ public void removeFacet(Class<? extends Facet> facetType) {
         facetHolder.removeFacet(facetType);
     }
 
+    /**
+     * The facets are held by this contributee (copied from the service action), not by its faceted method.
+     */
+    @Override
+    protected int getFacetsModCount() {
+        return facetHolder.getModCount();
+    }
+
+    /**
+     * Freezes the facets held by this contributee; the faceted method (and parameters) are those of the 
+     * service action, frozen along with the service's own specification.
+     */
+    @Override
+    public void freezeFacets() {
+        facetHolder.freezeFacets();
+    }
+
     
     // //////////////////////////////////////
     
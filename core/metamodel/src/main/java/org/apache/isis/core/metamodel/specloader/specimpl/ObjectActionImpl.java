@@ -321,7 +321,7 @@ private InteractionResultSet isProposedArgumentSetValidResultSet(final ObjectAda
         // only check the action's own validity if all the arguments are OK.
         if (resultSet.isAllowed()) {
             final ValidityContext<?> ic = createActionInvocationInteractionContext(getAuthenticationSession(), invocationMethod, object, proposedArguments);
-            InteractionUtils.isValidResultSet(this, ic, resultSet);
+            resultSet.add(getInteractionAdvisors().isValidResult(ic));
         }
         return resultSet;
     }
@@ -36,17 +36,20 @@
 import org.apache.isis.core.metamodel.consent.InteractionResult;
 import org.apache.isis.core.metamodel.deployment.DeploymentCategory;
 import org.apache.isis.core.metamodel.facetapi.Facet;
+import org.apache.isis.core.metamodel.facetapi.FacetHolderImpl;
 import org.apache.isis.core.metamodel.facetapi.FeatureType;
 import org.apache.isis.core.metamodel.facetapi.MultiTypedFacet;
 import org.apache.isis.core.metamodel.facets.FacetedMethod;
+import org.apache.isis.core.metamodel.facets.FacetedMethodParameter;
 import org.apache.isis.core.metamodel.facets.describedas.DescribedAsFacet;
 import org.apache.isis.core.metamodel.facets.help.HelpFacet;
 import org.apache.isis.core.metamodel.facets.hide.HiddenFacet;
 import org.apache.isis.core.metamodel.facets.named.NamedFacet;
 import org.apache.isis.core.metamodel.interactions.DisablingInteractionAdvisor;
 import org.apache.isis.core.metamodel.interactions.HidingInteractionAdvisor;
-import org.apache.isis.core.metamodel.interactions.InteractionUtils;
+import org.apache.isis.core.metamodel.interactions.InteractionAdvisors;
 import org.apache.isis.core.metamodel.interactions.UsabilityContext;
+import org.apache.isis.core.metamodel.interactions.ValidatingInteractionAdvisor;
 import org.apache.isis.core.metamodel.interactions.VisibilityContext;
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
 import org.apache.isis.core.metamodel.spec.SpecificationLoader;
@@ -71,6 +74,8 @@ public static ObjectSpecification getSpecification(final SpecificationLoader spe
     private final CollectionTypeRegistry collectionTypeRegistry;
     private final DeploymentCategory deploymentCategory;
 
+    private volatile InteractionAdvisors interactionAdvisors;
+
     protected ObjectMemberAbstract(final FacetedMethod facetedMethod, final FeatureType featureType, final ObjectMemberContext objectMemberContext) {
         final String id = facetedMethod.getIdentifier().getMemberName();
         if (id == null) {
@@ -172,6 +177,42 @@ public void removeFacet(final Class<? extends Facet> facetType) {
         getFacetedMethod().removeFacet(facetType);
     }
 
+    /**
+     * The {@link FacetHolderImpl#getModCount() modification count} of the facets returned by 
+     * {@link #getFacets(Filter)}; members that hold their facets other than in their
+     * {@link #getFacetedMethod() faceted method} must override.
+     */
+    protected int getFacetsModCount() {
+        return getFacetedMethod().getModCount();
+    }
+
+    /**
+     * {@link FacetHolderImpl#freezeFacets() Freezes} the facets returned by {@link #getFacets(Filter)}, and
+     * those of the parameters; members that hold their facets other than in their 
+     * {@link #getFacetedMethod() faceted method} must override.
+     */
+    public void freezeFacets() {
+        final FacetedMethod facetedMethod = getFacetedMethod();
+        facetedMethod.freezeFacets();
+        for (final FacetedMethodParameter parameter : facetedMethod.getParameters()) {
+            parameter.freezeFacets();
+        }
+    }
+
+    /**
+     * The {@link HidingInteractionAdvisor hiding}, {@link DisablingInteractionAdvisor disabling} and 
+     * {@link ValidatingInteractionAdvisor validating} facets of this member, retaken only if the 
+     * facets have changed since last called.
+     */
+    protected InteractionAdvisors getInteractionAdvisors() {
+        final int modCount = getFacetsModCount();
+        final InteractionAdvisors advisors = interactionAdvisors;
+        if (advisors != null && advisors.getModCount() == modCount) {
+            return advisors;
+        }
+        return interactionAdvisors = InteractionAdvisors.of(this, modCount);
+    }
+
     // /////////////////////////////////////////////////////////////
     // Name, Description, Help (convenience for facets)
     // /////////////////////////////////////////////////////////////
@@ -226,7 +267,7 @@ public Consent isVisible(final AuthenticationSession session, final ObjectAdapte
 
     private InteractionResult isVisibleResult(DeploymentCategory deploymentCategory, final AuthenticationSession session, final ObjectAdapter target, Where where) {
         final VisibilityContext<?> ic = createVisibleInteractionContext(session, InteractionInvocationMethod.BY_USER, target, where);
-        return InteractionUtils.isVisibleResult(this, ic);
+        return getInteractionAdvisors().isVisibleResult(ic);
     }
 
     // /////////////////////////////////////////////////////////////
@@ -248,7 +289,7 @@ public Consent isUsable(final AuthenticationSession session, final ObjectAdapter
 
     private InteractionResult isUsableResult(final AuthenticationSession session, final ObjectAdapter target, Where where) {
         final UsabilityContext<?> ic = createUsableInteractionContext(session, InteractionInvocationMethod.BY_USER, target, where);
-        return InteractionUtils.isUsableResult(this, ic);
+        return getInteractionAdvisors().isUsableResult(ic);
     }
 
     // //////////////////////////////////////////////////////////////////
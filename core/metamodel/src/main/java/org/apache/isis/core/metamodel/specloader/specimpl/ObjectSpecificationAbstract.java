@@ -75,7 +75,7 @@
 import org.apache.isis.core.metamodel.facets.object.value.ValueFacet;
 import org.apache.isis.core.metamodel.facets.typeof.TypeOfFacet;
 import org.apache.isis.core.metamodel.interactions.InteractionContext;
-import org.apache.isis.core.metamodel.interactions.InteractionUtils;
+import org.apache.isis.core.metamodel.interactions.InteractionAdvisors;
 import org.apache.isis.core.metamodel.interactions.ObjectTitleContext;
 import org.apache.isis.core.metamodel.interactions.ObjectValidityContext;
 import org.apache.isis.core.metamodel.layout.DeweyOrderSet;
@@ -92,6 +92,7 @@
 import org.apache.isis.core.metamodel.spec.feature.ObjectAction;
 import org.apache.isis.core.metamodel.spec.feature.ObjectActionParameter;
 import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.metamodel.spec.feature.ObjectMember;
 import org.apache.isis.core.metamodel.spec.feature.ObjectMemberContext;
 import org.apache.isis.core.metamodel.spec.feature.OneToManyAssociation;
 import org.apache.isis.core.metamodel.spec.feature.OneToOneAssociation;
@@ -103,22 +104,25 @@ public abstract class ObjectSpecificationAbstract extends FacetHolderImpl implem
 
     private final static Logger LOG = LoggerFactory.getLogger(ObjectSpecificationAbstract.class);
 
+    /**
+     * Synchronized, since subclasses may be introspected in parallel.
+     */
     private static class SubclassList {
         private final List<ObjectSpecification> classes = Lists.newArrayList();
 
-        public void addSubclass(final ObjectSpecification subclass) {
+        public synchronized void addSubclass(final ObjectSpecification subclass) {
             if(classes.contains(subclass)) { 
                 return;
             }
             classes.add(subclass);
         }
 
-        public boolean hasSubclasses() {
+        public synchronized boolean hasSubclasses() {
             return !classes.isEmpty();
         }
 
-        public List<ObjectSpecification> toList() {
-            return Collections.unmodifiableList(classes);
+        public synchronized List<ObjectSpecification> toList() {
+            return Collections.unmodifiableList(Lists.newArrayList(classes));
         }
     }
 
@@ -166,6 +170,8 @@ public List<ObjectSpecification> toList() {
     private TitleFacet titleFacet;
     private IconFacet iconFacet;
 
+    private volatile InteractionAdvisors interactionAdvisors;
+
     private IntrospectionState introspected = IntrospectionState.NOT_INTROSPECTED;
 
     // //////////////////////////////////////////////////////////////////////
@@ -279,6 +285,27 @@ protected boolean isNotIntrospected() {
         return !(getIntrospectionState() == IntrospectionState.INTROSPECTED);
     }
 
+    /**
+     * {@link FacetHolderImpl#freezeFacets() Freezes} the facets of this specification and of its members
+     * (and their parameters); called once the metamodel has been validated.
+     */
+    public void freezeFacets() {
+        super.freezeFacets();
+        for (final ObjectAssociation association : Lists.newArrayList(associations)) {
+            freezeFacetsOf(association);
+        }
+        for (final ObjectAction action : Lists.newArrayList(objectActions)) {
+            freezeFacetsOf(action);
+        }
+    }
+
+    private static void freezeFacetsOf(final ObjectMember member) {
+        if (!(member instanceof ObjectMemberAbstract)) {
+            return;
+        }
+        ((ObjectMemberAbstract) member).freezeFacets();
+    }
+
 
     // //////////////////////////////////////////////////////////////////////
     // Introspection (part 1)
@@ -1047,7 +1074,19 @@ public Consent isValid(final ObjectAdapter inObject) {
     @Override
     public InteractionResult isValidResult(final ObjectAdapter targetObjectAdapter) {
         final ObjectValidityContext validityContext = createValidityInteractionContext(deploymentCategory, getAuthenticationSession(), InteractionInvocationMethod.BY_USER, targetObjectAdapter);
-        return InteractionUtils.isValidResult(this, validityContext);
+        return getInteractionAdvisors().isValidResult(validityContext);
+    }
+
+    /**
+     * The interaction advisor facets of this specification, retaken only if the facets have changed since last called.
+     */
+    private InteractionAdvisors getInteractionAdvisors() {
+        final int modCount = getModCount();
+        final InteractionAdvisors advisors = interactionAdvisors;
+        if (advisors != null && advisors.getModCount() == modCount) {
+            return advisors;
+        }
+        return interactionAdvisors = InteractionAdvisors.of(this, modCount);
     }
 
     /**
@@ -40,7 +40,6 @@
 import org.apache.isis.core.metamodel.interactions.CollectionRemoveFromContext;
 import org.apache.isis.core.metamodel.interactions.CollectionUsabilityContext;
 import org.apache.isis.core.metamodel.interactions.CollectionVisibilityContext;
-import org.apache.isis.core.metamodel.interactions.InteractionUtils;
 import org.apache.isis.core.metamodel.interactions.UsabilityContext;
 import org.apache.isis.core.metamodel.interactions.ValidityContext;
 import org.apache.isis.core.metamodel.interactions.VisibilityContext;
@@ -108,7 +107,7 @@ public Consent isValidToAdd(final ObjectAdapter ownerAdapter, final ObjectAdapte
 
     private InteractionResult isValidToAddResult(final ObjectAdapter ownerAdapter, final ObjectAdapter proposedToAddAdapter) {
         final ValidityContext<?> validityContext = createValidateAddInteractionContext(getAuthenticationSession(), InteractionInvocationMethod.BY_USER, ownerAdapter, proposedToAddAdapter);
-        return InteractionUtils.isValidResult(this, validityContext);
+        return getInteractionAdvisors().isValidResult(validityContext);
     }
 
     // /////////////////////////////////////////////////////////////
@@ -131,7 +130,7 @@ public Consent isValidToRemove(final ObjectAdapter ownerAdapter, final ObjectAda
 
     private InteractionResult isValidToRemoveResult(final ObjectAdapter ownerAdapter, final ObjectAdapter proposedToRemoveAdapter) {
         final ValidityContext<?> validityContext = createValidateRemoveInteractionContext(getAuthenticationSession(), InteractionInvocationMethod.BY_USER, ownerAdapter, proposedToRemoveAdapter);
-        return InteractionUtils.isValidResult(this, validityContext);
+        return getInteractionAdvisors().isValidResult(validityContext);
     }
 
     private boolean readWrite() {
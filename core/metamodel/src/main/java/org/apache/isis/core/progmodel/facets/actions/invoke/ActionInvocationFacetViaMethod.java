@@ -30,6 +30,7 @@
 import org.apache.isis.applib.annotation.Bulk;
 import org.apache.isis.applib.annotation.Bulk.InteractionContext;
 import org.apache.isis.applib.annotation.Bulk.InteractionContext.InvokedAs;
+import org.apache.isis.core.commons.lang.MethodInvokers;
 import org.apache.isis.core.commons.lang.ThrowableExtensions;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.adapter.mgr.AdapterManager;
@@ -106,7 +107,7 @@ public ObjectAdapter invoke(final ObjectAdapter inObject, final ObjectAdapter[]
                     bulkInteractionContext.setDomainObjects(Collections.singletonList(object));
                 }
             }
-            result = method.invoke(object, executionParameters);
+            result = MethodInvokers.forMethod(method).invokeChecked(object, executionParameters);
             
             if (LOG.isDebugEnabled()) {
                 LOG.debug(" action result " + result);
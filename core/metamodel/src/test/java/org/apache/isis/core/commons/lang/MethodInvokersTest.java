@@ -0,0 +1,116 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.commons.lang;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.lang.reflect.Method;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.apache.isis.applib.ApplicationException;
+import org.apache.isis.core.commons.exceptions.IsisApplicationException;
+
+public class MethodInvokersTest {
+
+    public static class Customer {
+        private String lastArg;
+        public String getName() {
+            return "Fred";
+        }
+        public int add(final int x, final int y) {
+            return x + y;
+        }
+        public void record(final String arg) {
+            this.lastArg = arg;
+        }
+        public void failWithRuntime() {
+            throw new IllegalStateException("boom");
+        }
+        public void failWithApplication() {
+            throw new ApplicationException("no");
+        }
+    }
+
+    private final Customer customer = new Customer();
+
+    @After
+    public void tearDown() throws Exception {
+        MethodInvokers.setFactory(MethodInvokers.REFLECTIVE);
+    }
+
+    @Test
+    public void invokerCachedPerMethod() throws Exception {
+        final Method method = Customer.class.getMethod("getName");
+        assertThat(MethodInvokers.forMethod(method), is(sameInstance(MethodInvokers.forMethod(method))));
+    }
+
+    @Test
+    public void invokeWithArgs() throws Exception {
+        final Method method = Customer.class.getMethod("add", int.class, int.class);
+        assertThat((Integer)MethodInvokers.forMethod(method).invoke(customer, new Object[]{2, 3}), is(5));
+    }
+
+    @Test
+    public void invokeWithNullOrDefaultArgs() throws Exception {
+        assertThat((Integer)MethodExtensions.invoke(Customer.class.getMethod("add", int.class, int.class), customer), is(0));
+
+        customer.lastArg = "x";
+        MethodExtensions.invoke(Customer.class.getMethod("record", String.class), customer);
+        assertThat(customer.lastArg, is(nullValue()));
+    }
+
+    @Test(expected=IllegalStateException.class)
+    public void runtimeExceptionRethrown() throws Exception {
+        MethodExtensions.invoke(Customer.class.getMethod("failWithRuntime"), customer);
+    }
+
+    @Test(expected=IsisApplicationException.class)
+    public void applicationExceptionWrapped() throws Exception {
+        MethodExtensions.invoke(Customer.class.getMethod("failWithApplication"), customer);
+    }
+
+    @Test
+    public void settingFactoryDiscardsExistingInvokers() throws Exception {
+        final Method method = Customer.class.getMethod("getName");
+        final MethodInvoker before = MethodInvokers.forMethod(method);
+
+        MethodInvokers.setFactory(new MethodInvokerFactory() {
+            @Override
+            public MethodInvoker invokerFor(final Method method) {
+                return new MethodInvoker(method) {
+                    @Override
+                    public Object invokeChecked(final Object target, final Object[] args) {
+                        return "Joe";
+                    }
+                };
+            }
+        });
+
+        final MethodInvoker after = MethodInvokers.forMethod(method);
+        assertThat(after, is(not(sameInstance(before))));
+        assertThat((String)MethodExtensions.invoke(method, customer), is("Joe"));
+    }
+}
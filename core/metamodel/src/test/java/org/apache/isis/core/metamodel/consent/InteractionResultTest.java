@@ -82,4 +82,10 @@ public void shouldBeEmptyWhenAdvisedWithNull() {
         assertEquals(null, result.getReason());
     }
 
+    @Test
+    public void shouldHaveNoAdvisorsWhenNotVetoing() {
+        assertEquals(null, result.getAdvisor());
+        assertTrue(result.getAdvisorFacets().isEmpty());
+    }
+
 }
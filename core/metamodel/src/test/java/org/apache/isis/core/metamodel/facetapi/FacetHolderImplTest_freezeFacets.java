@@ -0,0 +1,119 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.facetapi;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class FacetHolderImplTest_freezeFacets {
+
+    public static interface FooFacet extends Facet {
+    }
+
+    public static interface BarFacet extends Facet {
+    }
+
+    public static interface BazFacet extends Facet {
+    }
+
+    public static class ConcreteFacet extends FacetAbstract {
+        private final boolean noop;
+        public ConcreteFacet(final Class<? extends Facet> facetType, final FacetHolder holder, final boolean noop) {
+            super(facetType, holder, Derivation.NOT_DERIVED);
+            this.noop = noop;
+        }
+        @Override
+        public boolean isNoop() {
+            return noop;
+        }
+    }
+
+    private FacetHolderImpl facetHolder;
+    private ConcreteFacet fooFacet;
+    private ConcreteFacet barFacet;
+
+    @Before
+    public void setUp() throws Exception {
+        facetHolder = new FacetHolderImpl();
+        fooFacet = new ConcreteFacet(FooFacet.class, facetHolder, false);
+        barFacet = new ConcreteFacet(BarFacet.class, facetHolder, true);
+        facetHolder.addFacet(fooFacet);
+        facetHolder.addFacet(barFacet);
+
+        facetHolder.freezeFacets();
+    }
+
+    @Test
+    public void lookupsWhenFrozen() throws Exception {
+        assertThat(facetHolder.isFacetsFrozen(), is(true));
+
+        assertThat(facetHolder.getFacet(FooFacet.class), is(sameInstance((Facet) fooFacet)));
+        assertThat(facetHolder.getFacet(BarFacet.class), is(sameInstance((Facet) barFacet)));
+        assertThat(facetHolder.getFacet(BazFacet.class), is(nullValue()));
+
+        assertThat(facetHolder.containsFacet(BarFacet.class), is(true));
+        assertThat(facetHolder.containsDoOpFacet(FooFacet.class), is(true));
+        assertThat(facetHolder.containsDoOpFacet(BarFacet.class), is(false));
+        assertThat(facetHolder.containsDoOpFacet(BazFacet.class), is(false));
+
+        assertThat(facetHolder.getFacetTypes().length, is(2));
+    }
+
+    @Test
+    public void filteredFacetsCachedWhenFrozen() throws Exception {
+        final List<Facet> facets = facetHolder.getFacets(FacetFilters.isA(FooFacet.class));
+        assertThat(facets.size(), is(1));
+        assertThat(facets.get(0), is(sameInstance((Facet) fooFacet)));
+
+        assertThat(facetHolder.getFacets(FacetFilters.isA(FooFacet.class)), is(sameInstance(facets)));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void filteredFacetsUnmodifiableWhenFrozen() throws Exception {
+        facetHolder.getFacets(FacetFilters.ANY).clear();
+    }
+
+    @Test
+    public void thawedByAddingFacet() throws Exception {
+        final ConcreteFacet bazFacet = new ConcreteFacet(BazFacet.class, facetHolder, false);
+        facetHolder.addFacet(bazFacet);
+
+        assertThat(facetHolder.isFacetsFrozen(), is(false));
+        assertThat(facetHolder.getFacet(FooFacet.class), is(sameInstance((Facet) fooFacet)));
+        assertThat(facetHolder.getFacet(BazFacet.class), is(sameInstance((Facet) bazFacet)));
+        assertThat(facetHolder.getFacetTypes().length, is(3));
+    }
+
+    @Test
+    public void thawedByRemovingFacet() throws Exception {
+        facetHolder.removeFacet(FooFacet.class);
+
+        assertThat(facetHolder.isFacetsFrozen(), is(false));
+        assertThat(facetHolder.getFacet(FooFacet.class), is(nullValue()));
+        assertThat(facetHolder.getFacet(BarFacet.class), is(sameInstance((Facet) barFacet)));
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.interactions;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.events.VisibilityEvent;
+import org.apache.isis.core.metamodel.consent.InteractionResult;
+import org.apache.isis.core.metamodel.facetapi.Facet;
+import org.apache.isis.core.metamodel.facetapi.FacetAbstract;
+import org.apache.isis.core.metamodel.facetapi.FacetHolder;
+import org.apache.isis.core.metamodel.facetapi.FacetHolderImpl;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+public class InteractionAdvisorsTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private VisibilityContext<VisibilityEvent> mockVisibilityContext;
+
+    private FacetHolderImpl facetHolder;
+
+    public static interface HiddenAFacet extends Facet {
+    }
+    public static interface HiddenBFacet extends Facet {
+    }
+
+    public static class HidingFacet extends FacetAbstract implements HidingInteractionAdvisor {
+        private final String reason;
+        public HidingFacet(final Class<? extends Facet> facetType, final FacetHolder holder, final String reason) {
+            super(facetType, holder, Derivation.NOT_DERIVED);
+            this.reason = reason;
+        }
+        @Override
+        public String hides(final VisibilityContext<? extends VisibilityEvent> ic) {
+            return reason;
+        }
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        facetHolder = new FacetHolderImpl();
+        context.checking(new Expectations() {
+            {
+                allowing(mockVisibilityContext).createInteractionEvent();
+                will(returnValue(null));
+            }
+        });
+    }
+
+    @Test
+    public void noAdvisors() throws Exception {
+        final InteractionResult result = InteractionAdvisors.of(facetHolder, facetHolder.getModCount()).isVisibleResult(mockVisibilityContext);
+        assertThat(result.isNotVetoing(), is(true));
+        assertThat(result.getAdvisor(), is(nullValue()));
+        assertThat(result.getAdvisorFacets().isEmpty(), is(true));
+    }
+
+    @Test
+    public void advisedInOrderOfFacetType() throws Exception {
+        facetHolder.addFacet(new HidingFacet(HiddenBFacet.class, facetHolder, "b"));
+        facetHolder.addFacet(new HidingFacet(HiddenAFacet.class, facetHolder, "a"));
+
+        final InteractionResult result = InteractionAdvisors.of(facetHolder, facetHolder.getModCount()).isVisibleResult(mockVisibilityContext);
+        assertThat(result.getReason(), is("a; b"));
+    }
+
+    @Test
+    public void modCountChangesWhenFacetsDo() throws Exception {
+        final InteractionAdvisors before = InteractionAdvisors.of(facetHolder, facetHolder.getModCount());
+
+        facetHolder.addFacet(new HidingFacet(HiddenAFacet.class, facetHolder, "a"));
+        assertThat(facetHolder.getModCount(), is(not(before.getModCount())));
+
+        final int afterAdd = facetHolder.getModCount();
+        facetHolder.removeFacet(HiddenAFacet.class);
+        assertThat(facetHolder.getModCount(), is(not(afterAdd)));
+    }
+}
@@ -94,4 +94,45 @@ public void shouldInjectContainer() {
         injector.injectServicesInto(mockDomainObject);
     }
 
+    @Test
+    public void shouldInjectAgainIntoObjectsOfSameClass() {
+        injector.setContainer(mockContainer);
+        final Object[] services = { mockService1, mockService2 };
+        injector.setServices(Arrays.asList(services));
+
+        context.checking(new Expectations() {
+            {
+                exactly(2).of(mockDomainObject).setContainer(mockContainer);
+                exactly(2).of(mockDomainObject).setMixin(mockContainer);
+                exactly(2).of(mockDomainObject).setService1(mockService1);
+                exactly(2).of(mockDomainObject).setService2(mockService2);
+            }
+        });
+
+        injector.injectServicesInto(mockDomainObject);
+        injector.injectServicesInto(mockDomainObject);
+    }
+
+    @Test
+    public void shouldNoLongerInjectServicesOnceReplaced() {
+        injector.setContainer(mockContainer);
+        final Object[] services = { mockService1, mockService2 };
+        injector.setServices(Arrays.asList(services));
+
+        context.checking(new Expectations() {
+            {
+                exactly(2).of(mockDomainObject).setContainer(mockContainer);
+                exactly(2).of(mockDomainObject).setMixin(mockContainer);
+                exactly(2).of(mockDomainObject).setService1(mockService1);
+                one(mockDomainObject).setService2(mockService2);
+            }
+        });
+
+        injector.injectServicesInto(mockDomainObject);
+
+        final Object[] fewerServices = { mockService1 };
+        injector.setServices(Arrays.asList(fewerServices));
+        injector.injectServicesInto(mockDomainObject);
+    }
+
 }
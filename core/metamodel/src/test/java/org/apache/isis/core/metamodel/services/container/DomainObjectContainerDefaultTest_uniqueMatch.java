@@ -0,0 +1,112 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.services.container;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.Collections;
+
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.TypeSafeMatcher;
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.query.Query;
+import org.apache.isis.applib.query.QueryDefault;
+import org.apache.isis.core.metamodel.adapter.DomainObjectServices;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.QuerySubmitter;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+public class DomainObjectContainerDefaultTest_uniqueMatch {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private QuerySubmitter mockQuerySubmitter;
+    @Mock
+    private DomainObjectServices mockDomainObjectServices;
+
+    private DomainObjectContainerDefault container;
+
+    @Before
+    public void setUp() throws Exception {
+        container = new DomainObjectContainerDefault();
+        container.setQuerySubmitter(mockQuerySubmitter);
+        container.setDomainObjectServices(mockDomainObjectServices);
+
+        context.checking(new Expectations() {
+            {
+                allowing(mockDomainObjectServices).flush();
+            }
+        });
+    }
+
+    @Test
+    public void queryDefaultWithoutRange_isLimitedToTwo() throws Exception {
+        final QueryDefault<Object> query = QueryDefault.create(Object.class, "findByName", "name", "Fred");
+        context.checking(new Expectations() {
+            {
+                oneOf(mockQuerySubmitter).allMatchingQuery(with(queryWithRange(0, 2)));
+                will(returnValue(Collections.<ObjectAdapter>emptyList()));
+            }
+        });
+
+        assertThat(container.uniqueMatch(query), is(nullValue()));
+
+        // the caller's query is not modified
+        assertThat(query.getCount(), is(0L));
+    }
+
+    @Test
+    public void queryDefaultWithRange_isLimitedToTwoFromItsStart() throws Exception {
+        final QueryDefault<Object> query = QueryDefault.create(Object.class, "findByName", "name", "Fred").withStart(10).withCount(50);
+        context.checking(new Expectations() {
+            {
+                oneOf(mockQuerySubmitter).allMatchingQuery(with(queryWithRange(10, 2)));
+                will(returnValue(Collections.<ObjectAdapter>emptyList()));
+            }
+        });
+
+        container.uniqueMatch(query);
+    }
+
+    private static Matcher<Query<Object>> queryWithRange(final long start, final long count) {
+        return new TypeSafeMatcher<Query<Object>>() {
+            @Override
+            protected boolean matchesSafely(final Query<Object> query) {
+                return query.getStart() == start && query.getCount() == count;
+            }
+
+            @Override
+            public void describeTo(final Description description) {
+                description.appendText("query with start " + start + " and count " + count);
+            }
+        };
+    }
+}
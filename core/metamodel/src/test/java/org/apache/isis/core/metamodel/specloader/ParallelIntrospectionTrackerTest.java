@@ -0,0 +1,157 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.specloader;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+public class ParallelIntrospectionTrackerTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private ObjectSpecification mockSpecA;
+    @Mock
+    private ObjectSpecification mockSpecB;
+
+    private ParallelIntrospectionTracker tracker;
+
+    @Before
+    public void setUp() throws Exception {
+        tracker = new ParallelIntrospectionTracker();
+    }
+
+    @Test(timeout = 5000)
+    public void doesNotWaitIfNotBeingIntrospected() throws Exception {
+        tracker.awaitIntrospected(mockSpecA);
+    }
+
+    @Test(timeout = 5000)
+    public void doesNotWaitIfBeingIntrospectedByCurrentThread() throws Exception {
+        tracker.started(mockSpecA);
+        tracker.awaitIntrospected(mockSpecA);
+    }
+
+    @Test(timeout = 5000)
+    public void waitsUntilIntrospectedByOtherThread() throws Exception {
+        tracker.started(mockSpecA);
+
+        final CountDownLatch done = new CountDownLatch(1);
+        final Thread waiter = new Thread() {
+            @Override
+            public void run() {
+                tracker.awaitIntrospected(mockSpecA);
+                done.countDown();
+            }
+        };
+        waiter.start();
+
+        assertThat(done.await(200, TimeUnit.MILLISECONDS), is(false));
+        tracker.finished(mockSpecA);
+        assertThat(done.await(2, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test(timeout = 5000)
+    public void doesNotWaitIfWouldDeadlock() throws Exception {
+        // other thread introspects B, then waits for A (being introspected by this thread)
+        final CountDownLatch bStarted = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+        final Thread other = new Thread() {
+            @Override
+            public void run() {
+                tracker.started(mockSpecB);
+                bStarted.countDown();
+                tracker.awaitIntrospected(mockSpecA);
+                tracker.finished(mockSpecB);
+                done.countDown();
+            }
+        };
+        tracker.started(mockSpecA);
+        other.start();
+        bStarted.await();
+        awaitWaiting(other);
+
+        // would wait on B, whose owner is waiting on A
+        tracker.awaitIntrospected(mockSpecB);
+        assertThat(tracker.isBorrowing(), is(true));
+
+        tracker.finished(mockSpecA);
+        assertThat(done.await(2, TimeUnit.SECONDS), is(true));
+        assertThat(tracker.isBorrowing(), is(false));
+    }
+
+    @Test(timeout = 5000)
+    public void finishingWaitsForBorrowedSpecification() throws Exception {
+        // introspects B, then waits for A; once A is finished, does not finish B until released
+        final CountDownLatch release = new CountDownLatch(1);
+        final Thread ownerOfB = new Thread() {
+            @Override
+            public void run() {
+                tracker.started(mockSpecB);
+                tracker.awaitIntrospected(mockSpecA);
+                try {
+                    release.await();
+                } catch (final InterruptedException ex) {
+                    return;
+                }
+                tracker.finished(mockSpecB);
+            }
+        };
+        // introspects A, borrows B, then finishes A
+        final CountDownLatch aFinished = new CountDownLatch(1);
+        final Thread ownerOfA = new Thread() {
+            @Override
+            public void run() {
+                tracker.started(mockSpecA);
+                ownerOfB.start();
+                awaitWaiting(ownerOfB);
+                tracker.awaitIntrospected(mockSpecB);
+                tracker.finished(mockSpecA);
+                aFinished.countDown();
+            }
+        };
+        ownerOfA.start();
+
+        // still waiting for the borrowed B
+        assertThat(aFinished.await(200, TimeUnit.MILLISECONDS), is(false));
+
+        release.countDown();
+        assertThat(aFinished.await(2, TimeUnit.SECONDS), is(true));
+    }
+
+    private static void awaitWaiting(final Thread thread) {
+        while (thread.getState() != Thread.State.WAITING) {
+            Thread.yield();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.progmodels.dflt;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.junit.Test;
+
+import org.apache.isis.core.commons.config.IsisConfigurationDefault;
+import org.apache.isis.core.metamodel.facetdecorator.FacetDecorator;
+import org.apache.isis.core.metamodel.runtimecontext.noruntime.RuntimeContextNoRuntime;
+import org.apache.isis.core.metamodel.services.container.DomainObjectContainerDefault;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAction;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.metamodel.specloader.ObjectReflectorDefault;
+import org.apache.isis.core.metamodel.specloader.ReflectorConstants;
+import org.apache.isis.core.metamodel.specloader.classsubstitutor.ClassSubstitutorAbstract;
+import org.apache.isis.core.metamodel.specloader.collectiontyperegistry.CollectionTypeRegistryDefault;
+import org.apache.isis.core.metamodel.specloader.traverser.SpecificationTraverserDefault;
+import org.apache.isis.core.progmodel.metamodelvalidator.dflt.MetaModelValidatorDefault;
+
+public class ObjectReflectorDefaultTest_parallel {
+
+    // //////////////////////////////////////
+    // domain: entities that reference each other, and services that reference all of them
+    // //////////////////////////////////////
+
+    public static class Customer {
+        private String name;
+        public String getName() { return name; }
+        public void setName(final String name) { this.name = name; }
+
+        private Order lastOrder;
+        public Order getLastOrder() { return lastOrder; }
+        public void setLastOrder(final Order lastOrder) { this.lastOrder = lastOrder; }
+
+        private Product favouriteProduct;
+        public Product getFavouriteProduct() { return favouriteProduct; }
+        public void setFavouriteProduct(final Product favouriteProduct) { this.favouriteProduct = favouriteProduct; }
+    }
+
+    public static class Order {
+        private Customer customer;
+        public Customer getCustomer() { return customer; }
+        public void setCustomer(final Customer customer) { this.customer = customer; }
+
+        private Product product;
+        public Product getProduct() { return product; }
+        public void setProduct(final Product product) { this.product = product; }
+
+        public Order repeat(final Customer customer) { return this; }
+    }
+
+    public static class Product {
+        private String description;
+        public String getDescription() { return description; }
+        public void setDescription(final String description) { this.description = description; }
+
+        private Order lastOrder;
+        public Order getLastOrder() { return lastOrder; }
+        public void setLastOrder(final Order lastOrder) { this.lastOrder = lastOrder; }
+
+        private Customer lastCustomer;
+        public Customer getLastCustomer() { return lastCustomer; }
+        public void setLastCustomer(final Customer lastCustomer) { this.lastCustomer = lastCustomer; }
+    }
+
+    public static class Customers {
+        public Customer findCustomer(final String name) { return null; }
+        public Order lastOrderOf(final Customer customer) { return null; }
+    }
+
+    public static class Orders {
+        public Order findOrder(final Customer customer, final Product product) { return null; }
+    }
+
+    public static class Products {
+        public Product findProduct(final String description) { return null; }
+        public Customer lastCustomerOf(final Product product) { return null; }
+    }
+
+    // //////////////////////////////////////
+
+    @Test(timeout = 30000)
+    public void sameMetaModelAsWhenIntrospectedSerially() throws Exception {
+        final Map<String, List<String>> serialMembers = membersByClassName(createReflector(1));
+
+        for (int i = 0; i < 20; i++) {
+            final ObjectReflectorDefault reflector = createReflector(4);
+            assertThat(membersByClassName(reflector), is(serialMembers));
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void oneSpecificationPerType() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            final ObjectReflectorDefault reflector = createReflector(4);
+
+            final ObjectSpecification customerSpec = reflector.loadSpecification(Customer.class);
+            final ObjectSpecification orderSpec = reflector.loadSpecification(Order.class);
+            final ObjectSpecification productSpec = reflector.loadSpecification(Product.class);
+
+            assertThat(customerSpec.getAssociation("lastOrder").getSpecification(), is(sameInstance(orderSpec)));
+            assertThat(customerSpec.getAssociation("favouriteProduct").getSpecification(), is(sameInstance(productSpec)));
+            assertThat(orderSpec.getAssociation("customer").getSpecification(), is(sameInstance(customerSpec)));
+            assertThat(orderSpec.getAssociation("product").getSpecification(), is(sameInstance(productSpec)));
+            assertThat(productSpec.getAssociation("lastOrder").getSpecification(), is(sameInstance(orderSpec)));
+            assertThat(productSpec.getAssociation("lastCustomer").getSpecification(), is(sameInstance(customerSpec)));
+        }
+    }
+
+    // //////////////////////////////////////
+
+    private static ObjectReflectorDefault createReflector(final int parallelism) {
+        final IsisConfigurationDefault configuration = new IsisConfigurationDefault();
+        configuration.add(ReflectorConstants.INTROSPECTION_PARALLELISM, "" + parallelism);
+
+        final ObjectReflectorDefault reflector = 
+                new ObjectReflectorDefault(
+                        configuration, 
+                        new ClassSubstitutorAbstract() {}, 
+                        new CollectionTypeRegistryDefault(), 
+                        new SpecificationTraverserDefault(), 
+                        new ProgrammingModelFacetsJava5(), 
+                        new HashSet<FacetDecorator>(),
+                        new MetaModelValidatorDefault());
+        reflector.setRuntimeContext(new RuntimeContextNoRuntime());
+        reflector.setContainer(new DomainObjectContainerDefault());
+        reflector.setServices(Arrays.<Object>asList(new Customers(), new Orders(), new Products()));
+        reflector.init();
+        return reflector;
+    }
+
+    /**
+     * The (sorted) ids of the associations and actions of every specification, along with the type of each.
+     */
+    private static Map<String, List<String>> membersByClassName(final ObjectReflectorDefault reflector) {
+        final Map<String, List<String>> membersByClassName = Maps.newTreeMap();
+        for (final ObjectSpecification spec : reflector.allSpecifications()) {
+            final List<String> members = Lists.newArrayList();
+            for (final ObjectAssociation association : spec.getAssociations(Contributed.EXCLUDED)) {
+                members.add(association.getId() + ":" + association.getSpecification().getFullIdentifier());
+            }
+            for (final ObjectAction action : spec.getObjectActions(Contributed.EXCLUDED)) {
+                members.add(action.getId() + ":" + action.getReturnType().getFullIdentifier());
+            }
+            Collections.sort(members);
+            membersByClassName.put(spec.getFullIdentifier(), members);
+        }
+        return membersByClassName;
+    }
+}
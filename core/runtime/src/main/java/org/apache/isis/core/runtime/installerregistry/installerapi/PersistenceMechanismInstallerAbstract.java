@@ -154,6 +154,7 @@ public PersistenceSession createPersistenceSession(final PersistenceSessionFacto
         ensureThatArg(transactionManager, is(not(nullValue())));
         
         persistenceSession.setDirtiableSupport(true);
+        transactionManager.setEventPipeline(persistenceSessionFactory.getEventPipeline());
         persistenceSession.setTransactionManager(transactionManager);
         
         return persistenceSession;
@@ -45,6 +45,7 @@
 import org.apache.isis.core.runtime.system.persistence.ObjectFactory;
 import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
 import org.apache.isis.core.runtime.system.persistence.PersistenceSessionFactory;
+import org.apache.isis.core.runtime.system.transaction.pipeline.EventPipeline;
 
 /**
  * Implementation that just delegates to a supplied
@@ -73,6 +74,7 @@ public class PersistenceSessionFactoryDelegating implements PersistenceSessionFa
     private IdentifierGenerator identifierGenerator;
     private ServicesInjectorSpi servicesInjector;
     private RuntimeContext runtimeContext;
+    private EventPipeline eventPipeline;
 
     public PersistenceSessionFactoryDelegating(
             final DeploymentType deploymentType, 
@@ -145,12 +147,22 @@ public final void init() {
         servicesInjector.setContainer(container);
         servicesInjector.setServices(serviceList);
         servicesInjector.init();
+
+        // must come after init of services injector, since the pipeline
+        // overrides the serializer injected into the publishing service
+        eventPipeline = EventPipeline.createIfConfigured(getConfiguration());
+        if (eventPipeline != null) {
+            eventPipeline.init(servicesInjector);
+        }
     }
 
 
 
     @Override
     public final void shutdown() {
+        if (eventPipeline != null) {
+            eventPipeline.shutdown();
+        }
         doShutdown();
     }
 
@@ -189,6 +201,11 @@ public ServicesInjectorSpi getServicesInjector() {
         return servicesInjector;
     }
 
+    @Override
+    public EventPipeline getEventPipeline() {
+        return eventPipeline;
+    }
+
     // //////////////////////////////////////////////////////
     // MetaModelAdjuster impl
     // //////////////////////////////////////////////////////
@@ -119,6 +119,12 @@ public void reset() {
         pojoAdapterMap.reset();
     }
 
+    @Override
+    public void expectAdapters(final int numberOfAdapters) {
+        oidAdapterMap.ensureCapacity(numberOfAdapters);
+        pojoAdapterMap.ensureCapacity(numberOfAdapters);
+    }
+
     // //////////////////////////////////////////////////////////////////
     // Iterable
     // //////////////////////////////////////////////////////////////////
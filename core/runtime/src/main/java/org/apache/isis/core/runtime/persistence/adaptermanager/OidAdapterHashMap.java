@@ -22,6 +22,7 @@
 import java.util.Iterator;
 import java.util.Map;
 
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Maps;
 
 import org.slf4j.Logger;
@@ -37,13 +38,33 @@
 
 /**
  * A map of the objects' identities and the adapters' of the objects.
+ * 
+ * <p>
+ * Adapters for {@link ObjectSpecification#isService() services} are held in a 
+ * separate partition that is never {@link #reset() reset}, so that resetting
+ * just clears the other partition (retaining its capacity) rather than
+ * inspecting every adapter.
  */
 public class OidAdapterHashMap implements DebuggableWithTitle, Iterable<Oid>, SessionScopedComponent, Resettable {
 
     private static final Logger LOG = LoggerFactory.getLogger(OidAdapterHashMap.class);
     public static final int DEFAULT_OID_ADAPTER_MAP_SIZE = 100;
 
-    private final Map<Oid, ObjectAdapter> adapterByOidMap = Maps.newHashMapWithExpectedSize(DEFAULT_OID_ADAPTER_MAP_SIZE);
+    private final Map<Oid, ObjectAdapter> serviceAdapterByOidMap = Maps.newHashMap();
+    private Map<Oid, ObjectAdapter> adapterByOidMap;
+    /**
+     * The number of (non-service) adapters that {@link #adapterByOidMap} can hold without rehashing.
+     */
+    private int capacity;
+
+    public OidAdapterHashMap() {
+        this(DEFAULT_OID_ADAPTER_MAP_SIZE);
+    }
+
+    public OidAdapterHashMap(final int capacity) {
+        this.adapterByOidMap = Maps.newHashMapWithExpectedSize(capacity);
+        this.capacity = capacity;
+    }
 
 
     // ///////////////////////////////////////////////////////
@@ -59,6 +80,7 @@ public void open() {
     public void close() {
         LOG.debug("close");
         adapterByOidMap.clear();
+        serviceAdapterByOidMap.clear();
     }
 
     // ///////////////////////////////////////////////////////
@@ -71,13 +93,23 @@ public void close() {
     @Override
     public void reset() {
         LOG.debug("reset");
-        for (final Iterator<Map.Entry<Oid, ObjectAdapter>> iterator = adapterByOidMap.entrySet().iterator(); iterator.hasNext();) {
-            final Map.Entry<Oid, ObjectAdapter> entry = iterator.next();
-            final ObjectAdapter adapter = entry.getValue();
-            if (!adapter.getSpecification().isService()) {
-                iterator.remove();
-            }
+        adapterByOidMap.clear();
+    }
+
+    /**
+     * Hint that the specified number of further adapters are about to be 
+     * {@link #add(Oid, ObjectAdapter) added}, so that the map can be resized 
+     * once up-front rather than rehashed repeatedly as it grows.
+     */
+    public void ensureCapacity(final int numberOfAdditionalAdapters) {
+        final int required = adapterByOidMap.size() + numberOfAdditionalAdapters;
+        if (required <= capacity) {
+            return;
         }
+        final Map<Oid, ObjectAdapter> resized = Maps.newHashMapWithExpectedSize(required);
+        resized.putAll(adapterByOidMap);
+        adapterByOidMap = resized;
+        capacity = required;
     }
 
     // ///////////////////////////////////////////////////////
@@ -89,7 +121,11 @@ public void reset() {
      */
     public void add(final Oid oid, final ObjectAdapter adapter) {
 
-        adapterByOidMap.put(oid, adapter);
+        if (adapter.getSpecification().isService()) {
+            serviceAdapterByOidMap.put(oid, adapter);
+        } else {
+            adapterByOidMap.put(oid, adapter);
+        }
         // log at end so that if toString needs adapters they're in maps.
         if (LOG.isDebugEnabled()) {
             // do not call toString() on adapter because would call hashCode on
@@ -109,7 +145,7 @@ public boolean remove(final Oid oid) {
         if (LOG.isDebugEnabled()) {
             LOG.debug("remove oid: " + oid);
         }
-        return adapterByOidMap.remove(oid) != null;
+        return adapterByOidMap.remove(oid) != null || serviceAdapterByOidMap.remove(oid) != null;
     }
 
 
@@ -117,7 +153,8 @@ public boolean remove(final Oid oid) {
      * Get the adapter identified by the specified OID.
      */
     public ObjectAdapter getAdapter(final Oid oid) {
-        return adapterByOidMap.get(oid);
+        final ObjectAdapter adapter = adapterByOidMap.get(oid);
+        return adapter != null ? adapter : serviceAdapterByOidMap.get(oid);
     }
 
     // ///////////////////////////////////////////////////////
@@ -126,7 +163,7 @@ public ObjectAdapter getAdapter(final Oid oid) {
 
     @Override
     public Iterator<Oid> iterator() {
-        return adapterByOidMap.keySet().iterator();
+        return Iterators.concat(serviceAdapterByOidMap.keySet().iterator(), adapterByOidMap.keySet().iterator());
     }
 
     // ///////////////////////////////////////////////////////
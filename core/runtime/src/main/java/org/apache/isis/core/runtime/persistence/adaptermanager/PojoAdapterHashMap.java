@@ -22,6 +22,7 @@
 import java.util.Iterator;
 import java.util.Map;
 
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Maps;
 
 import org.slf4j.Logger;
@@ -35,6 +36,13 @@
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 
 /**
+ * A map of the pojos (compared by identity) and their adapters.
+ * 
+ * <p>
+ * As for {@link OidAdapterHashMap}, adapters for services are held in a separate 
+ * partition that is never {@link #reset() reset}.
+ * 
+ * <p>
  * TODO: an alternative might be to use {@link IdentityMap}.
  */
 public class PojoAdapterHashMap implements DebuggableWithTitle, Iterable<ObjectAdapter>, SessionScopedComponent, Resettable {
@@ -60,7 +68,12 @@ public boolean equals(final Object obj) {
     private static final Logger LOG = LoggerFactory.getLogger(PojoAdapterHashMap.class);
     public static final int DEFAULT_POJO_ADAPTER_MAP_SIZE = OidAdapterHashMap.DEFAULT_OID_ADAPTER_MAP_SIZE;
 
-    protected final Map<Object, ObjectAdapter> adapterByPojoMap;
+    protected final Map<Object, ObjectAdapter> serviceAdapterByPojoMap = Maps.newHashMap();
+    protected Map<Object, ObjectAdapter> adapterByPojoMap;
+    /**
+     * The number of (non-service) adapters that {@link #adapterByPojoMap} can hold without rehashing.
+     */
+    private int capacity;
 
     // ///////////////////////////////////////////////////////////////////////////
     // Constructors, finalize
@@ -71,7 +84,8 @@ public PojoAdapterHashMap() {
     }
 
     public PojoAdapterHashMap(final int capacity) {
-        adapterByPojoMap = Maps.newHashMapWithExpectedSize(capacity);
+        this.adapterByPojoMap = Maps.newHashMapWithExpectedSize(capacity);
+        this.capacity = capacity;
     }
 
     @Override
@@ -93,6 +107,7 @@ public void open() {
     public void close() {
         LOG.debug("close");
         adapterByPojoMap.clear();
+        serviceAdapterByPojoMap.clear();
     }
 
     // ///////////////////////////////////////////////////////////////////////////
@@ -102,13 +117,21 @@ public void close() {
     @Override
     public void reset() {
         LOG.debug("reset");
-        for (final Iterator<Map.Entry<Object, ObjectAdapter>> iterator = adapterByPojoMap.entrySet().iterator(); iterator.hasNext();) {
-            final Map.Entry<Object, ObjectAdapter> entry = iterator.next();
-            final ObjectAdapter adapter = entry.getValue();
-            if (!adapter.getSpecification().isService()) {
-                iterator.remove();
-            }
+        adapterByPojoMap.clear();
+    }
+
+    /**
+     * @see OidAdapterHashMap#ensureCapacity(int)
+     */
+    public void ensureCapacity(final int numberOfAdditionalAdapters) {
+        final int required = adapterByPojoMap.size() + numberOfAdditionalAdapters;
+        if (required <= capacity) {
+            return;
         }
+        final Map<Object, ObjectAdapter> resized = Maps.newHashMapWithExpectedSize(required);
+        resized.putAll(adapterByPojoMap);
+        adapterByPojoMap = resized;
+        capacity = required;
     }
 
     // ///////////////////////////////////////////////////////////////////////////
@@ -116,7 +139,11 @@ public void reset() {
     // ///////////////////////////////////////////////////////////////////////////
 
     public void add(final Object pojo, final ObjectAdapter adapter) {
-        adapterByPojoMap.put(key(pojo), adapter);
+        if (adapter.getSpecification().isService()) {
+            serviceAdapterByPojoMap.put(key(pojo), adapter);
+        } else {
+            adapterByPojoMap.put(key(pojo), adapter);
+        }
         if(LOG.isDebugEnabled()) {
             LOG.debug("add adapter: #" + Long.toHexString(pojo.hashCode()) + " -> #" + Long.toHexString(adapter.hashCode()));
         }
@@ -132,7 +159,10 @@ public void remove(final ObjectAdapter object) {
         if(LOG.isDebugEnabled()) {
             LOG.debug("remove adapter: " + object);
         }
-        adapterByPojoMap.remove(key(object.getObject()));
+        final Object key = key(object.getObject());
+        if (adapterByPojoMap.remove(key) == null) {
+            serviceAdapterByPojoMap.remove(key);
+        }
     }
 
     // ///////////////////////////////////////////////////////////////////////////
@@ -140,11 +170,14 @@ public void remove(final ObjectAdapter object) {
     // ///////////////////////////////////////////////////////////////////////////
 
     public boolean containsPojo(final Object pojo) {
-        return adapterByPojoMap.containsKey(key(pojo));
+        final Object key = key(pojo);
+        return adapterByPojoMap.containsKey(key) || serviceAdapterByPojoMap.containsKey(key);
     }
 
     public ObjectAdapter getAdapter(final Object pojo) {
-        return adapterByPojoMap.get(key(pojo));
+        final Object key = key(pojo);
+        final ObjectAdapter adapter = adapterByPojoMap.get(key);
+        return adapter != null ? adapter : serviceAdapterByPojoMap.get(key);
     }
 
     // ///////////////////////////////////////////////////////////////////////////
@@ -153,7 +186,7 @@ public ObjectAdapter getAdapter(final Object pojo) {
 
     @Override
     public Iterator<ObjectAdapter> iterator() {
-        return adapterByPojoMap.values().iterator();
+        return Iterators.concat(serviceAdapterByPojoMap.values().iterator(), adapterByPojoMap.values().iterator());
     }
 
     private Object key(final Object pojo) {
@@ -167,11 +200,10 @@ private Object key(final Object pojo) {
     @Override
     public void debugData(final DebugBuilder debug) {
         int count = 0;
-        for (final Object pojo : adapterByPojoMap.keySet()) {
-            final ObjectAdapter object = adapterByPojoMap.get(pojo);
+        for (final ObjectAdapter object : this) {
             debug.append(count++ + 1, 5);
             debug.append(" '");
-            debug.append(pojo.toString(), 50);
+            debug.append(String.valueOf(object.getObject()), 50);
             debug.append("'    ");
             debug.appendln(object.toString());
         }
@@ -80,6 +80,26 @@ public void publishObject(
             final ObjectAdapter changedAdapter, 
             final ChangeKind changeKind, 
             final ObjectStringifier stringifier) {
+        publish(metadata, payloadForObject(payloadFactoryIfAny, changedAdapter, changeKind, stringifier));
+    }
+
+    public void publishAction(
+            final PublishedAction.PayloadFactory payloadFactoryIfAny, 
+            final EventMetadata metadata, 
+            final CurrentInvocation currentInvocation, 
+            final ObjectStringifier stringifier) {
+        publish(metadata, payloadForAction(payloadFactoryIfAny, currentInvocation, stringifier));
+    }
+
+    public void publish(final EventMetadata metadata, final EventPayload payload) {
+        publishingService.publish(metadata, payload);
+    }
+
+    public EventPayload payloadForObject(
+            final PublishedObject.PayloadFactory payloadFactoryIfAny, 
+            final ObjectAdapter changedAdapter, 
+            final ChangeKind changeKind, 
+            final ObjectStringifier stringifier) {
         final PublishedObject.PayloadFactory payloadFactoryToUse = 
                 payloadFactoryIfAny != null
                 ? payloadFactoryIfAny
@@ -87,12 +107,11 @@ public void publishObject(
         final EventPayload payload = payloadFactoryToUse.payloadFor(
                 ObjectAdapter.Util.unwrap(undeletedElseEmpty(changedAdapter)), changeKind);
         payload.withStringifier(stringifier);
-        publishingService.publish(metadata, payload);
+        return payload;
     }
 
-    public void publishAction(
+    public EventPayload payloadForAction(
             final PublishedAction.PayloadFactory payloadFactoryIfAny, 
-            final EventMetadata metadata, 
             final CurrentInvocation currentInvocation, 
             final ObjectStringifier stringifier) {
         final PublishedAction.PayloadFactory payloadFactoryToUse = 
@@ -108,7 +127,7 @@ public void publishAction(
                 ObjectAdapter.Util.unwrap(undeletedElseEmpty(parameters)), 
                 ObjectAdapter.Util.unwrap(undeletedElseEmpty(result)));
         payload.withStringifier(stringifier);
-        publishingService.publish(metadata, payload);
+        return payload;
     }
 
     private static List<ObjectAdapter> undeletedElseEmpty(List<ObjectAdapter> parameters) {
@@ -78,6 +78,10 @@ public long getStart() {
     public long getCount() {
         return count;
     }
+
+    public boolean hasRange() {
+        return getStart() != 0 || getCount() != 0;
+    }
     
 
     // ///////////////////////////////////////////////////////
@@ -101,8 +101,4 @@ public long getEnd() {
         // if we return Long.MAX_VALUE 
         return getCount() != 0? getStart() + getCount(): Integer.MAX_VALUE;
     }
-
-    public boolean hasRange() {
-        return getStart() != 0 || getCount() != 0;
-    }
 }
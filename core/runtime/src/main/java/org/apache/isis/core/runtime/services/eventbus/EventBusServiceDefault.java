@@ -16,52 +16,118 @@
  */
 package org.apache.isis.core.runtime.services.eventbus;
 
-import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
-import com.google.common.collect.Sets;
 import com.google.common.eventbus.EventBus;
 
+import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.services.eventbus.EventBusService;
+import org.apache.isis.applib.services.eventbus.NonTransactional;
 import org.apache.isis.core.runtime.system.context.IsisContext;
 
+/**
+ * Dispatches events through an {@link EventBusSubscriberRegistry} shared by all sessions, so that
+ * subscribers are registered only once rather than with the {@link EventBus} of every session.
+ * 
+ * <p>
+ * If {@link #KEY_ASYNC_THREADS} is configured, then subscribers annotated as {@link NonTransactional}
+ * are called on a bounded pool of that many threads.
+ */
 public class EventBusServiceDefault extends EventBusService {
 
-    
-    private final Set<Object> objectsToRegister = Sets.newHashSet();
-    
+    public static final String KEY_ASYNC_THREADS = "isis.services.eventbus.async.threads";
+    public static final int DEFAULT_ASYNC_THREADS = 0;
+
+    public static final String KEY_ASYNC_QUEUE_SIZE = "isis.services.eventbus.async.queueSize";
+    public static final int DEFAULT_ASYNC_QUEUE_SIZE = 1000;
+
+    private final EventBusSubscriberRegistry registry = new EventBusSubscriberRegistry();
+    private ThreadPoolExecutor nonTransactionalExecutor;
+
+    @Programmatic
+    @PostConstruct
+    public void init(final Map<String, String> properties) {
+        final int asyncThreads = intProperty(properties, KEY_ASYNC_THREADS, DEFAULT_ASYNC_THREADS);
+        if (asyncThreads <= 0) {
+            return;
+        }
+        final int queueSize = intProperty(properties, KEY_ASYNC_QUEUE_SIZE, DEFAULT_ASYNC_QUEUE_SIZE);
+        nonTransactionalExecutor = new ThreadPoolExecutor(
+                asyncThreads, asyncThreads, 0L, TimeUnit.MILLISECONDS, 
+                new ArrayBlockingQueue<Runnable>(queueSize), 
+                new DaemonThreadFactory(), 
+                // if the queue is full, then the posting thread makes the call itself 
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        registry.setNonTransactionalExecutor(nonTransactionalExecutor);
+    }
+
+    @Programmatic
+    @PreDestroy
+    public void shutdown() {
+        if (nonTransactionalExecutor == null) {
+            return;
+        }
+        registry.setNonTransactionalExecutor(null);
+        nonTransactionalExecutor.shutdown();
+        nonTransactionalExecutor = null;
+    }
+
+    private static int intProperty(final Map<String, String> properties, final String key, final int defaultValue) {
+        final String value = properties.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (final NumberFormatException ex) {
+            throw new IllegalArgumentException("'" + key + "' must be an integer; was: " + value, ex);
+        }
+    }
+
+    /**
+     * Not used for dispatch (see {@link #post(Object)}), but retained for any subclasses that require
+     * the session's own {@link EventBus}.
+     */
     @Override
     protected EventBus getEventBus() {
         return IsisContext.getSession().getEventBus();
     }
-    
-    
+
     @Override
-    public void register(Object domainObject) {
-        // lazily registered
-        // (a) there may be no session initially
-        // (b) so can be unregistered at when closed
-        objectsToRegister.add(domainObject);
+    public void register(final Object domainObject) {
+        registry.register(domainObject);
     }
-    
+
     @Override
-    public void unregister(Object domainObject) {
-        if(IsisContext.inSession()) {
-            getEventBus().unregister(domainObject);
-        }
-        objectsToRegister.remove(domainObject);
+    public void unregister(final Object domainObject) {
+        registry.unregister(domainObject);
     }
 
-    public void open() {
-        for (final Object object : objectsToRegister) {
-            getEventBus().register(object);
+    @Override
+    public void post(final Object event) {
+        if(skip(event)) {
+            return;
         }
+        registry.post(event);
     }
 
-    public void close() {
-        for (final Object object : objectsToRegister) {
-            getEventBus().unregister(object);
+    private static class DaemonThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(runnable, "isis-eventbus-async-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
         }
     }
 
 }
-
@@ -0,0 +1,297 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.services.eventbus;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.MapMaker;
+import com.google.common.collect.Maps;
+import com.google.common.eventbus.DeadEvent;
+import com.google.common.eventbus.Subscribe;
+import com.google.common.reflect.TypeToken;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.applib.services.eventbus.NonTransactional;
+
+/**
+ * The subscribers registered with the {@link EventBusServiceDefault}, shared by all sessions.
+ * 
+ * <p>
+ * The {@link Subscribe subscriber} methods of each class are discovered only once.  Each 
+ * (un)registration replaces the current set of subscribers with a new version; the subscribers
+ * for each event type are worked out against that version as first required.
+ * 
+ * <p>
+ * Events are dispatched as by Guava's <tt>EventBus</tt>: on the posting thread, with any events posted
+ * by a subscriber queued until the current event has been dispatched, exceptions thrown by subscribers
+ * logged and swallowed, and unhandled events reposted as a {@link DeadEvent}.  The exception is any
+ * subscriber also annotated as {@link NonTransactional}, which is handed to the executor (if any).
+ */
+public class EventBusSubscriberRegistry {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EventBusSubscriberRegistry.class);
+
+    private static final ConcurrentMap<Class<?>, List<SubscriberMethod>> subscriberMethodsByClass = new MapMaker().weakKeys().makeMap();
+
+    private volatile Executor nonTransactionalExecutor;
+
+    private volatile Version version = new Version(0, Collections.<Subscriber>emptyList());
+
+    private final ThreadLocal<Queue<EventAndSubscriber>> eventsToDispatch = new ThreadLocal<Queue<EventAndSubscriber>>() {
+        @Override
+        protected Queue<EventAndSubscriber> initialValue() {
+            return new LinkedList<EventAndSubscriber>();
+        }
+    };
+    private final ThreadLocal<Boolean> dispatching = new ThreadLocal<Boolean>() {
+        @Override
+        protected Boolean initialValue() {
+            return false;
+        }
+    };
+
+    /**
+     * @param nonTransactionalExecutor - to dispatch to {@link NonTransactional} subscribers; if <tt>null</tt> (the default) then they are called synchronously.
+     */
+    public void setNonTransactionalExecutor(final Executor nonTransactionalExecutor) {
+        this.nonTransactionalExecutor = nonTransactionalExecutor;
+    }
+
+    // //////////////////////////////////////
+    // register, unregister
+    // //////////////////////////////////////
+
+    public synchronized void register(final Object subscriber) {
+        final List<Subscriber> subscribers = Lists.newArrayList(version.subscribers);
+        for (final Subscriber existing : subscribers) {
+            if (existing.target == subscriber) {
+                return;
+            }
+        }
+        for (final SubscriberMethod subscriberMethod : subscriberMethodsOf(subscriber.getClass())) {
+            subscribers.add(new Subscriber(subscriber, subscriberMethod));
+        }
+        version = new Version(version.number + 1, subscribers);
+    }
+
+    public synchronized void unregister(final Object subscriber) {
+        final List<Subscriber> subscribers = Lists.newArrayList();
+        for (final Subscriber existing : version.subscribers) {
+            if (existing.target != subscriber) {
+                subscribers.add(existing);
+            }
+        }
+        if (subscribers.size() != version.subscribers.size()) {
+            version = new Version(version.number + 1, subscribers);
+        }
+    }
+
+    public long getVersion() {
+        return version.number;
+    }
+
+    // //////////////////////////////////////
+    // post
+    // //////////////////////////////////////
+
+    public void post(final Object event) {
+        final List<Subscriber> subscribers = version.subscribersFor(event.getClass());
+        if (subscribers.isEmpty()) {
+            if (!(event instanceof DeadEvent)) {
+                post(new DeadEvent(this, event));
+            }
+            return;
+        }
+        final Queue<EventAndSubscriber> queue = eventsToDispatch.get();
+        for (final Subscriber subscriber : subscribers) {
+            queue.offer(new EventAndSubscriber(event, subscriber));
+        }
+        dispatchQueuedEvents();
+    }
+
+    private void dispatchQueuedEvents() {
+        if (dispatching.get()) {
+            return;
+        }
+        dispatching.set(true);
+        try {
+            final Queue<EventAndSubscriber> queue = eventsToDispatch.get();
+            EventAndSubscriber eventAndSubscriber;
+            while ((eventAndSubscriber = queue.poll()) != null) {
+                dispatch(eventAndSubscriber.event, eventAndSubscriber.subscriber);
+            }
+        } finally {
+            dispatching.remove();
+            eventsToDispatch.remove();
+        }
+    }
+
+    private void dispatch(final Object event, final Subscriber subscriber) {
+        final Executor executor = nonTransactionalExecutor;
+        if (subscriber.method.nonTransactional && executor != null) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    subscriber.handle(event);
+                }
+            });
+            return;
+        }
+        subscriber.handle(event);
+    }
+
+    // //////////////////////////////////////
+    // subscriber methods
+    // //////////////////////////////////////
+
+    static List<SubscriberMethod> subscriberMethodsOf(final Class<?> cls) {
+        final List<SubscriberMethod> subscriberMethods = subscriberMethodsByClass.get(cls);
+        if (subscriberMethods != null) {
+            return subscriberMethods;
+        }
+        final List<SubscriberMethod> newSubscriberMethods = findSubscriberMethods(cls);
+        final List<SubscriberMethod> existing = subscriberMethodsByClass.putIfAbsent(cls, newSubscriberMethods);
+        return existing != null ? existing : newSubscriberMethods;
+    }
+
+    /**
+     * As Guava, searching the class and its supertypes for methods annotated with {@link Subscribe}.
+     */
+    private static List<SubscriberMethod> findSubscriberMethods(final Class<?> cls) {
+        final ImmutableList.Builder<SubscriberMethod> subscriberMethods = ImmutableList.builder();
+        for (final Method method : cls.getMethods()) {
+            for (final Class<?> supertype : TypeToken.of(cls).getTypes().rawTypes()) {
+                final Method supertypeMethod;
+                try {
+                    supertypeMethod = supertype.getMethod(method.getName(), method.getParameterTypes());
+                } catch (final NoSuchMethodException ignore) {
+                    continue;
+                }
+                if (supertypeMethod.isAnnotationPresent(Subscribe.class)) {
+                    final Class<?>[] parameterTypes = method.getParameterTypes();
+                    if (parameterTypes.length != 1) {
+                        throw new IllegalArgumentException("Method " + method + " has @Subscribe annotation, but requires " + parameterTypes.length + " arguments.  Event subscriber methods must require a single argument.");
+                    }
+                    final boolean nonTransactional = supertypeMethod.isAnnotationPresent(NonTransactional.class) || method.isAnnotationPresent(NonTransactional.class);
+                    subscriberMethods.add(new SubscriberMethod(method, parameterTypes[0], nonTransactional));
+                    break;
+                }
+            }
+        }
+        return subscriberMethods.build();
+    }
+
+    static final class SubscriberMethod {
+        private final Method method;
+        private final Class<?> eventType;
+        private final boolean nonTransactional;
+
+        SubscriberMethod(final Method method, final Class<?> eventType, final boolean nonTransactional) {
+            this.method = method;
+            this.eventType = eventType;
+            this.nonTransactional = nonTransactional;
+            method.setAccessible(true);
+        }
+
+        Class<?> getEventType() {
+            return eventType;
+        }
+
+        boolean isNonTransactional() {
+            return nonTransactional;
+        }
+    }
+
+    // //////////////////////////////////////
+    // Version, Subscriber
+    // //////////////////////////////////////
+
+    private static final class Version {
+        private final long number;
+        private final List<Subscriber> subscribers;
+        private final ConcurrentMap<Class<?>, List<Subscriber>> subscribersByEventClass = Maps.newConcurrentMap();
+
+        Version(final long number, final List<Subscriber> subscribers) {
+            this.number = number;
+            this.subscribers = Collections.unmodifiableList(subscribers);
+        }
+
+        List<Subscriber> subscribersFor(final Class<?> eventClass) {
+            final List<Subscriber> subscribersForEvent = subscribersByEventClass.get(eventClass);
+            if (subscribersForEvent != null) {
+                return subscribersForEvent;
+            }
+            final Set<? extends Class<?>> eventTypes = TypeToken.of(eventClass).getTypes().rawTypes();
+            final List<Subscriber> matching = Lists.newArrayList();
+            for (final Subscriber subscriber : subscribers) {
+                if (eventTypes.contains(subscriber.method.eventType)) {
+                    matching.add(subscriber);
+                }
+            }
+            final List<Subscriber> newSubscribersForEvent = ImmutableList.copyOf(matching);
+            subscribersByEventClass.putIfAbsent(eventClass, newSubscribersForEvent);
+            return newSubscribersForEvent;
+        }
+    }
+
+    private static final class Subscriber {
+        private final Object target;
+        private final SubscriberMethod method;
+
+        Subscriber(final Object target, final SubscriberMethod method) {
+            this.target = target;
+            this.method = method;
+        }
+
+        void handle(final Object event) {
+            try {
+                method.method.invoke(target, event);
+            } catch (final InvocationTargetException ex) {
+                LOG.error("Could not dispatch event: " + event + " to subscriber " + target + " method " + method.method, ex.getCause());
+            } catch (final IllegalAccessException ex) {
+                throw new Error("Method became inaccessible: " + event, ex);
+            } catch (final RuntimeException ex) {
+                LOG.error("Could not dispatch event: " + event + " to subscriber " + target + " method " + method.method, ex);
+            }
+        }
+    }
+
+    private static final class EventAndSubscriber {
+        private final Object event;
+        private final Subscriber subscriber;
+
+        EventAndSubscriber(final Object event, final Subscriber subscriber) {
+            this.event = event;
+            this.subscriber = subscriber;
+        }
+    }
+}
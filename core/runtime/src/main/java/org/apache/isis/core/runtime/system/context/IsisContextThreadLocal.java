@@ -19,7 +19,7 @@
 
 package org.apache.isis.core.runtime.system.context;
 
-import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
 
 import com.google.common.collect.Maps;
 
@@ -34,6 +34,11 @@
 /**
  * Multi-user implementation of {@link IsisContext} that stores a set of components for
  * each thread in use.
+ * 
+ * <p>
+ * The session of the current thread is held in a {@link ThreadLocal}, so opening, closing and
+ * looking up a session involves no locking.  All open sessions are also indexed by their
+ * {@link IsisSession#getId() id}, in a concurrent map, for administrative enumeration.
  */
 public class IsisContextThreadLocal extends IsisContext {
 
@@ -43,7 +48,8 @@ public static IsisContext createInstance(final IsisSessionFactory sessionFactory
         return new IsisContextThreadLocal(sessionFactory);
     }
 
-    private final Map<Thread, IsisSession> sessionsByThread = Maps.newHashMap();
+    private final ThreadLocal<IsisSession> currentSession = new ThreadLocal<IsisSession>();
+    private final ConcurrentMap<String, SessionBinding> sessionsById = Maps.newConcurrentMap();
 
     
     // //////////////////////////////////////////////
@@ -69,19 +75,20 @@ public void closeAllSessionsInstance() {
     }
 
     protected void shutdownAllThreads() {
-        synchronized (sessionsByThread) {
-            int i = 0;
-            for (final Thread thread : sessionsByThread.keySet()) {
-                LOG.info("Shutting down thread: " + i++);
-                final IsisSession data = sessionsByThread.get(thread);
-                data.closeAll();
-            }
+        int i = 0;
+        for (final SessionBinding binding : sessionsById.values()) {
+            LOG.info("Shutting down thread: " + i++);
+            binding.session.closeAll();
         }
     }
 
     @Override
     protected void doClose() {
-        sessionsByThread.remove(Thread.currentThread());
+        final IsisSession session = currentSession.get();
+        currentSession.remove();
+        if (session != null) {
+            sessionsById.remove(session.getId());
+        }
     }
 
     // /////////////////////////////////////////////////////////
@@ -90,13 +97,7 @@ protected void doClose() {
 
     @Override
     public String[] allSessionIds() {
-        final String[] ids = new String[sessionsByThread.size()];
-        int i = 0;
-        for (final Thread thread : sessionsByThread.keySet()) {
-            final IsisSession data = sessionsByThread.get(thread);
-            ids[i++] = data.getId();
-        }
-        return ids;
+        return sessionsById.keySet().toArray(new String[0]);
     }
 
     // /////////////////////////////////////////////////////////
@@ -112,21 +113,15 @@ public String debugTitle() {
     public void debugData(final DebugBuilder debug) {
         super.debugData(debug);
         debug.appendTitle("Threads based Contexts");
-        for (final Thread thread : sessionsByThread.keySet()) {
-            final IsisSession data = sessionsByThread.get(thread);
-            debug.appendln(thread.toString(), data);
+        for (final SessionBinding binding : sessionsById.values()) {
+            debug.appendln(binding.thread.toString(), binding.session);
         }
     }
 
     @Override
     protected IsisSession getSessionInstance(final String executionContextId) {
-        for (final Thread thread : sessionsByThread.keySet()) {
-            final IsisSession data = sessionsByThread.get(thread);
-            if (data.getId().equals(executionContextId)) {
-                return data;
-            }
-        }
-        return null;
+        final SessionBinding binding = sessionsById.get(executionContextId);
+        return binding != null ? binding.session : null;
     }
 
     // /////////////////////////////////////////////////////////
@@ -138,34 +133,34 @@ protected IsisSession getSessionInstance(final String executionContextId) {
      * {@link IsisContext#openSession(AuthenticationSession)}.
      * 
      * <p>
-     * Implementation note: an alternative design would have just been to bind
-     * onto a thread local.
+     * Only the current thread's state is modified, so no locking is required.
      */
     @Override
     public IsisSession openSessionInstance(final AuthenticationSession authenticationSession) {
         final Thread thread = Thread.currentThread();
-        synchronized (sessionsByThread) {
-            applySessionClosePolicy();
-            final IsisSession session = getSessionFactoryInstance().openSession(authenticationSession);
-            LOG.debug("  opening session " + session + " (count " + sessionsByThread.size() + ") for " + authenticationSession.getUserName());
-            saveSession(thread, session);
-            session.open();
-            return session;
+        applySessionClosePolicy();
+        final IsisSession session = getSessionFactoryInstance().openSession(authenticationSession);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("  opening session " + session + " (count " + sessionsById.size() + ") for " + authenticationSession.getUserName());
         }
+        saveSession(thread, session);
+        session.open();
+        return session;
     }
 
     protected IsisSession createAndOpenSession(final Thread thread, final AuthenticationSession authenticationSession) {
         final IsisSession session = getSessionFactoryInstance().openSession(authenticationSession);
         session.open();
-        LOG.info("  opening session " + session + " (count " + sessionsByThread.size() + ") for " + authenticationSession.getUserName());
+        LOG.info("  opening session " + session + " (count " + sessionsById.size() + ") for " + authenticationSession.getUserName());
         return session;
     }
 
     private IsisSession saveSession(final Thread thread, final IsisSession session) {
-        synchronized (sessionsByThread) {
-            sessionsByThread.put(thread, session);
+        currentSession.set(session);
+        sessionsById.put(session.getId(), new SessionBinding(thread, session));
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("  saving session " + session + "; now have " + sessionsById.size() + " sessions");
         }
-        LOG.debug("  saving session " + session + "; now have " + sessionsByThread.size() + " sessions");
         return session;
     }
 
@@ -180,9 +175,17 @@ private IsisSession saveSession(final Thread thread, final IsisSession session)
      */
     @Override
     public IsisSession getSessionInstance() {
-        final Thread thread = Thread.currentThread();
-        final IsisSession session = sessionsByThread.get(thread);
-        return session;
+        return currentSession.get();
+    }
+
+    private static class SessionBinding {
+        private final Thread thread;
+        private final IsisSession session;
+
+        SessionBinding(final Thread thread, final IsisSession session) {
+            this.thread = thread;
+            this.session = session;
+        }
     }
 
 }
@@ -77,5 +77,15 @@ public interface AdapterManagerSpi extends AdapterManager, Iterable<ObjectAdapte
      */
     void removeAdapter(ObjectAdapter adapter);
 
+    /**
+     * Hint that (up to) the specified number of adapters are about to be mapped, 
+     * for example because a query has returned that many objects.
+     * 
+     * <p>
+     * Allows the identity maps to be sized once up-front rather than rehashing
+     * repeatedly as they grow.
+     */
+    void expectAdapters(int numberOfAdapters);
+
 
 }
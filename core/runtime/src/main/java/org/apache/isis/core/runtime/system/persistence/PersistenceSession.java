@@ -51,7 +51,6 @@
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapterFactory;
 import org.apache.isis.core.metamodel.adapter.ResolveState;
-import org.apache.isis.core.metamodel.adapter.mgr.AdapterManager;
 import org.apache.isis.core.metamodel.adapter.oid.Oid;
 import org.apache.isis.core.metamodel.adapter.oid.RootOid;
 import org.apache.isis.core.metamodel.adapter.oid.TypedOid;
@@ -89,7 +88,6 @@
 import org.apache.isis.core.runtime.persistence.query.PersistenceQueryFindUsingApplibQueryDefault;
 import org.apache.isis.core.runtime.persistence.query.PersistenceQueryFindUsingApplibQuerySerializable;
 import org.apache.isis.core.runtime.services.RequestScopedService;
-import org.apache.isis.core.runtime.services.eventbus.EventBusServiceDefault;
 import org.apache.isis.core.runtime.system.context.IsisContext;
 import org.apache.isis.core.runtime.system.transaction.EnlistedObjectDirtying;
 import org.apache.isis.core.runtime.system.transaction.IsisTransactionManager;
@@ -280,10 +278,6 @@ private void closeServices() {
         if(bulkInteractionContext != null) {
             Bulk.InteractionContext.current.set(null);
         }
-        // a bit of a hack
-        if(eventBusService != null) {
-            eventBusService.close();
-        }
     }
 
     /**
@@ -317,14 +311,6 @@ private void createServiceAdapters() {
                 registerService(persistentOid);
             }
             
-            // a bit of a hack
-            final Object object = serviceAdapter.getObject();
-            if(object instanceof EventBusServiceDefault) {
-                eventBusService = (EventBusServiceDefault) object;
-                EventBusServiceDefault ebs = eventBusService;
-                ebs.open();
-            }
-
             if(service instanceof Bulk.InteractionContext) {
                 bulkInteractionContext = (Bulk.InteractionContext) service;
                 Bulk.InteractionContext.current.set(bulkInteractionContext);
@@ -1008,7 +994,6 @@ public void removeAdapter(ObjectAdapter adapter) {
 
     private Map<Oid, Oid> persistentByTransient = Maps.newHashMap();
 
-    private EventBusServiceDefault eventBusService;
     private Bulk.InteractionContext bulkInteractionContext;
 
     /**
@@ -1179,7 +1164,7 @@ public final OidGenerator getOidGenerator() {
      * <p>
      * Injected in constructor.
      */
-    public final AdapterManager getAdapterManager() {
+    public final AdapterManagerSpi getAdapterManager() {
         return adapterManager;
     }
 
@@ -30,6 +30,7 @@
 import org.apache.isis.core.runtime.persistence.PersistenceSessionFactoryDelegate;
 import org.apache.isis.core.runtime.persistence.adaptermanager.PojoRecreator;
 import org.apache.isis.core.runtime.system.DeploymentType;
+import org.apache.isis.core.runtime.system.transaction.pipeline.EventPipeline;
 
 /**
  * @see PersistenceSessionFactoryDelegate
@@ -49,6 +50,11 @@ public interface PersistenceSessionFactory extends ClassSubstitutorFactory, Meta
     IdentifierGenerator getIdentifierGenerator();
     ServicesInjectorSpi getServicesInjector();
 
+    /**
+     * Optional; <tt>null</tt> unless {@link EventPipeline#ASYNC_KEY configured}.
+     */
+    EventPipeline getEventPipeline();
+
     
     // //////////////////////////////////////////////////////
     // main API
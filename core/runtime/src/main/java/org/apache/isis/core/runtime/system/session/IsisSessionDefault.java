@@ -26,6 +26,7 @@
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.common.eventbus.EventBus;
 
@@ -62,7 +63,7 @@ public class IsisSessionDefault implements IsisSession {
     private static final Logger LOG = LoggerFactory.getLogger(IsisSessionDefault.class);
 
     private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("dd/MM HH:mm:ss,SSS");
-    private static int nextId = 1;
+    private static final AtomicInteger nextId = new AtomicInteger(1);
 
     private final IsisSessionFactory executionContextFactory;
 
@@ -95,7 +96,7 @@ public IsisSessionDefault(final IsisSessionFactory sessionFactory, final Authent
 
         setSessionOpenTime(System.currentTimeMillis());
 
-        this.id = nextId++;
+        this.id = nextId.getAndIncrement();
         
     }
 
@@ -105,8 +106,6 @@ public IsisSessionDefault(final IsisSessionFactory sessionFactory, final Authent
 
     @Override
     public void open() {
-        this.eventBus = new EventBus();
-        
         persistenceSession.open();
     }
 
@@ -251,8 +250,15 @@ public IsisTransaction getCurrentTransaction() {
         return getTransactionManager().getTransaction();
     }
 
+    /**
+     * Created lazily, since events are normally dispatched by the <tt>EventBusServiceDefault</tt>
+     * rather than through this session-scoped bus.
+     */
     @Override
     public EventBus getEventBus() {
+        if (eventBus == null) {
+            eventBus = new EventBus();
+        }
         return eventBus;
     }
 
@@ -50,6 +50,7 @@
 import org.apache.isis.applib.services.audit.AuditingService;
 import org.apache.isis.applib.services.audit.AuditingService2;
 import org.apache.isis.applib.services.publish.EventMetadata;
+import org.apache.isis.applib.services.publish.EventPayload;
 import org.apache.isis.applib.services.publish.EventType;
 import org.apache.isis.applib.services.publish.ObjectStringifier;
 import org.apache.isis.core.commons.authentication.AuthenticationSession;
@@ -79,6 +80,8 @@
 import org.apache.isis.core.runtime.persistence.objectstore.transaction.SaveObjectCommand;
 import org.apache.isis.core.runtime.persistence.objectstore.transaction.TransactionalResource;
 import org.apache.isis.core.runtime.system.context.IsisContext;
+import org.apache.isis.core.runtime.system.transaction.pipeline.EventPipeline;
+import org.apache.isis.core.runtime.system.transaction.pipeline.TransactionEvents;
 
 /**
  * Used by the {@link IsisTransactionManager} to captures a set of changes to be
@@ -181,7 +184,7 @@ public boolean mustAbort() {
     private static final Logger LOG = LoggerFactory.getLogger(IsisTransaction.class);
 
     private final TransactionalResource objectStore;
-    private final List<PersistenceCommand> commands = Lists.newArrayList();
+    private final PersistenceCommandQueue commands = new PersistenceCommandQueue();
     private final IsisTransactionManager transactionManager;
     private final org.apache.isis.core.commons.authentication.MessageBroker messageBroker;
     private final UpdateNotifier updateNotifier;
@@ -200,6 +203,15 @@ public boolean mustAbort() {
      * could be null if none has been registered
      */
     private final PublishingServiceWithDefaultPayloadFactories publishingService;
+    /**
+     * could be null if not configured
+     */
+    private final EventPipeline eventPipeline;
+    /**
+     * Populated only while {@link #commit() committing} (and until
+     * {@link #submitPipelinedEvents() submitted}), if there is an {@link #eventPipeline}. 
+     */
+    private TransactionEvents pipelinedEvents;
 
     private State state;
 
@@ -209,6 +221,10 @@ public boolean mustAbort() {
     private int eventSequence;
 
     public IsisTransaction(final IsisTransactionManager transactionManager, final org.apache.isis.core.commons.authentication.MessageBroker messageBroker, final UpdateNotifier updateNotifier, final TransactionalResource objectStore, final AuditingService auditingService, PublishingServiceWithDefaultPayloadFactories publishingService) {
+        this(transactionManager, messageBroker, updateNotifier, objectStore, auditingService, publishingService, null);
+    }
+
+    public IsisTransaction(final IsisTransactionManager transactionManager, final org.apache.isis.core.commons.authentication.MessageBroker messageBroker, final UpdateNotifier updateNotifier, final TransactionalResource objectStore, final AuditingService auditingService, PublishingServiceWithDefaultPayloadFactories publishingService, final EventPipeline eventPipeline) {
         
         ensureThatArg(transactionManager, is(not(nullValue())), "transaction manager is required");
         ensureThatArg(messageBroker, is(not(nullValue())), "message broker is required");
@@ -220,6 +236,7 @@ public IsisTransaction(final IsisTransactionManager transactionManager, final or
         this.auditingService = auditingService;
         this.auditingService2 = (AuditingService2) (auditingService instanceof AuditingService2? auditingService: null);
         this.publishingService = publishingService;
+        this.eventPipeline = eventPipeline;
 
         this.guid = UUID.randomUUID();
         this.eventSequence = 0;
@@ -384,8 +401,7 @@ private void doFlush() {
         do {
             // We take a copy of the commands to be executed (executing these
             // might add to this.commands).
-            final List<PersistenceCommand> commandsPrior = 
-                    Collections.unmodifiableList(Lists.newArrayList(commands));
+            final List<PersistenceCommand> commandsPrior = commands.snapshot();
             try {
                 objectStore.execute(commandsPrior);
                 for (final PersistenceCommand command : commandsPrior) {
@@ -408,8 +424,7 @@ private void doFlush() {
         
         if(!commands.isEmpty()) {
             // must have hit max flush
-            final List<PersistenceCommand> commandsStillToFlush = 
-                    Collections.unmodifiableList(Lists.newArrayList(commands));
+            final List<PersistenceCommand> commandsStillToFlush = commands.snapshot();
             commands.clear();
             throw new ObjectPersistenceException("Failed to flush transaction after " + MAX_FLUSH_ATTEMPTS + " attempts; commands still to flush:\n " + commandsStillToFlush.toString());
         }
@@ -451,7 +466,7 @@ protected void publishActionIfRequired(final String currentUser, final long curr
             final String title = oidStr + ": " + currentInvocation.getAction().getIdentifier().toNameParmsIdentityString();
             
             final EventMetadata metadata = newEventMetadata(EventType.ACTION_INVOCATION, currentUser, currentTimestampEpoch, title);
-            publishingService.publishAction(payloadFactory, metadata, currentInvocation, objectStringifier());
+            publish(metadata, publishingService.payloadForAction(payloadFactory, currentInvocation, objectStringifier()));
         } finally {
             // ensures that cannot publish this action more than once
             ActionInvocationFacet.currentInvocation.set(null);
@@ -483,11 +498,23 @@ protected List<ObjectAdapter> publishedChangedObjectsIfRequired(final String cur
         
             final EventMetadata metadata = newEventMetadata(eventTypeFor(changeKind), currentUser, currentTimestampEpoch, title);
         
-            publishingService.publishObject(payloadFactory, metadata, enlistedAdapter, changeKind, objectStringifier());
+            publish(metadata, publishingService.payloadForObject(payloadFactory, enlistedAdapter, changeKind, objectStringifier()));
         }
         return enlistedAdapters;
     }
 
+    /**
+     * Publishes immediately, or (if there is an {@link EventPipeline}) serializes
+     * the event so that it can be published once the transaction has committed.
+     */
+    private void publish(final EventMetadata metadata, final EventPayload payload) {
+        if(pipelinedEvents != null) {
+            pipelinedEvents.addPublished(metadata, eventPipeline.serialize(metadata, payload));
+        } else {
+            publishingService.publish(metadata, payload);
+        }
+    }
+
     private static EventType eventTypeFor(ChangeKind changeKind) {
         if(changeKind == ChangeKind.UPDATE) {
             return EventType.OBJECT_UPDATED;
@@ -554,7 +581,9 @@ private void auditChangedProperty(final String currentUser, final long currentTi
         final String preValue = asString(papv.getPre());
         final String postValue = asString(papv.getPost());
         final String propertyId = aap.getProperty().getId();
-        if(auditingService2 != null) {
+        if(pipelinedEvents != null) {
+            pipelinedEvents.addAudit(currentUser, currentTimestampEpoch, objectType, identifier, propertyId, preValue, postValue);
+        } else if(auditingService2 != null) {
             auditingService2.audit(currentUser, currentTimestampEpoch, objectType, identifier, propertyId, preValue, postValue);
         } else {
             auditingService.audit(currentUser, currentTimestampEpoch, objectType, identifier, preValue, postValue);
@@ -594,6 +623,9 @@ public synchronized final void commit() {
         
 
         try {
+            if(eventPipeline != null) {
+                pipelinedEvents = new TransactionEvents(getGuid());
+            }
             doAudit(getChangedObjectProperties());
             
             final String currentUser = getTransactionManager().getAuthenticationSession().getUserName();
@@ -607,11 +639,30 @@ public synchronized final void commit() {
             
             setState(State.COMMITTED);
         } catch (final RuntimeException ex) {
+            pipelinedEvents = null;
             setAbortCause(new IsisTransactionManagerException(ex));
             throw ex;
         }
     }
 
+    /**
+     * Hands any audit entries and published events captured during {@link #commit()} 
+     * to the {@link EventPipeline}.
+     * 
+     * <p>
+     * Called by the {@link IsisTransactionManager} only once the underlying object store
+     * has also committed, so that nothing is published for a transaction that was
+     * subsequently rolled back.
+     */
+    void submitPipelinedEvents() {
+        if(pipelinedEvents == null) {
+            return;
+        }
+        final TransactionEvents events = pipelinedEvents;
+        pipelinedEvents = null;
+        eventPipeline.submit(events);
+    }
+
     
 
 
@@ -626,6 +677,7 @@ public synchronized final void markAsAborted() {
             LOG.info("abort transaction " + this);
         }
 
+        pipelinedEvents = null;
         setState(State.ABORTED);
     }
 
@@ -673,44 +725,24 @@ public void clearAbortCause() {
     // Helpers
     // //////////////////////////////////////////////////////////
 
-    private boolean alreadyHasCommand(final Class<?> commandClass, final ObjectAdapter onObject) {
-        return getCommand(commandClass, onObject) != null;
-    }
-
     private boolean alreadyHasCreate(final ObjectAdapter onObject) {
-        return alreadyHasCommand(CreateObjectCommand.class, onObject);
+        return commands.contains(PersistenceCommandQueue.Kind.CREATE, onObject);
     }
 
     private boolean alreadyHasDestroy(final ObjectAdapter onObject) {
-        return alreadyHasCommand(DestroyObjectCommand.class, onObject);
+        return commands.contains(PersistenceCommandQueue.Kind.DESTROY, onObject);
     }
 
     private boolean alreadyHasSave(final ObjectAdapter onObject) {
-        return alreadyHasCommand(SaveObjectCommand.class, onObject);
-    }
-
-    private PersistenceCommand getCommand(final Class<?> commandClass, final ObjectAdapter onObject) {
-        for (final PersistenceCommand command : commands) {
-            if (command.onAdapter().equals(onObject)) {
-                if (commandClass.isAssignableFrom(command.getClass())) {
-                    return command;
-                }
-            }
-        }
-        return null;
-    }
-
-    private void removeCommand(final Class<?> commandClass, final ObjectAdapter onObject) {
-        final PersistenceCommand toDelete = getCommand(commandClass, onObject);
-        commands.remove(toDelete);
+        return commands.contains(PersistenceCommandQueue.Kind.SAVE, onObject);
     }
 
     private void removeCreate(final ObjectAdapter onObject) {
-        removeCommand(CreateObjectCommand.class, onObject);
+        commands.remove(PersistenceCommandQueue.Kind.CREATE, onObject);
     }
 
     private void removeSave(final ObjectAdapter onObject) {
-        removeCommand(SaveObjectCommand.class, onObject);
+        commands.remove(PersistenceCommandQueue.Kind.SAVE, onObject);
     }
 
     // ////////////////////////////////////////////////////////////////
@@ -961,7 +993,23 @@ public void enlistDeleting(ObjectAdapter adapter) {
     private void enlist(ObjectAdapter adapter, ChangeKind changeKind) {
         changeKindByEnlistedAdapter.put(adapter, changeKind);
     }
-    
+
+    /**
+     * The pojos of all {@link ObjectAdapter}s enlisted (created, updated or deleted) in this transaction,
+     * for the {@link IsisTransactionManager} to pass to any
+     * {@link org.apache.isis.applib.services.transaction.TransactionCommittedListener}s.
+     */
+    Set<Object> getEnlistedPojos() {
+        final Set<Object> pojos = Sets.newLinkedHashSet();
+        for (final ObjectAdapter enlistedAdapter : changeKindByEnlistedAdapter.keySet()) {
+            final Object pojo = enlistedAdapter.getObject();
+            if(pojo != null) {
+                pojos.add(pojo);
+            }
+        }
+        return Collections.unmodifiableSet(pojos);
+    }
+
     
     /**
      * Returns the pre- and post-values of all {@link ObjectAdapter}s that were enlisted and dirtied
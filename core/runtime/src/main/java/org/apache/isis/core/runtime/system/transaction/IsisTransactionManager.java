@@ -26,7 +26,9 @@
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,6 +43,7 @@
 import org.apache.isis.applib.services.publish.EventPayloadForObjectChanged;
 import org.apache.isis.applib.services.publish.EventSerializer;
 import org.apache.isis.applib.services.publish.PublishingService;
+import org.apache.isis.applib.services.transaction.TransactionCommittedListener;
 import org.apache.isis.core.commons.authentication.AuthenticationSession;
 import org.apache.isis.core.commons.components.SessionScopedComponent;
 import org.apache.isis.core.commons.debug.DebugBuilder;
@@ -54,6 +57,7 @@
 import org.apache.isis.core.runtime.system.context.IsisContext;
 import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
 import org.apache.isis.core.runtime.system.session.IsisSession;
+import org.apache.isis.core.runtime.system.transaction.pipeline.EventPipeline;
 
 public class IsisTransactionManager implements SessionScopedComponent {
 
@@ -71,6 +75,14 @@ public class IsisTransactionManager implements SessionScopedComponent {
      * Could be null.
      */
     private final PublishingServiceWithDefaultPayloadFactories publishingService;
+    /**
+     * Could be null.
+     */
+    private EventPipeline eventPipeline;
+    /**
+     * Never null, but could be empty.
+     */
+    private final List<TransactionCommittedListener> committedListeners;
 
     private IsisSession session;
 
@@ -92,6 +104,7 @@ public IsisTransactionManager(final PersistenceSession persistenceSession, final
         
         this.auditingService = (AuditingService) servicesInjectorSpi.lookupService(AuditingService.class);
         this.publishingService = getPublishingServiceIfAny(servicesInjectorSpi);
+        this.committedListeners = getCommittedListeners(servicesInjectorSpi);
     }
     
     
@@ -261,7 +274,7 @@ private IsisTransaction createTransaction(final org.apache.isis.core.commons.aut
         ensureThatArg(messageBroker, is(not(nullValue())));
         ensureThatArg(updateNotifier, is(not(nullValue())));
 
-        return new IsisTransaction(this, messageBroker, updateNotifier, transactionalResource, auditingService, publishingService);
+        return new IsisTransaction(this, messageBroker, updateNotifier, transactionalResource, auditingService, publishingService, eventPipeline);
     }
     
 
@@ -416,6 +429,9 @@ public synchronized void endTransaction() {
                 
                 throw abortCause;
             }
+
+            getTransaction().submitPipelinedEvents();
+            notifyCommittedListeners();
         } else if (transactionLevel < 0) {
             LOG.error("endTransaction: transactionLevel=" + transactionLevel);
             transactionLevel = 0;
@@ -437,6 +453,37 @@ public void addCommand(final PersistenceCommand command) {
     }
 
     
+    // ///////////////////////////////////////////
+    // Committed listeners
+    // ///////////////////////////////////////////
+
+    private static List<TransactionCommittedListener> getCommittedListeners(final ServicesInjectorSpi servicesInjectorSpi) {
+        final List<TransactionCommittedListener> listeners = servicesInjectorSpi.lookupServices(TransactionCommittedListener.class);
+        return listeners != null ? listeners : Collections.<TransactionCommittedListener>emptyList();
+    }
+
+    /**
+     * The transaction has already been committed, so a failing listener is logged rather than
+     * allowed to propagate (which would otherwise suggest to the caller that it had been aborted).
+     */
+    private void notifyCommittedListeners() {
+        if(committedListeners.isEmpty()) {
+            return;
+        }
+        final Set<Object> changedObjects = getTransaction().getEnlistedPojos();
+        if(changedObjects.isEmpty()) {
+            return;
+        }
+        for (final TransactionCommittedListener listener : committedListeners) {
+            try {
+                listener.committed(changedObjects);
+            } catch(RuntimeException ex) {
+                LOG.error("TransactionCommittedListener " + listener + " failed", ex);
+            }
+        }
+    }
+
+    
     // ///////////////////////////////////////////
     // Publishing service
     // ///////////////////////////////////////////
@@ -561,6 +608,18 @@ public void setSession(final IsisSession session) {
         this.session = session;
     }
 
+    /**
+     * The (optional) {@link EventPipeline} through which audit entries and published
+     * events are delivered asynchronously.
+     * 
+     * <p>
+     * Injected (if at all) prior to {@link #open() opening}; if <tt>null</tt> then
+     * auditing and publishing happens synchronously within the transaction.
+     */
+    public void setEventPipeline(final EventPipeline eventPipeline) {
+        this.eventPipeline = eventPipeline;
+    }
+
     
     // ////////////////////////////////////////////////////////////////
     // Dependencies (from context)
@@ -0,0 +1,182 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.system.transaction;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.base.Objects;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.runtime.persistence.objectstore.transaction.CreateObjectCommand;
+import org.apache.isis.core.runtime.persistence.objectstore.transaction.DestroyObjectCommand;
+import org.apache.isis.core.runtime.persistence.objectstore.transaction.PersistenceCommand;
+import org.apache.isis.core.runtime.persistence.objectstore.transaction.SaveObjectCommand;
+
+/**
+ * The pending {@link PersistenceCommand}s of an {@link IsisTransaction}, held
+ * in the order that they were added but indexed by adapter and
+ * {@link Kind kind of command}.
+ *
+ * <p>
+ * This allows the transaction to coalesce create/save/destroy commands for
+ * the same adapter in constant time, rather than scanning every pending
+ * command (which made bulk transactions quadratic).
+ */
+public class PersistenceCommandQueue {
+
+    public static enum Kind {
+        CREATE(CreateObjectCommand.class),
+        SAVE(SaveObjectCommand.class),
+        DESTROY(DestroyObjectCommand.class),
+        /**
+         * Any other type of command; these are never coalesced.
+         */
+        OTHER(PersistenceCommand.class);
+
+        private final Class<? extends PersistenceCommand> commandType;
+
+        private Kind(final Class<? extends PersistenceCommand> commandType) {
+            this.commandType = commandType;
+        }
+
+        public static Kind of(final PersistenceCommand command) {
+            for (final Kind kind : values()) {
+                if (kind.commandType.isInstance(command)) {
+                    return kind;
+                }
+            }
+            return OTHER;
+        }
+    }
+
+    private final Map<Key, PersistenceCommand> commandsByKey = Maps.newLinkedHashMap();
+
+    // //////////////////////////////////////////////////////////
+    // add, contains, remove
+    // //////////////////////////////////////////////////////////
+
+    /**
+     * Appends the command; any existing command of the same {@link Kind} for
+     * the same adapter is replaced (though the transaction checks for this
+     * first, using {@link #contains(Kind, ObjectAdapter)}).
+     */
+    public void add(final PersistenceCommand command) {
+        commandsByKey.put(keyFor(command), command);
+    }
+
+    public boolean contains(final Kind kind, final ObjectAdapter onObject) {
+        return commandsByKey.containsKey(new Key(kind, onObject, null));
+    }
+
+    public PersistenceCommand remove(final Kind kind, final ObjectAdapter onObject) {
+        return commandsByKey.remove(new Key(kind, onObject, null));
+    }
+
+    /**
+     * Removes each of the provided commands, provided that they are still the
+     * command held for their adapter and {@link Kind kind}.
+     */
+    public void removeAll(final Collection<PersistenceCommand> commands) {
+        for (final PersistenceCommand command : commands) {
+            final Key key = keyFor(command);
+            if (commandsByKey.get(key) == command) {
+                commandsByKey.remove(key);
+            }
+        }
+    }
+
+    public void clear() {
+        commandsByKey.clear();
+    }
+
+    // //////////////////////////////////////////////////////////
+    // snapshot, size
+    // //////////////////////////////////////////////////////////
+
+    /**
+     * An immutable copy of the pending commands, in the order they were added.
+     */
+    public List<PersistenceCommand> snapshot() {
+        return Collections.unmodifiableList(Lists.newArrayList(commandsByKey.values()));
+    }
+
+    public boolean isEmpty() {
+        return commandsByKey.isEmpty();
+    }
+
+    public int size() {
+        return commandsByKey.size();
+    }
+
+    @Override
+    public String toString() {
+        return commandsByKey.values().toString();
+    }
+
+    // //////////////////////////////////////////////////////////
+    // Key
+    // //////////////////////////////////////////////////////////
+
+    private static Key keyFor(final PersistenceCommand command) {
+        final Kind kind = Kind.of(command);
+        return kind == Kind.OTHER
+                ? new Key(kind, command.onAdapter(), command)
+                : new Key(kind, command.onAdapter(), null);
+    }
+
+    private static final class Key {
+        private final Kind kind;
+        private final ObjectAdapter adapter;
+        /**
+         * Only populated for {@link Kind#OTHER}, compared by identity.
+         */
+        private final PersistenceCommand command;
+        private final int hashCode;
+
+        private Key(final Kind kind, final ObjectAdapter adapter, final PersistenceCommand command) {
+            this.kind = kind;
+            this.adapter = adapter;
+            this.command = command;
+            this.hashCode = 31 * (31 * kind.hashCode() + (adapter == null ? 0 : adapter.hashCode())) + (command == null ? 0 : System.identityHashCode(command));
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return kind == other.kind && command == other.command && Objects.equal(adapter, other.adapter);
+        }
+    }
+}
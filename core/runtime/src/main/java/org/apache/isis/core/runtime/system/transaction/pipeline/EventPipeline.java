@@ -0,0 +1,541 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.system.transaction.pipeline;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.collect.Lists;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.applib.services.audit.AuditingService;
+import org.apache.isis.applib.services.publish.EventMetadata;
+import org.apache.isis.applib.services.publish.EventPayload;
+import org.apache.isis.applib.services.publish.EventSerializer;
+import org.apache.isis.applib.services.publish.PublishingService;
+import org.apache.isis.core.commons.config.ConfigurationConstants;
+import org.apache.isis.core.commons.config.IsisConfiguration;
+import org.apache.isis.core.commons.exceptions.IsisException;
+import org.apache.isis.core.metamodel.services.ServicesInjectorSpi;
+import org.apache.isis.core.runtime.system.context.IsisContext;
+import org.apache.isis.core.runtime.system.internal.InitialisationSession;
+import org.apache.isis.core.runtime.system.transaction.IsisTransaction;
+import org.apache.isis.core.runtime.system.transaction.TransactionalClosureAbstract;
+
+/**
+ * Optional stage between {@link IsisTransaction} and the {@link AuditingService}
+ * and {@link PublishingService}, which moves their (potentially expensive)
+ * work off the commit path.
+ *
+ * <p>
+ * On commit, the transaction captures its audit entries and serializes its
+ * published events (using the {@link EventSerializer}) into a
+ * {@link TransactionEvents}, and {@link #submit(TransactionEvents) submits}
+ * it to a bounded queue. Background threads drain these queues in batches,
+ * each batch being delivered to the services within a single (background)
+ * session and transaction.
+ *
+ * <p>
+ * The events of any one transaction are always delivered together and in
+ * order; transactions are assigned to a lane (one thread each) by the hash
+ * of their GUID.
+ *
+ * <p>
+ * A batch that fails to be delivered is retried (backing off) for as long as
+ * the pipeline is running; if it still has not been delivered on shutdown then
+ * it remains in the spool (if any), to be recovered on the next startup.
+ *
+ * <p>
+ * Enabled using {@value #ASYNC_KEY}; see also {@value #LANES_KEY},
+ * {@value #QUEUE_CAPACITY_KEY}, {@value #BATCH_SIZE_KEY},
+ * {@value #BACKPRESSURE_KEY} and {@value #SPOOL_DIRECTORY_KEY}.
+ */
+public class EventPipeline {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EventPipeline.class);
+
+    private static final String ROOT = ConfigurationConstants.ROOT + "persistor.eventpipeline.";
+
+    public static final String ASYNC_KEY = ROOT + "async";
+    public static final boolean ASYNC_DEFAULT = false;
+
+    public static final String LANES_KEY = ROOT + "lanes";
+    public static final int LANES_DEFAULT = 1;
+
+    /**
+     * Maximum number of transactions queued (per lane) before
+     * {@link Backpressure back-pressure} applies.
+     */
+    public static final String QUEUE_CAPACITY_KEY = ROOT + "queueCapacity";
+    public static final int QUEUE_CAPACITY_DEFAULT = 1000;
+
+    /**
+     * Maximum number of transactions delivered within a single background
+     * transaction.
+     */
+    public static final String BATCH_SIZE_KEY = ROOT + "batchSize";
+    public static final int BATCH_SIZE_DEFAULT = 50;
+
+    public static final String BACKPRESSURE_KEY = ROOT + "backpressure";
+    public static final String BACKPRESSURE_DEFAULT = Backpressure.BLOCK.name().toLowerCase();
+
+    /**
+     * If specified, then queued transactions are also spooled to a file in
+     * this directory, and any left undelivered are recovered on startup.
+     */
+    public static final String SPOOL_DIRECTORY_KEY = ROOT + "spoolDirectory";
+
+    public static enum Backpressure {
+        /**
+         * Block the committing thread until there is room in the queue.
+         */
+        BLOCK,
+        /**
+         * Deliver the events synchronously: the committing thread waits while
+         * they are delivered (in their own session and transaction, as for
+         * any other batch).
+         */
+        SYNCHRONOUS;
+
+        public static Backpressure parse(final String str) {
+            return valueOf(str.trim().toUpperCase());
+        }
+    }
+
+    /**
+     * Returns a pipeline if {@link #ASYNC_KEY enabled}, otherwise
+     * <tt>null</tt>.
+     */
+    public static EventPipeline createIfConfigured(final IsisConfiguration configuration) {
+        if (!configuration.getBoolean(ASYNC_KEY, ASYNC_DEFAULT)) {
+            return null;
+        }
+        final String spoolDirectory = configuration.getString(SPOOL_DIRECTORY_KEY);
+        return new EventPipeline(
+                configuration.getInteger(LANES_KEY, LANES_DEFAULT),
+                configuration.getInteger(QUEUE_CAPACITY_KEY, QUEUE_CAPACITY_DEFAULT),
+                configuration.getInteger(BATCH_SIZE_KEY, BATCH_SIZE_DEFAULT),
+                Backpressure.parse(configuration.getString(BACKPRESSURE_KEY, BACKPRESSURE_DEFAULT)),
+                spoolDirectory != null ? new File(spoolDirectory) : null);
+    }
+
+    private static final long RETRY_BACKOFF_INITIAL_MILLIS = 100;
+    private static final long RETRY_BACKOFF_MAX_MILLIS = 30000;
+
+    private final List<Lane> lanes = Lists.newArrayList();
+    private final int batchSize;
+    private final Backpressure backpressure;
+
+    private AuditingService auditingService;
+    private PublishingService publishingService;
+    private EventSerializer eventSerializer;
+
+    private ExecutorService executor;
+    private volatile boolean running;
+
+    /**
+     * For transactions that cannot be queued, see {@link #deliverOnSeparateThread(List, Lane)}.
+     * Threads are created only on demand, and are not retained once idle.
+     */
+    private final ExecutorService fallbackExecutor = Executors.newCachedThreadPool(new ThreadFactory() {
+        private final AtomicInteger threadNumber = new AtomicInteger();
+        @Override
+        public Thread newThread(final Runnable r) {
+            final Thread thread = new Thread(r, "isis-eventpipeline-fallback-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    public EventPipeline(final int numberOfLanes, final int queueCapacity, final int batchSize, final Backpressure backpressure, final File spoolDirectory) {
+        if (numberOfLanes < 1 || queueCapacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("lanes, queue capacity and batch size must all be positive");
+        }
+        if (spoolDirectory != null && !spoolDirectory.isDirectory() && !spoolDirectory.mkdirs()) {
+            throw new IsisException("unable to create event spool directory " + spoolDirectory);
+        }
+        for (int i = 0; i < numberOfLanes; i++) {
+            final EventPipelineSpool spool = spoolDirectory != null ? new EventPipelineSpool(new File(spoolDirectory, "lane-" + i + ".spool")) : null;
+            lanes.add(new Lane(i, queueCapacity, spool));
+        }
+        this.batchSize = batchSize;
+        this.backpressure = backpressure;
+    }
+
+    // //////////////////////////////////////////////////////////
+    // init, shutdown
+    // //////////////////////////////////////////////////////////
+
+    /**
+     * Looks up the services and starts the background threads, then
+     * re-queues any transactions recovered from the spool.
+     *
+     * <p>
+     * The {@link PublishingService} is given a
+     * {@link PreSerializedEventPayload.PassThrough pass-through} serializer,
+     * because events are serialized (by the original {@link EventSerializer})
+     * before they are queued.
+     */
+    public void init(final ServicesInjectorSpi servicesInjector) {
+        auditingService = servicesInjector.lookupService(AuditingService.class);
+        publishingService = servicesInjector.lookupService(PublishingService.class);
+        eventSerializer = servicesInjector.lookupService(EventSerializer.class);
+        if (eventSerializer == null) {
+            eventSerializer = new EventSerializer.Simple();
+        }
+        if (publishingService != null) {
+            publishingService.setEventSerializer(new PreSerializedEventPayload.PassThrough(eventSerializer));
+        }
+
+        running = true;
+        executor = Executors.newFixedThreadPool(lanes.size(), new ThreadFactory() {
+            private final AtomicInteger threadNumber = new AtomicInteger();
+            @Override
+            public Thread newThread(final Runnable r) {
+                final Thread thread = new Thread(r, "isis-eventpipeline-" + threadNumber.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        for (final Lane lane : lanes) {
+            executor.execute(lane);
+        }
+
+        for (final Lane lane : lanes) {
+            lane.recover();
+        }
+    }
+
+    /**
+     * Stops accepting new work, and waits for the queues to drain.
+     */
+    public void shutdown() {
+        running = false;
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                LOG.warn("event pipeline did not drain within 30 seconds; undelivered events remain spooled (if a spool directory was configured)");
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        for (final Lane lane : lanes) {
+            lane.close();
+        }
+    }
+
+    // //////////////////////////////////////////////////////////
+    // serialize, submit
+    // //////////////////////////////////////////////////////////
+
+    /**
+     * Serializes the published event on the commit path, while the domain
+     * objects referenced by the payload are still accessible.
+     */
+    public Object serialize(final EventMetadata metadata, final EventPayload payload) {
+        return eventSerializer.serialize(metadata, payload);
+    }
+
+    public void submit(final TransactionEvents transactionEvents) {
+        if (transactionEvents.isEmpty()) {
+            return;
+        }
+        if (!running) {
+            deliverOnSeparateThread(Collections.singletonList(transactionEvents), null);
+            return;
+        }
+        laneFor(transactionEvents).submit(transactionEvents);
+    }
+
+    private Lane laneFor(final TransactionEvents transactionEvents) {
+        final int hash = transactionEvents.getTransactionId().hashCode();
+        return lanes.get((hash & Integer.MAX_VALUE) % lanes.size());
+    }
+
+    // //////////////////////////////////////////////////////////
+    // deliver
+    // //////////////////////////////////////////////////////////
+
+    /**
+     * Delivers a batch from a background thread, within its own session and
+     * transaction.
+     *
+     * <p>
+     * Overridable for testing.
+     */
+    protected void deliver(final List<TransactionEvents> batch) {
+        IsisContext.openSession(new InitialisationSession());
+        try {
+            IsisContext.getTransactionManager().executeWithinTransaction(new TransactionalClosureAbstract() {
+                @Override
+                public void execute() {
+                    for (final TransactionEvents transactionEvents : batch) {
+                        deliverDirectly(transactionEvents);
+                    }
+                }
+            });
+        } finally {
+            IsisContext.closeSession();
+        }
+    }
+
+    /**
+     * Delivers on the current thread, within the current session and
+     * transaction (as opened by {@link #deliver(List)}).
+     */
+    protected void deliverDirectly(final TransactionEvents transactionEvents) {
+        for (final QueuedEvent event : transactionEvents.getEvents()) {
+            event.deliver(auditingService, publishingService);
+        }
+    }
+
+    /**
+     * Delivers a batch that could not be queued (because the pipeline is not
+     * running, the lane is full or the committing thread was interrupted),
+     * waiting for it to complete unless interrupted.
+     *
+     * <p>
+     * Although the caller waits, the batch is delivered on a separate thread:
+     * {@link #deliver(List)} requires its own session and transaction, whereas
+     * the committing thread still has its own session open, and its
+     * transaction has already been committed.
+     *
+     * @param lane - if not <tt>null</tt>, the lane whose spool holds the batch;
+     * it must already have counted the batch as
+     * {@link Lane#deliveringOutsideLane delivering outside the lane}.
+     */
+    private void deliverOnSeparateThread(final List<TransactionEvents> batch, final Lane lane) {
+        final Future<?> future = fallbackExecutor.submit(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    deliver(batch);
+                } catch (final RuntimeException ex) {
+                    LOG.error("failed to deliver " + batch, ex);
+                    if (lane != null) {
+                        lane.undeliveredInSpool = true;
+                    }
+                } finally {
+                    if (lane != null) {
+                        lane.deliveringOutsideLane.decrementAndGet();
+                    }
+                }
+            }
+        });
+        try {
+            future.get();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            LOG.warn("interrupted while waiting for delivery of " + batch + "; delivery continues in the background");
+        } catch (final ExecutionException ex) {
+            // already logged
+        }
+    }
+
+    // //////////////////////////////////////////////////////////
+    // Lane
+    // //////////////////////////////////////////////////////////
+
+    private class Lane implements Runnable {
+
+        private final int number;
+        private final BlockingQueue<TransactionEvents> queue;
+        private final EventPipelineSpool spool;
+
+        /**
+         * Guards the {@link #spool}, so that it is never {@link EventPipelineSpool#truncate() truncated}
+         * between a transaction being appended and that transaction being accounted for (by
+         * {@link #spooledNotYetQueued}).  Never held while waiting for space in the {@link #queue}.
+         */
+        private final Object spoolLock = new Object();
+        /**
+         * Number of this lane's transactions that have been spooled, but are neither yet in the 
+         * {@link #queue} nor counted as {@link #deliveringOutsideLane delivering outside the lane}.
+         */
+        private final AtomicInteger spooledNotYetQueued = new AtomicInteger();
+        /**
+         * Number of this lane's (spooled) transactions currently being
+         * {@link EventPipeline#deliverOnSeparateThread(List, Lane) delivered outside of the lane}.
+         */
+        final AtomicInteger deliveringOutsideLane = new AtomicInteger();
+        /**
+         * Set once any of this lane's spooled transactions could not be
+         * delivered, after which the spool is retained (rather than
+         * {@link EventPipelineSpool#truncate() truncated}) so that they are
+         * recovered on the next startup.
+         */
+        volatile boolean undeliveredInSpool;
+
+        Lane(final int number, final int capacity, final EventPipelineSpool spool) {
+            this.number = number;
+            this.queue = new ArrayBlockingQueue<TransactionEvents>(capacity);
+            this.spool = spool;
+        }
+
+        void recover() {
+            if (spool == null) {
+                return;
+            }
+            final List<TransactionEvents> recovered = spool.readAll();
+            if (recovered.isEmpty()) {
+                return;
+            }
+            LOG.info("lane " + number + ": recovered " + recovered.size() + " undelivered transaction(s) from " + spool.getFile());
+            // each is re-spooled as it is re-queued
+            synchronized (spoolLock) {
+                spool.truncate();
+            }
+            for (final TransactionEvents transactionEvents : recovered) {
+                submit(transactionEvents);
+            }
+        }
+
+        void submit(final TransactionEvents transactionEvents) {
+            if (!enqueue(transactionEvents)) {
+                // outside of the lock, so as not to block other submitters
+                deliverOnSeparateThread(Collections.singletonList(transactionEvents), this);
+            }
+        }
+
+        /**
+         * Only the spooling is done under the {@link #spoolLock}; the transaction is then counted as
+         * {@link #spooledNotYetQueued} until it is queued (or handed back for delivery), so that the 
+         * spool is not truncated in the meantime.  In particular, the lock is not held while 
+         * {@link Backpressure#BLOCK blocking} for space in the queue, because the lane itself must
+         * take it (to {@link #truncateSpoolIfDrained() truncate the spool}) in order to drain the queue.
+         *
+         * @return whether queued; if not then the caller must deliver it.
+         */
+        private boolean enqueue(final TransactionEvents transactionEvents) {
+            synchronized (spoolLock) {
+                if (spool != null) {
+                    spool.append(transactionEvents);
+                }
+                spooledNotYetQueued.incrementAndGet();
+            }
+            try {
+                if (queue.offer(transactionEvents)) {
+                    return true;
+                }
+                if (backpressure == Backpressure.BLOCK) {
+                    try {
+                        queue.put(transactionEvents);
+                        return true;
+                    } catch (final InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                // counted before no longer counted as spooled, so that the spool is not truncated in the meantime
+                deliveringOutsideLane.incrementAndGet();
+                return false;
+            } finally {
+                spooledNotYetQueued.decrementAndGet();
+            }
+        }
+
+        @Override
+        public void run() {
+            final List<TransactionEvents> batch = Lists.newArrayList();
+            while (running || !queue.isEmpty()) {
+                final TransactionEvents first;
+                try {
+                    first = queue.poll(500, TimeUnit.MILLISECONDS);
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                if (!deliverWithRetry(batch)) {
+                    undeliveredInSpool = true;
+                }
+                batch.clear();
+                truncateSpoolIfDrained();
+            }
+        }
+
+        /**
+         * Retries (backing off) for as long as the pipeline is running.
+         *
+         * @return whether delivered.
+         */
+        private boolean deliverWithRetry(final List<TransactionEvents> batch) {
+            long backoffMillis = RETRY_BACKOFF_INITIAL_MILLIS;
+            while (true) {
+                try {
+                    deliver(batch);
+                    return true;
+                } catch (final RuntimeException ex) {
+                    LOG.error("lane " + number + ": failed to deliver " + batch, ex);
+                }
+                if (!running) {
+                    LOG.warn("lane " + number + ": shutting down, so not retrying " + batch + (spool != null ? "; left in " + spool.getFile() : ""));
+                    return false;
+                }
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+                backoffMillis = Math.min(backoffMillis * 2, RETRY_BACKOFF_MAX_MILLIS);
+            }
+        }
+
+        /**
+         * Only once every spooled transaction has been delivered.
+         */
+        private void truncateSpoolIfDrained() {
+            if (spool == null) {
+                return;
+            }
+            synchronized (spoolLock) {
+                if (!undeliveredInSpool && spooledNotYetQueued.get() == 0 && queue.isEmpty() && deliveringOutsideLane.get() == 0) {
+                    spool.truncate();
+                }
+            }
+        }
+
+        void close() {
+            if (spool != null) {
+                spool.close();
+            }
+        }
+    }
+
+}
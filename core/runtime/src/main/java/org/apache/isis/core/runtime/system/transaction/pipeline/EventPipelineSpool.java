@@ -0,0 +1,141 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.system.transaction.pipeline;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.core.commons.exceptions.IsisException;
+
+/**
+ * Append-only file holding the {@link TransactionEvents} of one lane of the
+ * {@link EventPipeline} that have been queued but not yet delivered.
+ *
+ * <p>
+ * Each record is length-prefixed, so that a record only partially written
+ * (because the JVM died mid-write) is ignored on {@link #readAll() recovery}.
+ * The spool is {@link #truncate() truncated} whenever its lane has been
+ * completely drained, so delivery is at-least-once.
+ */
+class EventPipelineSpool {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EventPipelineSpool.class);
+
+    private final File file;
+    private DataOutputStream out;
+
+    EventPipelineSpool(final File file) {
+        this.file = file;
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    /**
+     * Reads any records left over from a previous run.
+     */
+    synchronized List<TransactionEvents> readAll() {
+        final List<TransactionEvents> recovered = Lists.newArrayList();
+        if (!file.exists()) {
+            return recovered;
+        }
+        DataInputStream in = null;
+        try {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            while (true) {
+                final byte[] bytes;
+                try {
+                    bytes = new byte[in.readInt()];
+                    in.readFully(bytes);
+                } catch (final EOFException ex) {
+                    break;
+                }
+                recovered.add(TransactionEvents.readFrom(new DataInputStream(new ByteArrayInputStream(bytes))));
+            }
+        } catch (final IOException ex) {
+            LOG.error("unable to read event spool " + file + "; recovered " + recovered.size() + " transaction(s)", ex);
+        } finally {
+            closeQuietly(in);
+        }
+        return recovered;
+    }
+
+    synchronized void append(final TransactionEvents transactionEvents) {
+        try {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            transactionEvents.writeTo(new DataOutputStream(bytes));
+            final DataOutputStream spoolOut = getOut();
+            spoolOut.writeInt(bytes.size());
+            bytes.writeTo(spoolOut);
+            spoolOut.flush();
+        } catch (final IOException ex) {
+            throw new IsisException("unable to write to event spool " + file, ex);
+        }
+    }
+
+    synchronized void truncate() {
+        closeQuietly(out);
+        out = null;
+        try {
+            new FileOutputStream(file, false).close();
+        } catch (final IOException ex) {
+            LOG.warn("unable to truncate event spool " + file, ex);
+        }
+    }
+
+    synchronized void close() {
+        closeQuietly(out);
+        out = null;
+    }
+
+    private DataOutputStream getOut() throws IOException {
+        if (out == null) {
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+        }
+        return out;
+    }
+
+    private static void closeQuietly(final Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (final IOException ignore) {
+        }
+    }
+}
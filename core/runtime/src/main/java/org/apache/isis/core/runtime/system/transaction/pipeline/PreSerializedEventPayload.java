@@ -0,0 +1,82 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.system.transaction.pipeline;
+
+import org.apache.isis.applib.services.publish.EventMetadata;
+import org.apache.isis.applib.services.publish.EventPayload;
+import org.apache.isis.applib.services.publish.EventSerializer;
+import org.apache.isis.applib.services.publish.ObjectStringifier;
+import org.apache.isis.applib.services.publish.PublishingService;
+
+/**
+ * An {@link EventPayload} that has already been serialized (on the commit path
+ * of the originating transaction) by the {@link EventPipeline}.
+ *
+ * <p>
+ * The {@link PublishingService} is configured with a {@link PassThrough}
+ * serializer so that the serialized form is handed on unchanged.
+ */
+public class PreSerializedEventPayload implements EventPayload {
+
+    private final Object serializedForm;
+
+    public PreSerializedEventPayload(final Object serializedForm) {
+        this.serializedForm = serializedForm;
+    }
+
+    public Object getSerializedForm() {
+        return serializedForm;
+    }
+
+    @Override
+    public void withStringifier(final ObjectStringifier stringifier) {
+        // nothing to do; already serialized
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(serializedForm);
+    }
+
+    /**
+     * Returns the serialized form of {@link PreSerializedEventPayload}s,
+     * delegating to the original {@link EventSerializer} for any other payload.
+     */
+    public static class PassThrough implements EventSerializer {
+
+        private final EventSerializer delegate;
+
+        public PassThrough(final EventSerializer delegate) {
+            this.delegate = delegate;
+        }
+
+        public EventSerializer getDelegate() {
+            return delegate;
+        }
+
+        @Override
+        public Object serialize(final EventMetadata metadata, final EventPayload payload) {
+            if (payload instanceof PreSerializedEventPayload) {
+                return ((PreSerializedEventPayload) payload).getSerializedForm();
+            }
+            return delegate.serialize(metadata, payload);
+        }
+    }
+}
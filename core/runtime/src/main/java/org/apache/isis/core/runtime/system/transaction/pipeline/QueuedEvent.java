@@ -0,0 +1,195 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.system.transaction.pipeline;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.UUID;
+
+import org.apache.isis.applib.services.audit.AuditingService;
+import org.apache.isis.applib.services.audit.AuditingService2;
+import org.apache.isis.applib.services.publish.EventMetadata;
+import org.apache.isis.applib.services.publish.EventType;
+import org.apache.isis.applib.services.publish.PublishingService;
+
+/**
+ * An audit entry or published event captured on the commit path of a
+ * transaction, detached from any domain objects (everything is held as
+ * strings or as the already serialized form) so that it can be delivered
+ * later by the {@link EventPipeline}.
+ */
+public abstract class QueuedEvent {
+
+    private static final byte AUDIT = 'A';
+    private static final byte PUBLISHED = 'P';
+
+    abstract void deliver(AuditingService auditingService, PublishingService publishingService);
+
+    abstract void writeTo(DataOutputStream out) throws IOException;
+
+    static QueuedEvent readFrom(final DataInputStream in) throws IOException {
+        final byte type = in.readByte();
+        switch (type) {
+        case AUDIT:
+            return new Audit(readNullable(in), in.readLong(), readNullable(in), readNullable(in), readNullable(in), readNullable(in), readNullable(in));
+        case PUBLISHED:
+            final UUID transactionId = UUID.fromString(in.readUTF());
+            final int sequence = in.readInt();
+            final EventType eventType = EventType.valueOf(in.readUTF());
+            final String user = readNullable(in);
+            final long timestamp = in.readLong();
+            final String title = readNullable(in);
+            final String serializedForm = readNullable(in);
+            return new Published(new EventMetadata(transactionId, sequence, eventType, user, timestamp, title), serializedForm);
+        default:
+            throw new IOException("unknown event type in spool: " + type);
+        }
+    }
+
+    // //////////////////////////////////////////////////////////
+    // Audit
+    // //////////////////////////////////////////////////////////
+
+    public static class Audit extends QueuedEvent {
+        private final String user;
+        private final long timestamp;
+        private final String objectType;
+        private final String identifier;
+        private final String propertyId;
+        private final String preValue;
+        private final String postValue;
+
+        public Audit(final String user, final long timestamp, final String objectType, final String identifier, final String propertyId, final String preValue, final String postValue) {
+            this.user = user;
+            this.timestamp = timestamp;
+            this.objectType = objectType;
+            this.identifier = identifier;
+            this.propertyId = propertyId;
+            this.preValue = preValue;
+            this.postValue = postValue;
+        }
+
+        @Override
+        void deliver(final AuditingService auditingService, final PublishingService publishingService) {
+            if (auditingService == null) {
+                return;
+            }
+            if (auditingService instanceof AuditingService2) {
+                ((AuditingService2) auditingService).audit(user, timestamp, objectType, identifier, propertyId, preValue, postValue);
+            } else {
+                auditingService.audit(user, timestamp, objectType, identifier, preValue, postValue);
+            }
+        }
+
+        @Override
+        void writeTo(final DataOutputStream out) throws IOException {
+            out.writeByte(AUDIT);
+            writeNullable(out, user);
+            out.writeLong(timestamp);
+            writeNullable(out, objectType);
+            writeNullable(out, identifier);
+            writeNullable(out, propertyId);
+            writeNullable(out, preValue);
+            writeNullable(out, postValue);
+        }
+
+        @Override
+        public String toString() {
+            return objectType + ":" + identifier + " by " + user + ", " + propertyId + ": " + preValue + " -> " + postValue;
+        }
+    }
+
+    // //////////////////////////////////////////////////////////
+    // Published
+    // //////////////////////////////////////////////////////////
+
+    public static class Published extends QueuedEvent {
+        private final EventMetadata metadata;
+        private final Object serializedForm;
+
+        public Published(final EventMetadata metadata, final Object serializedForm) {
+            this.metadata = metadata;
+            this.serializedForm = serializedForm;
+        }
+
+        public EventMetadata getMetadata() {
+            return metadata;
+        }
+
+        @Override
+        void deliver(final AuditingService auditingService, final PublishingService publishingService) {
+            if (publishingService == null) {
+                return;
+            }
+            publishingService.publish(metadata, new PreSerializedEventPayload(serializedForm));
+        }
+
+        /**
+         * Only the {@link Object#toString() string} form of the serialized
+         * event is spooled.
+         */
+        @Override
+        void writeTo(final DataOutputStream out) throws IOException {
+            out.writeByte(PUBLISHED);
+            out.writeUTF(metadata.getTransactionId().toString());
+            out.writeInt(metadata.getSequence());
+            out.writeUTF(metadata.getEventType().name());
+            writeNullable(out, metadata.getUser());
+            out.writeLong(metadata.getTimestamp());
+            writeNullable(out, metadata.getTitle());
+            writeNullable(out, serializedForm != null ? serializedForm.toString() : null);
+        }
+
+        @Override
+        public String toString() {
+            return metadata.getId();
+        }
+    }
+
+    // //////////////////////////////////////////////////////////
+    // Helpers
+    // //////////////////////////////////////////////////////////
+
+    /**
+     * {@link DataOutputStream#writeUTF(String)} is limited to 64k, so strings
+     * are written as length-prefixed UTF-8 bytes instead.
+     */
+    private static void writeNullable(final DataOutputStream out, final String str) throws IOException {
+        if (str == null) {
+            out.writeInt(-1);
+            return;
+        }
+        final byte[] bytes = str.getBytes("UTF-8");
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readNullable(final DataInputStream in) throws IOException {
+        final int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, "UTF-8");
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.system.transaction.pipeline;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import com.google.common.collect.Lists;
+
+import org.apache.isis.applib.services.publish.EventMetadata;
+
+/**
+ * The audit entries and published events of a single transaction, in the
+ * order that they were raised.
+ *
+ * <p>
+ * This is the unit of work of the {@link EventPipeline}: the events of any one
+ * transaction are always delivered together and in order.
+ */
+public class TransactionEvents {
+
+    private final UUID transactionId;
+    private final List<QueuedEvent> events = Lists.newArrayList();
+
+    public TransactionEvents(final UUID transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public UUID getTransactionId() {
+        return transactionId;
+    }
+
+    public void addAudit(final String user, final long timestamp, final String objectType, final String identifier, final String propertyId, final String preValue, final String postValue) {
+        events.add(new QueuedEvent.Audit(user, timestamp, objectType, identifier, propertyId, preValue, postValue));
+    }
+
+    public void addPublished(final EventMetadata metadata, final Object serializedForm) {
+        events.add(new QueuedEvent.Published(metadata, serializedForm));
+    }
+
+    public List<QueuedEvent> getEvents() {
+        return Collections.unmodifiableList(events);
+    }
+
+    public boolean isEmpty() {
+        return events.isEmpty();
+    }
+
+    void writeTo(final DataOutputStream out) throws IOException {
+        out.writeUTF(transactionId.toString());
+        out.writeInt(events.size());
+        for (final QueuedEvent event : events) {
+            event.writeTo(out);
+        }
+    }
+
+    static TransactionEvents readFrom(final DataInputStream in) throws IOException {
+        final TransactionEvents transactionEvents = new TransactionEvents(UUID.fromString(in.readUTF()));
+        final int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            transactionEvents.events.add(QueuedEvent.readFrom(in));
+        }
+        return transactionEvents;
+    }
+
+    @Override
+    public String toString() {
+        return transactionId + ": " + events.size() + " event(s)";
+    }
+}
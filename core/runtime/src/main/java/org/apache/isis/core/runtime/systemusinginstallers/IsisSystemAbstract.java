@@ -53,8 +53,10 @@
 import org.apache.isis.core.runtime.system.persistence.PersistenceSessionFactory;
 import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
 import org.apache.isis.core.runtime.system.session.IsisSessionFactoryDefault;
+import org.apache.isis.core.runtime.userprofile.CachingUserProfileStore;
 import org.apache.isis.core.runtime.userprofile.UserProfileLoader;
 import org.apache.isis.core.runtime.userprofile.UserProfileLoaderDefault;
+import org.apache.isis.core.runtime.userprofile.UserProfileStore;
 
 /**
  * 
@@ -157,7 +159,8 @@ protected void appendFixturesInstallerDebug(final DebugBuilder debug) {
     @Override
     public IsisSessionFactory doCreateSessionFactory(final DeploymentType deploymentType) throws IsisSystemException {
         final PersistenceSessionFactory persistenceSessionFactory = obtainPersistenceSessionFactory(deploymentType);
-        final UserProfileLoader userProfileLoader = new UserProfileLoaderDefault(obtainUserProfileStore());
+        final UserProfileStore userProfileStore = CachingUserProfileStore.decorateIfConfigured(obtainUserProfileStore(), getConfiguration());
+        final UserProfileLoader userProfileLoader = new UserProfileLoaderDefault(userProfileStore);
         return createSessionFactory(deploymentType, userProfileLoader, persistenceSessionFactory);
     }
 
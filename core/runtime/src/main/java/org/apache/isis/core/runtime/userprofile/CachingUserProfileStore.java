@@ -0,0 +1,272 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.userprofile;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Optional;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Maps;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.core.commons.components.ApplicationScopedComponent;
+import org.apache.isis.core.commons.config.ConfigurationConstants;
+import org.apache.isis.core.commons.config.IsisConfiguration;
+import org.apache.isis.core.commons.debug.DebugBuilder;
+import org.apache.isis.core.commons.debug.DebuggableWithTitle;
+
+/**
+ * Decorates any other {@link UserProfileStore}, caching (a bounded number of) profiles by user
+ * name, and optionally writing saved profiles back to the underlying store in the background.
+ * 
+ * <p>
+ * The absence of a profile is cached too, so that users without a profile (the common case) do
+ * not hit the underlying store on every session.
+ * 
+ * <p>
+ * Callers never share a {@link UserProfile} instance: the cache holds private copies, and each
+ * read returns a fresh copy of these.  Likewise a profile is copied when {@link #save(String, UserProfile) saved},
+ * so that the caller may continue to modify it while it is being written behind.  The copies held
+ * by the cache omit each perspective's (session-scoped) {@link PerspectiveEntry#getObjects() objects}, 
+ * so that these are neither leaked into other sessions nor pinned in memory; they are however 
+ * still passed through to the underlying store when saved.
+ * 
+ * <p>
+ * When writing behind, repeated saves of a user's profile that occur before the first has been
+ * written are coalesced, so that only the latest is written.  Any saves still pending are written
+ * on {@link #shutdown()}.
+ */
+public class CachingUserProfileStore implements UserProfileStore, ApplicationScopedComponent, DebuggableWithTitle {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CachingUserProfileStore.class);
+
+    /**
+     * The maximum number of profiles to cache; if zero then profiles are not cached at all.
+     */
+    public static final String CACHE_SIZE_KEY = ConfigurationConstants.ROOT + "user-profile-store.cache.size";
+    public static final int CACHE_SIZE_DEFAULT = 1000;
+
+    /**
+     * Whether saved profiles are written to the underlying store in the background.
+     */
+    public static final String WRITE_BEHIND_KEY = ConfigurationConstants.ROOT + "user-profile-store.write-behind";
+    public static final boolean WRITE_BEHIND_DEFAULT = true;
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    /**
+     * Decorates the provided store, unless {@link #CACHE_SIZE_KEY caching} has been disabled.
+     */
+    public static UserProfileStore decorateIfConfigured(final UserProfileStore store, final IsisConfiguration configuration) {
+        final int cacheSize = configuration.getInteger(CACHE_SIZE_KEY, CACHE_SIZE_DEFAULT);
+        if (cacheSize <= 0) {
+            return store;
+        }
+        final ExecutorService writeBehindExecutor = configuration.getBoolean(WRITE_BEHIND_KEY, WRITE_BEHIND_DEFAULT) ? Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                final Thread thread = new Thread(runnable, "isis-user-profile-writer");
+                thread.setDaemon(true);
+                return thread;
+            }
+        }) : null;
+        return new CachingUserProfileStore(store, cacheSize, writeBehindExecutor);
+    }
+
+    private final UserProfileStore store;
+    private final Cache<String, Optional<UserProfile>> profileByUserName;
+
+    /**
+     * Saves not yet written to the underlying store.
+     */
+    private final ConcurrentMap<String, PendingSave> pendingSaveByUserName = Maps.newConcurrentMap();
+
+    /**
+     * If <tt>null</tt>, then saves are written synchronously.
+     */
+    private final Executor writeBehindExecutor;
+
+    public CachingUserProfileStore(final UserProfileStore store, final int cacheSize, final Executor writeBehindExecutor) {
+        this.store = store;
+        this.profileByUserName = CacheBuilder.newBuilder().maximumSize(cacheSize).build();
+        this.writeBehindExecutor = writeBehindExecutor;
+    }
+
+    // //////////////////////////////////////////////////////
+    // init, shutdown
+    // //////////////////////////////////////////////////////
+
+    @Override
+    public void init() {
+    }
+
+    /**
+     * Writes any pending saves.
+     */
+    @Override
+    public void shutdown() {
+        if (writeBehindExecutor instanceof ExecutorService) {
+            final ExecutorService executorService = (ExecutorService) writeBehindExecutor;
+            executorService.shutdown();
+            try {
+                executorService.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (final String userName : pendingSaveByUserName.keySet()) {
+            writePendingSave(userName);
+        }
+    }
+
+    // //////////////////////////////////////////////////////
+    // UserProfileStore impl
+    // //////////////////////////////////////////////////////
+
+    @Override
+    public boolean isFixturesInstalled() {
+        return store.isFixturesInstalled();
+    }
+
+    @Override
+    public UserProfile getUserProfile(final String userName) {
+        final PendingSave pendingSave = pendingSaveByUserName.get(userName);
+        if (pendingSave != null) {
+            return copyOf(pendingSave.userProfile, false);
+        }
+        final Optional<UserProfile> cached = profileByUserName.getIfPresent(userName);
+        if (cached != null) {
+            return cached.isPresent() ? copyOf(cached.get(), false) : null;
+        }
+        final UserProfile userProfile = store.getUserProfile(userName);
+        profileByUserName.put(userName, Optional.fromNullable(userProfile != null ? copyOf(userProfile, false) : null));
+        return userProfile;
+    }
+
+    @Override
+    public void save(final String userName, final UserProfile userProfile) {
+        profileByUserName.put(userName, Optional.of(copyOf(userProfile, false)));
+        if (writeBehindExecutor == null) {
+            store.save(userName, userProfile);
+            return;
+        }
+        final PendingSave previous = pendingSaveByUserName.put(userName, new PendingSave(copyOf(userProfile, true)));
+        if (previous != null) {
+            // the write already scheduled will pick up this save instead
+            return;
+        }
+        writeBehindExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                writePendingSave(userName);
+            }
+        });
+    }
+
+    /**
+     * Writes the latest save for the user, repeating if it is superseded while being written.
+     */
+    private void writePendingSave(final String userName) {
+        while (true) {
+            final PendingSave pendingSave = pendingSaveByUserName.get(userName);
+            if (pendingSave == null) {
+                return;
+            }
+            try {
+                store.save(userName, pendingSave.userProfile);
+            } catch (final RuntimeException ex) {
+                LOG.error("failed to save user profile for " + userName, ex);
+                pendingSaveByUserName.remove(userName, pendingSave);
+                return;
+            }
+            if (pendingSaveByUserName.remove(userName, pendingSave)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * A deep copy of the profile (other than of the objects and services themselves, and the
+     * {@link UserProfile#getLocalization() localization}, which are shared), including which 
+     * perspective is selected.
+     * 
+     * @param includeObjects - whether to copy each perspective's {@link PerspectiveEntry#getObjects() objects}.
+     */
+    static UserProfile copyOf(final UserProfile profile, final boolean includeObjects) {
+        final UserProfile copy = new UserProfile();
+        for (final PerspectiveEntry entry : profile.getEntries()) {
+            final PerspectiveEntry entryCopy = copy.newPerspective(entry.getName());
+            for (final Object service : entry.getServices()) {
+                entryCopy.addToServices(service);
+            }
+            if (includeObjects) {
+                for (final Object object : entry.getObjects()) {
+                    entryCopy.addToObjects(object);
+                }
+            }
+        }
+        copy.getOptions().copy(profile.getOptions());
+        copy.setLocalization(profile.getLocalization());
+        if (!profile.getEntries().isEmpty()) {
+            copy.select(profile.getPerspective().getName());
+        }
+        return copy;
+    }
+
+    /**
+     * Deliberately uses identity equality, so that each save is distinct even if of the same {@link UserProfile}.
+     */
+    private static class PendingSave {
+        private final UserProfile userProfile;
+
+        PendingSave(final UserProfile userProfile) {
+            this.userProfile = userProfile;
+        }
+    }
+
+    // //////////////////////////////////////////////////////
+    // Debugging
+    // //////////////////////////////////////////////////////
+
+    @Override
+    public void debugData(final DebugBuilder debug) {
+        debug.appendln("Store", store);
+        debug.appendln("Cached profiles", profileByUserName.size());
+        debug.appendln("Pending saves", pendingSaveByUserName.size());
+    }
+
+    @Override
+    public String debugTitle() {
+        return "Caching User Profile Store";
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + store + "]";
+    }
+}
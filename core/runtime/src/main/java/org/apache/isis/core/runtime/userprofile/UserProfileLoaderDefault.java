@@ -30,6 +30,7 @@
 import org.slf4j.LoggerFactory;
 
 import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.commons.components.ApplicationScopedComponent;
 import org.apache.isis.core.commons.debug.DebugBuilder;
 import org.apache.isis.core.commons.debug.DebuggableWithTitle;
 import org.apache.isis.core.commons.exceptions.IsisException;
@@ -88,17 +89,23 @@ public UserProfileLoaderDefault(final UserProfileStore store, final Mode mode) {
     // //////////////////////////////////////////////////////
 
     /**
-     * Does nothing.
+     * Initializes the store, if it requires it.
      */
     @Override
     public void init() {
+        if (store instanceof ApplicationScopedComponent) {
+            ((ApplicationScopedComponent) store).init();
+        }
     }
 
     /**
-     * Does nothing.
+     * Shuts down the store, if it requires it (eg to write any pending saves).
      */
     @Override
     public void shutdown() {
+        if (store instanceof ApplicationScopedComponent) {
+            ((ApplicationScopedComponent) store).shutdown();
+        }
     }
 
     // //////////////////////////////////////////////////////
@@ -0,0 +1,120 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.persistence.adaptermanager;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.oid.Oid;
+import org.apache.isis.core.metamodel.adapter.oid.RootOidDefault;
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+public class OidAdapterHashMapTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private ObjectAdapter mockServiceAdapter;
+    @Mock
+    private ObjectSpecification mockServiceSpec;
+    @Mock
+    private ObjectAdapter mockEntityAdapter;
+    @Mock
+    private ObjectSpecification mockEntitySpec;
+
+    private OidAdapterHashMap map;
+
+    private Oid serviceOid;
+    private Oid entityOid;
+
+    @Before
+    public void setUp() throws Exception {
+        map = new OidAdapterHashMap();
+        serviceOid = RootOidDefault.create(ObjectSpecId.of("SVC"), "1");
+        entityOid = RootOidDefault.create(ObjectSpecId.of("CUS"), "1");
+
+        context.checking(new Expectations() {
+            {
+                allowing(mockServiceAdapter).getSpecification();
+                will(returnValue(mockServiceSpec));
+                allowing(mockServiceSpec).isService();
+                will(returnValue(true));
+
+                allowing(mockEntityAdapter).getSpecification();
+                will(returnValue(mockEntitySpec));
+                allowing(mockEntitySpec).isService();
+                will(returnValue(false));
+            }
+        });
+
+        map.add(serviceOid, mockServiceAdapter);
+        map.add(entityOid, mockEntityAdapter);
+    }
+
+    @Test
+    public void getAdapterFromEitherPartition() throws Exception {
+        assertThat(map.getAdapter(serviceOid), is(sameInstance(mockServiceAdapter)));
+        assertThat(map.getAdapter(entityOid), is(sameInstance(mockEntityAdapter)));
+    }
+
+    @Test
+    public void resetRetainsServiceAdaptersOnly() throws Exception {
+        map.reset();
+
+        assertThat(map.getAdapter(serviceOid), is(sameInstance(mockServiceAdapter)));
+        assertThat(map.getAdapter(entityOid), is(nullValue()));
+    }
+
+    @Test
+    public void closeRemovesAll() throws Exception {
+        map.close();
+
+        assertThat(map.getAdapter(serviceOid), is(nullValue()));
+        assertThat(map.getAdapter(entityOid), is(nullValue()));
+    }
+
+    @Test
+    public void ensureCapacityRetainsExistingAdapters() throws Exception {
+        map.ensureCapacity(10000);
+
+        assertThat(map.getAdapter(serviceOid), is(sameInstance(mockServiceAdapter)));
+        assertThat(map.getAdapter(entityOid), is(sameInstance(mockEntityAdapter)));
+    }
+
+    @Test
+    public void remove() throws Exception {
+        assertThat(map.remove(serviceOid), is(true));
+        assertThat(map.remove(entityOid), is(true));
+        assertThat(map.remove(entityOid), is(false));
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.services.eventbus;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import com.google.common.collect.Lists;
+import com.google.common.eventbus.DeadEvent;
+import com.google.common.eventbus.Subscribe;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.eventbus.NonTransactional;
+
+public class EventBusSubscriberRegistryTest {
+
+    public static class Subscriber {
+        final List<Object> received = Lists.newArrayList();
+
+        @Subscribe
+        public void on(final Object event) {
+            received.add(event);
+        }
+    }
+
+    public static class StringSubscriber {
+        final List<String> received = Lists.newArrayList();
+
+        @Subscribe
+        public void on(final String event) {
+            received.add(event);
+        }
+    }
+
+    public static class ReentrantSubscriber {
+        EventBusSubscriberRegistry registry;
+        final List<Object> received = Lists.newArrayList();
+
+        @Subscribe
+        public void on(final String event) {
+            received.add(event);
+            if (event.equals("first")) {
+                registry.post(1);
+            }
+        }
+
+        @Subscribe
+        public void on(final Integer event) {
+            received.add(event);
+        }
+    }
+
+    public static class DeadEventSubscriber {
+        final List<Object> received = Lists.newArrayList();
+
+        @Subscribe
+        public void on(final DeadEvent event) {
+            received.add(event.getEvent());
+        }
+    }
+
+    public static class NonTransactionalSubscriber {
+        final List<Object> received = Lists.newArrayList();
+
+        @NonTransactional
+        @Subscribe
+        public void on(final String event) {
+            received.add(event);
+        }
+    }
+
+    public static class ThrowingSubscriber {
+        @Subscribe
+        public void on(final String event) {
+            throw new IllegalStateException();
+        }
+    }
+
+    private EventBusSubscriberRegistry registry;
+
+    @Before
+    public void setUp() throws Exception {
+        registry = new EventBusSubscriberRegistry();
+    }
+
+    @Test
+    public void dispatchesToSubscribersOfSupertypes() throws Exception {
+        final Subscriber subscriber = new Subscriber();
+        final StringSubscriber stringSubscriber = new StringSubscriber();
+        registry.register(subscriber);
+        registry.register(stringSubscriber);
+
+        registry.post("foo");
+        registry.post(1);
+
+        assertThat(subscriber.received, is((List<Object>) Lists.<Object>newArrayList("foo", 1)));
+        assertThat(stringSubscriber.received, is((List<String>) Lists.newArrayList("foo")));
+    }
+
+    @Test
+    public void registeringTwiceDispatchesOnce() throws Exception {
+        final StringSubscriber stringSubscriber = new StringSubscriber();
+        registry.register(stringSubscriber);
+        registry.register(stringSubscriber);
+
+        registry.post("foo");
+
+        assertThat(stringSubscriber.received.size(), is(1));
+    }
+
+    @Test
+    public void noLongerDispatchedOnceUnregistered() throws Exception {
+        final StringSubscriber stringSubscriber = new StringSubscriber();
+        registry.register(stringSubscriber);
+        registry.post("foo");
+        final long version = registry.getVersion();
+
+        registry.unregister(stringSubscriber);
+        registry.post("bar");
+
+        assertThat(stringSubscriber.received, is((List<String>) Lists.newArrayList("foo")));
+        assertThat(registry.getVersion(), is(version + 1));
+    }
+
+    @Test
+    public void nestedPostsDispatchedAfterCurrentEvent() throws Exception {
+        final ReentrantSubscriber reentrantSubscriber = new ReentrantSubscriber();
+        reentrantSubscriber.registry = registry;
+        final StringSubscriber stringSubscriber = new StringSubscriber();
+        registry.register(reentrantSubscriber);
+        registry.register(stringSubscriber);
+
+        registry.post("first");
+
+        assertThat(reentrantSubscriber.received, is((List<Object>) Lists.<Object>newArrayList("first", 1)));
+        assertThat(stringSubscriber.received, is((List<String>) Lists.newArrayList("first")));
+    }
+
+    @Test
+    public void unhandledEventsRepostedAsDeadEvents() throws Exception {
+        final DeadEventSubscriber deadEventSubscriber = new DeadEventSubscriber();
+        registry.register(deadEventSubscriber);
+
+        registry.post("foo");
+
+        assertThat(deadEventSubscriber.received, is((List<Object>) Lists.<Object>newArrayList("foo")));
+    }
+
+    @Test
+    public void exceptionsFromSubscribersAreSwallowed() throws Exception {
+        final StringSubscriber stringSubscriber = new StringSubscriber();
+        registry.register(new ThrowingSubscriber());
+        registry.register(stringSubscriber);
+
+        registry.post("foo");
+
+        assertThat(stringSubscriber.received.size(), is(1));
+    }
+
+    @Test
+    public void nonTransactionalSubscribersHandedToExecutor() throws Exception {
+        final List<Runnable> submitted = Lists.newArrayList();
+        registry.setNonTransactionalExecutor(new Executor() {
+            @Override
+            public void execute(final Runnable command) {
+                submitted.add(command);
+            }
+        });
+        final NonTransactionalSubscriber nonTransactionalSubscriber = new NonTransactionalSubscriber();
+        final StringSubscriber stringSubscriber = new StringSubscriber();
+        registry.register(nonTransactionalSubscriber);
+        registry.register(stringSubscriber);
+
+        registry.post("foo");
+
+        assertThat(stringSubscriber.received.size(), is(1));
+        assertThat(nonTransactionalSubscriber.received.size(), is(0));
+        assertThat(submitted.size(), is(1));
+
+        submitted.get(0).run();
+        assertThat(nonTransactionalSubscriber.received.size(), is(1));
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.system.context;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.runtime.authentication.standard.SimpleSession;
+import org.apache.isis.core.runtime.system.session.IsisSession;
+import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+public class IsisContextThreadLocalTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private IsisSessionFactory mockSessionFactory;
+    @Mock
+    private IsisSession mockSession;
+
+    private AuthenticationSession authSession;
+    private IsisContextThreadLocal isisContext;
+
+    @Before
+    public void setUp() throws Exception {
+        IsisContext.testReset();
+        authSession = new SimpleSession("tester", Collections.<String>emptyList());
+
+        context.checking(new Expectations() {
+            {
+                allowing(mockSessionFactory).openSession(authSession);
+                will(returnValue(mockSession));
+
+                allowing(mockSession).getId();
+                will(returnValue("#1tester"));
+
+                ignoring(mockSession).open();
+                ignoring(mockSession).close();
+            }
+        });
+
+        isisContext = (IsisContextThreadLocal) IsisContextThreadLocal.createInstance(mockSessionFactory);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        IsisContext.testReset();
+    }
+
+    @Test
+    public void openedSessionIsCurrentAndRegistered() throws Exception {
+        isisContext.openSessionInstance(authSession);
+
+        assertThat(isisContext.getSessionInstance(), is(sameInstance(mockSession)));
+        assertThat(isisContext.getSessionInstance("#1tester"), is(sameInstance(mockSession)));
+        assertThat(isisContext.allSessionIds(), is(new String[] { "#1tester" }));
+    }
+
+    @Test
+    public void sessionNotCurrentForOtherThreads() throws Exception {
+        isisContext.openSessionInstance(authSession);
+
+        final AtomicReference<IsisSession> sessionOnOtherThread = new AtomicReference<IsisSession>(mockSession);
+        final Thread thread = new Thread() {
+            @Override
+            public void run() {
+                sessionOnOtherThread.set(isisContext.getSessionInstance());
+            }
+        };
+        thread.start();
+        thread.join();
+
+        assertThat(sessionOnOtherThread.get(), is(nullValue()));
+        assertThat(isisContext.getSessionInstance("#1tester"), is(sameInstance(mockSession)));
+    }
+
+    @Test
+    public void closedSessionIsDeregistered() throws Exception {
+        isisContext.openSessionInstance(authSession);
+
+        isisContext.closeSessionInstance();
+
+        assertThat(isisContext.getSessionInstance(), is(nullValue()));
+        assertThat(isisContext.getSessionInstance("#1tester"), is(nullValue()));
+        assertThat(isisContext.allSessionIds().length, is(0));
+    }
+
+}
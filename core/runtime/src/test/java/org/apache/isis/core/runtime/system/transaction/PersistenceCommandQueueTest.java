@@ -0,0 +1,161 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.system.transaction;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.runtime.persistence.ObjectPersistenceException;
+import org.apache.isis.core.runtime.persistence.objectstore.transaction.CreateObjectCommand;
+import org.apache.isis.core.runtime.persistence.objectstore.transaction.DestroyObjectCommand;
+import org.apache.isis.core.runtime.persistence.objectstore.transaction.PersistenceCommand;
+import org.apache.isis.core.runtime.persistence.objectstore.transaction.PersistenceCommandContext;
+import org.apache.isis.core.runtime.persistence.objectstore.transaction.PojoAdapterBuilder;
+import org.apache.isis.core.runtime.persistence.objectstore.transaction.SaveObjectCommand;
+import org.apache.isis.core.runtime.system.transaction.PersistenceCommandQueue.Kind;
+
+public class PersistenceCommandQueueTest {
+
+    private PersistenceCommandQueue queue;
+
+    private ObjectAdapter adapter1;
+    private ObjectAdapter adapter2;
+
+    @Before
+    public void setUp() throws Exception {
+        queue = new PersistenceCommandQueue();
+        adapter1 = PojoAdapterBuilder.create().withIdentifier("1").build();
+        adapter2 = PojoAdapterBuilder.create().withIdentifier("2").build();
+    }
+
+    @Test
+    public void indexesByKindAndAdapter() throws Exception {
+        queue.add(new Create(adapter1));
+        queue.add(new Save(adapter2));
+
+        assertThat(queue.contains(Kind.CREATE, adapter1), is(true));
+        assertThat(queue.contains(Kind.SAVE, adapter1), is(false));
+        assertThat(queue.contains(Kind.SAVE, adapter2), is(true));
+        assertThat(queue.contains(Kind.DESTROY, adapter2), is(false));
+    }
+
+    @Test
+    public void snapshotPreservesOrderOfAddition() throws Exception {
+        final PersistenceCommand save2 = new Save(adapter2);
+        final PersistenceCommand create1 = new Create(adapter1);
+        final PersistenceCommand destroy2 = new Destroy(adapter2);
+        queue.add(save2);
+        queue.add(create1);
+        queue.add(destroy2);
+
+        final List<PersistenceCommand> snapshot = queue.snapshot();
+        assertThat(snapshot.size(), is(3));
+        assertThat(snapshot.get(0), is(sameInstance(save2)));
+        assertThat(snapshot.get(1), is(sameInstance(create1)));
+        assertThat(snapshot.get(2), is(sameInstance(destroy2)));
+    }
+
+    @Test
+    public void remove() throws Exception {
+        final PersistenceCommand create1 = new Create(adapter1);
+        queue.add(create1);
+
+        assertThat(queue.remove(Kind.CREATE, adapter1), is(sameInstance(create1)));
+        assertThat(queue.isEmpty(), is(true));
+    }
+
+    @Test
+    public void removeAllLeavesCommandsAddedSinceSnapshot() throws Exception {
+        queue.add(new Save(adapter1));
+        final List<PersistenceCommand> snapshot = queue.snapshot();
+        final PersistenceCommand save2 = new Save(adapter2);
+        queue.add(save2);
+
+        queue.removeAll(snapshot);
+
+        assertThat(queue.size(), is(1));
+        assertThat(queue.snapshot().get(0), is(sameInstance(save2)));
+    }
+
+    @Test
+    public void scalesToLargeNumberOfCommands() throws Exception {
+        final int numberOfAdapters = 100000;
+        final List<ObjectAdapter> adapters = Lists.newArrayList();
+        for (int i = 0; i < numberOfAdapters; i++) {
+            adapters.add(PojoAdapterBuilder.create().withIdentifier("" + i).build());
+        }
+        for (final ObjectAdapter adapter : adapters) {
+            queue.add(new Save(adapter));
+        }
+        for (final ObjectAdapter adapter : adapters) {
+            assertThat(queue.contains(Kind.SAVE, adapter), is(true));
+            queue.remove(Kind.SAVE, adapter);
+            queue.add(new Destroy(adapter));
+        }
+        assertThat(queue.size(), is(numberOfAdapters));
+
+        queue.removeAll(queue.snapshot());
+        assertThat(queue.isEmpty(), is(true));
+    }
+
+    private static class Create extends CommandAbstract implements CreateObjectCommand {
+        Create(final ObjectAdapter adapter) {
+            super(adapter);
+        }
+    }
+
+    private static class Save extends CommandAbstract implements SaveObjectCommand {
+        Save(final ObjectAdapter adapter) {
+            super(adapter);
+        }
+    }
+
+    private static class Destroy extends CommandAbstract implements DestroyObjectCommand {
+        Destroy(final ObjectAdapter adapter) {
+            super(adapter);
+        }
+    }
+
+    private abstract static class CommandAbstract implements PersistenceCommand {
+        private final ObjectAdapter adapter;
+
+        CommandAbstract(final ObjectAdapter adapter) {
+            this.adapter = adapter;
+        }
+
+        @Override
+        public void execute(final PersistenceCommandContext context) throws ObjectPersistenceException {
+        }
+
+        @Override
+        public ObjectAdapter onAdapter() {
+            return adapter;
+        }
+    }
+}
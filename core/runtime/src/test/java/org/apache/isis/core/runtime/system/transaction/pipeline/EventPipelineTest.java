@@ -0,0 +1,283 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.system.transaction.pipeline;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.apache.isis.applib.services.audit.AuditingService;
+import org.apache.isis.applib.services.audit.AuditingService2;
+import org.apache.isis.applib.services.publish.EventMetadata;
+import org.apache.isis.applib.services.publish.EventPayload;
+import org.apache.isis.applib.services.publish.EventSerializer;
+import org.apache.isis.applib.services.publish.EventType;
+import org.apache.isis.applib.services.publish.ObjectStringifier;
+import org.apache.isis.applib.services.publish.PublishingService;
+import org.apache.isis.core.metamodel.services.ServicesInjectorSpi;
+import org.apache.isis.core.runtime.system.transaction.pipeline.EventPipeline.Backpressure;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+public class EventPipelineTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Mock
+    private ServicesInjectorSpi mockServicesInjector;
+
+    private RecordingAuditingService auditingService;
+    private RecordingPublishingService publishingService;
+
+    @Before
+    public void setUp() throws Exception {
+        auditingService = new RecordingAuditingService();
+        publishingService = new RecordingPublishingService();
+        context.checking(new Expectations() {
+            {
+                allowing(mockServicesInjector).lookupService(AuditingService.class);
+                will(returnValue(auditingService));
+                allowing(mockServicesInjector).lookupService(PublishingService.class);
+                will(returnValue(publishingService));
+                allowing(mockServicesInjector).lookupService(EventSerializer.class);
+                will(returnValue(null));
+            }
+        });
+    }
+
+    @Test
+    public void deliversEventsOfEachTransactionInOrder() throws Exception {
+        final EventPipeline pipeline = new DirectEventPipeline(4, 10, 5, Backpressure.BLOCK, null);
+        pipeline.init(mockServicesInjector);
+
+        final List<String> expectedPropertyIds = Arrays.asList("prop0", "prop1", "prop2", "prop3", "prop4");
+        for (int tx = 0; tx < 100; tx++) {
+            final TransactionEvents events = new TransactionEvents(UUID.randomUUID());
+            for (final String propertyId : expectedPropertyIds) {
+                events.addAudit("sven", 0L, "CUS", "" + tx, propertyId, "a", "b");
+            }
+            pipeline.submit(events);
+        }
+        pipeline.shutdown();
+
+        final Map<String, List<String>> propertyIdsByIdentifier = auditingService.getPropertyIdsByIdentifier();
+        assertThat(propertyIdsByIdentifier.size(), is(100));
+        for (final List<String> propertyIds : propertyIdsByIdentifier.values()) {
+            assertThat(propertyIds, is(equalTo(expectedPropertyIds)));
+        }
+    }
+
+    @Test
+    public void publishesPreSerializedForm() throws Exception {
+        final EventPipeline pipeline = new DirectEventPipeline(1, 10, 5, Backpressure.SYNCHRONOUS, null);
+        pipeline.init(mockServicesInjector);
+
+        final UUID transactionId = UUID.randomUUID();
+        final EventMetadata metadata = new EventMetadata(transactionId, 0, EventType.OBJECT_UPDATED, "sven", 0L, "CUS:1");
+        final TransactionEvents events = new TransactionEvents(transactionId);
+        events.addPublished(metadata, pipeline.serialize(metadata, new EventPayload() {
+            @Override
+            public void withStringifier(final ObjectStringifier stringifier) {
+            }
+            @Override
+            public String toString() {
+                return "payload";
+            }
+        }));
+        pipeline.submit(events);
+        pipeline.shutdown();
+
+        assertThat(publishingService.published.size(), is(1));
+        assertThat(publishingService.published.get(0), is(equalTo(new EventSerializer.Simple().serialize(metadata, new PreSerializedEventPayload("payload")))));
+    }
+
+    @Test
+    public void recoversSpooledTransactions() throws Exception {
+        final File spoolDirectory = temporaryFolder.newFolder("spool");
+
+        final TransactionEvents events = new TransactionEvents(UUID.randomUUID());
+        events.addAudit("sven", 0L, "CUS", "1", "firstName", null, "Fred");
+        new EventPipelineSpool(new File(spoolDirectory, "lane-0.spool")).append(events);
+
+        final EventPipeline pipeline = new DirectEventPipeline(1, 10, 5, Backpressure.BLOCK, spoolDirectory);
+        pipeline.init(mockServicesInjector);
+        pipeline.shutdown();
+
+        assertThat(auditingService.getPropertyIdsByIdentifier().get("1"), is(equalTo(Collections.singletonList("firstName"))));
+        assertThat(new EventPipelineSpool(new File(spoolDirectory, "lane-0.spool")).readAll().isEmpty(), is(true));
+    }
+
+    @Test
+    public void retainsSpoolIfDeliveryFailed() throws Exception {
+        final File spoolDirectory = temporaryFolder.newFolder("spool");
+
+        final EventPipeline pipeline = new FailingEventPipeline(spoolDirectory);
+        pipeline.init(mockServicesInjector);
+
+        final TransactionEvents events = new TransactionEvents(UUID.randomUUID());
+        events.addAudit("sven", 0L, "CUS", "1", "firstName", null, "Fred");
+        pipeline.submit(events);
+        pipeline.shutdown();
+
+        assertThat(new EventPipelineSpool(new File(spoolDirectory, "lane-0.spool")).readAll().size(), is(1));
+    }
+
+    @Test
+    public void whenNotRunningDeliversOnSeparateThreadAndWaits() throws Exception {
+        final ThreadRecordingEventPipeline pipeline = new ThreadRecordingEventPipeline();
+
+        final TransactionEvents events = new TransactionEvents(UUID.randomUUID());
+        events.addAudit("sven", 0L, "CUS", "1", "firstName", null, "Fred");
+        pipeline.submit(events);
+
+        assertThat(pipeline.deliveredOn.size(), is(1));
+        assertThat(pipeline.deliveredOn.get(0), is(not(sameInstance(Thread.currentThread()))));
+    }
+
+    @Test
+    public void blockingProducersDoNotDeadlockWithLane() throws Exception {
+        final File spoolDirectory = temporaryFolder.newFolder("spool");
+        final EventPipeline pipeline = new DirectEventPipeline(1, 1, 1, Backpressure.BLOCK, spoolDirectory);
+        pipeline.init(mockServicesInjector);
+
+        final int producers = 4;
+        final int transactionsPerProducer = 50;
+        final List<Thread> threads = Lists.newArrayList();
+        for (int p = 0; p < producers; p++) {
+            final String prefix = "p" + p + "-";
+            final Thread thread = new Thread() {
+                @Override
+                public void run() {
+                    for (int tx = 0; tx < transactionsPerProducer; tx++) {
+                        final TransactionEvents events = new TransactionEvents(UUID.randomUUID());
+                        events.addAudit("sven", 0L, "CUS", prefix + tx, "firstName", null, "Fred");
+                        pipeline.submit(events);
+                    }
+                }
+            };
+            threads.add(thread);
+            thread.start();
+        }
+        for (final Thread thread : threads) {
+            thread.join(30000);
+            assertThat(thread.isAlive(), is(false));
+        }
+        pipeline.shutdown();
+
+        assertThat(auditingService.getPropertyIdsByIdentifier().size(), is(producers * transactionsPerProducer));
+        assertThat(new EventPipelineSpool(new File(spoolDirectory, "lane-0.spool")).readAll().isEmpty(), is(true));
+    }
+
+    private static class FailingEventPipeline extends EventPipeline {
+        FailingEventPipeline(final File spoolDirectory) {
+            super(1, 10, 5, Backpressure.BLOCK, spoolDirectory);
+        }
+
+        @Override
+        protected void deliver(final List<TransactionEvents> batch) {
+            throw new IllegalStateException("unable to deliver");
+        }
+    }
+
+    private static class ThreadRecordingEventPipeline extends EventPipeline {
+        private final List<Thread> deliveredOn = Collections.synchronizedList(Lists.<Thread>newArrayList());
+
+        ThreadRecordingEventPipeline() {
+            super(1, 10, 5, Backpressure.SYNCHRONOUS, null);
+        }
+
+        @Override
+        protected void deliver(final List<TransactionEvents> batch) {
+            deliveredOn.add(Thread.currentThread());
+        }
+    }
+
+    /**
+     * Delivers batches without an Isis session.
+     */
+    private static class DirectEventPipeline extends EventPipeline {
+        DirectEventPipeline(final int numberOfLanes, final int queueCapacity, final int batchSize, final Backpressure backpressure, final File spoolDirectory) {
+            super(numberOfLanes, queueCapacity, batchSize, backpressure, spoolDirectory);
+        }
+
+        @Override
+        protected void deliver(final List<TransactionEvents> batch) {
+            for (final TransactionEvents transactionEvents : batch) {
+                deliverDirectly(transactionEvents);
+            }
+        }
+    }
+
+    private static class RecordingAuditingService extends AuditingService2.Stderr {
+        private final Map<String, List<String>> propertyIdsByIdentifier = Maps.newLinkedHashMap();
+
+        @Override
+        public synchronized void audit(final String user, final long currentTimestampEpoch, final String objectType, final String identifier, final String propertyId, final String preValue, final String postValue) {
+            List<String> propertyIds = propertyIdsByIdentifier.get(identifier);
+            if (propertyIds == null) {
+                propertyIds = Lists.newArrayList();
+                propertyIdsByIdentifier.put(identifier, propertyIds);
+            }
+            propertyIds.add(propertyId);
+        }
+
+        synchronized Map<String, List<String>> getPropertyIdsByIdentifier() {
+            return propertyIdsByIdentifier;
+        }
+    }
+
+    private static class RecordingPublishingService implements PublishingService {
+        private final List<Object> published = Collections.synchronizedList(Lists.newArrayList());
+        private EventSerializer eventSerializer;
+
+        @Override
+        public void publish(final EventMetadata metadata, final EventPayload payload) {
+            published.add(eventSerializer.serialize(metadata, payload));
+        }
+
+        @Override
+        public void setEventSerializer(final EventSerializer eventSerializer) {
+            this.eventSerializer = eventSerializer;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.userprofile;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import com.google.common.collect.Lists;
+
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.TypeSafeMatcher;
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+public class CachingUserProfileStoreTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private UserProfileStore mockStore;
+
+    private final List<Runnable> scheduledWrites = Lists.newArrayList();
+    private final Executor deferredExecutor = new Executor() {
+        @Override
+        public void execute(final Runnable command) {
+            scheduledWrites.add(command);
+        }
+    };
+
+    private UserProfile profile;
+
+    @Before
+    public void setUp() throws Exception {
+        profile = newProfile("earlier");
+    }
+
+    private static UserProfile newProfile(final String perspectiveName) {
+        final UserProfile profile = new UserProfile();
+        profile.newPerspective(perspectiveName);
+        return profile;
+    }
+
+    private static Matcher<UserProfile> withPerspective(final String perspectiveName) {
+        return new TypeSafeMatcher<UserProfile>() {
+            @Override
+            protected boolean matchesSafely(final UserProfile item) {
+                return !item.getEntries().isEmpty() && perspectiveName.equals(item.getPerspective().getName());
+            }
+
+            @Override
+            public void describeTo(final Description description) {
+                description.appendText("profile with perspective '" + perspectiveName + "'");
+            }
+        };
+    }
+
+    @Test
+    public void profileReadFromStoreOnlyOnce() throws Exception {
+        context.checking(new Expectations() {
+            {
+                one(mockStore).getUserProfile("sven");
+                will(returnValue(profile));
+            }
+        });
+        final CachingUserProfileStore cachingStore = new CachingUserProfileStore(mockStore, 10, null);
+
+        assertThat(cachingStore.getUserProfile("sven"), is(sameInstance(profile)));
+        assertThat(cachingStore.getUserProfile("sven"), withPerspective("earlier"));
+    }
+
+    @Test
+    public void eachReadIsOfDistinctCopy() throws Exception {
+        context.checking(new Expectations() {
+            {
+                one(mockStore).getUserProfile("sven");
+                will(returnValue(profile));
+            }
+        });
+        final CachingUserProfileStore cachingStore = new CachingUserProfileStore(mockStore, 10, null);
+        cachingStore.getUserProfile("sven");
+
+        final UserProfile first = cachingStore.getUserProfile("sven");
+        final UserProfile second = cachingStore.getUserProfile("sven");
+        assertThat(first, is(not(sameInstance(second))));
+
+        first.getPerspective().addToObjects("some object");
+        assertThat(second.getPerspective().getObjects().isEmpty(), is(true));
+        assertThat(cachingStore.getUserProfile("sven").getPerspective().getObjects().isEmpty(), is(true));
+    }
+
+    @Test
+    public void absenceOfProfileIsCached() throws Exception {
+        context.checking(new Expectations() {
+            {
+                one(mockStore).getUserProfile("sven");
+                will(returnValue(null));
+            }
+        });
+        final CachingUserProfileStore cachingStore = new CachingUserProfileStore(mockStore, 10, null);
+
+        assertThat(cachingStore.getUserProfile("sven"), is(nullValue()));
+        assertThat(cachingStore.getUserProfile("sven"), is(nullValue()));
+    }
+
+    @Test
+    public void withoutWriteBehindSavesSynchronously() throws Exception {
+        context.checking(new Expectations() {
+            {
+                one(mockStore).save("sven", profile);
+                never(mockStore).getUserProfile("sven");
+            }
+        });
+        final CachingUserProfileStore cachingStore = new CachingUserProfileStore(mockStore, 10, null);
+
+        cachingStore.save("sven", profile);
+        final UserProfile cached = cachingStore.getUserProfile("sven");
+        assertThat(cached, is(not(sameInstance(profile))));
+        assertThat(cached, withPerspective("earlier"));
+    }
+
+    @Test
+    public void writeBehindCoalescesSaves() throws Exception {
+        final UserProfile laterProfile = newProfile("later");
+        context.checking(new Expectations() {
+            {
+                never(mockStore).save(with(equal("sven")), with(withPerspective("earlier")));
+                one(mockStore).save(with(equal("sven")), with(withPerspective("later")));
+                never(mockStore).getUserProfile("sven");
+            }
+        });
+        final CachingUserProfileStore cachingStore = new CachingUserProfileStore(mockStore, 10, deferredExecutor);
+
+        cachingStore.save("sven", profile);
+        cachingStore.save("sven", laterProfile);
+        assertThat(cachingStore.getUserProfile("sven"), withPerspective("later"));
+        assertThat(scheduledWrites.size(), is(1));
+
+        scheduledWrites.get(0).run();
+    }
+
+    @Test
+    public void pendingSavesWrittenOnShutdown() throws Exception {
+        context.checking(new Expectations() {
+            {
+                one(mockStore).save(with(equal("sven")), with(withPerspective("earlier")));
+            }
+        });
+        final CachingUserProfileStore cachingStore = new CachingUserProfileStore(mockStore, 10, deferredExecutor);
+
+        cachingStore.save("sven", profile);
+        cachingStore.shutdown();
+
+        // already written, so nothing more to do
+        scheduledWrites.get(0).run();
+    }
+
+    @Test
+    public void writeBehindWritesSnapshotTakenWhenSaved() throws Exception {
+        profile.getPerspective().addToObjects("saved object");
+        context.checking(new Expectations() {
+            {
+                one(mockStore).save(with(equal("sven")), with(withPerspective("earlier")));
+            }
+        });
+        final CachingUserProfileStore cachingStore = new CachingUserProfileStore(mockStore, 10, deferredExecutor);
+
+        cachingStore.save("sven", profile);
+        profile.newPerspective("modified after save");
+        profile.getPerspective().addToObjects("later object");
+
+        scheduledWrites.get(0).run();
+    }
+
+}
@@ -56,6 +56,7 @@
 import org.apache.isis.core.metamodel.spec.SpecificationLoaderAware;
 import org.apache.isis.core.wrapper.internal.InteractionEventDispatcher;
 import org.apache.isis.core.wrapper.internal.InteractionEventDispatcherTypeSafe;
+import org.apache.isis.core.wrapper.internal.MethodDispatchTables;
 import org.apache.isis.core.wrapper.internal.Proxy;
 
 public class WrapperFactoryDefault implements WrapperFactory, AuthenticationSessionProviderAware, SpecificationLoaderAware, AdapterManagerAware, ObjectPersistorAware {
@@ -68,6 +69,8 @@ public class WrapperFactoryDefault implements WrapperFactory, AuthenticationSess
     private AdapterManager adapterManager;
     private ObjectPersistor objectPersistor;
 
+    private final MethodDispatchTables dispatchTables = new MethodDispatchTables();
+
     public WrapperFactoryDefault() {
         dispatchersByEventClass.put(ObjectTitleEvent.class, new InteractionEventDispatcherTypeSafe<ObjectTitleEvent>() {
             @Override
@@ -213,7 +216,7 @@ public <T> T wrap(final T domainObject, final ExecutionMode mode) {
         if (isWrapper(domainObject)) {
             return domainObject;
         }
-        return Proxy.proxy(domainObject, this, mode, authenticationSessionProvider, specificationLookup, adapterManager, objectPersistor);
+        return Proxy.proxy(domainObject, this, mode, authenticationSessionProvider, specificationLookup, adapterManager, objectPersistor, dispatchTables);
     }
 
     @Override
@@ -20,6 +20,9 @@
 package org.apache.isis.core.wrapper.internal;
 
 import java.lang.reflect.InvocationHandler;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.collect.MapMaker;
 
 import net.sf.cglib.proxy.Callback;
 import net.sf.cglib.proxy.Enhancer;
@@ -30,11 +33,16 @@
 
 /**
  * Factory generating a mock for a class.
+ * 
  * <p>
- * Note that this class is stateful
+ * The enhanced class is generated only once per proxied class (and held
+ * weakly); each proxy is then instantiated without calling any constructor
+ * and given its own interceptor.
  */
 public class CgLibClassProxyFactory<T> implements IProxyFactory<T> {
 
+    private static final ConcurrentMap<Class<?>, Class<?>> enhancedClassByClass = new MapMaker().weakKeys().weakValues().makeMap();
+
     @Override
     @SuppressWarnings("unchecked")
     public T createProxy(final T toProxy, final InvocationHandler handler) {
@@ -43,29 +51,46 @@ public T createProxy(final T toProxy, final InvocationHandler handler) {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public T createProxy(final Class<T> toProxyClass, final InvocationHandler handler) {
+        return createProxy(toProxyClass, toProxyClass, new Class[] { WrapperObject.class }, handler);
+    }
 
-        final MethodInterceptor interceptor = new InvocationHandlerMethodInterceptor(handler);
-
-        // Create the proxy
-        final Enhancer enhancer = new Enhancer();
-        enhancer.setSuperclass(toProxyClass);
-        enhancer.setInterfaces(new Class[] { WrapperObject.class });
-        enhancer.setCallbackType(interceptor.getClass());
-
-        final Class<?> enhancedClass = enhancer.createClass();
+    /**
+     * For a class that has already been enhanced (the <tt>cacheKey</tt>), 
+     * proxying instead its original superclass along with its interfaces.
+     */
+    @SuppressWarnings("unchecked")
+    public T createProxy(final Class<?> cacheKey, final Class<?> superclass, final Class<?>[] interfaces, final InvocationHandler handler) {
 
-        Enhancer.registerCallbacks(enhancedClass, new Callback[] { interceptor });
+        final MethodInterceptor interceptor = new InvocationHandlerMethodInterceptor(handler);
+        final Class<?> enhancedClass = enhancedClassFor(cacheKey, superclass, interfaces);
 
         Factory factory;
         try {
             factory = (Factory) ClassInstantiatorFactoryCE.getInstantiator().newInstance(enhancedClass);
         } catch (final InstantiationException e) {
-            throw new RuntimeException("Fail to instantiate mock for " + toProxyClass + " on " + ClassInstantiatorFactoryCE.getJVM() + " JVM");
+            throw new RuntimeException("Fail to instantiate mock for " + superclass + " on " + ClassInstantiatorFactoryCE.getJVM() + " JVM");
         }
+        factory.setCallbacks(new Callback[] { interceptor });
 
         return (T) factory;
     }
 
+    private static Class<?> enhancedClassFor(final Class<?> cacheKey, final Class<?> superclass, final Class<?>[] interfaces) {
+        final Class<?> enhancedClass = enhancedClassByClass.get(cacheKey);
+        if (enhancedClass != null) {
+            return enhancedClass;
+        }
+
+        // Create the proxy class
+        final Enhancer enhancer = new Enhancer();
+        enhancer.setSuperclass(superclass);
+        enhancer.setInterfaces(interfaces);
+        enhancer.setCallbackType(InvocationHandlerMethodInterceptor.class);
+
+        final Class<?> newEnhancedClass = enhancer.createClass();
+        final Class<?> existing = enhancedClassByClass.putIfAbsent(cacheKey, newEnhancedClass);
+        return existing != null ? existing : newEnhancedClass;
+    }
+
 }
@@ -23,7 +23,6 @@
 import java.util.Arrays;
 import java.util.List;
 
-import net.sf.cglib.proxy.Enhancer;
 import net.sf.cglib.proxy.Factory;
 
 import org.apache.isis.applib.services.wrapper.WrapperObject;
@@ -55,8 +54,7 @@ public T proxy() {
             interfaces.remove(Factory.class); // if there.
             interfaces.add(WrapperObject.class);
 
-            InvocationHandlerMethodInterceptor interceptor = new InvocationHandlerMethodInterceptor(handler);
-            return (T) Enhancer.create(origSuperclass, interfaces.toArray(new Class[] {}), interceptor);
+            return new CgLibClassProxyFactory<T>().createProxy(enhancedClass, origSuperclass, interfaces.toArray(new Class[] {}), handler);
         }
 
         final Class<T> clazz = (Class<T>) toProxy.getClass();
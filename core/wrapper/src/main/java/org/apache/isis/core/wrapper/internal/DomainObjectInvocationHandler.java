@@ -25,6 +25,7 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.isis.applib.annotation.Where;
 import org.apache.isis.applib.events.CollectionAccessEvent;
@@ -79,6 +80,8 @@
 import org.apache.isis.core.progmodel.facets.properties.modify.PropertyClearFacetViaClearMethod;
 import org.apache.isis.core.progmodel.facets.properties.modify.PropertySetterFacetViaModifyMethod;
 import org.apache.isis.core.progmodel.facets.properties.validate.PropertyValidateFacetViaMethod;
+import org.apache.isis.core.wrapper.internal.MethodDispatchTables.MethodDispatch;
+import org.apache.isis.core.wrapper.internal.MethodDispatchTables.MethodDispatch.Kind;
 
 public class DomainObjectInvocationHandler<T> extends DelegatingInvocationHandlerDefault<T> {
 
@@ -105,10 +108,17 @@
      */
     protected Method wrappedMethod;
 
+    /**
+     * Shared by all wrappers of the same domain class.
+     */
+    private final ConcurrentMap<Method, MethodDispatch> dispatchTable;
+
     public DomainObjectInvocationHandler(final T delegate, final WrapperFactory embeddedViewer, final ExecutionMode mode, final AuthenticationSessionProvider authenticationSessionProvider, final SpecificationLoader specificationLookup, final AdapterManager adapterManager,
-            final ObjectPersistor objectPersistor) {
+            final ObjectPersistor objectPersistor, final MethodDispatchTables dispatchTables) {
         super(delegate, embeddedViewer, mode);
 
+        this.dispatchTable = dispatchTables.tableFor(delegate.getClass());
+
         this.authenticationSessionProvider = authenticationSessionProvider;
         this.specificationLookup = specificationLookup;
         this.adapterManager = adapterManager;
@@ -125,118 +135,174 @@ public DomainObjectInvocationHandler(final T delegate, final WrapperFactory embe
     @Override
     public Object invoke(final Object proxyObject, final Method method, final Object[] args) throws Throwable {
 
-        if (isObjectMethod(method)) {
-            return delegate(method, args);
-        }
-
-        // workaround for JDO-enhanced..
-        if(isJdoMethod(method)) {
-            return delegate(method, args);
-        }
-
-        if(isInjectMethod(method)) {
+        MethodDispatch dispatch = dispatchFor(method);
+        if (dispatch.getKind() == Kind.DELEGATE) {
             return delegate(method, args);
         }
 
         final ObjectAdapter targetAdapter = getAdapterManager().getAdapterFor(getDelegate());
 
-        if (isTitleMethod(method)) {
+        if (dispatch.getKind() == Kind.TITLE) {
             return handleTitleMethod(method, args, targetAdapter);
         }
 
-
-
         final ObjectSpecification targetNoSpec = targetAdapter.getSpecification();
 
         // save method, through the proxy
-        if (isSaveMethod(method)) {
+        if (dispatch.getKind() == Kind.SAVE) {
             return handleSaveMethod(getAuthenticationSession(), targetAdapter, targetNoSpec);
         }
 
-        if (isUnderlyingMethod(method)) {
+        if (dispatch.getKind() == Kind.WRAPPED) {
             return getDelegate();
         }
 
+        if (dispatch.isUnresolvedFor(targetNoSpec)) {
+            dispatch = resolveMemberDispatch(method, targetNoSpec);
+            dispatchTable.put(method, dispatch);
+        }
+
+        final ObjectMember objectMember = dispatch.getMember();
+        final String memberName = objectMember.getName();
+        final String methodName = method.getName();
+
+        switch (dispatch.getKind()) {
+        case UNSUPPORTED:
+            throw new UnsupportedOperationException(dispatch.getUnsupportedMessage());
+        case SUPPORTING:
+            return method.invoke(getDelegate(), args);
+        default:
+            break;
+        }
+
+        // for all members, check visibility and usability
+        checkVisibility(getAuthenticationSession(), targetAdapter, objectMember);
+
+        switch (dispatch.getKind()) {
+        case PROPERTY_GET:
+            return handleGetterMethodOnProperty(args, targetAdapter, (OneToOneAssociation) objectMember, methodName);
+        case PROPERTY_SET:
+            checkUsability(getAuthenticationSession(), targetAdapter, objectMember);
+            return handleSetterMethodOnProperty(args, getAuthenticationSession(), targetAdapter, (OneToOneAssociation) objectMember, methodName);
+        case COLLECTION_GET:
+            return handleGetterMethodOnCollection(method, args, targetAdapter, (OneToManyAssociation) objectMember, memberName);
+        case COLLECTION_ADD_TO:
+            checkUsability(getAuthenticationSession(), targetAdapter, objectMember);
+            return handleCollectionAddToMethod(args, targetAdapter, (OneToManyAssociation) objectMember, methodName);
+        case COLLECTION_REMOVE_FROM:
+            checkUsability(getAuthenticationSession(), targetAdapter, objectMember);
+            return handleCollectionRemoveFromMethod(args, targetAdapter, (OneToManyAssociation) objectMember, methodName);
+        case ACTION:
+            checkUsability(getAuthenticationSession(), targetAdapter, objectMember);
+            return handleActionMethod(args, getAuthenticationSession(), targetAdapter, (ObjectAction) objectMember, memberName);
+        default:
+            throw new UnsupportedOperationException(dispatch.getUnsupportedMessage());
+        }
+    }
+
+    // /////////////////////////////////////////////////////////////////
+    // dispatch
+    // /////////////////////////////////////////////////////////////////
+
+    /**
+     * Those methods that can be dispatched without reference to the domain object's specification. 
+     */
+    private MethodDispatch dispatchFor(final Method method) {
+        final MethodDispatch dispatch = dispatchTable.get(method);
+        if (dispatch != null) {
+            return dispatch;
+        }
+        final MethodDispatch newDispatch;
+        if (isObjectMethod(method) || isJdoMethod(method) || isInjectMethod(method)) {
+            newDispatch = MethodDispatch.DELEGATE;
+        } else if (isTitleMethod(method)) {
+            newDispatch = MethodDispatch.TITLE;
+        } else if (isSaveMethod(method)) {
+            newDispatch = MethodDispatch.SAVE;
+        } else if (isUnderlyingMethod(method)) {
+            newDispatch = MethodDispatch.WRAPPED;
+        } else {
+            newDispatch = MethodDispatch.UNRESOLVED_MEMBER;
+        }
+        final MethodDispatch existing = dispatchTable.putIfAbsent(method, newDispatch);
+        return existing != null ? existing : newDispatch;
+    }
+
+    /**
+     * Works out how a method corresponding to a member of the domain object
+     * is to be handled; the checks are made in the order that they always have been.
+     */
+    private MethodDispatch resolveMemberDispatch(final Method method, final ObjectSpecification targetNoSpec) {
+
         final ObjectMember objectMember = locateAndCheckMember(method);
         final List<Facet> imperativeFacets = getImperativeFacets(objectMember, method);
 
         final String memberName = objectMember.getName();
 
         if (instanceOf(imperativeFacets, DisableForContextFacetViaMethod.class, HideForContextFacetViaMethod.class)) {
-            throw new UnsupportedOperationException(String.format("Cannot invoke supporting method '%s'", memberName));
+            return MethodDispatch.unsupported(Kind.UNSUPPORTED, targetNoSpec, objectMember, String.format("Cannot invoke supporting method '%s'", memberName));
         }
 
         final String methodName = method.getName();
 
         if (instanceOf(imperativeFacets, ActionDefaultsFacet.class, PropertyDefaultFacet.class, ActionChoicesFacet.class, ActionParameterChoicesFacet.class, PropertyChoicesFacet.class)) {
-            return method.invoke(getDelegate(), args);
+            return MethodDispatch.toMember(Kind.SUPPORTING, targetNoSpec, objectMember);
         }
 
-        // for all members, check visibility and usability
-        checkVisibility(getAuthenticationSession(), targetAdapter, objectMember);
-
         if (objectMember.isOneToOneAssociation()) {
 
             if (instanceOf(imperativeFacets, PropertyValidateFacetViaMethod.class, PropertySetterFacetViaModifyMethod.class, PropertyClearFacetViaClearMethod.class)) {
-                throw new UnsupportedOperationException(String.format("Cannot invoke supporting method '%s'; use only property accessor/mutator", memberName));
+                return MethodDispatch.unsupported(Kind.UNSUPPORTED_IF_VISIBLE, targetNoSpec, objectMember, String.format("Cannot invoke supporting method '%s'; use only property accessor/mutator", memberName));
             }
 
-            final OneToOneAssociation otoa = (OneToOneAssociation) objectMember;
             if (instanceOf(imperativeFacets, PropertyOrCollectionAccessorFacet.class)) {
-                return handleGetterMethodOnProperty(args, targetAdapter, otoa, methodName);
+                return MethodDispatch.toMember(Kind.PROPERTY_GET, targetNoSpec, objectMember);
             }
             if (instanceOf(imperativeFacets, PropertySetterFacet.class, PropertyInitializationFacet.class)) {
-                checkUsability(getAuthenticationSession(), targetAdapter, objectMember);
-                return handleSetterMethodOnProperty(args, getAuthenticationSession(), targetAdapter, otoa, methodName);
+                return MethodDispatch.toMember(Kind.PROPERTY_SET, targetNoSpec, objectMember);
             }
         }
         if (objectMember.isOneToManyAssociation()) {
 
             if (instanceOf(imperativeFacets, CollectionValidateAddToFacetViaMethod.class, CollectionValidateRemoveFromFacetViaMethod.class)) {
-                throw new UnsupportedOperationException(String.format("Cannot invoke supporting method '%s'; use only collection accessor/mutator", memberName));
+                return MethodDispatch.unsupported(Kind.UNSUPPORTED_IF_VISIBLE, targetNoSpec, objectMember, String.format("Cannot invoke supporting method '%s'; use only collection accessor/mutator", memberName));
             }
 
-            final OneToManyAssociation otma = (OneToManyAssociation) objectMember;
             if (instanceOf(imperativeFacets, PropertyOrCollectionAccessorFacet.class)) {
-                return handleGetterMethodOnCollection(method, args, targetAdapter, otma, memberName);
+                return MethodDispatch.toMember(Kind.COLLECTION_GET, targetNoSpec, objectMember);
             }
             if (instanceOf(imperativeFacets, CollectionAddToFacet.class)) {
-                checkUsability(getAuthenticationSession(), targetAdapter, objectMember);
-                return handleCollectionAddToMethod(args, targetAdapter, otma, methodName);
+                return MethodDispatch.toMember(Kind.COLLECTION_ADD_TO, targetNoSpec, objectMember);
             }
             if (instanceOf(imperativeFacets, CollectionRemoveFromFacet.class)) {
-                checkUsability(getAuthenticationSession(), targetAdapter, objectMember);
-                return handleCollectionRemoveFromMethod(args, targetAdapter, otma, methodName);
+                return MethodDispatch.toMember(Kind.COLLECTION_REMOVE_FROM, targetNoSpec, objectMember);
             }
         }
 
         // filter out
         if (instanceOf(imperativeFacets, PropertyOrCollectionAccessorFacet.class)) {
-            throw new UnsupportedOperationException(String.format("Can only invoke accessor on properties or collections; '%s' represents %s", methodName, decode(objectMember)));
+            return MethodDispatch.unsupported(Kind.UNSUPPORTED_IF_VISIBLE, targetNoSpec, objectMember, String.format("Can only invoke accessor on properties or collections; '%s' represents %s", methodName, decode(objectMember)));
         }
         if (instanceOf(imperativeFacets, PropertySetterFacet.class)) {
-            throw new UnsupportedOperationException(String.format("Can only invoke mutator on properties; '%s' represents %s", methodName, decode(objectMember)));
+            return MethodDispatch.unsupported(Kind.UNSUPPORTED_IF_VISIBLE, targetNoSpec, objectMember, String.format("Can only invoke mutator on properties; '%s' represents %s", methodName, decode(objectMember)));
         }
         if (instanceOf(imperativeFacets, CollectionAddToFacet.class)) {
-            throw new UnsupportedOperationException(String.format("Can only invoke 'adder' on collections; '%s' represents %s", methodName, decode(objectMember)));
+            return MethodDispatch.unsupported(Kind.UNSUPPORTED_IF_VISIBLE, targetNoSpec, objectMember, String.format("Can only invoke 'adder' on collections; '%s' represents %s", methodName, decode(objectMember)));
         }
         if (instanceOf(imperativeFacets, CollectionRemoveFromFacet.class)) {
-            throw new UnsupportedOperationException(String.format("Can only invoke 'remover' on collections; '%s' represents %s", methodName, decode(objectMember)));
+            return MethodDispatch.unsupported(Kind.UNSUPPORTED_IF_VISIBLE, targetNoSpec, objectMember, String.format("Can only invoke 'remover' on collections; '%s' represents %s", methodName, decode(objectMember)));
         }
 
         if (objectMember instanceof ObjectAction) {
 
             if (instanceOf(imperativeFacets, ActionValidationFacetViaMethod.class)) {
-                throw new UnsupportedOperationException(String.format("Cannot invoke supporting method '%s'; use only the 'invoke' method", memberName));
+                return MethodDispatch.unsupported(Kind.UNSUPPORTED_IF_VISIBLE, targetNoSpec, objectMember, String.format("Cannot invoke supporting method '%s'; use only the 'invoke' method", memberName));
             }
 
-            checkUsability(getAuthenticationSession(), targetAdapter, objectMember);
-
-            final ObjectAction noa = (ObjectAction) objectMember;
-            return handleActionMethod(args, getAuthenticationSession(), targetAdapter, noa, memberName);
+            return MethodDispatch.toMember(Kind.ACTION, targetNoSpec, objectMember);
         }
 
-        throw new UnsupportedOperationException(String.format("Unknown member type '%s'", objectMember));
+        return MethodDispatch.unsupported(Kind.UNSUPPORTED_IF_VISIBLE, targetNoSpec, objectMember, String.format("Unknown member type '%s'", objectMember));
     }
 
     private boolean isJdoMethod(final Method method) {
@@ -0,0 +1,144 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.wrapper.internal;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.collect.MapMaker;
+import com.google.common.collect.Maps;
+
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.ObjectMember;
+
+/**
+ * For each domain class that has been wrapped, how each of its {@link Method}s 
+ * is to be handled by the {@link DomainObjectInvocationHandler}.
+ * 
+ * <p>
+ * Each {@link MethodDispatch} is worked out the first time that method is
+ * invoked through any wrapper of the class, rather than on every call.
+ * Domain classes are held weakly.
+ */
+public class MethodDispatchTables {
+
+    private final ConcurrentMap<Class<?>, ConcurrentMap<Method, MethodDispatch>> tableByClass = new MapMaker().weakKeys().makeMap();
+
+    ConcurrentMap<Method, MethodDispatch> tableFor(final Class<?> domainClass) {
+        final ConcurrentMap<Method, MethodDispatch> table = tableByClass.get(domainClass);
+        if (table != null) {
+            return table;
+        }
+        final ConcurrentMap<Method, MethodDispatch> newTable = Maps.newConcurrentMap();
+        final ConcurrentMap<Method, MethodDispatch> existing = tableByClass.putIfAbsent(domainClass, newTable);
+        return existing != null ? existing : newTable;
+    }
+
+    
+    // //////////////////////////////////////
+
+    static class MethodDispatch {
+
+        enum Kind {
+            /**
+             * <tt>equals</tt>, <tt>hashCode</tt>, <tt>toString</tt>, JDO
+             * enhancements and injection methods: called directly on the
+             * underlying object.
+             */
+            DELEGATE, 
+            TITLE, 
+            SAVE, 
+            WRAPPED,
+            /**
+             * Not yet resolved to a member (or resolved against a specification that has since been reloaded).
+             */
+            MEMBER,
+            /**
+             * Vetoed without checking visibility.
+             */
+            UNSUPPORTED,
+            /**
+             * Default and choices methods: called directly on the underlying object. 
+             */
+            SUPPORTING,
+            /**
+             * Vetoed, but only once the member is known to be visible.
+             */
+            UNSUPPORTED_IF_VISIBLE,
+            PROPERTY_GET, 
+            PROPERTY_SET, 
+            COLLECTION_GET, 
+            COLLECTION_ADD_TO, 
+            COLLECTION_REMOVE_FROM, 
+            ACTION
+        }
+
+        static final MethodDispatch DELEGATE = new MethodDispatch(Kind.DELEGATE, null, null, null);
+        static final MethodDispatch TITLE = new MethodDispatch(Kind.TITLE, null, null, null);
+        static final MethodDispatch SAVE = new MethodDispatch(Kind.SAVE, null, null, null);
+        static final MethodDispatch WRAPPED = new MethodDispatch(Kind.WRAPPED, null, null, null);
+        static final MethodDispatch UNRESOLVED_MEMBER = new MethodDispatch(Kind.MEMBER, null, null, null);
+
+        static MethodDispatch toMember(final Kind kind, final ObjectSpecification specification, final ObjectMember member) {
+            return new MethodDispatch(kind, specification, member, null);
+        }
+
+        static MethodDispatch unsupported(final Kind kind, final ObjectSpecification specification, final ObjectMember member, final String message) {
+            return new MethodDispatch(kind, specification, member, message);
+        }
+
+        private final Kind kind;
+        private final ObjectSpecification specification;
+        private final ObjectMember member;
+        private final String unsupportedMessage;
+
+        private MethodDispatch(final Kind kind, final ObjectSpecification specification, final ObjectMember member, final String unsupportedMessage) {
+            this.kind = kind;
+            this.specification = specification;
+            this.member = member;
+            this.unsupportedMessage = unsupportedMessage;
+        }
+
+        Kind getKind() {
+            return kind;
+        }
+
+        /**
+         * Whether this dispatch needs (re)resolving to a member of the 
+         * supplied specification of the target object.
+         */
+        boolean isUnresolvedFor(final ObjectSpecification targetSpecification) {
+            return kind.compareTo(Kind.MEMBER) >= 0 && specification != targetSpecification;
+        }
+
+        ObjectMember getMember() {
+            return member;
+        }
+
+        String getUnsupportedMessage() {
+            return unsupportedMessage;
+        }
+
+        @Override
+        public String toString() {
+            return kind + (member != null ? ": " + member.getId() : "");
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.wrapper.internal;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+
+import org.junit.Test;
+
+import org.apache.isis.applib.services.wrapper.WrapperObject;
+
+public class CgLibClassProxyFactoryTest {
+
+    public static class Customer {
+        public String getName() {
+            return "real";
+        }
+    }
+
+    private static InvocationHandler returning(final String name) {
+        return new InvocationHandler() {
+            @Override
+            public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                return name;
+            }
+        };
+    }
+
+    @Test
+    public void proxyClassIsGeneratedOnlyOncePerClass() throws Exception {
+        final Customer proxy1 = new CgLibClassProxyFactory<Customer>().createProxy(Customer.class, returning("Fred"));
+        final Customer proxy2 = new CgLibClassProxyFactory<Customer>().createProxy(Customer.class, returning("Joe"));
+
+        assertThat(proxy1.getClass(), is(sameInstance((Object) proxy2.getClass())));
+        assertThat(proxy1, is(instanceOf(WrapperObject.class)));
+    }
+
+    @Test
+    public void eachProxyHasItsOwnHandler() throws Exception {
+        final Customer proxy1 = new CgLibClassProxyFactory<Customer>().createProxy(Customer.class, returning("Fred"));
+        final Customer proxy2 = new CgLibClassProxyFactory<Customer>().createProxy(Customer.class, returning("Joe"));
+
+        assertThat(proxy1.getName(), is("Fred"));
+        assertThat(proxy2.getName(), is("Joe"));
+    }
+
+}